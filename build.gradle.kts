@@ -42,6 +42,7 @@
 val badpacketsVersion      = project.property("badpackets.version").toString()
 val wthitVersion           = project.property("wthit.version").toString()
 val portingLibVersion      = project.property("porting.lib.version").toString()
+val jmhLibVersion          = project.property("jmh.version").toString()
 val runtimeOptional        = project.property("optional_dependencies.enabled").toString().toBoolean() && System.getenv("CI") == null
 
 plugins {
@@ -51,6 +52,7 @@
     id("io.github.juuxel.loom-vineflower") version("1.11.0")
     id("org.cadixdev.licenser") version("0.6.1")
     id("org.ajoberstar.grgit") version("5.2.0")
+    id("me.champeau.jmh") version("0.7.1")
 }
 
 java {
@@ -66,6 +68,11 @@
             exclude(".cache/**")
         }
     }
+    named("jmh") {
+        // benchmarks run against the same (remapped) Minecraft and mod classpath as the mod itself
+        compileClasspath += main.get().compileClasspath
+        runtimeClasspath += main.get().runtimeClasspath
+    }
 }
 
 group = modGroup
@@ -276,6 +283,19 @@
     include("build.gradle.kts")
 }
 
+jmh {
+    jmhVersion.set(jmhLibVersion)
+    fork.set(1)
+    // short iterations keep a full run (started manually or weekly by CI) to a few minutes
+    warmupIterations.set(3)
+    warmup.set("1s")
+    iterations.set(5)
+    timeOnIteration.set("1s")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    humanOutputFile.set(layout.buildDirectory.file("results/jmh/human.txt"))
+}
+
 vineflower {
     addToRuntimeClasspath.set(true)
 }
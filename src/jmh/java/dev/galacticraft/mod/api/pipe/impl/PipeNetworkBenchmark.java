@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.api.pipe.impl;
+
+import dev.galacticraft.mod.api.pipe.Pipe;
+import dev.galacticraft.mod.api.pipe.PipeNetwork;
+import dev.galacticraft.mod.benchmark.HeadlessLevel;
+import net.fabricmc.fabric.api.transfer.v1.fluid.FluidConstants;
+import net.fabricmc.fabric.api.transfer.v1.fluid.FluidVariant;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.DyeColor;
+import net.minecraft.world.level.material.Fluids;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipe network topology changes and fluid transfer on two square grids of pipes joined by a single bridging pipe.
+ * Consumers are not included, as resolving them needs Fabric's block API caches and therefore a running server.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PipeNetworkBenchmark {
+    private static final int Y = 64;
+
+    @Param({"16", "64"})
+    public int size;
+
+    private final StandInPipe pipe = new StandInPipe(FluidConstants.BUCKET / 50);
+    private HeadlessLevel level;
+    private PipeNetworkManager manager;
+    private FluidVariant water;
+    private BlockPos bridge;
+    private BlockPos interior;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.level = HeadlessLevel.create();
+        this.bridge = new BlockPos(this.size, Y, 0);
+        this.interior = new BlockPos(this.size / 2, Y, this.size / 2);
+        // the cached, tag-less variant is attached to the fluid by a mixin
+        this.water = FluidVariant.of(Fluids.WATER, new CompoundTag());
+        this.manager = this.buildGrid();
+    }
+
+    @Benchmark
+    public PipeNetworkManager buildGrid() {
+        PipeNetworkManager manager = new PipeNetworkManager(this.level);
+        for (int x = 0; x < this.size * 2 + 1; x++) {
+            for (int z = 0; z < this.size; z++) {
+                if (x != this.size || z == 0) {
+                    manager.getOrAddPipe(new BlockPos(x, Y, z), this.pipe);
+                }
+            }
+        }
+        return manager;
+    }
+
+    /**
+     * Splits the network in two and merges it back
+     */
+    @Benchmark
+    public PipeNetworkImpl removeAndRestoreBridge() {
+        this.manager.removePipe(this.bridge);
+        return this.manager.getOrAddPipe(this.bridge, this.pipe);
+    }
+
+    /**
+     * Removes a pipe whose neighbours stay connected around it
+     */
+    @Benchmark
+    public PipeNetworkImpl removeAndRestoreInterior() {
+        this.manager.removePipe(this.interior);
+        return this.manager.getOrAddPipe(this.interior, this.pipe);
+    }
+
+    @Benchmark
+    public long transfer() {
+        this.level.tick();
+        PipeNetworkImpl network = this.manager.getNetwork(this.interior);
+        assert network != null;
+        try (Transaction transaction = Transaction.openOuter()) {
+            return network.insert(this.interior, this.water, FluidConstants.BUCKET / 50, Direction.UP, transaction);
+        }
+    }
+
+    private static final class StandInPipe implements Pipe {
+        private final boolean[] connections = new boolean[6];
+        private final long maxTransferRate;
+
+        private StandInPipe(long maxTransferRate) {
+            this.maxTransferRate = maxTransferRate;
+        }
+
+        @Override
+        public void setNetwork(@Nullable PipeNetwork network) {
+        }
+
+        @Override
+        public @NotNull PipeNetwork getOrCreateNetwork() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public @Nullable PipeNetwork getNetwork() {
+            return null;
+        }
+
+        @Override
+        public DyeColor getColor() {
+            return DyeColor.WHITE;
+        }
+
+        @Override
+        public void setColor(DyeColor color) {
+        }
+
+        @Override
+        public long getMaxTransferRate() {
+            return this.maxTransferRate;
+        }
+
+        @Override
+        public boolean[] getConnections() {
+            return this.connections;
+        }
+
+        @Override
+        public void calculateConnections() {
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.api.wire.impl;
+
+import dev.galacticraft.mod.api.wire.Wire;
+import dev.galacticraft.mod.api.wire.WireNetwork;
+import dev.galacticraft.mod.benchmark.HeadlessLevel;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wire network topology changes and energy insertion on two square grids of wires joined by a single bridging wire.
+ * Consumers are not included, as resolving them needs Fabric's block API caches and therefore a running server.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireNetworkBenchmark {
+    private static final int Y = 64;
+
+    @Param({"16", "64"})
+    public int size;
+
+    private final StandInWire wire = new StandInWire(240);
+    private HeadlessLevel level;
+    private WireNetworkManager manager;
+    private BlockPos bridge;
+    private BlockPos interior;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.level = HeadlessLevel.create();
+        this.bridge = new BlockPos(this.size, Y, 0);
+        this.interior = new BlockPos(this.size / 2, Y, this.size / 2);
+        this.manager = this.buildGrid();
+    }
+
+    @Benchmark
+    public WireNetworkManager buildGrid() {
+        WireNetworkManager manager = new WireNetworkManager(this.level);
+        for (int x = 0; x < this.size * 2 + 1; x++) {
+            for (int z = 0; z < this.size; z++) {
+                if (x != this.size || z == 0) {
+                    manager.getOrAddWire(new BlockPos(x, Y, z), this.wire);
+                }
+            }
+        }
+        return manager;
+    }
+
+    /**
+     * Splits the network in two and merges it back
+     */
+    @Benchmark
+    public WireNetworkImpl removeAndRestoreBridge() {
+        this.manager.removeWire(this.bridge);
+        return this.manager.getOrAddWire(this.bridge, this.wire);
+    }
+
+    /**
+     * Removes a wire whose neighbours stay connected around it
+     */
+    @Benchmark
+    public WireNetworkImpl removeAndRestoreInterior() {
+        this.manager.removeWire(this.interior);
+        return this.manager.getOrAddWire(this.interior, this.wire);
+    }
+
+    @Benchmark
+    public long insert() {
+        this.level.tick();
+        WireNetworkImpl network = this.manager.getNetwork(this.interior);
+        assert network != null;
+        try (Transaction transaction = Transaction.openOuter()) {
+            return network.insert(this.interior, 240, Direction.UP, transaction);
+        }
+    }
+
+    private static final class StandInWire implements Wire {
+        private final boolean[] connections = new boolean[6];
+        private final int maxTransferRate;
+
+        private StandInWire(int maxTransferRate) {
+            this.maxTransferRate = maxTransferRate;
+        }
+
+        @Override
+        public void setNetwork(@Nullable WireNetwork network) {
+        }
+
+        @Override
+        public @NotNull WireNetwork getOrCreateNetwork() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public @Nullable WireNetwork getNetwork() {
+            return null;
+        }
+
+        @Override
+        public int getMaxTransferRate() {
+            return this.maxTransferRate;
+        }
+
+        @Override
+        public boolean[] getConnections() {
+            return this.connections;
+        }
+
+        @Override
+        public void calculateConnections() {
+        }
+    }
+}
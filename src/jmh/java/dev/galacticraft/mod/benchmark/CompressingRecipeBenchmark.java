@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.benchmark;
+
+import dev.galacticraft.mod.recipe.CompressingRecipe;
+import dev.galacticraft.mod.recipe.GCRecipes;
+import dev.galacticraft.mod.recipe.RecipeIndex;
+import dev.galacticraft.mod.recipe.ShapedCompressingRecipe;
+import net.minecraft.core.NonNullList;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.Container;
+import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding the compressing recipe for a compressor's inputs, through the recipe manager's linear scan and through
+ * {@link RecipeIndex}. Every recipe is a 2x1 shape of two items that no other recipe uses.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompressingRecipeBenchmark {
+    @Param({"16", "128"})
+    public int recipes;
+
+    /**
+     * {@code match} holds the inputs of the last recipe, {@code mismatch} the first items of two different recipes
+     * and {@code empty} nothing at all
+     */
+    @Param({"match", "mismatch", "empty"})
+    public String inputs;
+
+    private HeadlessLevel level;
+    private SimpleContainer container;
+    private RecipeIndex<Container, CompressingRecipe> index;
+    private RecipeIndex.Lookup<Container, CompressingRecipe> lookup;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.level = HeadlessLevel.create();
+        List<Item> items = new ArrayList<>();
+        for (Item item : BuiltInRegistries.ITEM) {
+            if (item != Items.AIR) items.add(item);
+            if (items.size() == this.recipes * 2) break;
+        }
+
+        List<Recipe<?>> recipes = new ArrayList<>(this.recipes);
+        for (int i = 0; i < this.recipes; i++) {
+            NonNullList<Ingredient> ingredients = NonNullList.of(Ingredient.EMPTY, Ingredient.of(items.get(i * 2)), Ingredient.of(items.get(i * 2 + 1)));
+            recipes.add(new ShapedCompressingRecipe(new ResourceLocation("benchmark", "recipe_" + i), "", 2, 1, ingredients, new ItemStack(Items.STONE), 200));
+        }
+        this.level.getRecipeManager().replaceRecipes(recipes);
+
+        this.container = new SimpleContainer(9);
+        switch (this.inputs) {
+            case "match" -> {
+                this.container.setItem(0, new ItemStack(items.get(this.recipes * 2 - 2)));
+                this.container.setItem(1, new ItemStack(items.get(this.recipes * 2 - 1)));
+            }
+            case "mismatch" -> {
+                this.container.setItem(0, new ItemStack(items.get(0)));
+                this.container.setItem(1, new ItemStack(items.get(2)));
+            }
+            case "empty" -> {}
+            default -> throw new IllegalArgumentException("Unknown inputs: " + this.inputs);
+        }
+
+        this.index = new RecipeIndex<>(GCRecipes.COMPRESSING_TYPE);
+        this.lookup = new RecipeIndex.Lookup<>(this.index);
+    }
+
+    @Benchmark
+    public CompressingRecipe linearScan() {
+        return this.level.getRecipeManager().getRecipeFor(GCRecipes.COMPRESSING_TYPE, this.container, this.level).orElse(null);
+    }
+
+    @Benchmark
+    public CompressingRecipe indexed() {
+        return this.index.findFirst(this.level, this.container);
+    }
+
+    /**
+     * The path a compressor takes every tick while its inputs stay the same
+     */
+    @Benchmark
+    public CompressingRecipe cachedLookup() {
+        return this.lookup.find(this.level, this.container, 0);
+    }
+}
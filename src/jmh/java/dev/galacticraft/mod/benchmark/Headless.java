@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.benchmark;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Helpers for running game code outside a running server.
+ * Benchmarks only get vanilla registries and no mixins, so objects that normally need a server are allocated
+ * without running their constructors and wired up by hand.
+ * Allocation goes through the serialization constructors of {@code sun.reflect.ReflectionFactory}, which is looked up
+ * reflectively so that compiling the benchmarks does not warn about internal APIs.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+final class Headless {
+    private static final Object REFLECTION_FACTORY;
+    private static final Method NEW_CONSTRUCTOR_FOR_SERIALIZATION;
+    private static boolean bootstrapped = false;
+
+    static {
+        try {
+            Class<?> factory = Class.forName("sun.reflect.ReflectionFactory");
+            REFLECTION_FACTORY = factory.getMethod("getReflectionFactory").invoke(null);
+            NEW_CONSTRUCTOR_FOR_SERIALIZATION = factory.getMethod("newConstructorForSerialization", Class.class, Constructor.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Headless() {}
+
+    /**
+     * Loads the vanilla registries, which block states, items and fluids need
+     */
+    static synchronized void bootstrap() {
+        if (!bootstrapped) {
+            SharedConstants.tryDetectVersion();
+            Bootstrap.bootStrap();
+            bootstrapped = true;
+        }
+    }
+
+    /**
+     * Creates an instance without running any constructor of the type or its superclasses (except {@link Object}'s).
+     * Every field starts out as {@code null}/zero.
+     */
+    static <T> T allocate(Class<T> type) {
+        try {
+            Constructor<?> constructor = (Constructor<?>) NEW_CONSTRUCTOR_FOR_SERIALIZATION.invoke(REFLECTION_FACTORY, type, Object.class.getDeclaredConstructor());
+            return type.cast(constructor.newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to allocate " + type.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.benchmark;
+
+import dev.galacticraft.mod.accessor.ServerLevelAccessor;
+import dev.galacticraft.mod.api.block.entity.BlockUpdateListener;
+import dev.galacticraft.mod.api.block.entity.SkyColumnListener;
+import dev.galacticraft.mod.machine.HibernationCounts;
+import dev.galacticraft.mod.machine.SolarConditions;
+import dev.galacticraft.mod.metrics.LevelMetrics;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.dedicated.DedicatedServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link ServerLevel} stand-in backed by a map of block states. Unset blocks are air, nothing is loaded as far as
+ * block entity lookups are concerned, oxygen sources are only counted and block update listeners are ignored.
+ * Its recipe manager starts out empty.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+public final class HeadlessLevel extends ServerLevel implements ServerLevelAccessor {
+    // field initializers never run, see create()
+    private Long2ObjectOpenHashMap<BlockState> blocks;
+    private HeadlessServer server;
+    private RecipeManager recipes;
+    private LevelMetrics metrics;
+    private int sources;
+
+    @SuppressWarnings("DataFlowIssue")
+    private HeadlessLevel() {
+        super(null, null, null, null, null, null, null, false, 0, null, false, null);
+        throw new AssertionError("allocated by create()");
+    }
+
+    public static HeadlessLevel create() {
+        Headless.bootstrap();
+        HeadlessLevel level = Headless.allocate(HeadlessLevel.class);
+        level.blocks = new Long2ObjectOpenHashMap<>();
+        level.blocks.defaultReturnValue(Blocks.AIR.defaultBlockState());
+        level.server = Headless.allocate(HeadlessServer.class);
+        level.recipes = new RecipeManager();
+        level.metrics = new LevelMetrics();
+        return level;
+    }
+
+    public void place(int x, int y, int z, BlockState state) {
+        this.blocks.put(BlockPos.asLong(x, y, z), state);
+    }
+
+    /**
+     * Advances the server tick counter, which networks use to reset their per-tick state
+     */
+    public void tick() {
+        this.server.tickCount++;
+    }
+
+    public int getSources() {
+        return this.sources;
+    }
+
+    @Override
+    public MinecraftServer getServer() {
+        return this.server;
+    }
+
+    @Override
+    public RecipeManager getRecipeManager() {
+        return this.recipes;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        return this.blocks.get(pos.asLong());
+    }
+
+    @Override
+    public @Nullable BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public boolean isLoaded(BlockPos pos) {
+        return false;
+    }
+
+    @Override
+    public void addBreathableSource(int x, int y, int z) {
+        this.sources++;
+    }
+
+    @Override
+    public void removeBreathableSource(int x, int y, int z) {
+        this.sources--;
+    }
+
+    @Override
+    public void addSectionListener(long section, BlockUpdateListener listener) {
+    }
+
+    @Override
+    public void removeSectionListener(long section, BlockUpdateListener listener) {
+    }
+
+    @Override
+    public void addColumnListener(long column, SkyColumnListener listener) {
+    }
+
+    @Override
+    public void removeColumnListener(long column, SkyColumnListener listener) {
+    }
+
+    @Override
+    public void notifyColumnChanged(int x, int y, int z) {
+    }
+
+    @Override
+    public void setVisualBlockState(BlockPos pos, BlockState state) {
+        this.place(pos.getX(), pos.getY(), pos.getZ(), state);
+    }
+
+    @Override
+    public SolarConditions getSolarConditions() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public HibernationCounts getHibernationCounts() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public LevelMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * A server whose tick counter is advanced by {@link #tick()}
+     */
+    private static final class HeadlessServer extends DedicatedServer {
+        // field initializers never run, see create()
+        private int tickCount;
+
+        @SuppressWarnings("DataFlowIssue")
+        private HeadlessServer() {
+            super(null, null, null, null, null, null, null, null);
+            throw new AssertionError("allocated by create()");
+        }
+
+        @Override
+        public int getTickCount() {
+            return this.tickCount;
+        }
+    }
+}
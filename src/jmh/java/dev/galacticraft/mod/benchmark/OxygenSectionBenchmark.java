@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.benchmark;
+
+import dev.galacticraft.impl.internal.mixin.oxygen.LevelChunkSectionMixin;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-section oxygen storage: bit updates, lookups and the full and delta sync packets.
+ * The mixin is subclassed directly, as mixins are not applied to the benchmark classpath.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OxygenSectionBenchmark {
+    /**
+     * {@code sparse} marks a handful of scattered blocks, {@code dense} the lower half of the section
+     */
+    @Param({"sparse", "dense"})
+    public String layout;
+
+    private int[] positions;
+    private HeadlessSection section;
+    private FriendlyByteBuf packet;
+    private FriendlyByteBuf scratch;
+    private int toggle = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.positions = switch (this.layout) {
+            case "sparse" -> sparse();
+            case "dense" -> dense();
+            default -> throw new IllegalArgumentException("Unknown layout: " + this.layout);
+        };
+        this.section = this.fill();
+        this.packet = new FriendlyByteBuf(Unpooled.buffer());
+        this.section.galacticraft$writeOxygenPacket(this.packet);
+        this.scratch = new FriendlyByteBuf(Unpooled.buffer());
+    }
+
+    @Benchmark
+    public HeadlessSection fill() {
+        HeadlessSection section = new HeadlessSection();
+        for (int index : this.positions) {
+            section.galacticraft$setInverted(index & 15, (index >> 4) & 15, index >> 8, true);
+        }
+        return section;
+    }
+
+    @Benchmark
+    public HeadlessSection fillAndClear() {
+        HeadlessSection section = this.fill();
+        for (int index : this.positions) {
+            section.galacticraft$setInverted(index & 15, (index >> 4) & 15, index >> 8, false);
+        }
+        return section;
+    }
+
+    @Benchmark
+    public int lookupAll() {
+        int inverted = 0;
+        for (int z = 0; z < 16; z++) {
+            for (int y = 0; y < 16; y++) {
+                for (int x = 0; x < 16; x++) {
+                    if (this.section.galacticraft$isInverted(x, y, z)) inverted++;
+                }
+            }
+        }
+        return inverted;
+    }
+
+    @Benchmark
+    public int writePacket() {
+        this.scratch.clear();
+        this.section.galacticraft$writeOxygenPacket(this.scratch);
+        return this.scratch.writerIndex();
+    }
+
+    @Benchmark
+    public HeadlessSection readPacket() {
+        HeadlessSection section = new HeadlessSection();
+        this.packet.readerIndex(0);
+        section.galacticraft$readOxygenPacket(this.packet);
+        return section;
+    }
+
+    /**
+     * Flips a single block and writes the resulting delta, as a sealer toggling one block each tick would
+     */
+    @Benchmark
+    public int writeDelta() {
+        int index = this.positions[this.toggle++ % this.positions.length];
+        int x = index & 15, y = (index >> 4) & 15, z = index >> 8;
+        this.section.galacticraft$setInverted(x, y, z, !this.section.galacticraft$isInverted(x, y, z));
+        this.scratch.clear();
+        this.section.galacticraft$writeOxygenDelta(this.scratch);
+        return this.scratch.writerIndex();
+    }
+
+    private static int[] sparse() {
+        int[] positions = new int[32];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = (i * 1237) & 4095; // odd stride, so every position is distinct
+        }
+        return positions;
+    }
+
+    private static int[] dense() {
+        int[] positions = new int[16 * 8 * 16];
+        int i = 0;
+        for (int z = 0; z < 16; z++) {
+            for (int y = 0; y < 8; y++) {
+                for (int x = 0; x < 16; x++) {
+                    positions[i++] = x + (y << 4) + (z << 8);
+                }
+            }
+        }
+        return positions;
+    }
+
+    static final class HeadlessSection extends LevelChunkSectionMixin {
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.content.block.entity.machine;
+
+import dev.galacticraft.mod.benchmark.HeadlessLevel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full seal check of a hollow cube, as an oxygen sealer runs it after placement or when its area was too large.
+ * Only the sealer's flood fill is driven, as the machine itself needs a registered machine type.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SealerFloodFillBenchmark {
+    /**
+     * The inner edge length of the sealed cube
+     */
+    @Param({"8", "16", "24"})
+    public int size;
+
+    private HeadlessLevel level;
+    private SealedArea area;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.level = HeadlessLevel.create();
+        BlockState stone = Blocks.STONE.defaultBlockState();
+        // the walls enclose x and z in [0, size) and y in [1, size], with the sealer in the floor below (0, 1, 0)
+        for (int x = -1; x <= this.size; x++) {
+            for (int y = 0; y <= this.size + 1; y++) {
+                for (int z = -1; z <= this.size; z++) {
+                    if (x == -1 || x == this.size || z == -1 || z == this.size || y == 0 || y == this.size + 1) {
+                        this.level.place(x, y, z, stone);
+                    }
+                }
+            }
+        }
+
+        this.area = new SealedArea(BlockPos.ZERO, (pos, state) -> {});
+        if (this.seal() != this.size * this.size * this.size) {
+            throw new IllegalStateException("Expected a sealed volume of " + this.size * this.size * this.size + " but got " + this.level.getSources());
+        }
+    }
+
+    @Benchmark
+    public int seal() {
+        this.area.clear(this.level);
+        this.area.recheck(this.level);
+        return this.level.getSources();
+    }
+}
@@ -58,4 +58,33 @@ default void setBreathable(int x, int y, int z, boolean value) {
     default void setBreathableChunk(LevelChunk chunk, int x, int y, int z, boolean value) {
         throw new RuntimeException("This should be overridden by mixin!");
     }
+
+    /**
+     * Makes the supplied position breathable until every source added to it has been removed again.
+     * Unlike {@link #setBreathable(BlockPos, boolean)}, overlapping sources (such as sealers and bubbles) do not clear each other's oxygen.
+     * Sources are not saved, they should be added again when the source is loaded.
+     * Has no effect in worlds that are breathable by default.
+     *
+     * @param pos the position to add a source to
+     */
+    default void addBreathableSource(BlockPos pos) {
+        this.addBreathableSource(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    default void addBreathableSource(int x, int y, int z) {
+        throw new RuntimeException("This should be overridden by mixin!");
+    }
+
+    /**
+     * Removes a source added with {@link #addBreathableSource(BlockPos)}.
+     *
+     * @param pos the position to remove a source from
+     */
+    default void removeBreathableSource(BlockPos pos) {
+        this.removeBreathableSource(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    default void removeBreathableSource(int x, int y, int z) {
+        throw new RuntimeException("This should be overridden by mixin!");
+    }
 }
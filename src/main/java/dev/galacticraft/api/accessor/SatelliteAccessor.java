@@ -23,10 +23,14 @@
 package dev.galacticraft.api.accessor;
 
 import dev.galacticraft.api.universe.celestialbody.CelestialBody;
-import dev.galacticraft.dynamicdimensions.api.event.DynamicDimensionLoadCallback;
 import dev.galacticraft.impl.universe.celestialbody.type.SatelliteType;
 import dev.galacticraft.impl.universe.position.config.SatelliteConfig;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 
@@ -37,5 +41,29 @@ public interface SatelliteAccessor {
 
     void removeSatellite(ResourceLocation id);
 
-    void loadSatellites(DynamicDimensionLoadCallback.DynamicDimensionLoader dynamicDimensionLoader);
+    /**
+     * Returns the level with the given key. Satellite levels are created lazily, so if the key belongs to a satellite
+     * that is not loaded yet, its level is loaded first. Satellite levels are unloaded again after being idle for a while.
+     * Server only.
+     *
+     * @param key the key of the level
+     * @return the level, or {@code null} if there is no such level
+     */
+    @Nullable ServerLevel loadLevel(ResourceKey<Level> key);
+
+    /**
+     * Stores a structure template that satellites can share, keyed by the hash of its contents. Server only.
+     *
+     * @param template the template to store
+     * @return the hash to reference the template with
+     */
+    String addSatelliteTemplate(StructureTemplate template);
+
+    /**
+     * Returns the template stored with the given hash. Server only.
+     *
+     * @param hash the hash returned by {@link #addSatelliteTemplate(StructureTemplate)}
+     * @return the template, or {@code null} if it does not exist
+     */
+    @Nullable StructureTemplate getSatelliteTemplate(String hash);
 }
@@ -31,7 +31,9 @@
 import dev.galacticraft.api.universe.display.CelestialDisplay;
 import dev.galacticraft.api.universe.galaxy.Galaxy;
 import dev.galacticraft.api.universe.position.CelestialPosition;
+import dev.galacticraft.impl.internal.accessor.LevelCelestialBodyAccessor;
 import dev.galacticraft.impl.universe.BuiltinObjects;
+import dev.galacticraft.impl.universe.celestialbody.CelestialBodyDimensionIndex;
 import dev.galacticraft.impl.universe.celestialbody.config.StarConfig;
 import dev.galacticraft.impl.universe.celestialbody.type.StarType;
 import dev.galacticraft.impl.universe.display.config.IconCelestialDisplayConfig;
@@ -73,7 +75,18 @@ public static <C extends CelestialBodyConfig, T extends CelestialBodyType<C> & L
     }
 
     public static <C extends CelestialBodyConfig, T extends CelestialBodyType<C> & Landable<C>> Optional<CelestialBody<C, T>> getByDimension(Level level) {
-        return getByDimension(level.registryAccess(), level.dimension());
+        return Optional.ofNullable(getByDimensionOrNull(level));
+    }
+
+    /**
+     * Returns the celestial body that the given level belongs to, or {@code null} if there is none.
+     * The body is cached on the level, so this is safe to call from per-entity and per-tick code.
+     *
+     * @param level the level to query
+     * @return the celestial body of the level
+     */
+    public static <C extends CelestialBodyConfig, T extends CelestialBodyType<C> & Landable<C>> @Nullable CelestialBody<C, T> getByDimensionOrNull(Level level) {
+        return (CelestialBody<C, T>) ((LevelCelestialBodyAccessor) level).galacticraft$getCelestialBody();
     }
 
     public static CelestialBody<?, ?> getById(Registry<CelestialBody<?, ?>> registry, ResourceLocation id) {
@@ -85,11 +98,7 @@ public static ResourceLocation getId(Registry<CelestialBody<?, ?>> registry, Cel
     }
 
     public static <C extends CelestialBodyConfig, T extends CelestialBodyType<C> & Landable<C>> Optional<CelestialBody<C, T>> getByDimension(Registry<CelestialBody<?, ?>> registry, ResourceKey<Level> key) {
-        for (CelestialBody<?, ?> body : registry) {
-            if (body.type() instanceof Landable landable && landable.world(body.config()).equals(key))
-                return Optional.of((CelestialBody<C, T>) body);
-        }
-        return Optional.empty();
+        return Optional.ofNullable((CelestialBody<C, T>) CelestialBodyDimensionIndex.get(registry, key));
     }
 
     /**
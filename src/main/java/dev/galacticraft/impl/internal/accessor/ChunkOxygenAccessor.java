@@ -42,4 +42,29 @@ public interface ChunkOxygenAccessor {
      * @param inverted whether the supplied position is breathable
      */
     void galacticraft$setInverted(int x, int y, int z, boolean inverted);
+
+    /**
+     * Adds an oxygen source at the supplied position
+     *
+     * @param x the position on the X-axis, normalized from 0 to 15
+     * @param y the position on the Y-axis, must be within world height
+     * @param z the position on the Z-axis, normalized from 0 to 15
+     * @see ChunkSectionOxygenAccessor#galacticraft$addSource(int, int, int)
+     */
+    default void galacticraft$addSource(int x, int y, int z) {
+    }
+
+    /**
+     * Removes an oxygen source from the supplied position
+     *
+     * @see ChunkSectionOxygenAccessor#galacticraft$removeSource(int, int, int)
+     */
+    default void galacticraft$removeSource(int x, int y, int z) {
+    }
+
+    /**
+     * Marks the oxygen of this chunk as modified (to be saved and synced) after its sections were written to directly.
+     */
+    default void galacticraft$markOxygenDirty() {
+    }
 }
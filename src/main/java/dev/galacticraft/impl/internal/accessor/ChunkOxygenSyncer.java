@@ -27,6 +27,10 @@
 import org.jetbrains.annotations.Nullable;
 
 public interface ChunkOxygenSyncer {
+    /**
+     * Returns the oxygen changes of every section modified since the last call, or {@code null} if nothing changed.
+     * The buffer does not include the chunk position.
+     */
     default @Nullable FriendlyByteBuf galacticraft$syncOxygenPacketsToClient() {
         return null;
     }
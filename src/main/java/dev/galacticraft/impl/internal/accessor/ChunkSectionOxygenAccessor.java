@@ -38,6 +38,24 @@ public interface ChunkSectionOxygenAccessor {
 
     void galacticraft$setInverted(int x, int y, int z, boolean inverted);
 
+    /**
+     * Adds an oxygen source at the supplied position, inverting it if it was not already.
+     * @return whether the position was inverted by this call
+     */
+    boolean galacticraft$addSource(int x, int y, int z);
+
+    /**
+     * Removes an oxygen source from the supplied position. The position is reverted once no sources are left.
+     * Removing a source from a position without sources reverts it as well.
+     * @return whether the position was reverted by this call
+     */
+    boolean galacticraft$removeSource(int x, int y, int z);
+
+    /**
+     * Returns the number of oxygen sources at the supplied position. Sources are not saved or synced.
+     */
+    int galacticraft$getSources(int x, int y, int z);
+
     @Nullable BitSet galacticraft$inversionBits();
 
     void galacticraft$setInversionBits(@Nullable BitSet set);
@@ -46,7 +64,23 @@ public interface ChunkSectionOxygenAccessor {
 
     void galacticraft$setModifiedBlocks(short amount);
 
+    /**
+     * Writes the full oxygen state of this section, as sent with the chunk packet.
+     */
     void galacticraft$writeOxygenPacket(@NotNull FriendlyByteBuf buf);
 
     void galacticraft$readOxygenPacket(@NotNull FriendlyByteBuf buf);
+
+    /**
+     * Returns whether the oxygen state of this section changed since it was last written with {@link #galacticraft$writeOxygenDelta(FriendlyByteBuf)}.
+     */
+    boolean galacticraft$isOxygenDirty();
+
+    /**
+     * Writes the changes made since the last call, using whichever of the changed positions, the changed 64-bit words
+     * or the full state is the smallest, and resets the tracked changes.
+     */
+    void galacticraft$writeOxygenDelta(@NotNull FriendlyByteBuf buf);
+
+    void galacticraft$readOxygenDelta(@NotNull FriendlyByteBuf buf);
 }
@@ -29,4 +29,11 @@ public interface InternalLevelOxygenAccessor {
     boolean getDefaultBreathable();
 
     void setDefaultBreathable(boolean breathable);
+
+    /**
+     * Called after the breathability of blocks in this level was changed, so that server levels can record it.
+     * @param blocks the number of blocks that changed
+     */
+    default void galacticraft$recordOxygenUpdates(int blocks) {
+    }
 }
@@ -37,7 +37,9 @@
 import net.minecraft.nbt.NbtOps;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.Container;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.chunk.LevelChunk;
 import org.jetbrains.annotations.ApiStatus;
 
 import java.util.Objects;
@@ -59,21 +61,41 @@ public void onInitializeClient() {
             FriendlyByteBuf buf = new FriendlyByteBuf(buffer.copy());
             ((SatelliteAccessor) networkHandler).removeSatellite(buf.readResourceLocation());
         });
-        ClientPlayNetworking.registerGlobalReceiver(new ResourceLocation(Constant.MOD_ID, "oxygen_update"), (client, handler, buf, responseSender) -> {
-            int x = buf.readInt();
-            int y = buf.readInt();
-            ((ChunkOxygenSyncer) handler.getLevel().getChunk(x, y)).galacticraft$readOxygenUpdate(buf);
+        ClientPlayNetworking.registerGlobalReceiver(new ResourceLocation(Constant.MOD_ID, "oxygen_update"), (client, handler, buffer, responseSender) -> {
+            FriendlyByteBuf buf = new FriendlyByteBuf(buffer.copy());
+            client.execute(() -> {
+                int chunks = buf.readVarInt();
+                for (int i = 0; i < chunks; i++) {
+                    int x = buf.readInt();
+                    int z = buf.readInt();
+                    int length = buf.readVarInt();
+                    LevelChunk chunk = handler.getLevel().getChunkSource().getChunk(x, z, false);
+                    if (chunk != null) {
+                        ((ChunkOxygenSyncer) chunk).galacticraft$readOxygenUpdate(new FriendlyByteBuf(buf.readSlice(length)));
+                    } else {
+                        buf.skipBytes(length);
+                    }
+                }
+            });
         });
 
         ClientPlayNetworking.registerGlobalReceiver(new ResourceLocation(Constant.MOD_ID, "gear_inv_sync"), (client, handler, buf, responseSender) -> {
-            int entity = buf.readInt();
-            ItemStack[] stacks = new ItemStack[buf.readInt()];
+            int entity = buf.readVarInt();
+            int slots = buf.readUnsignedShort();
+            ItemStack[] stacks = new ItemStack[Integer.SIZE - Integer.numberOfLeadingZeros(slots)];
             for (int i = 0; i < stacks.length; i++) {
-                stacks[i] = buf.readItem();
+                if ((slots & (1 << i)) != 0) {
+                    stacks[i] = buf.readItem();
+                }
             }
             client.execute(() -> {
-                for (int i = 0; i < stacks.length; i++) {
-                    ((GearInventoryProvider) Objects.requireNonNull(client.level.getEntity(entity))).getGearInv().setItem(i, stacks[i]);
+                if (client.level.getEntity(entity) instanceof GearInventoryProvider provider) {
+                    Container inv = provider.getGearInv();
+                    for (int i = 0; i < stacks.length; i++) {
+                        if (stacks[i] != null) {
+                            inv.setItem(i, stacks[i]);
+                        }
+                    }
                 }
             });
         });
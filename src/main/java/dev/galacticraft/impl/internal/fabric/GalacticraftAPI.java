@@ -22,19 +22,23 @@
 
 package dev.galacticraft.impl.internal.fabric;
 
-import dev.galacticraft.api.accessor.SatelliteAccessor;
 import dev.galacticraft.api.accessor.ServerResearchAccessor;
 import dev.galacticraft.api.entity.attribute.GcApiEntityAttributes;
 import dev.galacticraft.api.gas.Gases;
 import dev.galacticraft.api.registry.BuiltInRocketRegistries;
-import dev.galacticraft.dynamicdimensions.api.event.DynamicDimensionLoadCallback;
+import dev.galacticraft.impl.internal.accessor.ServerPlayerGearSyncer;
+import dev.galacticraft.impl.internal.accessor.ServerPlayerOxygenSyncer;
 import dev.galacticraft.impl.internal.command.GCApiCommands;
 import dev.galacticraft.mod.data.gen.SatelliteChunkGenerator;
 import dev.galacticraft.impl.universe.BuiltinObjects;
 import dev.galacticraft.mod.Constant;
+import dev.galacticraft.mod.accessor.ServerLevelAccessor;
 import io.netty.buffer.Unpooled;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.EntityTrackingEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.core.Registry;
 import net.minecraft.core.registries.BuiltInRegistries;
@@ -57,8 +61,22 @@ public void onInitialize() {
                 if (((ServerResearchAccessor) player).isResearchDirty()) {
                     ServerPlayNetworking.send(player, new ResourceLocation(Constant.MOD_ID, "research_update"), ((ServerResearchAccessor) player).writeResearchChanges(new FriendlyByteBuf(Unpooled.buffer())));
                 }
+                ((ServerPlayerGearSyncer) player).galacticraft$flushGearInventory();
+                FriendlyByteBuf oxygen = ((ServerPlayerOxygenSyncer) player).galacticraft$flushOxygenUpdates();
+                if (oxygen != null) {
+                    ((ServerLevelAccessor) player.serverLevel()).getMetrics().getOxygenPackets().increment(oxygen.readableBytes());
+                    ServerPlayNetworking.send(player, new ResourceLocation(Constant.MOD_ID, "oxygen_update"), oxygen);
+                }
+            }
+        });
+        EntityTrackingEvents.START_TRACKING.register((entity, player) -> {
+            if (entity instanceof ServerPlayer tracked) {
+                ((ServerPlayerGearSyncer) tracked).galacticraft$sendGearInventory(player);
             }
         });
+        // the client creates a new player entity, which starts without gear
+        ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) -> ((ServerPlayerGearSyncer) newPlayer).galacticraft$sendGearInventory(newPlayer));
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) -> ((ServerPlayerGearSyncer) player).galacticraft$sendGearInventory(player));
         ServerPlayNetworking.registerGlobalReceiver(new ResourceLocation(Constant.MOD_ID, "flag_data"), (server, player, handler, buf, responseSender) -> {
             int[] array = buf.readVarIntArray();
             for (int i = 0; i < array.length; i++) {
@@ -83,9 +101,6 @@ public void onInitialize() {
         BuiltInRocketRegistries.initialize();
         GcApiEntityAttributes.init();
 
-        DynamicDimensionLoadCallback.register((minecraftServer, dynamicDimensionLoader) -> {
-            ((SatelliteAccessor) minecraftServer).loadSatellites(dynamicDimensionLoader);
-        });
         Gases.init();
         Constant.LOGGER.info("Initialization Complete. (Took {}ms).", System.currentTimeMillis() - startInitTime);
     }
@@ -23,19 +23,31 @@
 package dev.galacticraft.impl.internal.mixin;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
 import dev.galacticraft.api.accessor.SatelliteAccessor;
 import dev.galacticraft.api.universe.celestialbody.CelestialBody;
-import dev.galacticraft.dynamicdimensions.api.event.DynamicDimensionLoadCallback;
+import dev.galacticraft.dynamicdimensions.api.DynamicDimensionRegistry;
 import dev.galacticraft.impl.universe.celestialbody.type.SatelliteType;
 import dev.galacticraft.impl.universe.position.config.SatelliteConfig;
 import dev.galacticraft.mod.Constant;
+import dev.galacticraft.mod.data.gen.SatelliteChunkGenerator;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.fabricmc.fabric.api.util.NbtType;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.nbt.*;
+import net.minecraft.resources.RegistryOps;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.dimension.LevelStem;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
 import net.minecraft.world.level.storage.LevelResource;
 import net.minecraft.world.level.storage.LevelStorageSource;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
@@ -46,17 +58,48 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
-import java.io.File;
+import java.io.*;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
 
 @Mixin(MinecraftServer.class)
 public abstract class MinecraftServerMixin implements SatelliteAccessor {
+    /**
+     * The number of ticks a satellite level without players or forced chunks stays loaded
+     */
+    private static final @Unique int SATELLITE_UNLOAD_DELAY = 6000;
     @Unique private final Map<ResourceLocation, CelestialBody<SatelliteConfig, SatelliteType>> satellites = new HashMap<>();
+    /**
+     * The satellites as they were last written to disk, so that only changed satellites are written again
+     */
+    @Unique private final Map<ResourceLocation, CompoundTag> savedSatellites = new HashMap<>();
+    @Unique private final Set<ResourceLocation> removedSatellites = new HashSet<>();
+    @Unique private final Object2IntMap<ResourceLocation> idleSatellites = new Object2IntOpenHashMap<>();
+    @Unique private final Map<String, StructureTemplate> satelliteTemplates = new ConcurrentHashMap<>();
+    /**
+     * Templates whose file could not be written. Satellites that reference them are not saved until the file exists.
+     */
+    @Unique private final Set<String> unwrittenTemplates = ConcurrentHashMap.newKeySet();
+    /**
+     * Whether the legacy satellite file holds satellites that could not be migrated, so that it is not deleted
+     */
+    @Unique private boolean keepLegacySatellites = false;
 
     @Shadow @Final protected LevelStorageSource.LevelStorageAccess storageSource;
 
+    @Shadow public abstract @Nullable ServerLevel getLevel(ResourceKey<Level> key);
+
+    @Shadow public abstract RegistryAccess.Frozen registryAccess();
+
+    @Shadow public abstract int getTickCount();
+
     @Override
     public @Unmodifiable Map<ResourceLocation, CelestialBody<SatelliteConfig, SatelliteType>> getSatellites() {
         return ImmutableMap.copyOf(this.satellites);
@@ -65,52 +108,219 @@ public abstract class MinecraftServerMixin implements SatelliteAccessor {
     @Override
     public void addSatellite(ResourceLocation id, CelestialBody<SatelliteConfig, SatelliteType> satellite) {
         this.satellites.put(id, satellite);
+        this.removedSatellites.remove(id);
     }
 
     @Override
     public void removeSatellite(ResourceLocation id) {
-        this.satellites.remove(id);
+        if (this.satellites.remove(id) != null) {
+            this.removedSatellites.add(id);
+        }
+    }
+
+    @Override
+    public @Nullable ServerLevel loadLevel(ResourceKey<Level> key) {
+        ServerLevel level = this.getLevel(key);
+        if (level == null) {
+            CelestialBody<SatelliteConfig, SatelliteType> satellite = this.satellites.get(key.location());
+            if (satellite != null) {
+                Constant.LOGGER.debug("Loading satellite {}", key.location());
+                LevelStem levelStem = satellite.config().dimensionOptions();
+                level = DynamicDimensionRegistry.from((MinecraftServer) (Object) this).loadDynamicDimension(key.location(), levelStem.generator(), levelStem.type().value());
+            }
+        }
+        return level;
+    }
+
+    @Override
+    public String addSatelliteTemplate(StructureTemplate template) {
+        CompoundTag tag = template.save(new CompoundTag());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            NbtIo.write(tag, new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        //noinspection deprecation - not used for security
+        String hash = Hashing.sha1().hashBytes(bytes.toByteArray()).toString();
+        if (this.satelliteTemplates.putIfAbsent(hash, template) == null && !this.galacticraft_getTemplateFile(hash).exists()) {
+            this.galacticraft_writeTemplate(hash, tag);
+        }
+        return hash;
+    }
+
+    /**
+     * Writes a template file, or records the template as unwritten so that it is retried on the next save.
+     */
+    @Unique
+    private boolean galacticraft_writeTemplate(String hash, CompoundTag tag) {
+        File file = this.galacticraft_getTemplateFile(hash);
+        try {
+            Files.createDirectories(file.toPath().getParent());
+            NbtIo.writeCompressed(tag, file);
+            this.unwrittenTemplates.remove(hash);
+            return true;
+        } catch (IOException exception) {
+            Constant.LOGGER.error("Failed to write satellite template {}", hash, exception);
+            this.unwrittenTemplates.add(hash);
+            try {
+                Files.deleteIfExists(file.toPath());
+            } catch (IOException ignored) {
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public @Nullable StructureTemplate getSatelliteTemplate(String hash) {
+        // called from world generation threads
+        return this.satelliteTemplates.computeIfAbsent(hash, h -> {
+            File file = this.galacticraft_getTemplateFile(h);
+            if (!file.exists()) return null;
+            try {
+                StructureTemplate template = new StructureTemplate();
+                template.load(BuiltInRegistries.BLOCK.asLookup(), NbtIo.readCompressed(file));
+                return template;
+            } catch (IOException exception) {
+                Constant.LOGGER.error("Failed to read satellite template {}", h, exception);
+                return null;
+            }
+        });
+    }
+
+    @Unique
+    private File galacticraft_getTemplateFile(String hash) {
+        return this.storageSource.getLevelPath(LevelResource.ROOT).resolve(Constant.MOD_ID).resolve("satellite_templates").resolve(hash + ".nbt").toFile();
+    }
+
+    @Unique
+    private Path galacticraft_getSatelliteDirectory() {
+        return this.storageSource.getLevelPath(LevelResource.ROOT).resolve(Constant.MOD_ID).resolve("satellites");
+    }
+
+    @Unique
+    private Path galacticraft_getSatelliteFile(ResourceLocation id) {
+        return this.galacticraft_getSatelliteDirectory().resolve(id.getNamespace()).resolve(id.getPath() + ".dat");
+    }
+
+    @Inject(method = "tickServer", at = @At("TAIL"))
+    private void galacticraft_unloadIdleSatellites(BooleanSupplier hasTimeLeft, CallbackInfo ci) {
+        if (this.getTickCount() % 20 != 0) return;
+        for (Map.Entry<ResourceLocation, CelestialBody<SatelliteConfig, SatelliteType>> entry : this.satellites.entrySet()) {
+            ServerLevel level = this.getLevel(entry.getValue().config().world());
+            if (level == null) continue;
+            if (!level.players().isEmpty() || !level.getForcedChunks().isEmpty()) {
+                this.idleSatellites.removeInt(entry.getKey());
+            } else {
+                int idle = this.idleSatellites.getInt(entry.getKey()) + 20;
+                if (idle >= SATELLITE_UNLOAD_DELAY) {
+                    Constant.LOGGER.debug("Unloading idle satellite {}", entry.getKey());
+                    this.idleSatellites.removeInt(entry.getKey());
+                    DynamicDimensionRegistry.from((MinecraftServer) (Object) this).removeDynamicDimension(entry.getKey(), (server, player) -> {});
+                } else {
+                    this.idleSatellites.put(entry.getKey(), idle);
+                }
+            }
+        }
     }
 
     @Inject(method = "saveEverything", at = @At("RETURN"))
     private void galacticraft_saveSatellites(boolean suppressLogs, boolean bl, boolean bl2, CallbackInfoReturnable<Boolean> cir) {
-        Path path = this.storageSource.getLevelPath(LevelResource.ROOT);
-        ListTag nbt = new ListTag();
+        RegistryOps<Tag> ops = RegistryOps.create(NbtOps.INSTANCE, this.registryAccess());
+        boolean failed = false;
+        for (String hash : this.unwrittenTemplates) {
+            StructureTemplate template = this.satelliteTemplates.get(hash);
+            if (template != null) {
+                this.galacticraft_writeTemplate(hash, template.save(new CompoundTag()));
+            }
+        }
         for (Map.Entry<ResourceLocation, CelestialBody<SatelliteConfig, SatelliteType>> entry : this.satellites.entrySet()) {
-            CompoundTag compound = (CompoundTag) SatelliteConfig.CODEC.encode(entry.getValue().config(), NbtOps.INSTANCE, new CompoundTag()).get().orThrow();
+            if (entry.getValue().config().dimensionOptions().generator() instanceof SatelliteChunkGenerator generator
+                    && generator.getTemplateHash() != null && this.unwrittenTemplates.contains(generator.getTemplateHash())) {
+                // its template would be missing on the next start, so keep whatever data it was loaded from
+                failed = true;
+                Constant.LOGGER.error("Not saving satellite {} as its template {} could not be written", entry.getKey(), generator.getTemplateHash());
+                continue;
+            }
+            CompoundTag compound = (CompoundTag) SatelliteConfig.CODEC.encode(entry.getValue().config(), ops, new CompoundTag()).get().orThrow();
             compound.putString("id", entry.getKey().toString());
-            nbt.add(compound);
+            if (compound.equals(this.savedSatellites.get(entry.getKey()))) continue;
+            try {
+                Path file = this.galacticraft_getSatelliteFile(entry.getKey());
+                Files.createDirectories(file.getParent());
+                NbtIo.writeCompressed(compound, file.toFile());
+                this.savedSatellites.put(entry.getKey(), compound);
+            } catch (Throwable exception) {
+                failed = true;
+                Constant.LOGGER.fatal("Failed to write satellite data for {}!", entry.getKey(), exception);
+            }
         }
-        CompoundTag compound = new CompoundTag();
-        compound.put("satellites", nbt);
-        try {
-            NbtIo.writeCompressed(compound, new File(path.toFile(), "satellites.dat"));
-        } catch (Throwable exception) {
-            Constant.LOGGER.fatal("Failed to write satellite data!", exception);
+        for (ResourceLocation id : this.removedSatellites) {
+            this.savedSatellites.remove(id);
+            try {
+                Files.deleteIfExists(this.galacticraft_getSatelliteFile(id));
+            } catch (IOException exception) {
+                Constant.LOGGER.error("Failed to delete satellite data for {}", id, exception);
+            }
+        }
+        this.removedSatellites.clear();
+
+        File legacy = new File(this.storageSource.getLevelPath(LevelResource.ROOT).toFile(), "satellites.dat");
+        if (!failed && !this.keepLegacySatellites && legacy.exists() && !legacy.delete()) {
+            Constant.LOGGER.warn("Failed to delete migrated satellite data");
         }
     }
 
     @Inject(method = "runServer", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/MinecraftServer;initServer()Z", shift = At.Shift.AFTER))
     private void galacticraft_loadSatellites(CallbackInfo ci) {
-        File worldFile = this.storageSource.getLevelPath(LevelResource.ROOT).toFile();
-        if (new File(worldFile, "satellites.dat").exists()) {
-            try {
-                ListTag nbt = NbtIo.readCompressed(new File(worldFile, "satellites.dat")).getList("satellites", NbtType.COMPOUND);
+        RegistryOps<Tag> ops = RegistryOps.create(NbtOps.INSTANCE, this.registryAccess());
+        Path directory = this.galacticraft_getSatelliteDirectory();
+        try {
+            if (Files.isDirectory(directory)) {
+                try (Stream<Path> files = Files.walk(directory)) {
+                    for (Path file : (Iterable<Path>) files.filter(path -> path.toString().endsWith(".dat"))::iterator) {
+                        try {
+                            CompoundTag compound = NbtIo.readCompressed(file.toFile());
+                            this.galacticraft_loadSatellite(ops, compound);
+                            this.savedSatellites.put(new ResourceLocation(compound.getString("id")), compound);
+                        } catch (Exception exception) {
+                            // the file is left alone, a copy in the legacy file is still picked up below
+                            Constant.LOGGER.error("Skipping unreadable satellite data {}", file, exception);
+                        }
+                    }
+                }
+            }
+            File legacy = new File(this.storageSource.getLevelPath(LevelResource.ROOT).toFile(), "satellites.dat");
+            if (legacy.exists()) {
+                // written by older versions as a single file, and only deleted once a save wrote every satellite.
+                // a save that failed part way leaves both behind, in which case the per-satellite files are newer
+                ListTag nbt = NbtIo.readCompressed(legacy).getList("satellites", NbtType.COMPOUND);
                 for (Tag compound : nbt) {
                     assert compound instanceof CompoundTag : "Not a compound?!";
-                    this.satellites.put(new ResourceLocation(((CompoundTag) compound).getString("id")), new CelestialBody<>(SatelliteType.INSTANCE, SatelliteConfig.CODEC.decode(NbtOps.INSTANCE, compound).get().orThrow().getFirst()));
+                    if (!this.satellites.containsKey(new ResourceLocation(((CompoundTag) compound).getString("id")))) {
+                        try {
+                            this.galacticraft_loadSatellite(ops, (CompoundTag) compound);
+                        } catch (Exception exception) {
+                            this.keepLegacySatellites = true;
+                            Constant.LOGGER.error("Skipping unreadable satellite {} in {}", ((CompoundTag) compound).getString("id"), legacy, exception);
+                        }
+                    }
                 }
-            } catch (Throwable exception) {
-                throw new RuntimeException("Failed to read satellite data!", exception);
             }
+        } catch (Throwable exception) {
+            throw new RuntimeException("Failed to read satellite data!", exception);
         }
     }
 
-    @Override
-    public void loadSatellites(DynamicDimensionLoadCallback.DynamicDimensionLoader dynamicDimensionLoader) {
-        for (Map.Entry<ResourceLocation, CelestialBody<SatelliteConfig, SatelliteType>> entry : this.satellites.entrySet()) {
-            LevelStem levelStem = entry.getValue().config().dimensionOptions();
-            dynamicDimensionLoader.loadDynamicDimension(entry.getKey(), levelStem.generator(), levelStem.type().value());
+    @Unique
+    private void galacticraft_loadSatellite(RegistryOps<Tag> ops, CompoundTag compound) {
+        SatelliteConfig config = SatelliteConfig.CODEC.decode(ops, compound).get().orThrow().getFirst();
+        if (config.dimensionOptions().generator() instanceof SatelliteChunkGenerator generator) {
+            StructureTemplate embedded = generator.getEmbeddedStructure();
+            if (embedded != null) {
+                generator.setTemplateHash(this.addSatelliteTemplate(embedded));
+            }
         }
+        this.satellites.put(new ResourceLocation(compound.getString("id")), new CelestialBody<>(SatelliteType.INSTANCE, config));
     }
 }
@@ -62,7 +62,8 @@ public abstract class AbstractClientPlayerEntityMixin implements ClientResearchA
     private SimpleContainer galacticraft_createGearInventory() {
         SimpleContainer inv = new GearInventory();
         inv.addListener((inventory) -> {
-            float pressure = CelestialBody.getByDimension(this.clientLevel).map(body -> body.atmosphere().pressure()).orElse(1.0f);
+            CelestialBody<?, ?> body = CelestialBody.getByDimensionOrNull(this.clientLevel);
+            float pressure = body == null ? 1.0f : body.atmosphere().pressure();
             if (pressure != 1.0f) {
                 for (int i = 0; i < inventory.getContainerSize(); i++) {
                     ItemStack stack = inventory.getItem(i);
@@ -42,6 +42,9 @@ public abstract class ParticleManagerMixin {
 
     @Inject(method = "add(Lnet/minecraft/client/particle/Particle;)V", at = @At("RETURN"))
     protected void galacticraft_overrideGravity(Particle particle, CallbackInfo ci) {
-        CelestialBody.getByDimension(this.level).ifPresent(celestialBodyType -> ((ParticleAccessor) particle).setGravityStrength(((ParticleAccessor) particle).getGravityStrength() * celestialBodyType.gravity()));
+        CelestialBody<?, ?> body = CelestialBody.getByDimensionOrNull(this.level);
+        if (body != null) {
+            ((ParticleAccessor) particle).setGravityStrength(((ParticleAccessor) particle).getGravityStrength() * body.gravity());
+        }
     }
 }
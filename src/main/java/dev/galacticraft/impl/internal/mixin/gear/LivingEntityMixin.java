@@ -30,11 +30,13 @@
 import dev.galacticraft.api.item.OxygenMask;
 import dev.galacticraft.impl.internal.fabric.GalacticraftAPI;
 import dev.galacticraft.mod.Galacticraft;
+import dev.galacticraft.mod.world.inventory.GearInventory;
 import net.fabricmc.fabric.api.transfer.v1.context.ContainerItemContext;
 import net.fabricmc.fabric.api.transfer.v1.fluid.FluidStorage;
 import net.fabricmc.fabric.api.transfer.v1.fluid.FluidVariant;
 import net.fabricmc.fabric.api.transfer.v1.item.InventoryStorage;
 import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
+import net.fabricmc.fabric.api.transfer.v1.storage.StorageUtil;
 import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
@@ -51,8 +53,10 @@
 import net.minecraft.world.level.GameRules;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.material.Fluid;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
@@ -65,6 +69,25 @@ public LivingEntityMixin(EntityType<?> type, Level world) {
         super(type, world);
     }
 
+    /**
+     * The number of ticks between drawing oxygen from the tanks
+     */
+    private static final @Unique int OXYGEN_SETTLE_INTERVAL = 20;
+
+    private @Unique int equipmentVersion = -1;
+    /**
+     * The oxygen tanks, if a mask and gear are worn
+     */
+    private @Unique @Nullable InventoryStorage tankStorage = null;
+    /**
+     * The number of ticks that can be breathed before the tanks have to be checked again
+     */
+    private @Unique int coveredTicks = 0;
+    /**
+     * The oxygen that was breathed but not yet drawn from the tanks
+     */
+    private @Unique long oxygenDebt = 0;
+
     @Shadow protected abstract int increaseAirSupply(int air);
 
     @Redirect(method = "baseTick", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/entity/LivingEntity;isEyeInFluid(Lnet/minecraft/tags/TagKey;)Z", ordinal = 0))
@@ -90,6 +113,32 @@ private void galacticraft_modifyAirLevel(int air, CallbackInfoReturnable<Integer
             ci.setReturnValue(this.increaseAirSupply(air));
         }
 
+        if (!(this.getGearInv() instanceof GearInventory inventory)) return;
+        if (inventory.getChangeCount() != this.equipmentVersion) {
+            this.galacticraft_updateBreathingEquipment(inventory);
+        }
+
+        if (this.tankStorage != null) {
+            if (this.coveredTicks <= 0) {
+                this.galacticraft_settleOxygen();
+                this.equipmentVersion = inventory.getChangeCount(); // settling only changes the tanks
+            }
+            if (this.coveredTicks > 0) {
+                this.coveredTicks--;
+                this.oxygenDebt += Galacticraft.CONFIG_MANAGER.get().playerOxygenConsuptionRate();
+                ci.setReturnValue(this.increaseAirSupply(air));
+            }
+        }
+    }
+
+    /**
+     * Checks whether a mask and gear are worn, which is only done when the gear inventory changes.
+     */
+    @Unique
+    private void galacticraft_updateBreathingEquipment(GearInventory inventory) {
+        this.equipmentVersion = inventory.getChangeCount();
+        this.coveredTicks = 0; // the tanks may have been swapped
+
         boolean mask = false;
         boolean gear = false;
         for (int i = 0; i < this.getAccessories().getContainerSize(); i++) {
@@ -104,20 +153,38 @@ private void galacticraft_modifyAirLevel(int air, CallbackInfoReturnable<Integer
         }
 
         if (mask && gear) {
-            InventoryStorage tankInv = InventoryStorage.of(getOxygenTanks(), null);
-            for (int i = 0; i < tankInv.getSlotCount(); i++) {
-                Storage<FluidVariant> storage = ContainerItemContext.ofSingleSlot(tankInv.getSlot(i)).find(FluidStorage.ITEM);
+            if (this.tankStorage == null) this.tankStorage = InventoryStorage.of(this.getOxygenTanks(), null);
+        } else {
+            this.tankStorage = null;
+            // the debt belongs to the removed equipment, it must not be drawn from the next set of tanks
+            this.oxygenDebt = 0;
+        }
+    }
+
+    /**
+     * Draws the oxygen breathed since the last settlement from the tanks, and determines how many ticks (up to
+     * {@link #OXYGEN_SETTLE_INTERVAL}) the remaining oxygen covers. Oxygen is accounted for exactly: every tick breathed
+     * is charged at the configured rate, unless the tanks were removed before the charge could be made.
+     */
+    @Unique
+    private void galacticraft_settleOxygen() {
+        assert this.tankStorage != null;
+        long rate = Galacticraft.CONFIG_MANAGER.get().playerOxygenConsuptionRate();
+        long available = 0;
+        try (Transaction transaction = Transaction.openOuter()) {
+            for (int i = 0; i < this.tankStorage.getSlotCount(); i++) {
+                Storage<FluidVariant> storage = ContainerItemContext.ofSingleSlot(this.tankStorage.getSlot(i)).find(FluidStorage.ITEM);
                 if (storage != null) {
-                    try (Transaction transaction = Transaction.openOuter()) {
-                        if (storage.extract(FluidVariant.of(Gases.OXYGEN), Galacticraft.CONFIG_MANAGER.get().playerOxygenConsuptionRate(), transaction) > 0) {
-                            transaction.commit();
-                            ci.setReturnValue(this.increaseAirSupply(air));
-                            return;
-                        }
+                    if (this.oxygenDebt > 0) {
+                        this.oxygenDebt -= storage.extract(FluidVariant.of(Gases.OXYGEN), this.oxygenDebt, transaction);
                     }
+                    available += StorageUtil.simulateExtract(storage, FluidVariant.of(Gases.OXYGEN), Long.MAX_VALUE, transaction);
                 }
             }
+            transaction.commit();
         }
+        this.oxygenDebt = 0;
+        this.coveredTicks = rate <= 0 ? OXYGEN_SETTLE_INTERVAL : (int) Math.min(OXYGEN_SETTLE_INTERVAL, (available + rate - 1) / rate);
     }
 
     @Inject(method = "dropEquipment", at = @At(value = "RETURN"))
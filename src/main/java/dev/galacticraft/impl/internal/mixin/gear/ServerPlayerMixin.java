@@ -23,6 +23,7 @@
 package dev.galacticraft.impl.internal.mixin.gear;
 
 import dev.galacticraft.api.accessor.GearInventoryProvider;
+import dev.galacticraft.impl.internal.accessor.ServerPlayerGearSyncer;
 import dev.galacticraft.impl.internal.inventory.MappedInventory;
 import dev.galacticraft.mod.Constant;
 import dev.galacticraft.mod.world.inventory.GearInventory;
@@ -32,49 +33,121 @@
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.network.ServerGamePacketListenerImpl;
 import net.minecraft.world.Container;
 import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.NotNull;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.Unique;
 
+import java.util.Arrays;
 import java.util.Collection;
 
 @Mixin(ServerPlayer.class)
-public abstract class ServerPlayerMixin implements GearInventoryProvider {
+public abstract class ServerPlayerMixin implements GearInventoryProvider, ServerPlayerGearSyncer {
+    private static final @Unique ResourceLocation GEAR_INV_SYNC = new ResourceLocation(Constant.MOD_ID, "gear_inv_sync");
     @Shadow public ServerGamePacketListenerImpl connection;
 
-    private final @Unique SimpleContainer gearInv = this.galacticraft_createGearInventory();
+    private final @Unique GearInventory gearInv = this.galacticraft_createGearInventory();
     private final @Unique Container tankInv = MappedInventory.create(this.gearInv, 4, 5);
     private final @Unique Container thermalArmorInv = MappedInventory.create(this.gearInv, 0, 1, 2, 3);
     private final @Unique Container accessoryInv = MappedInventory.create(this.gearInv, 6, 7, 8, 9, 10, 11);
+    /**
+     * The stacks last sent to this player and to the players tracking it
+     */
+    private final @Unique ItemStack[] sentGear = galacticraft_emptyStacks();
+    private final @Unique ItemStack[] sentVisibleGear = galacticraft_emptyStacks();
+    private @Unique boolean gearChanged = false;
 
     @Unique
-    private SimpleContainer galacticraft_createGearInventory() {
-        SimpleContainer inv = new GearInventory();
-        inv.addListener((inventory) -> {
-            FriendlyByteBuf buf = PacketByteBufs.create();
-            buf.writeInt(((ServerPlayer) (Object) this).getId());
-            buf.writeInt(inventory.getContainerSize());
-            for (int i = 0; i < inventory.getContainerSize(); i++) {
-                buf.writeItem(inventory.getItem(i));
+    private GearInventory galacticraft_createGearInventory() {
+        GearInventory inv = new GearInventory();
+        inv.addListener(inventory -> this.gearChanged = true);
+        return inv;
+    }
+
+    @Unique
+    private static ItemStack[] galacticraft_emptyStacks() {
+        ItemStack[] stacks = new ItemStack[12];
+        Arrays.fill(stacks, ItemStack.EMPTY);
+        return stacks;
+    }
+
+    /**
+     * Returns the part of a stack that other players need to see, leaving out its NBT (such as tank contents).
+     */
+    @Unique
+    private static ItemStack galacticraft_visibleCopy(ItemStack stack) {
+        return stack.isEmpty() ? ItemStack.EMPTY : new ItemStack(stack.getItem(), stack.getCount());
+    }
+
+    @Unique
+    private FriendlyByteBuf galacticraft_writeGear(int slots, ItemStack[] stacks) {
+        FriendlyByteBuf buf = PacketByteBufs.create();
+        buf.writeVarInt(((ServerPlayer) (Object) this).getId());
+        buf.writeShort(slots);
+        for (int i = 0; i < stacks.length; i++) {
+            if ((slots & (1 << i)) != 0) {
+                buf.writeItem(stacks[i]);
+            }
+        }
+        return buf;
+    }
+
+    @Override
+    public void galacticraft$sendGearInventory(@NotNull ServerPlayer player) {
+        ItemStack[] stacks = new ItemStack[this.gearInv.getContainerSize()];
+        for (int i = 0; i < stacks.length; i++) {
+            if (player == (Object) this) {
+                stacks[i] = this.gearInv.getItem(i);
+                this.sentGear[i] = stacks[i].copy();
+            } else {
+                stacks[i] = galacticraft_visibleCopy(this.gearInv.getItem(i));
             }
+        }
+        ServerPlayNetworking.send(player, GEAR_INV_SYNC, this.galacticraft_writeGear((1 << stacks.length) - 1, stacks));
+    }
 
-            if (this.connection != null) {
-                Collection<ServerPlayer> tracking = PlayerLookup.tracking(((ServerPlayer) (Object) this));
-                //noinspection SuspiciousMethodCalls
-                if (!tracking.contains(this)) {
-                    ServerPlayNetworking.send(((ServerPlayer) (Object) this), new ResourceLocation(Constant.MOD_ID, "gear_inv_sync"), buf);
-                }
+    @Override
+    public void galacticraft$flushGearInventory() {
+        if (!this.gearChanged || this.connection == null) return;
+        this.gearChanged = false;
+
+        int dirty = this.gearInv.clearDirtySlots();
+        int changed = 0;
+        int visibleChanged = 0;
+        for (int i = 0; i < this.sentGear.length; i++) {
+            if ((dirty & (1 << i)) == 0) continue;
+            ItemStack stack = this.gearInv.getItem(i);
+            if (!ItemStack.matches(stack, this.sentGear[i])) {
+                this.sentGear[i] = stack.copy();
+                changed |= 1 << i;
+            }
+            ItemStack visible = galacticraft_visibleCopy(stack);
+            if (!ItemStack.matches(visible, this.sentVisibleGear[i])) {
+                this.sentVisibleGear[i] = visible;
+                visibleChanged |= 1 << i;
+            }
+        }
+
+        if (changed != 0) {
+            ServerPlayNetworking.send(((ServerPlayer) (Object) this), GEAR_INV_SYNC, this.galacticraft_writeGear(changed, this.sentGear));
+        }
+        if (visibleChanged != 0) {
+            Collection<ServerPlayer> tracking = PlayerLookup.tracking((ServerPlayer) (Object) this);
+            if (!tracking.isEmpty()) {
+                Packet<ClientGamePacketListener> packet = ServerPlayNetworking.createS2CPacket(GEAR_INV_SYNC, this.galacticraft_writeGear(visibleChanged, this.sentVisibleGear));
                 for (ServerPlayer player : tracking) {
-                    ServerPlayNetworking.send(player, new ResourceLocation(Constant.MOD_ID, "gear_inv_sync"), PacketByteBufs.copy(buf));
+                    if (player != (Object) this) player.connection.send(packet);
                 }
             }
-        });
-        return inv;
+        }
     }
 
     @Override
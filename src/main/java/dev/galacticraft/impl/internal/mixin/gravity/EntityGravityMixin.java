@@ -35,6 +35,7 @@
 public abstract class EntityGravityMixin {
     @ModifyConstant(method = "tick", constant = @Constant(doubleValue = -0.04D))
     private double galacticraft_changeEntityGravity(double defaultValue) {
-        return CelestialBody.getByDimension(((Entity) (Object) this).level()).map(celestialBody -> celestialBody.gravity() / 1.75D * defaultValue).orElse(defaultValue);
+        CelestialBody<?, ?> body = CelestialBody.getByDimensionOrNull(((Entity) (Object) this).level());
+        return body == null ? defaultValue : body.gravity() / 1.75D * defaultValue;
     }
 }
\ No newline at end of file
@@ -56,7 +56,8 @@ private double galacticraft_modifyGravity(double d) {
         if (attribute != null && attribute.getValue() > 0) {
             return attribute.getValue() * 0.08d;
         } else {
-            return CelestialBody.getByDimension(this.level()).map(celestialBodyType -> celestialBodyType.gravity() * 0.08d).orElse(0.08);
+            CelestialBody<?, ?> body = CelestialBody.getByDimensionOrNull(this.level());
+            return body == null ? 0.08 : body.gravity() * 0.08d;
         }
     }
 
@@ -66,7 +67,8 @@ private double galacticraft_modifySlowFallingGravity(double d) {
         if (attribute != null && attribute.getValue() > 0) {
             return attribute.getValue() * 0.01d;
         } else {
-            return CelestialBody.getByDimension(this.level()).map(celestialBodyType -> celestialBodyType.gravity() * 0.01d).orElse(0.01);
+            CelestialBody<?, ?> body = CelestialBody.getByDimensionOrNull(this.level());
+            return body == null ? 0.01 : body.gravity() * 0.01d;
         }
     }
 
@@ -78,7 +80,10 @@ protected void galacticraft_modifyFallDamage(float fallDistance, float damageMul
         if (attribute != null && attribute.getValue() > 0) {
             cir.setReturnValue((int) (Mth.ceil((fallDistance * attribute.getValue()) - 3.0F - ff) * damageMultiplier));
         } else {
-            CelestialBody.getByDimension(this.level()).ifPresent(celestialBodyType -> cir.setReturnValue((int) (Mth.ceil((fallDistance * celestialBodyType.gravity()) - 3.0F - ff) * damageMultiplier)));
+            CelestialBody<?, ?> body = CelestialBody.getByDimensionOrNull(this.level());
+            if (body != null) {
+                cir.setReturnValue((int) (Mth.ceil((fallDistance * body.gravity()) - 3.0F - ff) * damageMultiplier));
+            }
         }
     }
 }
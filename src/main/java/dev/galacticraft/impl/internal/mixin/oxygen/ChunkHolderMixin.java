@@ -23,11 +23,8 @@
 package dev.galacticraft.impl.internal.mixin.oxygen;
 
 import dev.galacticraft.impl.internal.accessor.ChunkOxygenSyncer;
-import dev.galacticraft.mod.Constant;
-import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import dev.galacticraft.impl.internal.accessor.ServerPlayerOxygenSyncer;
 import net.minecraft.network.FriendlyByteBuf;
-import net.minecraft.network.protocol.Packet;
-import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ChunkHolder;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.ChunkPos;
@@ -39,15 +36,11 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
-import java.util.List;
-
 /**
  * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
  */
 @Mixin(ChunkHolder.class)
 public abstract class ChunkHolderMixin {
-    @Shadow protected abstract void broadcast(List<ServerPlayer> list, Packet<?> packet);
-
     @Shadow @Final private ChunkHolder.PlayerProvider playerProvider;
 
     @Shadow @Final private ChunkPos pos;
@@ -55,6 +48,11 @@ public abstract class ChunkHolderMixin {
     @Inject(method = "broadcastChanges", at = @At("HEAD"))
     private void galacticraft_flushOxygenPackets(LevelChunk chunk, CallbackInfo ci) {
         FriendlyByteBuf buf = ((ChunkOxygenSyncer) chunk).galacticraft$syncOxygenPacketsToClient();
-        if (buf != null) this.broadcast(this.playerProvider.getPlayers(this.pos, false), ServerPlayNetworking.createS2CPacket(new ResourceLocation(Constant.MOD_ID, "oxygen_update"), buf));
+        if (buf != null) {
+            // sent in one batch per player at the end of the tick
+            for (ServerPlayer player : this.playerProvider.getPlayers(this.pos, false)) {
+                ((ServerPlayerOxygenSyncer) player).galacticraft$queueOxygenUpdate(this.pos, buf);
+            }
+        }
     }
 }
@@ -40,4 +40,12 @@ public abstract class EmptyLevelChunkMixin implements ChunkOxygenSyncer, ChunkOx
     @Override
     public void galacticraft$setInverted(int x, int y, int z, boolean inverted) {
     }
+
+    @Override
+    public void galacticraft$addSource(int x, int y, int z) {
+    }
+
+    @Override
+    public void galacticraft$removeSource(int x, int y, int z) {
+    }
 }
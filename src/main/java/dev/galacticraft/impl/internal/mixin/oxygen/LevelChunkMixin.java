@@ -55,7 +55,7 @@
 @Mixin(LevelChunk.class)
 public abstract class LevelChunkMixin extends ChunkAccess implements ChunkOxygenAccessor, ChunkOxygenSyncer {
     @Shadow @Final Level level;
-    private @Unique short dirtySections = 0b0;
+    private @Unique boolean oxygenDirty = false;
 
     private LevelChunkMixin(ChunkPos pos, UpgradeData upgradeData, LevelHeightAccessor heightLimitView, Registry<Biome> biome, long inhabitedTime, @Nullable LevelChunkSection[] sectionArrayInitializer, @Nullable BlendingData blendingData) {
         super(pos, upgradeData, heightLimitView, biome, inhabitedTime, sectionArrayInitializer, blendingData);
@@ -72,43 +72,75 @@ private LevelChunkMixin(ChunkPos pos, UpgradeData upgradeData, LevelHeightAccess
         if (inverted != accessor.galacticraft$isInverted(x, y & 15, z)) {
             if (!this.level.isClientSide) {
                 this.unsaved = true;
-                this.dirtySections |= (0b1 << this.getSectionIndex(y));
+                this.oxygenDirty = true;
             }
             accessor.galacticraft$setInverted(x, y & 15, z, inverted);
         }
     }
 
+    @Override
+    public void galacticraft$addSource(int x, int y, int z) {
+        if (((ChunkSectionOxygenAccessor) this.sections[this.getSectionIndex(y)]).galacticraft$addSource(x, y & 15, z)) {
+            this.galacticraft$markOxygenDirty();
+        }
+    }
+
+    @Override
+    public void galacticraft$removeSource(int x, int y, int z) {
+        if (((ChunkSectionOxygenAccessor) this.sections[this.getSectionIndex(y)]).galacticraft$removeSource(x, y & 15, z)) {
+            this.galacticraft$markOxygenDirty();
+        }
+    }
+
+    @Override
+    public void galacticraft$markOxygenDirty() {
+        if (!this.level.isClientSide) {
+            this.unsaved = true;
+            this.oxygenDirty = true;
+        }
+    }
+
     @Override
     public @Nullable FriendlyByteBuf galacticraft$syncOxygenPacketsToClient() {
         assert !this.level.isClientSide;
-        if (this.dirtySections != 0) {
-            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer(Integer.BYTES * 2 + Short.BYTES + (Short.BYTES + 1)));
-            buf.writeInt(this.getPos().x);
-            buf.writeInt(this.getPos().z);
-            buf.writeShort(this.dirtySections);
-            for (int i = 0; i < this.sections.length; i++) {
-                if ((this.dirtySections & (0b1 << i++)) != 0) {
-                    ((ChunkSectionOxygenAccessor) this.sections[i]).galacticraft$writeOxygenPacket(buf);
-                }
+        if (!this.oxygenDirty) return null;
+        this.oxygenDirty = false;
+
+        int dirty = 0;
+        for (LevelChunkSection section : this.sections) {
+            if (((ChunkSectionOxygenAccessor) section).galacticraft$isOxygenDirty()) dirty++;
+        }
+        if (dirty == 0) return null;
+
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeVarInt(dirty);
+        for (int i = 0; i < this.sections.length; i++) {
+            ChunkSectionOxygenAccessor section = (ChunkSectionOxygenAccessor) this.sections[i];
+            if (section.galacticraft$isOxygenDirty()) {
+                buf.writeVarInt(i);
+                section.galacticraft$writeOxygenDelta(buf);
             }
-            this.dirtySections = 0;
-            return buf;
         }
-        return null;
+        return buf;
     }
 
     @Override
     public void galacticraft$readOxygenUpdate(@NotNull FriendlyByteBuf buf) {
-        short dirty = buf.readShort();
-        for (int i = 0; i < this.sections.length; i++) {
-            if ((dirty & (0b1 << i++)) != 0) {
-                ((ChunkSectionOxygenAccessor) this.sections[i]).galacticraft$readOxygenPacket(buf);
+        int dirty = buf.readVarInt();
+        for (int i = 0; i < dirty; i++) {
+            int index = buf.readVarInt();
+            if (index < 0 || index >= this.sections.length) {
+                throw new IndexOutOfBoundsException("Oxygen update for section " + index + " of a chunk with " + this.sections.length + " sections");
             }
+            ((ChunkSectionOxygenAccessor) this.sections[index]).galacticraft$readOxygenDelta(buf);
         }
     }
 
     @Inject(method = "setBlockState", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/level/block/state/BlockState;getBlock()Lnet/minecraft/world/level/block/Block;", ordinal = 0))
     private void resetAirOnBlockChange(BlockPos pos, BlockState blockState, boolean bl, CallbackInfoReturnable<BlockState> cir) {
-        this.galacticraft$setInverted(pos.getX() & 15, pos.getY(), pos.getZ() & 15, false);
+        // oxygen that is owned by a source is managed by that source
+        if (((ChunkSectionOxygenAccessor) this.sections[this.getSectionIndex(pos.getY())]).galacticraft$getSources(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15) == 0) {
+            this.galacticraft$setInverted(pos.getX() & 15, pos.getY(), pos.getZ() & 15, false);
+        }
     }
 }
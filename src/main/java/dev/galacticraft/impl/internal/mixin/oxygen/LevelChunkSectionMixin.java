@@ -24,6 +24,7 @@
 
 import dev.galacticraft.impl.internal.accessor.ChunkSectionOxygenAccessor;
 import dev.galacticraft.mod.Constant;
+import it.unimi.dsi.fastutil.shorts.Short2IntOpenHashMap;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.level.chunk.LevelChunkSection;
 import org.jetbrains.annotations.NotNull;
@@ -35,6 +36,7 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
+import java.util.Arrays;
 import java.util.BitSet;
 
 /**
@@ -42,8 +44,41 @@
  */
 @Mixin(LevelChunkSection.class)
 public abstract class LevelChunkSectionMixin implements ChunkSectionOxygenAccessor {
+    // how the full state is encoded
+    private static final @Unique byte ENCODING_BITS = 0;
+    private static final @Unique byte ENCODING_POSITIONS = 1;
+    // what a delta contains
+    private static final @Unique byte DELTA_FULL = 0;
+    private static final @Unique byte DELTA_WORDS = 1;
+    private static final @Unique byte DELTA_CHANGES = 2;
+    /**
+     * Changes beyond this are only tracked by word, as sending the words is cheaper by then
+     */
+    private static final @Unique int MAX_TRACKED_CHANGES = 64;
+    /**
+     * Shared by every section without tracked changes, it is replaced (never written) once a change is tracked
+     */
+    private static final @Unique short[] NO_CHANGES = new short[0];
+
     private @Unique @Nullable BitSet inversionBits = null;
     private @Unique short modifiedBlocks = 0;
+    /**
+     * The 64-bit words of {@link #inversionBits} that changed since the last delta was written
+     */
+    private @Unique long dirtyWords = 0;
+    /**
+     * The positions that changed since the last delta was written, with the new value in the sign bit.
+     * {@code null} if more than {@link #MAX_TRACKED_CHANGES} positions changed.
+     */
+    private @Unique short @Nullable [] changes = NO_CHANGES;
+    private @Unique int changeCount = 0;
+    /**
+     * The number of oxygen sources claiming each position, 4 bits per position.
+     * A nibble of 15 means that the count is stored in {@link #sourceOverflow}.
+     */
+    private @Unique byte @Nullable [] sources = null;
+    private @Unique @Nullable Short2IntOpenHashMap sourceOverflow = null;
+    private @Unique short sourcedBlocks = 0;
 
     @Override
     public boolean galacticraft$isInverted(int x, int y, int z) {
@@ -61,10 +96,12 @@ public abstract class LevelChunkSectionMixin implements ChunkSectionOxygenAccess
                 this.inversionBits = new BitSet(bitIndex); // do not allocate a full bitset if not necessary
                 this.inversionBits.set(bitIndex);
                 this.modifiedBlocks = 1;
+                this.trackChange(bitIndex, true);
             } else {
                 if (!this.inversionBits.get(bitIndex)) {
                     this.inversionBits.set(bitIndex);
                     this.modifiedBlocks++;
+                    this.trackChange(bitIndex, true);
                 }
             }
         } else if (this.inversionBits != null && this.inversionBits.get(bitIndex)) {
@@ -72,12 +109,103 @@ public abstract class LevelChunkSectionMixin implements ChunkSectionOxygenAccess
             if (--this.modifiedBlocks == 0) {
                 this.inversionBits = null;
             }
+            this.trackChange(bitIndex, false);
+        }
+    }
+
+    @Override
+    public boolean galacticraft$addSource(int x, int y, int z) {
+        int index = x + (y << 4) + (z << 8);
+        int count = this.getSourceCount(index);
+        this.setSourceCount(index, count + 1);
+        if (count == 0) this.sourcedBlocks++;
+        if (!this.galacticraft$isInverted(x, y, z)) {
+            this.galacticraft$setInverted(x, y, z, true);
+            return true;
         }
+        return false;
+    }
+
+    @Override
+    public boolean galacticraft$removeSource(int x, int y, int z) {
+        int index = x + (y << 4) + (z << 8);
+        int count = this.getSourceCount(index);
+        if (count > 0) {
+            this.setSourceCount(index, count - 1);
+            if (count == 1 && --this.sourcedBlocks == 0) {
+                this.sources = null;
+                this.sourceOverflow = null;
+            }
+        }
+        if (count <= 1 && this.galacticraft$isInverted(x, y, z)) {
+            this.galacticraft$setInverted(x, y, z, false);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int galacticraft$getSources(int x, int y, int z) {
+        return this.getSourceCount(x + (y << 4) + (z << 8));
+    }
+
+    @Unique
+    private int getSourceCount(int index) {
+        if (this.sources == null) return 0;
+        int nibble = (this.sources[index >> 1] >> ((index & 1) << 2)) & 0xF;
+        if (nibble == 0xF) {
+            assert this.sourceOverflow != null;
+            return this.sourceOverflow.get((short) index);
+        }
+        return nibble;
+    }
+
+    @Unique
+    private void setSourceCount(int index, int count) {
+        if (this.sources == null) this.sources = new byte[Constant.Chunk.CHUNK_SECTION_AREA / 2];
+        int shift = (index & 1) << 2;
+        this.sources[index >> 1] = (byte) ((this.sources[index >> 1] & ~(0xF << shift)) | (Math.min(count, 0xF) << shift));
+        if (count >= 0xF) {
+            if (this.sourceOverflow == null) this.sourceOverflow = new Short2IntOpenHashMap();
+            this.sourceOverflow.put((short) index, count);
+        } else if (this.sourceOverflow != null) {
+            this.sourceOverflow.remove((short) index);
+        }
+    }
+
+    @Unique
+    private void trackChange(int bitIndex, boolean inverted) {
+        this.dirtyWords |= 1L << (bitIndex >> 6);
+        if (this.changes != null) {
+            if (this.changeCount == MAX_TRACKED_CHANGES) {
+                this.changes = null;
+            } else {
+                if (this.changeCount == this.changes.length) {
+                    this.changes = Arrays.copyOf(this.changes, Math.min(MAX_TRACKED_CHANGES, Math.max(4, this.changeCount * 2)));
+                }
+                this.changes[this.changeCount++] = (short) (inverted ? bitIndex | 0x8000 : bitIndex);
+            }
+        }
+    }
+
+    @Unique
+    private int wordCount() {
+        return this.inversionBits == null ? 0 : (this.inversionBits.length() + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * Returns the size of {@link #galacticraft$writeOxygenPacket(FriendlyByteBuf)} in bytes
+     */
+    @Unique
+    private int fullPacketSize() {
+        if (this.modifiedBlocks == 0) return Short.BYTES;
+        int words = this.wordCount();
+        return Short.BYTES + 1 + Math.min(this.modifiedBlocks * Short.BYTES, FriendlyByteBuf.getVarIntSize(words) + words * Long.BYTES);
     }
 
     @Inject(method = "getSerializedSize", at = @At("RETURN"), cancellable = true)
     private void increaseChunkPacketSize(CallbackInfoReturnable<Integer> cir) {
-        cir.setReturnValue(cir.getReturnValueI() + (this.modifiedBlocks == 0 ? 0 : (Constant.Chunk.CHUNK_SECTION_AREA / Byte.SIZE)) + 2 + 1);
+        cir.setReturnValue(cir.getReturnValueI() + this.fullPacketSize());
     }
 
     @Inject(method = "hasOnlyAir()Z", at = @At("RETURN"), cancellable = true)
@@ -121,7 +249,16 @@ private void galacticraft_fromPacket(FriendlyByteBuf buf, CallbackInfo ci) {
 
         if (this.galacticraft$modifiedBlocks() > 0) {
             assert this.inversionBits != null;
-            buf.writeLongArray(this.inversionBits.toLongArray());
+            int words = this.wordCount();
+            if (this.modifiedBlocks * Short.BYTES < FriendlyByteBuf.getVarIntSize(words) + words * Long.BYTES) {
+                buf.writeByte(ENCODING_POSITIONS);
+                for (int i = this.inversionBits.nextSetBit(0); i >= 0; i = this.inversionBits.nextSetBit(i + 1)) {
+                    buf.writeShort(i);
+                }
+            } else {
+                buf.writeByte(ENCODING_BITS);
+                buf.writeLongArray(this.inversionBits.toLongArray());
+            }
         }
     }
 
@@ -129,9 +266,85 @@ private void galacticraft_fromPacket(FriendlyByteBuf buf, CallbackInfo ci) {
     public void galacticraft$readOxygenPacket(@NotNull FriendlyByteBuf buf) {
         this.galacticraft$setModifiedBlocks(buf.readShort());
         if (this.galacticraft$modifiedBlocks() > 0) {
-            this.galacticraft$setInversionBits(BitSet.valueOf(buf.readLongArray()));
+            if (buf.readByte() == ENCODING_POSITIONS) {
+                BitSet bits = new BitSet(Constant.Chunk.CHUNK_SECTION_AREA);
+                for (int i = 0; i < this.modifiedBlocks; i++) {
+                    bits.set(buf.readShort());
+                }
+                this.galacticraft$setInversionBits(bits);
+            } else {
+                this.galacticraft$setInversionBits(BitSet.valueOf(buf.readLongArray()));
+            }
         } else {
             this.galacticraft$setInversionBits(null);
         }
     }
+
+    @Override
+    public boolean galacticraft$isOxygenDirty() {
+        return this.dirtyWords != 0;
+    }
+
+    @Override
+    public void galacticraft$writeOxygenDelta(@NotNull FriendlyByteBuf buf) {
+        int fullSize = this.fullPacketSize() + 1;
+        int wordsSize = 1 + Short.BYTES + Long.BYTES + Long.bitCount(this.dirtyWords) * Long.BYTES;
+        int changesSize = this.changes == null ? Integer.MAX_VALUE : 1 + Short.BYTES + FriendlyByteBuf.getVarIntSize(this.changeCount) + this.changeCount * Short.BYTES;
+
+        if (changesSize <= wordsSize && changesSize <= fullSize) {
+            assert this.changes != null;
+            buf.writeByte(DELTA_CHANGES);
+            buf.writeShort(this.modifiedBlocks);
+            buf.writeVarInt(this.changeCount);
+            for (int i = 0; i < this.changeCount; i++) {
+                buf.writeShort(this.changes[i]);
+            }
+        } else if (wordsSize < fullSize) {
+            long[] words = this.inversionBits == null ? new long[0] : this.inversionBits.toLongArray();
+            buf.writeByte(DELTA_WORDS);
+            buf.writeShort(this.modifiedBlocks);
+            buf.writeLong(this.dirtyWords);
+            for (long dirty = this.dirtyWords; dirty != 0; dirty &= dirty - 1) {
+                int word = Long.numberOfTrailingZeros(dirty);
+                buf.writeLong(word < words.length ? words[word] : 0L);
+            }
+        } else {
+            buf.writeByte(DELTA_FULL);
+            this.galacticraft$writeOxygenPacket(buf);
+        }
+
+        this.dirtyWords = 0;
+        this.changeCount = 0;
+        if (this.changes == null) this.changes = NO_CHANGES;
+    }
+
+    @Override
+    public void galacticraft$readOxygenDelta(@NotNull FriendlyByteBuf buf) {
+        byte type = buf.readByte();
+        if (type == DELTA_FULL) {
+            this.galacticraft$readOxygenPacket(buf);
+            return;
+        }
+
+        short modified = buf.readShort();
+        BitSet bits = this.inversionBits != null ? this.inversionBits : new BitSet(Constant.Chunk.CHUNK_SECTION_AREA);
+        if (type == DELTA_CHANGES) {
+            int count = buf.readVarInt();
+            for (int i = 0; i < count; i++) {
+                short change = buf.readShort();
+                bits.set(change & 0x0FFF, (change & 0x8000) != 0);
+            }
+        } else {
+            for (long dirty = buf.readLong(); dirty != 0; dirty &= dirty - 1) {
+                int word = Long.numberOfTrailingZeros(dirty);
+                int offset = word * Long.SIZE;
+                bits.clear(offset, offset + Long.SIZE);
+                for (long value = buf.readLong(); value != 0; value &= value - 1) {
+                    bits.set(offset + Long.numberOfTrailingZeros(value));
+                }
+            }
+        }
+        this.galacticraft$setModifiedBlocks(modified);
+        this.galacticraft$setInversionBits(modified > 0 ? bits : null);
+    }
 }
@@ -26,6 +26,8 @@
 import dev.galacticraft.api.universe.celestialbody.CelestialBody;
 import dev.galacticraft.impl.internal.accessor.ChunkOxygenAccessor;
 import dev.galacticraft.impl.internal.accessor.InternalLevelOxygenAccessor;
+import dev.galacticraft.impl.internal.accessor.LevelCelestialBodyAccessor;
+import dev.galacticraft.impl.universe.celestialbody.CelestialBodyDimensionIndex;
 import net.minecraft.core.Holder;
 import net.minecraft.core.RegistryAccess;
 import net.minecraft.core.SectionPos;
@@ -35,6 +37,7 @@
 import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraft.world.level.storage.WritableLevelData;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.Unique;
@@ -48,14 +51,21 @@
  * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
  */
 @Mixin(Level.class)
-public abstract class LevelMixin implements LevelOxygenAccessor, InternalLevelOxygenAccessor, LevelAccessor {
+public abstract class LevelMixin implements LevelOxygenAccessor, InternalLevelOxygenAccessor, LevelCelestialBodyAccessor, LevelAccessor {
     private @Unique boolean breathable = true;
+    private @Unique @Nullable CelestialBody<?, ?> celestialBody = null;
 
     @Shadow public abstract @NotNull LevelChunk getChunk(int i, int j);
 
     @Inject(method = "<init>", at = @At("RETURN"))
     private void initializeOxygenValues(WritableLevelData writableLevelData, ResourceKey<Level> resourceKey, RegistryAccess registryAccess, Holder holder, Supplier supplier, boolean bl, boolean bl2, long l, int i, CallbackInfo ci) {
-        this.setDefaultBreathable(CelestialBody.getByDimension(registryAccess, resourceKey).map(c -> c.atmosphere().breathable()).orElse(true));
+        this.celestialBody = CelestialBodyDimensionIndex.get(CelestialBody.getRegistry(registryAccess), resourceKey);
+        this.setDefaultBreathable(this.celestialBody == null || this.celestialBody.atmosphere().breathable());
+    }
+
+    @Override
+    public @Nullable CelestialBody<?, ?> galacticraft$getCelestialBody() {
+        return this.celestialBody;
     }
 
     @Override
@@ -86,6 +96,23 @@ public void setBreathable(int x, int y, int z, boolean value) {
     public void setBreathableChunk(LevelChunk chunk, int x, int y, int z, boolean value) {
         assert x >= 0 && x < 16 && z >= 0 && z < 16;
         ((ChunkOxygenAccessor) chunk).galacticraft$setInverted(x, y, z, this.breathable ^ value);
+        this.galacticraft$recordOxygenUpdates(1);
+    }
+
+    @Override
+    public void addBreathableSource(int x, int y, int z) {
+        if (!this.breathable && this.validPosition(x, y, z)) {
+            ((ChunkOxygenAccessor) this.getChunk(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z))).galacticraft$addSource(x & 15, y, z & 15);
+            this.galacticraft$recordOxygenUpdates(1);
+        }
+    }
+
+    @Override
+    public void removeBreathableSource(int x, int y, int z) {
+        if (!this.breathable && this.validPosition(x, y, z)) {
+            ((ChunkOxygenAccessor) this.getChunk(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z))).galacticraft$removeSource(x & 15, y, z & 15);
+            this.galacticraft$recordOxygenUpdates(1);
+        }
     }
 
     @Override
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.impl.internal.mixin.oxygen;
+
+import dev.galacticraft.impl.internal.accessor.ServerPlayerOxygenSyncer;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+/**
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+@Mixin(ServerPlayer.class)
+public abstract class ServerPlayerMixin implements ServerPlayerOxygenSyncer {
+    private @Unique @Nullable FriendlyByteBuf pendingOxygenUpdates = null;
+    private @Unique int pendingOxygenChunks = 0;
+    private @Unique @Nullable ResourceKey<Level> pendingOxygenLevel = null;
+
+    @Override
+    public void galacticraft$queueOxygenUpdate(@NotNull ChunkPos pos, @NotNull FriendlyByteBuf sections) {
+        ResourceKey<Level> level = ((ServerPlayer) (Object) this).level().dimension();
+        if (this.pendingOxygenUpdates == null || level != this.pendingOxygenLevel) {
+            this.pendingOxygenUpdates = new FriendlyByteBuf(Unpooled.buffer());
+            this.pendingOxygenChunks = 0;
+            this.pendingOxygenLevel = level;
+        }
+        this.pendingOxygenUpdates.writeInt(pos.x);
+        this.pendingOxygenUpdates.writeInt(pos.z);
+        this.pendingOxygenUpdates.writeVarInt(sections.readableBytes()); // lets the client skip chunks it has not loaded
+        this.pendingOxygenUpdates.writeBytes(sections, sections.readerIndex(), sections.readableBytes());
+        this.pendingOxygenChunks++;
+    }
+
+    @Override
+    public @Nullable FriendlyByteBuf galacticraft$flushOxygenUpdates() {
+        FriendlyByteBuf pending = this.pendingOxygenUpdates;
+        this.pendingOxygenUpdates = null;
+        if (pending == null || this.pendingOxygenLevel != ((ServerPlayer) (Object) this).level().dimension()) return null;
+
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer(FriendlyByteBuf.getVarIntSize(this.pendingOxygenChunks) + pending.readableBytes()));
+        buf.writeVarInt(this.pendingOxygenChunks);
+        buf.writeBytes(pending);
+        return buf;
+    }
+}
@@ -29,6 +29,8 @@
 import dev.galacticraft.api.universe.celestialbody.CelestialBody;
 import dev.galacticraft.api.universe.celestialbody.landable.teleporter.CelestialTeleporter;
 import dev.galacticraft.api.universe.galaxy.Galaxy;
+import dev.galacticraft.impl.universe.celestialbody.CelestialBodyDimensionIndex;
+import net.minecraft.core.RegistryAccess;
 import net.minecraft.resources.RegistryDataLoader;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
@@ -37,6 +39,7 @@
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -62,4 +65,9 @@ private static void addGalacticraftAPIDynamicRegistries(CallbackInfo ci) {
 
         WORLDGEN_REGISTRIES.add(new RegistryDataLoader.RegistryData<>(AddonRegistries.CELESTIAL_TELEPORTER, CelestialTeleporter.DIRECT_CODEC));
     }
+
+    @Inject(method = "load", at = @At("RETURN"))
+    private static void invalidateDimensionIndex(CallbackInfoReturnable<RegistryAccess.Frozen> cir) {
+        CelestialBodyDimensionIndex.invalidate();
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.impl.universe.celestialbody;
+
+import dev.galacticraft.api.universe.celestialbody.CelestialBody;
+import dev.galacticraft.api.universe.celestialbody.landable.Landable;
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Maps dimensions to the landable celestial body that owns them.
+ * Indices are built lazily per celestial body registry instance. Registries are recreated on every registry load and
+ * client sync, so stale indices are never returned and are dropped once their registry is collected.
+ */
+@ApiStatus.Internal
+public final class CelestialBodyDimensionIndex {
+    private static final Map<Registry<CelestialBody<?, ?>>, Map<ResourceKey<Level>, CelestialBody<?, ?>>> INDICES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private CelestialBodyDimensionIndex() {
+    }
+
+    public static @Nullable CelestialBody<?, ?> get(@NotNull Registry<CelestialBody<?, ?>> registry, @NotNull ResourceKey<Level> key) {
+        return INDICES.computeIfAbsent(registry, CelestialBodyDimensionIndex::build).get(key);
+    }
+
+    public static void invalidate() {
+        INDICES.clear();
+    }
+
+    private static @NotNull Map<ResourceKey<Level>, CelestialBody<?, ?>> build(@NotNull Registry<CelestialBody<?, ?>> registry) {
+        Map<ResourceKey<Level>, CelestialBody<?, ?>> index = new HashMap<>();
+        for (CelestialBody<?, ?> body : registry) {
+            if (body.type() instanceof Landable landable) {
+                // first registered body wins, matching the previous linear scan
+                index.putIfAbsent(landable.world(body.config()), body);
+            }
+        }
+        return index;
+    }
+}
@@ -573,6 +573,8 @@ interface Config {
         String DEBUG = "config.galacticraft.debug";
         String DEBUG_LOGGING = "config.galacticraft.debug.logging";
         String HIDE_ALPHA_WARNING = "config.galacticraft.debug.hide_alpha_warning";
+        String METRICS_EXPORT_INTERVAL = "config.galacticraft.debug.metrics_export_interval";
+        String METRICS_EXPORT_PROMETHEUS = "config.galacticraft.debug.metrics_export_prometheus";
 
         String ENERGY = "config.galacticraft.energy";
 
@@ -831,6 +833,9 @@ interface Nbt {
         String PROGRESS = "Progress";
         String SIZE = "Size";
         String MAX_SIZE = "MaxSize";
+        String APPLIED_SIZE = "AppliedSize";
+        String SIZE_RATE = "SizeRate";
+        String SIZE_TARGET = "SizeTarget";
         String FUEL_TIME = "FuelTime";
         String FUEL_LENGTH = "FuelLength";
         String TEAM = "Team";
@@ -933,6 +938,7 @@ interface Packet {
         ResourceLocation ROCKET_JUMP = id("rocket_jump");
         ResourceLocation ROCKET_PITCH = id("rocket_pitch");
         ResourceLocation ROCKET_YAW = id("rocket_yaw");
+        ResourceLocation ROCKET_EXHAUST = id("rocket_exhaust");
         ResourceLocation OPEN_SCREEN = id("open_screen");
 
         ResourceLocation LANDER_PITCH = id("lander_pitch");
@@ -22,10 +22,51 @@
 
 package dev.galacticraft.mod.accessor;
 
-import dev.galacticraft.mod.content.block.entity.machine.OxygenSealerBlockEntity;
+import dev.galacticraft.mod.api.block.entity.BlockUpdateListener;
+import dev.galacticraft.mod.api.block.entity.SkyColumnListener;
+import dev.galacticraft.mod.machine.HibernationCounts;
+import dev.galacticraft.mod.machine.SolarConditions;
+import dev.galacticraft.mod.metrics.LevelMetrics;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.state.BlockState;
 
 public interface ServerLevelAccessor {
-    void addSealer(OxygenSealerBlockEntity sealer);
+    /**
+     * Registers a listener to be notified of block updates in the given chunk section
+     * @param section the packed {@link net.minecraft.core.SectionPos}
+     */
+    void addSectionListener(long section, BlockUpdateListener listener);
 
-    void removeSealer(OxygenSealerBlockEntity sealer);
+    void removeSectionListener(long section, BlockUpdateListener listener);
+
+    /**
+     * Registers a listener to be notified when the sky exposure of the given column changes
+     * @param column the packed {@link net.minecraft.core.BlockPos} of the column, at y 0
+     */
+    void addColumnListener(long column, SkyColumnListener listener);
+
+    void removeColumnListener(long column, SkyColumnListener listener);
+
+    void notifyColumnChanged(int x, int y, int z);
+
+    /**
+     * Changes a purely visual property of a block state. The change is sent to clients, but does not
+     * notify neighbours or block update listeners.
+     */
+    void setVisualBlockState(BlockPos pos, BlockState state);
+
+    /**
+     * Returns the sunlight conditions of this level for the current tick
+     */
+    SolarConditions getSolarConditions();
+
+    /**
+     * Returns the number of sleeping and awake machines in this level
+     */
+    HibernationCounts getHibernationCounts();
+
+    /**
+     * Returns the time and work spent by Galacticraft's subsystems in this level
+     */
+    LevelMetrics getMetrics();
 }
@@ -25,11 +25,13 @@
 import dev.galacticraft.mod.Constant;
 import dev.galacticraft.mod.Galacticraft;
 import dev.galacticraft.mod.api.pipe.Pipe;
+import dev.galacticraft.mod.api.pipe.impl.PipeNetworkManager;
 import dev.galacticraft.mod.content.block.special.fluidpipe.PipeBlockEntity;
 import dev.galacticraft.mod.util.DirectionUtil;
 import dev.galacticraft.mod.util.FluidUtil;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.player.Player;
@@ -73,7 +75,9 @@ public void neighborChanged(BlockState state, Level world, BlockPos pos, Block b
             if (pipe.canConnect(DirectionUtil.fromNormal(fromPos.subtract(pos)))) {
                 if (blockEntityAdj instanceof Pipe pipe1) {
                     if (pipe1.canConnect(DirectionUtil.fromNormal(fromPos.subtract(pos)).getOpposite())) {
-                        pipe.getOrCreateNetwork().addPipe(fromPos, pipe1);
+                        // the manager joins both networks once both pipes are registered
+                        pipe.getOrCreateNetwork();
+                        pipe1.getOrCreateNetwork();
                     }
                 } else {
                     if (FluidUtil.canAccessFluid(world, fromPos, DirectionUtil.fromNormal(fromPos.subtract(pos)))) {
@@ -86,6 +90,15 @@ public void neighborChanged(BlockState state, Level world, BlockPos pos, Block b
         }
     }
 
+    @Override
+    @Deprecated
+    public void onRemove(BlockState state, Level world, BlockPos pos, BlockState newState, boolean moved) {
+        if (!state.is(newState.getBlock()) && world instanceof ServerLevel serverLevel) {
+            PipeNetworkManager.get(serverLevel).removePipe(pos);
+        }
+        super.onRemove(state, world, pos, newState, moved);
+    }
+
     @Nullable
     @Override
     public abstract PipeBlockEntity newBlockEntity(BlockPos pos, BlockState state);
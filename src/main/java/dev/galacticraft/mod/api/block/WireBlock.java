@@ -25,10 +25,12 @@
 import dev.galacticraft.mod.Constant;
 import dev.galacticraft.mod.Galacticraft;
 import dev.galacticraft.mod.api.wire.Wire;
+import dev.galacticraft.mod.api.wire.impl.WireNetworkManager;
 import dev.galacticraft.mod.content.block.entity.networked.WireBlockEntity;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.player.Player;
@@ -74,7 +76,9 @@ public void neighborChanged(BlockState state, Level world, BlockPos pos, Block b
             if (wire.canConnect(Direction.fromDelta(delta.getX(), delta.getY(), delta.getZ()))) {
                 if (blockEntityAdj instanceof Wire wire1) {
                     if (wire1.canConnect(Direction.fromDelta(delta.getX(), delta.getY(), delta.getZ()).getOpposite())) {
-                        wire.getOrCreateNetwork().addWire(fromPos, wire1);
+                        // the manager joins both networks once both wires are registered
+                        wire.getOrCreateNetwork();
+                        wire1.getOrCreateNetwork();
                     }
                 } else {
 
@@ -88,6 +92,15 @@ public void neighborChanged(BlockState state, Level world, BlockPos pos, Block b
         }
     }
 
+    @Override
+    @Deprecated
+    public void onRemove(BlockState state, Level world, BlockPos pos, BlockState newState, boolean moved) {
+        if (!state.is(newState.getBlock()) && world instanceof ServerLevel serverLevel) {
+            WireNetworkManager.get(serverLevel).removeWire(pos);
+        }
+        super.onRemove(state, world, pos, newState, moved);
+    }
+
     @Nullable
     @Override
     public abstract WireBlockEntity newBlockEntity(BlockPos pos, BlockState state);
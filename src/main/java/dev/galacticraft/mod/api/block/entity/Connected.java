@@ -31,6 +31,18 @@ public interface Connected {
 
     void calculateConnections();
 
+    /**
+     * Returns the connected faces as a bitmask of {@link Direction#ordinal()}
+     */
+    default byte getConnectionMask() {
+        byte mask = 0;
+        boolean[] connections = this.getConnections();
+        for (int i = 0; i < connections.length; i++) {
+            if (connections[i]) mask |= (byte) (1 << i);
+        }
+        return mask;
+    }
+
     default void writeConnectionNbt(CompoundTag nbt) {
         for (Direction direction : Constant.Misc.DIRECTIONS) {
             nbt.putBoolean(direction.getSerializedName(), this.getConnections()[direction.ordinal()]);
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.api.block.entity;
+
+import net.minecraft.core.Direction;
+import net.minecraft.world.item.DyeColor;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The state a baked model needs to render a connected block, captured on the client thread so that chunk meshing
+ * never has to query the block entity or the world.
+ *
+ * @param connections the connected faces, see {@link Connected#getConnectionMask()}
+ * @param facing the facing of a walkway, or {@code null}
+ * @param color the color of a pipe, or {@code null}
+ */
+public record ConnectedRenderData(byte connections, @Nullable Direction facing, @Nullable DyeColor color) {
+    public boolean isConnected(Direction direction) {
+        return (this.connections & (1 << direction.ordinal())) != 0;
+    }
+}
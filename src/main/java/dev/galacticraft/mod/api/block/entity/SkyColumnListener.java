@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.api.block.entity;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.levelgen.Heightmap;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Is notified when a block in a column changes, after registering with
+ * {@link dev.galacticraft.mod.accessor.ServerLevelAccessor#addColumnListener(long, SkyColumnListener)}.
+ */
+public interface SkyColumnListener {
+    /**
+     * Called after a block of a column changed, including blocks below its {@link Heightmap.Types#MOTION_BLOCKING} height
+     * (which may be under transparent blocks).
+     * @param x the x coordinate of the column
+     * @param y the y coordinate of the block that changed
+     * @param z the z coordinate of the column
+     */
+    void onSkyColumnChanged(int x, int y, int z);
+
+    /**
+     * Returns whether a block at or above {@code y} stops sky light from reaching down the column.
+     * Motion-blocking blocks that let sky light through (such as glass) do not block the sky.
+     * Reads block states only, so unlike {@link Level#canSeeSky(BlockPos)} it does not lag behind the light engine.
+     */
+    static boolean isSkyBlocked(@NotNull Level level, int x, int y, int z) {
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos(x, level.getHeight(Heightmap.Types.MOTION_BLOCKING, x, z) - 1, z);
+        for (; pos.getY() >= y; pos.move(Direction.DOWN)) {
+            if (!level.getBlockState(pos).propagatesSkylightDown(level, pos)) return true;
+        }
+        return false;
+    }
+}
@@ -41,6 +41,17 @@ static Config getInstance() {
 
     void setDebugLog(boolean flag);
 
+    /**
+     * Returns how often the level metrics are written to a file, in seconds. {@code 0} disables the export.
+     */
+    long metricsExportInterval();
+
+    void setMetricsExportInterval(long seconds);
+
+    boolean isMetricsExportPrometheus();
+
+    void setMetricsExportPrometheus(boolean flag);
+
     long wireTransferLimit();
 
     void setWireTransferLimit(long amount);
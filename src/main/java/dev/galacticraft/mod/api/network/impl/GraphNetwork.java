@@ -0,0 +1,427 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.api.network.impl;
+
+import dev.galacticraft.mod.Constant;
+import dev.galacticraft.mod.util.DirectionUtil;
+import it.unimi.dsi.fastutil.longs.*;
+import it.unimi.dsi.fastutil.objects.ObjectArrayFIFOQueue;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectSet;
+import net.fabricmc.fabric.api.lookup.v1.block.BlockApiCache;
+import net.fabricmc.fabric.api.lookup.v1.block.BlockApiLookup;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The part of a wire or pipe network that does not depend on what it transfers: its conductors, the blocks it can
+ * insert into (endpoints), its contacts with networks of another transfer rate (peers) and the consumers reachable
+ * through them. Subclasses buffer their payload and distribute it when {@link GraphNetworkManager#tick()} asks them to.
+ *
+ * @param <N> the network type itself
+ * @param <S> the storage that endpoints expose, as found through {@link #getLookup()}
+ * @param <C> the consumer type that subclasses distribute to
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+public abstract class GraphNetwork<N extends GraphNetwork<N, S, C>, S, C> {
+    private final @NotNull GraphNetworkManager<N> manager;
+    protected final @NotNull ServerLevel world;
+    private final @NotNull LongOpenHashSet conductors;
+    /**
+     * Blocks that this network can insert into, mapped to the sides (bitmask of {@link Direction#ordinal()}) that face a conductor of this network
+     */
+    private final @NotNull Long2ByteOpenHashMap endpoints = new Long2ByteOpenHashMap();
+    private final @NotNull Long2ObjectOpenHashMap<BlockApiCache<S, Direction>> storageCaches = new Long2ObjectOpenHashMap<>();
+    /**
+     * Conductors of this network that touch a conductor with a different transfer rate
+     */
+    private final @NotNull LongOpenHashSet peerContacts = new LongOpenHashSet(0);
+    private final @NotNull ObjectSet<N> peerNetworks = new ObjectLinkedOpenHashSet<>(0);
+    /**
+     * Blocks that tried to insert into this network this tick. They do not receive anything in the same tick, so that
+     * the payload does not flow back into its producer, and their demand does not count towards what the network accepts.
+     */
+    private final @NotNull LongOpenHashSet producers = new LongOpenHashSet(1);
+    private @Nullable List<C> consumers = null;
+    private final @NotNull Long2ObjectOpenHashMap<C> consumersByPos = new Long2ObjectOpenHashMap<>();
+    private final long maxTransferRate;
+    private boolean markedForRemoval = false;
+    private long tickId;
+    private long peerVersion = -1;
+    private long consumerVersion = -1;
+
+    protected GraphNetwork(@NotNull GraphNetworkManager<N> manager, long maxTransferRate, @NotNull LongOpenHashSet conductors) {
+        this.manager = manager;
+        this.world = manager.getLevel();
+        this.maxTransferRate = maxTransferRate;
+        this.conductors = conductors;
+        this.tickId = this.world.getServer().getTickCount();
+    }
+
+    protected abstract @NotNull BlockApiLookup<S, Direction> getLookup();
+
+    /**
+     * Returns whether the block entity is a wire or pipe, which are never endpoints
+     */
+    protected abstract boolean isConductor(@Nullable BlockEntity blockEntity);
+
+    protected abstract boolean supportsInsertion(@NotNull S storage);
+
+    protected abstract @NotNull C createConsumer(@NotNull BlockPos pos, byte sides, @NotNull N owner, @NotNull BlockApiCache<S, Direction> cache);
+
+    /**
+     * Resets the per-tick state of the payload, called before the first transfer of every tick
+     */
+    protected abstract void onNewTick();
+
+    /**
+     * Splits the buffered payload between consumers, called once at the end of the level tick
+     * @return the amount delivered
+     */
+    protected abstract long distribute();
+
+    /**
+     * Returns whether any payload is buffered, even if this network has been removed
+     */
+    protected abstract boolean hasBuffered();
+
+    /**
+     * Moves the buffered payload of another network into this one. The result may exceed the transfer rate, it is
+     * drained over the following ticks instead of being voided.
+     */
+    protected abstract void takeBuffered(@NotNull N network);
+
+    protected abstract void writeBuffered(@NotNull CompoundTag tag);
+
+    protected abstract void readBuffered(@NotNull CompoundTag tag);
+
+    @SuppressWarnings("unchecked")
+    private N self() {
+        return (N) this;
+    }
+
+    /**
+     * Moves the conductors, endpoints, peer contacts and buffered payload of another network into this one.
+     * The caller is responsible for re-mapping the moved conductors.
+     */
+    void takeAll(@NotNull N network) {
+        GraphNetwork<N, S, C> other = network;
+        this.conductors.addAll(other.conductors);
+        for (Long2ByteMap.Entry entry : Long2ByteMaps.fastIterable(other.endpoints)) {
+            this.endpoints.put(entry.getLongKey(), (byte) (this.endpoints.get(entry.getLongKey()) | entry.getByteValue()));
+        }
+        this.storageCaches.putAll(other.storageCaches);
+        this.peerContacts.addAll(other.peerContacts);
+        this.takeBuffered(network);
+        if (this.hasBuffered()) {
+            this.markPending();
+        }
+        network.markForRemoval();
+    }
+
+    /**
+     * Hands the endpoints, peer contacts and buffered payload of this (split) network to the networks that now own its conductors.
+     */
+    void distributeTo(@NotNull GraphNetworkManager<N> manager) {
+        for (Long2ByteMap.Entry entry : Long2ByteMaps.fastIterable(this.endpoints)) {
+            for (Direction side : Constant.Misc.DIRECTIONS) {
+                if ((entry.getByteValue() & (1 << side.ordinal())) == 0) continue;
+                N network = manager.getNetwork(BlockPos.offset(entry.getLongKey(), side));
+                if (network != null) {
+                    network.addEndpointFace(entry.getLongKey(), side);
+                }
+            }
+        }
+        LongIterator it = this.peerContacts.iterator();
+        while (it.hasNext()) {
+            long pos = it.nextLong();
+            N network = manager.getNetwork(pos);
+            if (network != null) {
+                network.addPeerContact(pos);
+            }
+        }
+        if (this.hasBuffered() && !this.conductors.isEmpty()) {
+            // the payload in transit cannot be attributed to a part, keep it in one of them rather than voiding it
+            N network = manager.getNetwork(this.conductors.iterator().nextLong());
+            if (network != null) {
+                network.takeBuffered(this.self());
+                network.markPending();
+            }
+        }
+        this.endpoints.clear();
+        this.storageCaches.clear();
+        this.peerContacts.clear();
+    }
+
+    /**
+     * Empties the buffer of a network whose last conductor was just removed. The payload is handed to a peer network
+     * that the conductor was connected to, or else delivered to this network's own endpoints as far as they accept it.
+     * Whatever is left after that has nowhere to go and is lost with the network.
+     */
+    void drainRemoved(@Nullable N peer) {
+        if (!this.hasBuffered()) return;
+        if (peer != null) {
+            peer.takeBuffered(this.self());
+            peer.markPending();
+            return;
+        }
+        this.distribute();
+        if (this.hasBuffered()) {
+            Constant.LOGGER.warn("Voiding the undeliverable payload of removed network {}", this);
+        }
+    }
+
+    /**
+     * Looks up the blocks next to a loaded conductor and records the ones that accept the payload.
+     * Endpoints in chunks that are not loaded keep their persisted state until those chunks load.
+     */
+    void markLoaded(long pos) {
+        byte mask = this.manager.getConnections(pos);
+        for (Direction direction : Constant.Misc.DIRECTIONS) {
+            if ((mask & (1 << direction.ordinal())) == 0) continue;
+            long adjacent = BlockPos.offset(pos, direction);
+            if (this.manager.isConductor(adjacent)) continue;
+            this.updateEndpoint(adjacent, direction.getOpposite());
+        }
+    }
+
+    private boolean updateEndpoint(long pos, @NotNull Direction side) {
+        BlockPos blockPos = BlockPos.of(pos);
+        if (!this.world.isLoaded(blockPos)) return this.endpoints.containsKey(pos);
+        BlockEntity blockEntity = this.world.getBlockEntity(blockPos);
+        S storage = this.isConductor(blockEntity) ? null : this.getLookup().find(this.world, blockPos, null, blockEntity, side);
+        if (storage != null && this.supportsInsertion(storage)) {
+            this.addEndpointFace(pos, side);
+            return true;
+        }
+        this.removeEndpointFace(pos, side);
+        return false;
+    }
+
+    void addEndpointFace(long pos, @NotNull Direction side) {
+        byte mask = this.endpoints.get(pos);
+        byte updated = (byte) (mask | (1 << side.ordinal()));
+        if (mask != updated) {
+            this.endpoints.put(pos, updated);
+            this.manager.markChanged();
+        }
+    }
+
+    void removeEndpointFace(long pos, @NotNull Direction side) {
+        byte previous = this.endpoints.get(pos);
+        byte mask = (byte) (previous & ~(1 << side.ordinal()));
+        if (mask == previous) return;
+        if (mask == 0) {
+            this.endpoints.remove(pos);
+            this.storageCaches.remove(pos);
+        } else {
+            this.endpoints.put(pos, mask);
+        }
+        this.manager.markChanged();
+    }
+
+    void addPeerContact(long pos) {
+        this.peerContacts.add(pos);
+    }
+
+    void removePeerContact(long pos) {
+        this.peerContacts.remove(pos);
+    }
+
+    private @NotNull BlockApiCache<S, Direction> getStorageCache(long pos) {
+        BlockApiCache<S, Direction> cache = this.storageCaches.get(pos);
+        if (cache == null) {
+            cache = BlockApiCache.create(this.getLookup(), this.world, BlockPos.of(pos));
+            this.storageCaches.put(pos, cache);
+        }
+        return cache;
+    }
+
+    private @NotNull ObjectSet<N> getPeerNetworks() {
+        if (this.peerVersion != this.manager.getVersion()) {
+            this.peerVersion = this.manager.getVersion();
+            this.peerNetworks.clear();
+            LongIterator it = this.peerContacts.iterator();
+            while (it.hasNext()) {
+                long pos = it.nextLong();
+                for (Direction direction : Constant.Misc.DIRECTIONS) {
+                    long adjacent = BlockPos.offset(pos, direction);
+                    N network = this.manager.getNetwork(adjacent);
+                    if (network != null && network != this && (this.manager.getConnections(pos) & (1 << direction.ordinal())) != 0
+                            && (this.manager.getConnections(adjacent) & (1 << direction.getOpposite().ordinal())) != 0) {
+                        this.peerNetworks.add(network);
+                    }
+                }
+            }
+        }
+        return this.peerNetworks;
+    }
+
+    /**
+     * Returns every block that the payload inserted into this network can reach, including the endpoints of peer networks.
+     * The list is rebuilt only when a conductor or endpoint in this dimension changes.
+     */
+    protected @NotNull List<C> getConsumers() {
+        if (this.consumers == null || this.consumerVersion != this.manager.getVersion()) {
+            this.consumerVersion = this.manager.getVersion();
+            List<C> consumers = new ArrayList<>();
+            this.consumersByPos.clear();
+            ObjectArrayFIFOQueue<N> queue = new ObjectArrayFIFOQueue<>();
+            ObjectOpenHashSet<N> visited = new ObjectOpenHashSet<>();
+            queue.enqueue(this.self());
+            visited.add(this.self());
+            while (!queue.isEmpty()) {
+                N owner = queue.dequeue();
+                GraphNetwork<N, S, C> network = owner;
+                for (Long2ByteMap.Entry entry : Long2ByteMaps.fastIterable(network.endpoints)) {
+                    if (!this.consumersByPos.containsKey(entry.getLongKey())) {
+                        C consumer = this.createConsumer(BlockPos.of(entry.getLongKey()), entry.getByteValue(), owner, network.getStorageCache(entry.getLongKey()));
+                        consumers.add(consumer);
+                        this.consumersByPos.put(entry.getLongKey(), consumer);
+                    }
+                }
+                for (N peer : network.getPeerNetworks()) {
+                    if (visited.add(peer)) {
+                        queue.enqueue(peer);
+                    }
+                }
+            }
+            this.consumers = consumers;
+        }
+        return this.consumers;
+    }
+
+    /**
+     * Returns the consumer at the given position, as of the last {@link #getConsumers()} call
+     */
+    protected @Nullable C getConsumer(long pos) {
+        return this.consumersByPos.get(pos);
+    }
+
+    /**
+     * Returns the storage of a consumer, through the first of its sides that exposes one
+     */
+    protected static <S> @Nullable S findStorage(@NotNull ServerLevel world, @NotNull BlockPos pos, byte sides, @NotNull BlockApiCache<S, Direction> cache) {
+        if (!world.isLoaded(pos)) return null;
+        for (Direction side : Constant.Misc.DIRECTIONS) {
+            if ((sides & (1 << side.ordinal())) != 0) {
+                S storage = cache.find(side);
+                if (storage != null) return storage;
+            }
+        }
+        return null;
+    }
+
+    protected void resetIfNewTick() {
+        if (this.tickId != (this.tickId = this.world.getServer().getTickCount())) {
+            this.producers.clear();
+            this.onNewTick();
+        }
+    }
+
+    /**
+     * Records a block inserting into this network this tick
+     * @return whether it had not inserted yet this tick
+     */
+    protected boolean addProducer(long pos) {
+        return this.producers.add(pos);
+    }
+
+    protected boolean isProducer(long pos) {
+        return this.producers.contains(pos);
+    }
+
+    protected void markPending() {
+        this.manager.markPending(this.self());
+    }
+
+    public boolean updateConnection(@NotNull BlockPos adjacentToUpdated, @NotNull BlockPos updatedPos) {
+        assert !this.isConductor(this.world.getBlockEntity(updatedPos));
+        BlockPos vector = updatedPos.subtract(adjacentToUpdated);
+        Direction direction = DirectionUtil.fromNormal(vector.getX(), vector.getY(), vector.getZ());
+        if (direction == null || (this.manager.getConnections(adjacentToUpdated.asLong()) & (1 << direction.ordinal())) == 0) return false;
+        return this.updateEndpoint(updatedPos.asLong(), direction.getOpposite());
+    }
+
+    void write(@NotNull CompoundTag tag) {
+        long[] positions = new long[this.endpoints.size()];
+        byte[] sides = new byte[positions.length];
+        int i = 0;
+        for (Long2ByteMap.Entry entry : Long2ByteMaps.fastIterable(this.endpoints)) {
+            positions[i] = entry.getLongKey();
+            sides[i++] = entry.getByteValue();
+        }
+        tag.putLongArray("endpoints", positions);
+        tag.putByteArray("endpoint_sides", sides);
+        this.writeBuffered(tag);
+    }
+
+    void read(@NotNull CompoundTag tag) {
+        long[] positions = tag.getLongArray("endpoints");
+        byte[] sides = tag.getByteArray("endpoint_sides");
+        for (int i = 0; i < Math.min(positions.length, sides.length); i++) {
+            this.endpoints.put(positions[i], sides[i]);
+        }
+        this.readBuffered(tag);
+    }
+
+    public long getMaxTransferRate() {
+        return this.maxTransferRate;
+    }
+
+    /**
+     * Returns the packed positions of every conductor in this network
+     */
+    public @NotNull LongOpenHashSet getConductors() {
+        return this.conductors;
+    }
+
+    public boolean markedForRemoval() {
+        return this.markedForRemoval;
+    }
+
+    public void markForRemoval() {
+        this.markedForRemoval = true;
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + "{" +
+                "world=" + this.world.dimension().location() +
+                ", endpoints=" + this.endpoints.size() +
+                ", conductors=" + this.conductors.size() +
+                ", markedForRemoval=" + this.markedForRemoval +
+                ", maxTransferRate=" + this.maxTransferRate +
+                ", tickId=" + this.tickId +
+                '}';
+    }
+}
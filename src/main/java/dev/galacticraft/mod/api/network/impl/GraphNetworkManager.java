@@ -0,0 +1,446 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.api.network.impl;
+
+import dev.galacticraft.mod.Constant;
+import dev.galacticraft.mod.accessor.ServerLevelAccessor;
+import dev.galacticraft.mod.metrics.LevelMetrics;
+import dev.galacticraft.mod.metrics.Metric;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.*;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.saveddata.SavedData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Owns every network of one kind of conductor (wires or pipes) in a dimension and schedules their transfers.
+ * Conductors are tracked by packed position together with the faces they connect on, so networks can be merged and split
+ * without loading block entities (or chunks), and are saved with the dimension instead of being rebuilt on chunk load.
+ * Networks buffer what is inserted into them during the tick and are asked to distribute it once the level has
+ * finished ticking.
+ *
+ * @param <N> the network type
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+public abstract class GraphNetworkManager<N extends GraphNetwork<N, ?, ?>> extends SavedData {
+    private final @NotNull ServerLevel level;
+    /**
+     * The name of a single conductor, used in saved data and log messages
+     */
+    private final @NotNull String conductorName;
+    private final @NotNull Long2ObjectOpenHashMap<N> networks = new Long2ObjectOpenHashMap<>();
+    private final @NotNull Long2ByteOpenHashMap connections = new Long2ByteOpenHashMap();
+    private final @NotNull ObjectSet<N> allNetworks = new ObjectLinkedOpenHashSet<>();
+    private final @NotNull ObjectSet<N> pendingNetworks = new ObjectLinkedOpenHashSet<>();
+    private long version = 0;
+
+    protected GraphNetworkManager(@NotNull ServerLevel level, @NotNull String conductorName) {
+        this.level = level;
+        this.conductorName = conductorName;
+    }
+
+    protected abstract @NotNull N createNetwork(long maxTransferRate, @NotNull LongOpenHashSet conductors);
+
+    /**
+     * Returns the metric that the transfers of these networks are recorded in
+     */
+    protected abstract @NotNull Metric getTransferMetric(@NotNull LevelMetrics metrics);
+
+    public @NotNull ServerLevel getLevel() {
+        return this.level;
+    }
+
+    public @Nullable N getNetwork(@NotNull BlockPos pos) {
+        return this.networks.get(pos.asLong());
+    }
+
+    public @Nullable N getNetwork(long pos) {
+        return this.networks.get(pos);
+    }
+
+    public boolean isConductor(long pos) {
+        return this.networks.containsKey(pos);
+    }
+
+    /**
+     * Returns the faces (as a bitmask of {@link Direction#ordinal()}) that the conductor at the given position connects on.
+     */
+    public byte getConnections(long pos) {
+        return this.connections.get(pos);
+    }
+
+    public @NotNull ObjectSet<N> getNetworks() {
+        return this.allNetworks;
+    }
+
+    /**
+     * Returns a counter that changes whenever a conductor, connection or endpoint in this dimension changes.
+     * Networks use it to invalidate their cached consumer lists.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    void markChanged() {
+        this.version++;
+        this.setDirty();
+    }
+
+    void markPending(@NotNull N network) {
+        this.pendingNetworks.add(network);
+    }
+
+    /**
+     * Distributes what every network buffered during this tick. Called once at the end of each level tick.
+     */
+    public void tick() {
+        if (this.pendingNetworks.isEmpty()) return;
+        long start = System.nanoTime();
+        long delivered = 0;
+        for (N network : this.pendingNetworks) {
+            delivered += network.distribute();
+        }
+        this.pendingNetworks.removeIf(network -> network.markedForRemoval() || !network.hasBuffered());
+        this.getTransferMetric(((ServerLevelAccessor) this.level).getMetrics()).record(System.nanoTime() - start, delivered);
+    }
+
+    /**
+     * Returns whether the conductors at {@code pos} and {@code pos + direction} are connected to each other.
+     */
+    public boolean isConnected(long pos, @NotNull Direction direction) {
+        if ((this.connections.get(pos) & (1 << direction.ordinal())) == 0) return false;
+        long adjacent = BlockPos.offset(pos, direction);
+        N network = this.networks.get(adjacent);
+        return network != null && network == this.networks.get(pos)
+                && (this.connections.get(adjacent) & (1 << direction.getOpposite().ordinal())) != 0;
+    }
+
+    /**
+     * Returns the network of the given conductor, registering the conductor (and merging adjacent networks) if it is not tracked yet.
+     */
+    protected @NotNull N getOrAddConductor(@NotNull BlockPos pos, byte mask, long maxTransferRate) {
+        long packed = pos.asLong();
+        N network = this.networks.get(packed);
+        if (network != null) {
+            if (network.getMaxTransferRate() == maxTransferRate && this.connections.get(packed) == mask) {
+                network.markLoaded(packed);
+                return network;
+            }
+            this.removeConductor(packed);
+        }
+        network = this.addConductor(packed, mask, maxTransferRate);
+        network.markLoaded(packed);
+        return network;
+    }
+
+    /**
+     * Re-reads the connectable faces of a conductor, splitting or merging networks as required.
+     */
+    protected void updateConnections(@NotNull BlockPos pos, byte mask, long maxTransferRate) {
+        long packed = pos.asLong();
+        if (this.networks.containsKey(packed) && this.connections.get(packed) != mask) {
+            this.removeConductor(packed);
+            this.addConductor(packed, mask, maxTransferRate).markLoaded(packed);
+        }
+    }
+
+    private @NotNull N addConductor(long pos, byte mask, long maxTransferRate) {
+        assert !this.networks.containsKey(pos);
+        this.connections.put(pos, mask);
+        N target = null;
+        for (Direction direction : Constant.Misc.DIRECTIONS) {
+            if ((mask & (1 << direction.ordinal())) == 0) continue;
+            long adjacent = BlockPos.offset(pos, direction);
+            N other = this.networks.get(adjacent);
+            if (other == null || (this.connections.get(adjacent) & (1 << direction.getOpposite().ordinal())) == 0) continue;
+            if (other.getMaxTransferRate() != maxTransferRate) {
+                other.addPeerContact(adjacent);
+                continue;
+            }
+            if (target == null) {
+                target = other;
+            } else if (target != other) {
+                target = this.merge(target, other);
+            }
+        }
+
+        if (target == null) {
+            target = this.createNetwork(maxTransferRate, new LongOpenHashSet(1));
+            this.allNetworks.add(target);
+        }
+        target.getConductors().add(pos);
+        this.networks.put(pos, target);
+        if (this.touchesPeer(pos, target)) {
+            target.addPeerContact(pos);
+        }
+        this.markChanged();
+        return target;
+    }
+
+    /**
+     * Removes a conductor, splitting its network if the conductor was a bridge between otherwise disconnected parts.
+     * Only the parts adjacent to the removed conductor are walked, and the walk stops as soon as they are known to be connected.
+     */
+    public void removeConductor(@NotNull BlockPos pos) {
+        this.removeConductor(pos.asLong());
+    }
+
+    private void removeConductor(long pos) {
+        N network = this.networks.remove(pos);
+        if (network == null) return;
+        byte mask = this.connections.remove(pos);
+        network.getConductors().remove(pos);
+        network.removePeerContact(pos);
+        this.markChanged();
+        if (network.getConductors().isEmpty()) {
+            // hand the payload over while the network still knows its endpoints
+            network.drainRemoved(this.findPeer(pos, mask));
+        }
+
+        LongArrayList adjacentConductors = new LongArrayList(6);
+        for (Direction direction : Constant.Misc.DIRECTIONS) {
+            long adjacent = BlockPos.offset(pos, direction);
+            network.removeEndpointFace(adjacent, direction.getOpposite());
+            if ((mask & (1 << direction.ordinal())) == 0) continue;
+            N other = this.networks.get(adjacent);
+            if (other == null || (this.connections.get(adjacent) & (1 << direction.getOpposite().ordinal())) == 0) continue;
+            if (other == network) {
+                adjacentConductors.add(adjacent);
+            } else if (!this.touchesPeer(adjacent, other)) {
+                other.removePeerContact(adjacent);
+            }
+        }
+
+        if (network.getConductors().isEmpty()) {
+            this.allNetworks.remove(network);
+            network.markForRemoval();
+            return;
+        }
+        if (adjacentConductors.size() < 2) return;
+
+        List<LongOpenHashSet> detached = this.findDetachedParts(network, adjacentConductors);
+        if (detached.isEmpty()) return;
+
+        LongOpenHashSet remainder = new LongOpenHashSet(network.getConductors());
+        for (LongOpenHashSet part : detached) {
+            remainder.removeAll(part);
+        }
+        detached.add(remainder);
+
+        this.allNetworks.remove(network);
+        network.markForRemoval();
+        for (LongOpenHashSet part : detached) {
+            N split = this.createNetwork(network.getMaxTransferRate(), part);
+            this.allNetworks.add(split);
+            LongIterator it = part.iterator();
+            while (it.hasNext()) {
+                this.networks.put(it.nextLong(), split);
+            }
+        }
+        network.distributeTo(this);
+    }
+
+    /**
+     * Returns a network of another transfer rate that the (removed) conductor at the given position was connected to
+     */
+    private @Nullable N findPeer(long pos, byte mask) {
+        for (Direction direction : Constant.Misc.DIRECTIONS) {
+            if ((mask & (1 << direction.ordinal())) == 0) continue;
+            long adjacent = BlockPos.offset(pos, direction);
+            N other = this.networks.get(adjacent);
+            if (other != null && (this.connections.get(adjacent) & (1 << direction.getOpposite().ordinal())) != 0) {
+                return other;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Runs one breadth-first search per conductor that was connected to a removed conductor, stepping them in lockstep.
+     * Searches that meet are joined; a search that runs out of conductors before meeting the others has found a detached part.
+     * The searches use heap-allocated queues, so arbitrarily long runs cannot overflow the stack.
+     *
+     * @return the detached parts, excluding the last (usually largest) part that is still being searched
+     */
+    private @NotNull List<LongOpenHashSet> findDetachedParts(@NotNull N network, @NotNull LongArrayList starts) {
+        int searches = starts.size();
+        LongArrayFIFOQueue[] queues = new LongArrayFIFOQueue[searches];
+        int[] parent = new int[searches];
+        Long2IntOpenHashMap owner = new Long2IntOpenHashMap();
+        owner.defaultReturnValue(-1);
+        for (int i = 0; i < searches; i++) {
+            parent[i] = i;
+            queues[i] = new LongArrayFIFOQueue();
+            queues[i].enqueue(starts.getLong(i));
+            owner.put(starts.getLong(i), i);
+        }
+
+        List<LongOpenHashSet> detached = new ArrayList<>();
+        IntArrayList finished = new IntArrayList();
+        int active = searches;
+        while (active > 1) {
+            for (int i = 0; i < searches && active > 1; i++) {
+                if (parent[i] != i || finished.contains(i)) continue;
+                if (queues[i].isEmpty()) {
+                    finished.add(i);
+                    active--;
+                    LongOpenHashSet part = new LongOpenHashSet();
+                    for (Long2IntMap.Entry entry : owner.long2IntEntrySet()) {
+                        if (find(parent, entry.getIntValue()) == i) part.add(entry.getLongKey());
+                    }
+                    detached.add(part);
+                    continue;
+                }
+
+                long current = queues[i].dequeueLong();
+                byte mask = this.connections.get(current);
+                for (Direction direction : Constant.Misc.DIRECTIONS) {
+                    if ((mask & (1 << direction.ordinal())) == 0) continue;
+                    long adjacent = BlockPos.offset(current, direction);
+                    if (this.networks.get(adjacent) != network || (this.connections.get(adjacent) & (1 << direction.getOpposite().ordinal())) == 0) continue;
+                    int other = owner.get(adjacent);
+                    if (other == -1) {
+                        owner.put(adjacent, i);
+                        queues[i].enqueue(adjacent);
+                    } else {
+                        other = find(parent, other);
+                        if (other != i) {
+                            parent[other] = i;
+                            while (!queues[other].isEmpty()) {
+                                queues[i].enqueue(queues[other].dequeueLong());
+                            }
+                            if (--active == 1) break;
+                        }
+                    }
+                }
+            }
+        }
+        return detached;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            i = parent[i] = parent[parent[i]];
+        }
+        return i;
+    }
+
+    private @NotNull N merge(@NotNull N a, @NotNull N b) {
+        N larger = a.getConductors().size() >= b.getConductors().size() ? a : b;
+        N smaller = larger == a ? b : a;
+        LongIterator it = smaller.getConductors().iterator();
+        while (it.hasNext()) {
+            this.networks.put(it.nextLong(), larger);
+        }
+        larger.takeAll(smaller);
+        this.allNetworks.remove(smaller);
+        return larger;
+    }
+
+    private boolean touchesPeer(long pos, @NotNull N network) {
+        byte mask = this.connections.get(pos);
+        for (Direction direction : Constant.Misc.DIRECTIONS) {
+            if ((mask & (1 << direction.ordinal())) == 0) continue;
+            long adjacent = BlockPos.offset(pos, direction);
+            N other = this.networks.get(adjacent);
+            if (other != null && other != network && other.getMaxTransferRate() != network.getMaxTransferRate()
+                    && (this.connections.get(adjacent) & (1 << direction.getOpposite().ordinal())) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected static byte connectionMask(@NotNull Predicate<Direction> canConnect) {
+        byte mask = 0;
+        for (Direction direction : Constant.Misc.DIRECTIONS) {
+            if (canConnect.test(direction)) {
+                mask |= (byte) (1 << direction.ordinal());
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public @NotNull CompoundTag save(@NotNull CompoundTag tag) {
+        ListTag list = new ListTag();
+        for (N network : this.allNetworks) {
+            CompoundTag compound = new CompoundTag();
+            long[] conductors = network.getConductors().toLongArray();
+            byte[] masks = new byte[conductors.length];
+            for (int i = 0; i < conductors.length; i++) {
+                masks[i] = this.connections.get(conductors[i]);
+            }
+            compound.putLong("max_transfer_rate", network.getMaxTransferRate());
+            compound.putLongArray(this.conductorName + "s", conductors);
+            compound.putByteArray("connections", masks);
+            network.write(compound);
+            list.add(compound);
+        }
+        tag.put("networks", list);
+        return tag;
+    }
+
+    /**
+     * Restores the networks written by {@link #save(CompoundTag)} into this (empty) manager.
+     */
+    protected void read(@NotNull CompoundTag tag) {
+        ListTag list = tag.getList("networks", Tag.TAG_COMPOUND);
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag compound = list.getCompound(i);
+            long[] conductors = compound.getLongArray(this.conductorName + "s");
+            byte[] masks = compound.getByteArray("connections");
+            if (conductors.length == 0 || conductors.length != masks.length) {
+                Constant.LOGGER.warn("Skipping malformed {} network in {}", this.conductorName, this.level.dimension().location());
+                continue;
+            }
+            N network = this.createNetwork(compound.getLong("max_transfer_rate"), new LongOpenHashSet(conductors));
+            network.read(compound);
+            if (network.hasBuffered()) this.pendingNetworks.add(network);
+            this.allNetworks.add(network);
+            for (int j = 0; j < conductors.length; j++) {
+                this.networks.put(conductors[j], network);
+                this.connections.put(conductors[j], masks[j]);
+            }
+        }
+        for (N network : this.allNetworks) {
+            LongIterator it = network.getConductors().iterator();
+            while (it.hasNext()) {
+                long pos = it.nextLong();
+                if (this.touchesPeer(pos, network)) network.addPeerContact(pos);
+            }
+        }
+    }
+}
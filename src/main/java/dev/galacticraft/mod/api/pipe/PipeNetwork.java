@@ -22,29 +22,19 @@
 
 package dev.galacticraft.mod.api.pipe;
 
-import dev.galacticraft.machinelib.api.fluid.FluidStack;
-import dev.galacticraft.mod.api.pipe.impl.PipeNetworkImpl;
-import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.fabricmc.fabric.api.transfer.v1.fluid.FluidVariant;
-import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
 import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
-import net.minecraft.server.level.ServerLevel;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
-import java.util.Map;
-
 /**
  * The basic 'Pipe Network' spec
+ * Networks are owned by the {@link dev.galacticraft.mod.api.pipe.impl.PipeNetworkManager} of their dimension.
  */
 public interface PipeNetwork {
-    static PipeNetwork create(ServerLevel world, long maxTransferRate) {
-        return new PipeNetworkImpl(world, maxTransferRate);
-    }
-
     /**
      * Adds a pipe to the network
      * @param pos The position of the pipe being added
@@ -68,24 +58,27 @@ static PipeNetwork create(ServerLevel world, long maxTransferRate) {
     boolean updateConnection(@NotNull BlockPos adjacentToUpdated, @NotNull BlockPos updatedPos);
 
     /**
-     * Inserts fluid into the network
-     * @return the amount of fluid that failed to insert
+     * Inserts fluid into the network. The fluid is buffered and handed to consumers at the end of the tick.
+     * Every fluid variant has its own per-tick budget of {@link #getMaxTransferRate()}.
+     * @param pipe The pipe that the fluid is inserted into
+     * @param variant The fluid being inserted
+     * @param amount The amount of fluid to insert
+     * @param direction The side of the pipe that the fluid is inserted from
+     * @return the amount of fluid that was accepted
      */
-    long insert(BlockPos pipe, FluidStack amount, Direction direction, TransactionContext transaction);
-
-    FluidStack insertInternal(FluidStack amount, double ratio, FluidStack available, TransactionContext transaction);
-
-    void getNonFullInsertables(Object2LongMap<PipeNetwork> fluidRequirement, BlockPos source, FluidStack amount, TransactionContext context);
+    long insert(BlockPos pipe, FluidVariant variant, long amount, Direction direction, TransactionContext transaction);
 
     /**
-     * Returns the maximum amount of fluid allowed to pass through this network per tick
-     * @return the maximum amount of fluid allowed to pass through this network per tick
+     * Returns the maximum amount of each fluid allowed to pass through this network per tick
+     * @return the maximum amount of each fluid allowed to pass through this network per tick
      */
     long getMaxTransferRate();
 
-    Collection<BlockPos> getAllPipes();
-
-    Map<BlockPos, Storage<FluidVariant>> getInsertable();
+    /**
+     * Returns the packed positions of every pipe in this network
+     * @return the packed positions of every pipe in this network
+     */
+    LongSet getAllPipes();
 
     boolean markedForRemoval();
 
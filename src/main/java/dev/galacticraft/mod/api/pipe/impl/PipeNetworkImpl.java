@@ -22,44 +22,69 @@
 
 package dev.galacticraft.mod.api.pipe.impl;
 
-import dev.galacticraft.machinelib.api.fluid.FluidStack;
 import dev.galacticraft.mod.Constant;
+import dev.galacticraft.mod.api.network.impl.GraphNetwork;
 import dev.galacticraft.mod.api.pipe.Pipe;
 import dev.galacticraft.mod.api.pipe.PipeNetwork;
-import dev.galacticraft.mod.util.DirectionUtil;
-import it.unimi.dsi.fastutil.objects.*;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMaps;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.fabricmc.fabric.api.lookup.v1.block.BlockApiCache;
+import net.fabricmc.fabric.api.lookup.v1.block.BlockApiLookup;
 import net.fabricmc.fabric.api.transfer.v1.fluid.FluidStorage;
 import net.fabricmc.fabric.api.transfer.v1.fluid.FluidVariant;
 import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
 import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.*;
-import java.util.function.BiFunction;
+import java.util.List;
 
 /**
+ * Fluid inserted into a pipe is buffered by its network for the rest of the tick, separately for every fluid variant.
+ * Each variant has its own budget of {@link #getMaxTransferRate()} per tick, so producers of different fluids no longer
+ * block each other. Buffered fluid is split between consumers in proportion to their demand when the level finishes ticking.
+ *
  * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
  */
-public class PipeNetworkImpl implements PipeNetwork {
-    private final @NotNull ServerLevel world;
-    private final @NotNull Object2ObjectOpenHashMap<BlockPos, Storage<FluidVariant>> insertable = new Object2ObjectOpenHashMap<>();
-    private final @NotNull ObjectSet<BlockPos> pipes = new ObjectLinkedOpenHashSet<>(1);
-    private final @NotNull ObjectSet<PipeNetwork> peerNetworks = new ObjectLinkedOpenHashSet<>(0);
-    private boolean markedForRemoval = false;
-    private final long maxTransferRate;
-    private int tickId;
-    private long transferred = 0;
-    private @Nullable FluidVariant fluidTransferred = null; //can transfer <maxTransferRate> amount of fluid of 1 type per tick
+public class PipeNetworkImpl extends GraphNetwork<PipeNetworkImpl, Storage<FluidVariant>, PipeNetworkImpl.Consumer> implements PipeNetwork {
+    private final @NotNull PipeNetworkManager manager;
+    private final @NotNull Object2LongOpenHashMap<FluidVariant> buffered = new Object2LongOpenHashMap<>(1);
+    private final @NotNull Object2LongOpenHashMap<FluidVariant> transferred = new Object2LongOpenHashMap<>(1);
+    /**
+     * Demand of every variant inserted this tick, measured on its first insertion
+     */
+    private final @NotNull Object2LongOpenHashMap<FluidVariant> demand = new Object2LongOpenHashMap<>(1);
+    private final @NotNull SnapshotParticipant<Object2LongOpenHashMap<FluidVariant>> participant = new SnapshotParticipant<>() {
+        @Override
+        protected Object2LongOpenHashMap<FluidVariant> createSnapshot() {
+            return new Object2LongOpenHashMap<>(PipeNetworkImpl.this.buffered);
+        }
 
-    public PipeNetworkImpl(@NotNull ServerLevel world, long maxTransferRate) {
-        this.world = world;
-        this.maxTransferRate = maxTransferRate;
-        this.tickId = world.getServer().getTickCount();
+        @Override
+        protected void readSnapshot(Object2LongOpenHashMap<FluidVariant> snapshot) {
+            PipeNetworkImpl.this.buffered.clear();
+            PipeNetworkImpl.this.buffered.putAll(snapshot);
+        }
+    };
+
+    PipeNetworkImpl(@NotNull PipeNetworkManager manager, long maxTransferRate, @NotNull LongOpenHashSet pipes) {
+        super(manager, maxTransferRate, pipes);
+        this.manager = manager;
+        this.buffered.defaultReturnValue(0);
+        this.transferred.defaultReturnValue(0);
+        this.demand.defaultReturnValue(-1);
     }
 
     @Override
@@ -71,286 +96,202 @@ public boolean addPipe(@NotNull BlockPos pos, @Nullable Pipe pipe) {
         assert pipe != null : "Attempted to add pipe that does not exist!";
         assert pos.equals(((BlockEntity) pipe).getBlockPos());
         if (this.isCompatibleWith(pipe)) {
-            pipe.setNetwork(this);
-            this.pipes.add(pos);
-            for (Direction direction : Constant.Misc.DIRECTIONS) {
-                if (pipe.canConnect(direction)) {
-                    BlockEntity blockEntity = world.getBlockEntity(pos.relative(direction));
-                    if (blockEntity != null && !blockEntity.isRemoved()) {
-                        if (blockEntity instanceof Pipe adjacentPipe) {
-                            if (adjacentPipe.canConnect(direction.getOpposite())) {
-                                if (this.isCompatibleWith(adjacentPipe)) {
-                                    if (adjacentPipe.getNetwork() == null || adjacentPipe.getNetwork().markedForRemoval()) {
-                                        this.addPipe(pos.relative(direction), adjacentPipe);
-                                    } else {
-                                        assert adjacentPipe.getNetwork().getMaxTransferRate() == this.getMaxTransferRate();
-                                        if (adjacentPipe.getNetwork() != this) {
-                                            this.takeAll(adjacentPipe.getNetwork());
-                                        }
-                                    }
-                                } else {
-                                    this.peerNetworks.add(adjacentPipe.getOrCreateNetwork());
-                                }
-                            }
-                            continue;
-                        }
-                    }
-                    Storage<FluidVariant> insertable = FluidStorage.SIDED.find(world, pos.relative(direction), direction.getOpposite());
-                    if (insertable != null) {
-                        this.insertable.put(pos.relative(direction), insertable);
-                    }
-                }
-            }
-        } else {
-            this.peerNetworks.add(pipe.getOrCreateNetwork());
+            pipe.setNetwork(this.manager.getOrAddPipe(pos, pipe));
+            return pipe.getNetwork() == this;
         }
-        return true;
-    }
-
-    public void takeAll(@NotNull PipeNetwork network) {
-        for (BlockPos pos : network.getAllPipes()) {
-            BlockEntity entity = this.world.getBlockEntity(pos);
-            if (entity instanceof Pipe pipe && !entity.isRemoved()) {
-                pipe.setNetwork(this);
-                this.pipes.add(pos);
-            }
-        }
-
-        this.insertable.putAll(network.getInsertable());
-        network.markForRemoval();
+        return false;
     }
 
     @Override
     public void removePipe(Pipe pipe, @NotNull BlockPos removedPos) {
         if (this.markedForRemoval()) {
-            this.pipes.clear();
             Constant.LOGGER.warn("Tried to remove pipe from removed network!");
-            return;
-        }
-        assert this.pipes.contains(removedPos) : "Tried to remove pipe that does not exist!";
-        this.pipes.remove(removedPos);
-        if (this.pipes.isEmpty()) {
-            this.markForRemoval();
-            return;
         }
+        this.manager.removePipe(removedPos);
+    }
 
-        List<BlockPos> adjacent = new LinkedList<>();
-        this.reattachAdjacent(removedPos, this.insertable, (blockPos, direction) -> {
-            Storage<FluidVariant> storage = FluidStorage.SIDED.find(this.world, blockPos, direction.getOpposite());
-            return storage != null && storage.supportsInsertion() ? storage :  null;
-        }, adjacent);
-        adjacent.clear();
-
-        for (Direction direction : Constant.Misc.DIRECTIONS) {
-            if (pipe.canConnect(direction)) {
-                BlockPos adjacentPipePos = removedPos.relative(direction);
-                if (this.pipes.contains(adjacentPipePos)) {
-                    if (((Pipe) Objects.requireNonNull(this.world.getBlockEntity(adjacentPipePos))).canConnect(direction.getOpposite())) {
-                        adjacent.add(adjacentPipePos); // Don't bother testing if it was unable to connect
-                    }
-                }
-            }
-        }
-        List<List<BlockPos>> mappedPipes = new LinkedList<>();
-
-        for (BlockPos blockPos : adjacent) {
-            boolean handled = false;
-            for (List<BlockPos> mapped : mappedPipes) {
-                handled = mapped.contains(blockPos);
-                if (handled) break;
-            }
-            if (handled) continue;
-            List<BlockPos> list1 = new LinkedList<>();
-            list1.add(blockPos);
-            this.traverse(list1, blockPos, null);
-            mappedPipes.add(list1);
-        }
+    @Override
+    protected @NotNull BlockApiLookup<Storage<FluidVariant>, Direction> getLookup() {
+        return FluidStorage.SIDED;
+    }
 
-        assert mappedPipes.size() > 0 : "A pipe was added that should never have been accepted";
-        if (mappedPipes.size() == 1) return;
-        this.markForRemoval();
-        for (List<BlockPos> positions : mappedPipes) {
-            PipeNetwork network = PipeNetwork.create(this.world, this.getMaxTransferRate());
-            network.addPipe(positions.get(0), null);
-            assert network.getAllPipes().containsAll(positions);
-        }
+    @Override
+    protected boolean isConductor(@Nullable BlockEntity blockEntity) {
+        return blockEntity instanceof Pipe;
     }
 
-    private void traverse(List<BlockPos> list, BlockPos pos, @Nullable Direction ignore) {
-        BlockPos pos1;
-        for (Direction direction : Constant.Misc.DIRECTIONS) {
-            if (direction.getOpposite() == ignore) continue;
-            Pipe pipe = (Pipe) world.getBlockEntity(pos);
-            if (pipe.canConnect(direction)) {
-                pos1 = pos.relative(direction);
-                if (this.pipes.contains(pos1)) {
-                    if (world.getBlockEntity(pos1) instanceof Pipe pipe1 && pipe1.canConnect(direction.getOpposite())) {
-                        if (!list.contains(pos1)) {
-                            list.add(pos1);
-                            this.traverse(list, pos1, direction);
-                        }
-                    }
-                }
-            }
-        }
+    @Override
+    protected boolean supportsInsertion(@NotNull Storage<FluidVariant> storage) {
+        return storage.supportsInsertion();
     }
 
-    private <T> void reattachAdjacent(BlockPos pos, Object2ObjectOpenHashMap<BlockPos, T> map, BiFunction<BlockPos, Direction, T> function, List<BlockPos> optionalList) {
-        for (Direction direction : Constant.Misc.DIRECTIONS) {
-            BlockPos adjacentPos = pos.relative(direction);
-            if (map.remove(adjacentPos) != null) {
-                for (Direction direction1 : Constant.Misc.DIRECTIONS) {
-                    if (direction1 == direction.getOpposite()) continue;
-                    if (this.pipes.contains(adjacentPos.relative(direction1))) {
-                        if (((Pipe) world.getBlockEntity(adjacentPos.relative(direction1))).canConnect(direction1.getOpposite())) {
-                            T value = function.apply(adjacentPos, direction1);
-                            if (value != null) {
-                                optionalList.add(adjacentPos);
-                                map.put(adjacentPos, value);
-                                break;
-                            }
-                        }
-                    }
-                }
-            }
-        }
+    @Override
+    protected @NotNull Consumer createConsumer(@NotNull BlockPos pos, byte sides, @NotNull PipeNetworkImpl owner, @NotNull BlockApiCache<Storage<FluidVariant>, Direction> cache) {
+        return new Consumer(pos, sides, owner, cache);
     }
 
     @Override
-    public boolean updateConnection(@NotNull BlockPos adjacentToUpdated, @NotNull BlockPos updatedPos) {
-        assert !(world.getBlockEntity(updatedPos) instanceof Pipe);
-        this.insertable.remove(updatedPos);
-        BlockPos vector = updatedPos.subtract(adjacentToUpdated);
-        Direction direction = DirectionUtil.fromNormal(vector.getX(), vector.getY(), vector.getZ());
-        Storage<FluidVariant> insertable = FluidStorage.SIDED.find(world, updatedPos, direction.getOpposite());
-        if (insertable != null) {
-            this.insertable.put(updatedPos, insertable);
-            return true;
-        }
-        return false;
+    protected void onNewTick() {
+        this.transferred.clear();
+        this.demand.clear();
     }
 
     @Override
-    public long insert(@NotNull BlockPos fromPipe, FluidStack stack, Direction direction, @NotNull TransactionContext context) {
-        BlockPos source = fromPipe.relative(direction.getOpposite());
-        if (this.tickId != (this.tickId = world.getServer().getTickCount())) {
-            this.transferred = 0;
-            this.fluidTransferred = null;
-        } else {
-            if (this.fluidTransferred != null && FluidVariant.of(stack.getFluid(), stack.getTag()) != this.fluidTransferred || this.transferred >= this.maxTransferRate) {
-                return stack.getAmount();
-            }
+    protected void takeBuffered(@NotNull PipeNetworkImpl network) {
+        for (Object2LongMap.Entry<FluidVariant> entry : Object2LongMaps.fastIterable(network.buffered)) {
+            this.buffered.addTo(entry.getKey(), entry.getLongValue());
         }
-        long skipped = stack.getAmount() - Math.min(this.getMaxTransferRate() - this.transferred, stack.getAmount());
-        stack.setAmount(stack.getAmount() - skipped);
-        if (stack.isEmpty()) return stack.getAmount() + skipped;
+        network.buffered.clear();
+    }
 
-        Object2LongArrayMap<PipeNetwork> nonFullInsertables = new Object2LongArrayMap<>(1 + this.peerNetworks.size());
-        this.getNonFullInsertables(nonFullInsertables, source, stack, context);
-        long requested = 0;
-        for (long fluidAmount : nonFullInsertables.values()) {
-            requested = requested + fluidAmount;
-        }
-        if (requested <= 0) {
-            return stack.getAmount() + skipped;
+    /**
+     * Simulates inserting the variant into every consumer that did not insert fluid this tick, storing the result on the consumer.
+     * @return the total amount of the variant that the consumers would accept
+     */
+    private long measureDemand(@NotNull FluidVariant variant, @NotNull TransactionContext transaction) {
+        long total = 0;
+        for (Consumer consumer : this.getConsumers()) {
+            consumer.demand = 0;
+            consumer.given = 0;
+            Storage<FluidVariant> storage = this.isProducer(consumer.pos.asLong()) ? null : consumer.find(this.world);
+            if (storage != null) {
+                try (Transaction simulation = Transaction.openNested(transaction)) {
+                    consumer.demand = storage.insert(variant, this.getMaxTransferRate(), simulation);
+                }
+            }
+            consumer.measured.put(variant, consumer.demand);
+            total += consumer.demand;
         }
-        var ref = new Object() {
-            FluidStack available = FluidStack.empty();
-        };
-        ref.available = stack;
-        double ratio = Math.min((double)stack.getAmount() / (double)requested, 1.0);
-
-        nonFullInsertables.forEach((pipeNetwork, integer) -> ref.available = pipeNetwork.insertInternal(stack, ratio, ref.available, context));
-        return ref.available.getAmount() + skipped;
+        return total;
     }
 
     @Override
-    public FluidStack insertInternal(FluidStack amount, double ratio, FluidStack available, TransactionContext context) {
-        if (this.tickId != (this.tickId = world.getServer().getTickCount())) {
-            this.transferred = 0;
-            this.fluidTransferred = null;
-        } else {
-            if (this.fluidTransferred != null && amount.getFluid() != this.fluidTransferred) {
-                return amount;
-            }
+    public long insert(@NotNull BlockPos fromPipe, @NotNull FluidVariant variant, long amount, @NotNull Direction direction, @NotNull TransactionContext transaction) {
+        if (variant.isBlank() || amount <= 0) return 0;
+        this.resetIfNewTick();
+        long demand = this.demand.getLong(variant);
+        if (demand < 0) {
+            demand = this.measureDemand(variant, transaction);
+            this.demand.put(variant, demand);
         }
-        final long min = Math.min(amount.getAmount(), this.maxTransferRate - this.transferred);
-        long removed = amount.getAmount() - min;
-        amount.setAmount(min);
-        for (Storage<FluidVariant> insertable : this.insertable.values()) {
-            long consumed = Math.min((long)Math.min(available.getAmount(), amount.getAmount() * ratio), this.getMaxTransferRate() - this.transferred);
-            long skipped = (long) (available.getAmount() * ratio) - consumed;
-            if (consumed <= 0) continue;
-            consumed = insertable.insert(FluidVariant.of(available.getFluid(), available.getTag()), consumed, context);
-             available.setAmount(available.getAmount() - consumed + skipped);
-            this.transferred = this.transferred + consumed;
+        long source = fromPipe.relative(direction).asLong();
+        if (this.addProducer(source)) {
+            Consumer consumer = this.getConsumer(source);
+            if (consumer != null) {
+                for (Object2LongMap.Entry<FluidVariant> entry : Object2LongMaps.fastIterable(this.demand)) {
+                    entry.setValue(entry.getLongValue() - consumer.measured.removeLong(entry.getKey()));
+                }
+                demand = this.demand.getLong(variant);
+            }
         }
-        available.setAmount(available.getAmount() + removed);
-        return available;
+        long accepted = Math.min(amount, Math.min(this.getMaxTransferRate(), demand) - this.buffered.getLong(variant));
+        if (accepted <= 0) return 0;
+
+        this.participant.updateSnapshots(transaction);
+        this.buffered.addTo(variant, accepted);
+        this.markPending();
+        return accepted;
     }
 
+    /**
+     * Splits the buffered fluid of every variant between consumers in proportion to their demand.
+     * Blocks that inserted fluid this tick are skipped so that fluid does not flow back into its producer.
+     * Demand measured by {@link #insert} earlier in the tick is reused instead of being simulated again.
+     * Fluid that could not be delivered stays buffered for the next tick.
+     *
+     * @return the amount of fluid delivered, of all variants combined
+     */
     @Override
-    public void getNonFullInsertables(Object2LongMap<PipeNetwork> fluidRequirement, BlockPos source, FluidStack stack, TransactionContext context) {
-        if (this.tickId != (this.tickId = world.getServer().getTickCount())) {
-            this.transferred = 0;
-            this.fluidTransferred = null;
-        } else {
-            if (this.fluidTransferred != null && FluidVariant.of(stack.getFluid(), stack.getTag()) != this.fluidTransferred) {
-                fluidRequirement.putIfAbsent(this, 0);
-                return;
-            }
-        }
-        final long min = Math.min(stack.getAmount(), this.maxTransferRate - this.transferred);
-        long removed = stack.getAmount() - min;
-        stack.setAmount(min);
-        boolean b = fluidRequirement.containsKey(this);
-        fluidRequirement.putIfAbsent(this, 0);
-        if (!b) {
-            long requested = 0;
-            for (ObjectIterator<Object2ObjectMap.Entry<BlockPos, Storage<FluidVariant>>> it = this.getInsertable().object2ObjectEntrySet().fastIterator(); it.hasNext(); ) {
-                Map.Entry<BlockPos, Storage<FluidVariant>> entry = it.next();
-                if (entry.getKey().equals(source)) continue;
-                long success = entry.getValue().simulateInsert(FluidVariant.of(stack.getFluid(), stack.getTag()), stack.getAmount(), context);
-                if (success > 0) {
-                    requested = requested + success;
-                    if (requested >= this.maxTransferRate - this.transferred) {
-                        requested = this.maxTransferRate - this.transferred;
-                        break;
+    protected long distribute() {
+        this.resetIfNewTick();
+        if (this.buffered.isEmpty() || this.markedForRemoval()) return 0;
+        long delivered = 0;
+
+        List<Consumer> consumers = this.getConsumers();
+        for (ObjectIterator<Object2LongMap.Entry<FluidVariant>> it = Object2LongMaps.fastIterator(this.buffered); it.hasNext(); ) {
+            Object2LongMap.Entry<FluidVariant> entry = it.next();
+            FluidVariant variant = entry.getKey();
+            long available = entry.getLongValue();
+            try (Transaction transaction = Transaction.openOuter()) {
+                // the first insertion of the variant this tick already simulated every consumer, so only fluid that
+                // was never inserted this tick (loaded or taken over from another network) has to be measured here
+                boolean measured = this.demand.getLong(variant) >= 0;
+                if (!measured) {
+                    this.measureDemand(variant, transaction);
+                }
+                long total = 0;
+                for (Consumer consumer : consumers) {
+                    if (measured) {
+                        consumer.demand = consumer.measured.getLong(variant);
+                        consumer.given = 0;
+                    }
+                    if (consumer.demand > 0 && !this.isProducer(consumer.pos.asLong())) {
+                        total += consumer.demand;
+                    } else {
+                        consumer.demand = 0;
                     }
                 }
-            }
-            for (PipeNetwork peerNetwork : this.peerNetworks) {
-                if (!fluidRequirement.containsKey(peerNetwork)) {
-                    peerNetwork.getNonFullInsertables(fluidRequirement, source, stack, context);
+                if (total == 0) continue;
+
+                long buffered = available;
+                for (Consumer consumer : consumers) {
+                    if (consumer.demand == 0) continue;
+                    long share = Math.min(consumer.demand, (long) ((double) buffered * consumer.demand / total));
+                    available -= consumer.insert(this.world, variant, Math.min(share, available), transaction);
+                }
+                for (int i = 0; i < consumers.size() && available > 0; i++) {
+                    Consumer consumer = consumers.get(i);
+                    if (consumer.demand > consumer.given) {
+                        available -= consumer.insert(this.world, variant, Math.min(consumer.demand - consumer.given, available), transaction);
+                    }
                 }
+                transaction.commit();
+            }
+            delivered += entry.getLongValue() - available;
+            if (available > 0) {
+                entry.setValue(available);
+            } else {
+                it.remove();
             }
-            fluidRequirement.put(this, requested);
         }
+        // demand was consumed, measure again before accepting more fluid
+        this.demand.clear();
+        return delivered;
     }
 
     @Override
-    public long getMaxTransferRate() {
-        return this.maxTransferRate;
+    protected boolean hasBuffered() {
+        return !this.buffered.isEmpty();
     }
 
     @Override
-    public Collection<BlockPos> getAllPipes() {
-        return this.pipes;
-    }
-
-    @Override
-    public @NotNull Object2ObjectOpenHashMap<BlockPos, Storage<FluidVariant>> getInsertable() {
-        return this.insertable;
+    protected void writeBuffered(@NotNull CompoundTag tag) {
+        ListTag list = new ListTag();
+        for (Object2LongMap.Entry<FluidVariant> entry : Object2LongMaps.fastIterable(this.buffered)) {
+            CompoundTag compound = new CompoundTag();
+            compound.put("variant", entry.getKey().toNbt());
+            compound.putLong("amount", entry.getLongValue());
+            list.add(compound);
+        }
+        tag.put("buffered", list);
     }
 
     @Override
-    public boolean markedForRemoval() {
-        return this.markedForRemoval;
+    protected void readBuffered(@NotNull CompoundTag tag) {
+        ListTag list = tag.getList("buffered", Tag.TAG_COMPOUND);
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag compound = list.getCompound(i);
+            FluidVariant variant = FluidVariant.fromNbt(compound.getCompound("variant"));
+            long amount = compound.getLong("amount");
+            if (!variant.isBlank() && amount > 0) {
+                this.buffered.addTo(variant, amount);
+            }
+        }
     }
 
     @Override
-    public void markForRemoval() {
-        this.markedForRemoval = true;
+    public @NotNull LongOpenHashSet getAllPipes() {
+        return this.getConductors();
     }
 
     @Override
@@ -358,16 +299,54 @@ public boolean isCompatibleWith(Pipe pipe) {
         return this.getMaxTransferRate() == pipe.getMaxTransferRate();
     }
 
+    /**
+     * A block that a network can insert fluid into, along with the network whose pipes touch it
+     */
+    static final class Consumer {
+        private final @NotNull BlockPos pos;
+        private final byte sides;
+        private final @NotNull PipeNetworkImpl owner;
+        private final @NotNull BlockApiCache<Storage<FluidVariant>, Direction> cache;
+        /**
+         * Demand of every variant measured this tick
+         */
+        private final @NotNull Object2LongOpenHashMap<FluidVariant> measured = new Object2LongOpenHashMap<>(1);
+        private long demand = 0;
+        private long given = 0;
+
+        private Consumer(@NotNull BlockPos pos, byte sides, @NotNull PipeNetworkImpl owner, @NotNull BlockApiCache<Storage<FluidVariant>, Direction> cache) {
+            this.pos = pos;
+            this.sides = sides;
+            this.owner = owner;
+            this.cache = cache;
+        }
+
+        private @Nullable Storage<FluidVariant> find(@NotNull ServerLevel world) {
+            return findStorage(world, this.pos, this.sides, this.cache);
+        }
+
+        private long insert(@NotNull ServerLevel world, @NotNull FluidVariant variant, long amount, @NotNull TransactionContext transaction) {
+            this.owner.resetIfNewTick();
+            amount = Math.min(amount, this.owner.getMaxTransferRate() - this.owner.transferred.getLong(variant));
+            if (amount <= 0) return 0;
+            Storage<FluidVariant> storage = this.find(world);
+            if (storage == null) return 0;
+            long inserted = storage.insert(variant, amount, transaction);
+            this.given += inserted;
+            this.owner.transferred.addTo(variant, inserted);
+            return inserted;
+        }
+    }
+
     @Override
     public String toString() {
         return "PipeNetworkImpl{" +
-                "world=" + world.dimension().location() +
-                ", insertable=" + insertable +
-                ", pipes=" + pipes +
-                ", markedForRemoval=" + markedForRemoval +
-                ", maxTransferRate=" + maxTransferRate +
-                ", tickId=" + tickId +
-                ", transferred=" + transferred +
+                "world=" + this.world.dimension().location() +
+                ", buffered=" + this.buffered +
+                ", pipes=" + this.getConductors().size() +
+                ", markedForRemoval=" + this.markedForRemoval() +
+                ", maxTransferRate=" + this.getMaxTransferRate() +
+                ", transferred=" + this.transferred +
                 '}';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.api.pipe.impl;
+
+import com.google.common.annotations.VisibleForTesting;
+import dev.galacticraft.mod.Constant;
+import dev.galacticraft.mod.api.network.impl.GraphNetworkManager;
+import dev.galacticraft.mod.api.pipe.Pipe;
+import dev.galacticraft.mod.metrics.LevelMetrics;
+import dev.galacticraft.mod.metrics.Metric;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Owns every pipe network of a dimension.
+ * The graph bookkeeping is shared with wires, see {@link GraphNetworkManager}.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+public class PipeNetworkManager extends GraphNetworkManager<PipeNetworkImpl> {
+    private static final String NAME = Constant.MOD_ID + "_pipe_networks";
+
+    @VisibleForTesting
+    PipeNetworkManager(@NotNull ServerLevel level) {
+        super(level, "pipe");
+    }
+
+    public static @NotNull PipeNetworkManager get(@NotNull ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(tag -> load(level, tag), () -> new PipeNetworkManager(level), NAME);
+    }
+
+    @Override
+    protected @NotNull PipeNetworkImpl createNetwork(long maxTransferRate, @NotNull LongOpenHashSet pipes) {
+        return new PipeNetworkImpl(this, maxTransferRate, pipes);
+    }
+
+    @Override
+    protected @NotNull Metric getTransferMetric(@NotNull LevelMetrics metrics) {
+        return metrics.getPipeTransfers();
+    }
+
+    public boolean isPipe(long pos) {
+        return this.isConductor(pos);
+    }
+
+    /**
+     * Returns the network of the given pipe, registering the pipe (and merging adjacent networks) if it is not tracked yet.
+     */
+    public @NotNull PipeNetworkImpl getOrAddPipe(@NotNull BlockPos pos, @NotNull Pipe pipe) {
+        return this.getOrAddConductor(pos, connectionMask(pipe::canConnect), pipe.getMaxTransferRate());
+    }
+
+    /**
+     * Re-reads the connectable faces of a pipe, splitting or merging networks as required.
+     */
+    public void updateConnections(@NotNull BlockPos pos, @NotNull Pipe pipe) {
+        this.updateConnections(pos, connectionMask(pipe::canConnect), pipe.getMaxTransferRate());
+    }
+
+    public void removePipe(@NotNull BlockPos pos) {
+        this.removeConductor(pos);
+    }
+
+    /**
+     * Rebuilds a manager from the data written by {@link #save(CompoundTag)}. The result is not attached to the level's data storage.
+     */
+    public static @NotNull PipeNetworkManager load(@NotNull ServerLevel level, @NotNull CompoundTag tag) {
+        PipeNetworkManager manager = new PipeNetworkManager(level);
+        manager.read(tag);
+        return manager;
+    }
+}
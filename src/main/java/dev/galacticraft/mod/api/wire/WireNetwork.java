@@ -22,27 +22,18 @@
 
 package dev.galacticraft.mod.api.wire;
 
-import dev.galacticraft.mod.api.wire.impl.WireNetworkImpl;
-import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
-import net.minecraft.server.level.ServerLevel;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import team.reborn.energy.api.EnergyStorage;
-
-import java.util.Collection;
-import java.util.Map;
 
 /**
  * The basic 'Wire Network' spec
+ * Networks are owned by the {@link dev.galacticraft.mod.api.wire.impl.WireNetworkManager} of their dimension.
  */
 public interface WireNetwork {
-    static WireNetwork create(ServerLevel world, long maxTransferRate) {
-        return new WireNetworkImpl(world, maxTransferRate);
-    }
-
     /**
      * Adds a wire to the network
      * @param pos The position of the wire being added
@@ -66,28 +57,26 @@ static WireNetwork create(ServerLevel world, long maxTransferRate) {
     boolean updateConnection(@NotNull BlockPos adjacentToUpdated, @NotNull BlockPos updatedPos);
 
     /**
-     * Inserts energy into the network
+     * Inserts energy into the network. The energy is buffered and handed to consumers at the end of the tick.
      * @param fromWire The wire that received the energy
      * @param amount The amount of energy to insert
-     * @param direction
+     * @param direction The side of the wire that the energy was inserted through
      * @param transaction Whether to perform the action or not
-     * @return the amount of energy that failed to insert
+     * @return the amount of energy that was accepted
      */
     long insert(@NotNull BlockPos fromWire, long amount, Direction direction, @NotNull TransactionContext transaction);
 
-    long insertInternal(long amount, double ratio, long available, TransactionContext transaction);
-
-    void getNonFullInsertables(Object2LongMap<WireNetwork> energyRequirement, BlockPos source, long amount, @NotNull TransactionContext transaction);
-
     /**
      * Returns the maximum amount of energy allowed to pass through this network per tick
      * @return the maximum amount of energy allowed to pass through this network per tick
      */
     long getMaxTransferRate();
 
-    Collection<BlockPos> getAllWires();
-
-    Map<BlockPos, EnergyStorage> getStorages();
+    /**
+     * Returns the packed positions of every wire in this network
+     * @return the packed positions of every wire in this network
+     */
+    LongSet getAllWires();
 
     boolean markedForRemoval();
 
@@ -23,41 +23,55 @@
 package dev.galacticraft.mod.api.wire.impl;
 
 import dev.galacticraft.mod.Constant;
+import dev.galacticraft.mod.api.network.impl.GraphNetwork;
 import dev.galacticraft.mod.api.wire.Wire;
 import dev.galacticraft.mod.api.wire.WireNetwork;
-import dev.galacticraft.mod.util.DirectionUtil;
-import it.unimi.dsi.fastutil.longs.LongIterator;
-import it.unimi.dsi.fastutil.objects.*;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.fabricmc.fabric.api.lookup.v1.block.BlockApiCache;
+import net.fabricmc.fabric.api.lookup.v1.block.BlockApiLookup;
 import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
 import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.reborn.energy.api.EnergyStorage;
 
-import java.util.*;
-import java.util.function.BiFunction;
+import java.util.List;
 
 /**
+ * Energy inserted into a wire is buffered by its network for the rest of the tick.
+ * Consumer demand is measured once per tick (on the first insertion), and the buffer is split between consumers in
+ * proportion to their demand when the level finishes ticking, so N producers feeding M consumers cost O(N + M) per tick.
+ * Energy that could not be delivered stays buffered, and is saved with the network.
+ *
  * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
  */
-public class WireNetworkImpl implements WireNetwork {
-    private final @NotNull ServerLevel world;
-    private final @NotNull Object2ObjectOpenHashMap<BlockPos, EnergyStorage> storages = new Object2ObjectOpenHashMap<>();
-    private final @NotNull ObjectSet<BlockPos> wires = new ObjectLinkedOpenHashSet<>(1);
-    private final @NotNull ObjectSet<WireNetwork> peerNetworks = new ObjectLinkedOpenHashSet<>(0);
-    private boolean markedForRemoval = false;
-    private final long maxTransferRate;
-    private long tickId;
+public class WireNetworkImpl extends GraphNetwork<WireNetworkImpl, EnergyStorage, WireNetworkImpl.Consumer> implements WireNetwork {
+    private final @NotNull WireNetworkManager manager;
+    private final @NotNull SnapshotParticipant<Long> participant = new SnapshotParticipant<>() {
+        @Override
+        protected Long createSnapshot() {
+            return WireNetworkImpl.this.buffered;
+        }
+
+        @Override
+        protected void readSnapshot(Long snapshot) {
+            WireNetworkImpl.this.buffered = snapshot;
+        }
+    };
+    private boolean demandMeasured = false;
+    private long demand = 0;
+    private long buffered = 0;
     private long transferred = 0;
 
-    public WireNetworkImpl(@NotNull ServerLevel world, long maxTransferRate) {
-        this.world = world;
-        this.maxTransferRate = maxTransferRate;
-        this.tickId = world.getServer().getTickCount();
+    WireNetworkImpl(@NotNull WireNetworkManager manager, long maxTransferRate, @NotNull LongOpenHashSet wires) {
+        super(manager, maxTransferRate, wires);
+        this.manager = manager;
     }
 
     @Override
@@ -69,256 +83,160 @@ public boolean addWire(@NotNull BlockPos pos, @Nullable Wire wire) {
         assert wire != null : "Attempted to add wire that does not exist!";
         assert pos.equals(((BlockEntity) wire).getBlockPos());
         if (this.isCompatibleWith(wire)) {
-            wire.setNetwork(this);
-            this.wires.add(pos);
-            for (Direction direction : Constant.Misc.DIRECTIONS) {
-                if (wire.canConnect(direction)) {
-                    BlockEntity blockEntity = world.getBlockEntity(pos.relative(direction));
-                    if (blockEntity != null && !blockEntity.isRemoved()) {
-                        if (blockEntity instanceof Wire adjacentWire) {
-                            if (adjacentWire.canConnect(direction.getOpposite())) {
-                                if (this.isCompatibleWith(adjacentWire)) {
-                                    if (adjacentWire.getNetwork() == null || adjacentWire.getNetwork().markedForRemoval()) {
-                                        this.addWire(pos.relative(direction), adjacentWire);
-                                    } else {
-                                        assert adjacentWire.getNetwork().getMaxTransferRate() == this.getMaxTransferRate();
-                                        if (adjacentWire.getNetwork() != this) {
-                                            this.takeAll(adjacentWire.getNetwork());
-                                        }
-                                    }
-                                } else {
-                                    this.peerNetworks.add(adjacentWire.getOrCreateNetwork());
-                                }
-                            }
-                            continue;
-                        }
-                    }
-                    EnergyStorage storage = EnergyStorage.SIDED.find(world, pos.relative(direction), direction.getOpposite());
-                    if (storage != null && storage.supportsInsertion()) {
-                        this.storages.put(pos.relative(direction), storage);
-                    }
-                }
-            }
-            return true;
+            wire.setNetwork(this.manager.getOrAddWire(pos, wire));
+            return wire.getNetwork() == this;
         }
         return false;
     }
 
-    public void takeAll(@NotNull WireNetwork network) {
-        for (BlockPos pos : network.getAllWires()) {
-            BlockEntity entity = this.world.getBlockEntity(pos);
-            if (entity instanceof Wire wire && !entity.isRemoved()) {
-                wire.setNetwork(this);
-                this.wires.add(pos);
-            }
-        }
-
-        this.storages.putAll(network.getStorages());
-        network.markForRemoval();
-    }
-
     @Override
     public void removeWire(Wire wire, @NotNull BlockPos removedPos) {
         if (this.markedForRemoval()) {
-            this.wires.clear();
             Constant.LOGGER.warn("Tried to remove wire from removed network!");
-            return;
-        }
-        assert this.wires.contains(removedPos) : "Tried to remove wire that does not exist!";
-        this.wires.remove(removedPos);
-        if (this.wires.isEmpty()) {
-            this.markForRemoval();
-            return;
         }
+        this.manager.removeWire(removedPos);
+    }
 
-        List<BlockPos> adjacent = new LinkedList<>();
-        this.reattachAdjacent(removedPos, this.storages, (blockPos, direction) -> EnergyStorage.SIDED.find(this.world, blockPos.relative(direction), direction.getOpposite()), adjacent);
-        adjacent.clear();
-
-        for (Direction direction : Constant.Misc.DIRECTIONS) {
-            if (wire.canConnect(direction)) {
-                BlockPos adjacentWirePos = removedPos.relative(direction);
-                if (this.wires.contains(adjacentWirePos)) {
-                    if (((Wire) Objects.requireNonNull(this.world.getBlockEntity(adjacentWirePos))).canConnect(direction.getOpposite())) {
-                        adjacent.add(adjacentWirePos); // Don't bother testing if it was unable to connect
-                    }
-                }
-            }
-        }
-        List<List<BlockPos>> mappedWires = new LinkedList<>();
+    @Override
+    protected @NotNull BlockApiLookup<EnergyStorage, Direction> getLookup() {
+        return EnergyStorage.SIDED;
+    }
 
-        for (BlockPos blockPos : adjacent) {
-            boolean handled = false;
-            for (List<BlockPos> mapped : mappedWires) {
-                handled = mapped.contains(blockPos);
-                if (handled) break;
-            }
-            if (handled) continue;
-            List<BlockPos> list1 = new LinkedList<>();
-            list1.add(blockPos);
-            this.traverse(list1, blockPos, null);
-            mappedWires.add(list1);
-        }
+    @Override
+    protected boolean isConductor(@Nullable BlockEntity blockEntity) {
+        return blockEntity instanceof Wire;
+    }
 
-        assert mappedWires.size() > 0 : "A wire was added that should never have been accepted";
-        if (mappedWires.size() == 1) return;
-        this.markForRemoval();
-        for (List<BlockPos> positions : mappedWires) {
-            WireNetwork network = WireNetwork.create(this.world, this.getMaxTransferRate());
-            network.addWire(positions.get(0), null);
-            assert network.getAllWires().containsAll(positions);
-        }
+    @Override
+    protected boolean supportsInsertion(@NotNull EnergyStorage storage) {
+        return storage.supportsInsertion();
     }
 
-    private void traverse(List<BlockPos> list, BlockPos pos, @Nullable Direction ignore) {
-        BlockPos pos1;
-        for (Direction direction : Constant.Misc.DIRECTIONS) {
-            if (direction.getOpposite() == ignore) continue;
-            Wire wire = (Wire) world.getBlockEntity(pos);
-            if (wire.canConnect(direction)) {
-                pos1 = pos.relative(direction);
-                if (this.wires.contains(pos1)) {
-                    if (world.getBlockEntity(pos1) instanceof Wire wire1 && wire1.canConnect(direction.getOpposite())) {
-                        if (!list.contains(pos1)) {
-                            list.add(pos1);
-                            this.traverse(list, pos1, direction);
-                        }
-                    }
-                }
-            }
-        }
+    @Override
+    protected @NotNull Consumer createConsumer(@NotNull BlockPos pos, byte sides, @NotNull WireNetworkImpl owner, @NotNull BlockApiCache<EnergyStorage, Direction> cache) {
+        return new Consumer(pos, sides, owner, cache);
     }
 
-    private <T> void reattachAdjacent(BlockPos pos, Object2ObjectOpenHashMap<BlockPos, T> map, BiFunction<BlockPos, Direction, T> function, List<BlockPos> optionalList) {
-        for (Direction direction : Constant.Misc.DIRECTIONS) {
-            BlockPos adjacentPos = pos.relative(direction);
-            if (map.remove(adjacentPos) != null) {
-                for (Direction dir : Constant.Misc.DIRECTIONS) {
-                    if (dir == direction.getOpposite()) continue;
-                    if (this.wires.contains(adjacentPos.relative(dir))) {
-                        if (((Wire) world.getBlockEntity(adjacentPos.relative(dir))).canConnect(dir.getOpposite())) {
-                            T value = function.apply(adjacentPos, dir);
-                            if (value != null) {
-                                optionalList.add(adjacentPos);
-                                map.put(adjacentPos, value);
-                                break;
-                            }
-                        }
-                    }
-                }
-            }
-        }
+    @Override
+    protected void onNewTick() {
+        this.transferred = 0;
+        this.demandMeasured = false;
     }
 
     @Override
-    public boolean updateConnection(@NotNull BlockPos adjacentToUpdated, @NotNull BlockPos updatedPos) {
-        assert !(world.getBlockEntity(updatedPos) instanceof Wire);
-        this.storages.remove(updatedPos);
-        BlockPos vector = updatedPos.subtract(adjacentToUpdated);
-        Direction direction = DirectionUtil.fromNormal(vector.getX(), vector.getY(), vector.getZ());
-        EnergyStorage storage = EnergyStorage.SIDED.find(world, updatedPos, direction.getOpposite());
-        if (storage != null) {
-            this.storages.put(updatedPos, storage);
-            return true;
+    protected void takeBuffered(@NotNull WireNetworkImpl network) {
+        this.buffered += network.buffered;
+        network.buffered = 0;
+    }
+
+    private void measureDemand(@NotNull TransactionContext transaction) {
+        long total = 0;
+        for (Consumer consumer : this.getConsumers()) {
+            consumer.demand = 0;
+            if (this.isProducer(consumer.pos.asLong())) continue;
+            EnergyStorage storage = consumer.find(this.world);
+            if (storage == null) continue;
+            try (Transaction simulation = Transaction.openNested(transaction)) {
+                consumer.demand = storage.insert(this.getMaxTransferRate(), simulation);
+            }
+            total += consumer.demand;
         }
-        return false;
+        this.demand = total;
+        this.demandMeasured = true;
     }
 
     @Override
     public long insert(@NotNull BlockPos fromWire, long amount, Direction direction, @NotNull TransactionContext transaction) {
-        BlockPos source = fromWire.relative(direction.getOpposite());
-        if (this.tickId != (this.tickId = world.getServer().getTickCount())) {
-            this.transferred = 0;
+        this.resetIfNewTick();
+        if (!this.demandMeasured) {
+            this.measureDemand(transaction);
         }
-        amount = Math.min(amount, this.getMaxTransferRate() - this.transferred);
-        if (amount <= 0) return amount;
-
-        Object2LongArrayMap<WireNetwork> nonFullInsertables = new Object2LongArrayMap<>(1 + this.peerNetworks.size());
-        nonFullInsertables.defaultReturnValue(-1);
-        this.getNonFullInsertables(nonFullInsertables, source, amount, transaction);
-        long requested = 0;
-        LongIterator it = nonFullInsertables.values().longIterator();
-        while (it.hasNext()) {
-            requested += it.nextLong();
+        long source = BlockPos.offset(fromWire.asLong(), direction);
+        if (this.addProducer(source)) {
+            Consumer consumer = this.getConsumer(source);
+            if (consumer != null) {
+                this.demand -= consumer.demand;
+                consumer.demand = 0;
+            }
         }
-        if (requested == 0) return amount;
-        var ref = new Object() {
-            private long available = 0;
-        };
-        ref.available = amount;
-        double ratio = (double)amount / (double)requested;
-        if (ratio > 1) ratio = 1;
+        long accepted = Math.min(amount, Math.min(this.getMaxTransferRate(), this.demand) - this.buffered);
+        if (accepted <= 0) return 0;
 
-        long finalAmount = amount;
-        double finalRatio = ratio;
-        nonFullInsertables.forEach((wireNetwork, integer) -> ref.available = wireNetwork.insertInternal(finalAmount, finalRatio, ref.available, transaction));
-
-        return ref.available;
+        this.participant.updateSnapshots(transaction);
+        this.buffered += accepted;
+        this.markPending();
+        return accepted;
     }
 
+    /**
+     * Splits the buffered energy between consumers in proportion to the demand measured this tick.
+     * Blocks that inserted energy this tick are skipped so that energy does not flow back into its producer.
+     * Energy that could not be delivered stays buffered for the next tick.
+     *
+     * @return the amount of energy delivered
+     */
     @Override
-    public long insertInternal(long amount, double ratio, long available, TransactionContext transaction) {
-        if (this.tickId != (this.tickId = world.getServer().getTickCount())) {
-            this.transferred = 0;
-        }
-        long removed = amount - Math.min(amount, this.maxTransferRate - this.transferred);
-        amount -= removed;
-        for (EnergyStorage storage : this.storages.values()) {
-            long consumed = Math.min(Math.min(available, (long) (amount * ratio)), this.getMaxTransferRate() - this.transferred);
-            if (consumed == 0) continue;
-            available -= storage.insert(consumed, transaction);
-            this.transferred += consumed;
+    protected long distribute() {
+        this.resetIfNewTick();
+        if (this.buffered <= 0 || this.markedForRemoval()) return 0;
+        if (!this.demandMeasured) {
+            try (Transaction transaction = Transaction.openOuter()) {
+                this.measureDemand(transaction);
+            }
         }
-        return available + removed;
-    }
 
-    @Override
-    public void getNonFullInsertables(Object2LongMap<WireNetwork> energyRequirement, BlockPos source, long amount, @NotNull TransactionContext transaction) {
-        if (this.tickId != (this.tickId = world.getServer().getTickCount())) {
-            this.transferred = 0;
+        List<Consumer> consumers = this.getConsumers();
+        long total = 0;
+        for (Consumer consumer : consumers) {
+            consumer.given = 0;
+            if (consumer.demand > 0 && !this.isProducer(consumer.pos.asLong())) {
+                total += consumer.demand;
+            } else {
+                consumer.demand = 0;
+            }
         }
-        amount = Math.min(amount, this.maxTransferRate - this.transferred);
-        if (energyRequirement.putIfAbsent(this, 0) == -1) {
-            long requested = 0;
-            for (ObjectIterator<Object2ObjectMap.Entry<BlockPos, EnergyStorage>> it = this.getStorages().object2ObjectEntrySet().fastIterator(); it.hasNext(); ) {
-                Map.Entry<BlockPos, EnergyStorage> entry = it.next();
-                if (entry.getKey().equals(source)) continue;
-                try (Transaction simulation = Transaction.openNested(transaction)){
-                    requested += entry.getValue().insert(amount, simulation);
-                }
+        if (total == 0) return 0;
+
+        long available = this.buffered;
+        try (Transaction transaction = Transaction.openOuter()) {
+            for (Consumer consumer : consumers) {
+                if (consumer.demand == 0) continue;
+                long share = Math.min(consumer.demand, (long) ((double) this.buffered * consumer.demand / total));
+                available -= consumer.insert(this.world, Math.min(share, available), transaction);
             }
-            for (WireNetwork peerNetwork : this.peerNetworks) {
-                if (!energyRequirement.containsKey(peerNetwork)) {
-                    peerNetwork.getNonFullInsertables(energyRequirement, source, amount, transaction);
+            for (int i = 0; i < consumers.size() && available > 0; i++) {
+                Consumer consumer = consumers.get(i);
+                if (consumer.demand > consumer.given) {
+                    available -= consumer.insert(this.world, Math.min(consumer.demand - consumer.given, available), transaction);
                 }
             }
-            energyRequirement.put(this, requested);
+            transaction.commit();
         }
+        long delivered = this.buffered - available;
+        this.buffered = available;
+        // demand was consumed, measure again before accepting more energy
+        this.demandMeasured = false;
+        return delivered;
     }
 
     @Override
-    public long getMaxTransferRate() {
-        return this.maxTransferRate;
+    protected boolean hasBuffered() {
+        return this.buffered > 0;
     }
 
     @Override
-    public Collection<BlockPos> getAllWires() {
-        return this.wires;
+    protected void writeBuffered(@NotNull CompoundTag tag) {
+        tag.putLong("buffered", this.buffered);
     }
 
     @Override
-    public @NotNull Object2ObjectOpenHashMap<BlockPos, EnergyStorage> getStorages() {
-        return this.storages;
+    protected void readBuffered(@NotNull CompoundTag tag) {
+        this.buffered = tag.getLong("buffered");
     }
 
     @Override
-    public boolean markedForRemoval() {
-        return this.markedForRemoval;
-    }
-
-    @Override
-    public void markForRemoval() {
-        this.markedForRemoval = true;
+    public @NotNull LongOpenHashSet getAllWires() {
+        return this.getConductors();
     }
 
     @Override
@@ -326,16 +244,50 @@ public boolean isCompatibleWith(Wire wire) {
         return this.getMaxTransferRate() == wire.getMaxTransferRate();
     }
 
+    /**
+     * A block that a network can insert energy into, along with the network whose wires touch it
+     */
+    static final class Consumer {
+        private final @NotNull BlockPos pos;
+        private final byte sides;
+        private final @NotNull WireNetworkImpl owner;
+        private final @NotNull BlockApiCache<EnergyStorage, Direction> cache;
+        private long demand = 0;
+        private long given = 0;
+
+        private Consumer(@NotNull BlockPos pos, byte sides, @NotNull WireNetworkImpl owner, @NotNull BlockApiCache<EnergyStorage, Direction> cache) {
+            this.pos = pos;
+            this.sides = sides;
+            this.owner = owner;
+            this.cache = cache;
+        }
+
+        private @Nullable EnergyStorage find(@NotNull ServerLevel world) {
+            return findStorage(world, this.pos, this.sides, this.cache);
+        }
+
+        private long insert(@NotNull ServerLevel world, long amount, @NotNull TransactionContext transaction) {
+            this.owner.resetIfNewTick();
+            amount = Math.min(amount, this.owner.getMaxTransferRate() - this.owner.transferred);
+            if (amount <= 0) return 0;
+            EnergyStorage storage = this.find(world);
+            if (storage == null) return 0;
+            long inserted = storage.insert(amount, transaction);
+            this.given += inserted;
+            this.owner.transferred += inserted;
+            return inserted;
+        }
+    }
+
     @Override
     public String toString() {
         return "WireNetworkImpl{" +
-                "world=" + world.dimension().location() +
-                ", insertable=" + storages +
-                ", wires=" + wires +
-                ", markedForRemoval=" + markedForRemoval +
-                ", maxTransferRate=" + maxTransferRate +
-                ", tickId=" + tickId +
-                ", transferred=" + transferred +
+                "world=" + this.world.dimension().location() +
+                ", buffered=" + this.buffered +
+                ", wires=" + this.getConductors().size() +
+                ", markedForRemoval=" + this.markedForRemoval() +
+                ", maxTransferRate=" + this.getMaxTransferRate() +
+                ", transferred=" + this.transferred +
                 '}';
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.api.wire.impl;
+
+import com.google.common.annotations.VisibleForTesting;
+import dev.galacticraft.mod.Constant;
+import dev.galacticraft.mod.api.network.impl.GraphNetworkManager;
+import dev.galacticraft.mod.api.wire.Wire;
+import dev.galacticraft.mod.metrics.LevelMetrics;
+import dev.galacticraft.mod.metrics.Metric;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Owns every wire network of a dimension.
+ * The graph bookkeeping is shared with pipes, see {@link GraphNetworkManager}.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+public class WireNetworkManager extends GraphNetworkManager<WireNetworkImpl> {
+    private static final String NAME = Constant.MOD_ID + "_wire_networks";
+
+    @VisibleForTesting
+    WireNetworkManager(@NotNull ServerLevel level) {
+        super(level, "wire");
+    }
+
+    public static @NotNull WireNetworkManager get(@NotNull ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(tag -> load(level, tag), () -> new WireNetworkManager(level), NAME);
+    }
+
+    @Override
+    protected @NotNull WireNetworkImpl createNetwork(long maxTransferRate, @NotNull LongOpenHashSet wires) {
+        return new WireNetworkImpl(this, maxTransferRate, wires);
+    }
+
+    @Override
+    protected @NotNull Metric getTransferMetric(@NotNull LevelMetrics metrics) {
+        return metrics.getWireTransfers();
+    }
+
+    public boolean isWire(long pos) {
+        return this.isConductor(pos);
+    }
+
+    /**
+     * Returns the network of the given wire, registering the wire (and merging adjacent networks) if it is not tracked yet.
+     */
+    public @NotNull WireNetworkImpl getOrAddWire(@NotNull BlockPos pos, @NotNull Wire wire) {
+        return this.getOrAddConductor(pos, connectionMask(wire::canConnect), wire.getMaxTransferRate());
+    }
+
+    /**
+     * Re-reads the connectable faces of a wire, splitting or merging networks as required.
+     */
+    public void updateConnections(@NotNull BlockPos pos, @NotNull Wire wire) {
+        this.updateConnections(pos, connectionMask(wire::canConnect), wire.getMaxTransferRate());
+    }
+
+    public void removeWire(@NotNull BlockPos pos) {
+        this.removeConductor(pos);
+    }
+
+    /**
+     * Rebuilds a manager from the data written by {@link #save(CompoundTag)}. The result is not attached to the level's data storage.
+     */
+    public static @NotNull WireNetworkManager load(@NotNull ServerLevel level, @NotNull CompoundTag tag) {
+        WireNetworkManager manager = new WireNetworkManager(level);
+        manager.read(tag);
+        return manager;
+    }
+}
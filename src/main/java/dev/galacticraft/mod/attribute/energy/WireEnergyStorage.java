@@ -22,12 +22,11 @@
 
 package dev.galacticraft.mod.attribute.energy;
 
-import dev.galacticraft.mod.api.wire.WireNetwork;
+import dev.galacticraft.mod.api.wire.Wire;
 import net.fabricmc.fabric.api.transfer.v1.storage.StoragePreconditions;
 import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
-import org.jetbrains.annotations.Nullable;
 import team.reborn.energy.api.EnergyStorage;
 
 /**
@@ -37,20 +36,15 @@ public class WireEnergyStorage implements EnergyStorage {
     private final Direction direction;
     private final int transferRate;
     private final BlockPos pos;
+    private final Wire wire;
 
-    private @Nullable WireNetwork network;
-
-    public WireEnergyStorage(Direction direction, int transferRate, BlockPos pos) {
+    public WireEnergyStorage(Direction direction, int transferRate, BlockPos pos, Wire wire) {
         this.direction = direction;
         this.transferRate = transferRate;
         this.pos = pos;
+        this.wire = wire;
     }
 
-    public void setNetwork(@Nullable WireNetwork network) {
-        this.network = network;
-    }
-
-
     @Override
     public boolean supportsInsertion() {
         return this.transferRate > 0;
@@ -60,11 +54,7 @@ public boolean supportsInsertion() {
     public long insert(long maxAmount, TransactionContext transaction) {
         StoragePreconditions.notNegative(maxAmount);
 
-        if (this.network != null) {
-            return this.network.insert(this.pos, Math.min(transferRate, maxAmount), direction, transaction);
-        }
-
-        return 0;
+        return this.wire.getOrCreateNetwork().insert(this.pos, Math.min(transferRate, maxAmount), direction, transaction);
     }
 
     @Override
@@ -22,8 +22,7 @@
 
 package dev.galacticraft.mod.attribute.fluid;
 
-import dev.galacticraft.machinelib.api.fluid.FluidStack;
-import dev.galacticraft.mod.api.pipe.PipeNetwork;
+import dev.galacticraft.mod.api.pipe.Pipe;
 import net.fabricmc.fabric.api.transfer.v1.fluid.FluidVariant;
 import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
 import net.fabricmc.fabric.api.transfer.v1.storage.StorageView;
@@ -42,16 +41,13 @@ public class PipeFluidInsertable implements Storage<FluidVariant>, StorageView<F
     private final Direction direction;
     private final long maxTransfer;
     private final BlockPos pipe;
-    private @Nullable PipeNetwork network;
+    private final Pipe owner;
 
-    public PipeFluidInsertable(Direction direction, long maxTransfer, BlockPos pipe) {
+    public PipeFluidInsertable(Direction direction, long maxTransfer, BlockPos pipe, Pipe owner) {
         this.direction = direction;
         this.maxTransfer = maxTransfer;
         this.pipe = pipe;
-    }
-
-    public void setNetwork(@Nullable PipeNetwork network) {
-        this.network = network;
+        this.owner = owner;
     }
 
     @Override
@@ -60,16 +56,13 @@ public String toString() {
                 "direction=" + direction +
                 ", maxTransfer=" + maxTransfer +
                 ", pipe=" + pipe +
-                ", network=" + network +
+                ", network=" + owner.getNetwork() +
                 '}';
     }
 
     @Override
     public long insert(FluidVariant resource, long maxAmount, TransactionContext transaction) {
-        if (this.network != null) {
-            return this.network.insert(this.pipe, FluidStack.create(resource.getFluid(), resource.getNbt(), maxAmount), direction, transaction);
-        }
-        return 0;
+        return this.owner.getOrCreateNetwork().insert(this.pipe, resource, maxAmount, this.direction, transaction);
     }
 
     @Override
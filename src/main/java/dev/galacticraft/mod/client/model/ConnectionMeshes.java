@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.client.model;
+
+import dev.galacticraft.mod.api.block.entity.ConnectedRenderData;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.renderer.v1.RendererAccess;
+import net.fabricmc.fabric.api.renderer.v1.mesh.Mesh;
+import net.fabricmc.fabric.api.renderer.v1.mesh.MeshBuilder;
+import net.fabricmc.fabric.api.renderer.v1.mesh.MutableQuadView;
+import net.fabricmc.fabric.api.renderer.v1.mesh.QuadEmitter;
+import net.fabricmc.fabric.api.rendering.data.v1.RenderAttachedBlockView;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.BlockAndTintGetter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Bakes the meshes of connected models once per connection mask, so that emitting a block is a single array lookup.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+@Environment(EnvType.CLIENT)
+public final class ConnectionMeshes {
+    public static final int COMBINATIONS = 1 << 6;
+
+    private ConnectionMeshes() {}
+
+    /**
+     * Combines the per-face meshes into one mesh for every connection mask.
+     *
+     * @param connected the mesh of each face when it is connected, indexed by {@link net.minecraft.core.Direction#ordinal()}
+     * @param disconnected the mesh of each face when it is not connected, or {@code null} to render nothing
+     * @param sprite the sprite to bake into every quad, or {@code null} if the quads are already baked
+     * @return the combined meshes, indexed by connection mask
+     */
+    public static Mesh[] combine(Mesh[] connected, Mesh @Nullable [] disconnected, @Nullable TextureAtlasSprite sprite) {
+        MeshBuilder meshBuilder = RendererAccess.INSTANCE.getRenderer().meshBuilder();
+        QuadEmitter emitter = meshBuilder.getEmitter();
+        Mesh[] meshes = new Mesh[COMBINATIONS];
+        for (int mask = 0; mask < COMBINATIONS; mask++) {
+            for (int i = 0; i < 6; i++) {
+                Mesh part = (mask & (1 << i)) != 0 ? connected[i] : disconnected != null ? disconnected[i] : null;
+                if (part == null) continue;
+                part.forEach(quad -> {
+                    emitter.copyFrom(quad);
+                    if (sprite != null) {
+                        emitter.spriteBake(0, sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV);
+                    }
+                    emitter.emit();
+                });
+            }
+            meshes[mask] = meshBuilder.build();
+        }
+        return meshes;
+    }
+
+    /**
+     * Returns the render data captured for the block entity at the given position.
+     * The data is snapshotted on the client thread, so this is safe to call while meshing chunks.
+     */
+    public static @Nullable ConnectedRenderData getRenderData(BlockAndTintGetter blockView, BlockPos pos) {
+        if (blockView instanceof RenderAttachedBlockView view && view.getBlockEntityRenderAttachment(pos) instanceof ConnectedRenderData data) {
+            return data;
+        }
+        return null;
+    }
+}
@@ -24,7 +24,7 @@
 
 import com.mojang.math.Axis;
 import dev.galacticraft.mod.Constant;
-import dev.galacticraft.mod.api.block.entity.Walkway;
+import dev.galacticraft.mod.api.block.entity.ConnectedRenderData;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.fabricmc.fabric.api.renderer.v1.RendererAccess;
@@ -34,6 +34,7 @@
 import net.fabricmc.fabric.api.renderer.v1.mesh.QuadEmitter;
 import net.fabricmc.fabric.api.renderer.v1.model.FabricBakedModel;
 import net.fabricmc.fabric.api.renderer.v1.render.RenderContext;
+import net.minecraft.Util;
 import net.minecraft.client.renderer.block.model.BakedQuad;
 import net.minecraft.client.renderer.block.model.ItemOverrides;
 import net.minecraft.client.renderer.block.model.ItemTransforms;
@@ -53,7 +54,6 @@
 
 import java.util.Collections;
 import java.util.List;
-import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -68,13 +68,8 @@ public class WalkwayBakedModel implements FabricBakedModel, BakedModel {
     public static final ResourceLocation WALKWAY_TEX = new ResourceLocation(Constant.MOD_ID, "block/walkway");
     public static final ResourceLocation WALKWAY_PLATFORM = new ResourceLocation(Constant.MOD_ID, "block/walkway");
     private final BakedModel platform;
-    private final Mesh down;
-    private final Mesh up;
-    private final Mesh north;
-    private final Mesh south;
-    private final Mesh west;
-    private final Mesh east;
     private final TextureAtlasSprite sprite;
+    private final Mesh[] meshes;
 
     protected WalkwayBakedModel(ModelBaker loader, Function<Material, TextureAtlasSprite> textureGetter, ModelState rotationContainer) {
         this.platform = loader.getModel(WALKWAY_PLATFORM).bake(loader, textureGetter, rotationContainer, WALKWAY_PLATFORM);
@@ -86,37 +81,39 @@ protected WalkwayBakedModel(ModelBaker loader, Function<Material, TextureAtlasSp
         emitter.square(Direction.EAST, 0.6f, 0.4f, 0.4f, 0.0f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(1, 0, 6, 4).sprite(2, 0, 9, 4).sprite(3, 0, 9, 11).sprite(0, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.SOUTH, 0.4f, 0.0f, 0.6f, 0.4f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(1, 0, 6, 4).sprite(2, 0, 9, 4).sprite(3, 0, 9, 11).sprite(0, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.NORTH, 0.4f, 0.0f, 0.6f, 0.4f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(1, 0, 6, 4).sprite(2, 0, 9, 4).sprite(3, 0, 9, 11).sprite(0, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
-        this.down = meshBuilder.build();
+        Mesh down = meshBuilder.build();
         emitter.square(Direction.UP, 0.4f, 0.4f, 0.6f, 0.6f, 0.0f).spriteColor(0, -1, -1, -1, -1).sprite(0, 0, 6, 6).sprite(1, 0, 9, 6).sprite(2, 0, 9, 9).sprite(3, 0, 6, 9).cullFace(Direction.UP).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.EAST, 0.6f, 1.0f, 0.4f, 0.6f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(1, 0, 6, 4).sprite(2, 0, 9, 4).sprite(3, 0, 9, 11).sprite(0, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.WEST, 0.6f, 1.0f, 0.4f, 0.6f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(1, 0, 6, 4).sprite(2, 0, 9, 4).sprite(3, 0, 9, 11).sprite(0, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.NORTH, 0.4f, 0.6f, 0.6f, 1.0f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(1, 0, 6, 4).sprite(2, 0, 9, 4).sprite(3, 0, 9, 11).sprite(0, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.SOUTH, 0.4f, 0.6f, 0.6f, 1.0f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(1, 0, 6, 4).sprite(2, 0, 9, 4).sprite(3, 0, 9, 11).sprite(0, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
-        this.up = meshBuilder.build();
+        Mesh up = meshBuilder.build();
         emitter.square(Direction.NORTH, 0.4f, 0.4f, 0.6f, 0.6f, 0.0f).spriteColor(0, -1, -1, -1, -1).sprite(1, 0, 6, 6).sprite(2, 0, 9, 6).sprite(3, 0, 9, 9).sprite(0, 0, 6, 9).cullFace(Direction.NORTH).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.WEST, 0.0f, 0.4f, 0.4f, 0.6f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(0, 0, 6, 4).sprite(1, 0, 9, 4).sprite(2, 0, 9, 11).sprite(3, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.EAST, 0.6f, 0.4f, 1.0f, 0.6f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(0, 0, 6, 4).sprite(1, 0, 9, 4).sprite(2, 0, 9, 11).sprite(3, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.DOWN, 0.4f, 0.0f, 0.6f, 0.4f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(1, 0, 6, 4).sprite(2, 0, 9, 4).sprite(3, 0, 9, 11).sprite(0, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.UP, 0.4f, 0.6f, 0.6f, 1.0f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(1, 0, 6, 4).sprite(2, 0, 9, 4).sprite(3, 0, 9, 11).sprite(0, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
-        this.north = meshBuilder.build();
+        Mesh north = meshBuilder.build();
         emitter.square(Direction.SOUTH, 0.4f, 0.4f, 0.6f, 0.6f, 0.0f).spriteColor(0, -1, -1, -1, -1).sprite(0, 0, 6, 6).sprite(1, 0, 9, 6).sprite(2, 0, 9, 9).sprite(3, 0, 6, 9).cullFace(Direction.SOUTH).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.EAST, 0.0f, 0.4f, 0.4f, 0.6f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(0, 0, 6, 4).sprite(1, 0, 9, 4).sprite(2, 0, 9, 11).sprite(3, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.WEST, 0.6f, 0.4f, 1.0f, 0.6f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(0, 0, 6, 4).sprite(1, 0, 9, 4).sprite(2, 0, 9, 11).sprite(3, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.UP, 0.4f, 0.0f, 0.6f, 0.4f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(1, 0, 6, 4).sprite(2, 0, 9, 4).sprite(3, 0, 9, 11).sprite(0, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.DOWN, 0.4f, 0.6f, 0.6f, 1.0f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(1, 0, 6, 4).sprite(2, 0, 9, 4).sprite(3, 0, 9, 11).sprite(0, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
-        this.south = meshBuilder.build();
+        Mesh south = meshBuilder.build();
         emitter.square(Direction.WEST, 0.4f, 0.4f, 0.6f, 0.6f, 0.0f).spriteColor(0, -1, -1, -1, -1).sprite(1, 0, 6, 6).sprite(2, 0, 9, 6).sprite(3, 0, 9, 9).sprite(0, 0, 6, 9).cullFace(Direction.WEST).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.NORTH, 0.6f, 0.4f, 1.0f, 0.6f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(0, 0, 6, 4).sprite(1, 0, 9, 4).sprite(2, 0, 9, 11).sprite(3, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.SOUTH, 0.0f, 0.4f, 0.4f, 0.6f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(0, 0, 6, 4).sprite(1, 0, 9, 4).sprite(2, 0, 9, 11).sprite(3, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.UP, 0.0f, 0.4f, 0.4f, 0.6f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(0, 0, 6, 4).sprite(1, 0, 9, 4).sprite(2, 0, 9, 11).sprite(3, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.DOWN, 0.0f, 0.4f, 0.4f, 0.6f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(0, 0, 6, 4).sprite(1, 0, 9, 4).sprite(2, 0, 9, 11).sprite(3, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
-        this.west = meshBuilder.build();
+        Mesh west = meshBuilder.build();
         emitter.square(Direction.EAST, 0.4f, 0.4f, 0.6f, 0.6f, 0.0f).spriteColor(0, -1, -1, -1, -1).sprite(0, 0, 6, 6).sprite(1, 0, 9, 6).sprite(2, 0, 9, 9).sprite(3, 0, 6, 9).cullFace(Direction.EAST).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.SOUTH, 0.6f, 0.4f, 1.0f, 0.6f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(0, 0, 6, 4).sprite(1, 0, 9, 4).sprite(2, 0, 9, 11).sprite(3, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.NORTH, 0.0f, 0.4f, 0.4f, 0.6f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(0, 0, 6, 4).sprite(1, 0, 9, 4).sprite(2, 0, 9, 11).sprite(3, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.DOWN, 0.6f, 0.4f, 1.0f, 0.6f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(0, 0, 6, 4).sprite(1, 0, 9, 4).sprite(2, 0, 9, 11).sprite(3, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
         emitter.square(Direction.UP, 0.6f, 0.4f, 1.0f, 0.6f, 0.4f).spriteColor(0, -1, -1, -1, -1).sprite(0, 0, 6, 4).sprite(1, 0, 9, 4).sprite(2, 0, 9, 11).sprite(3, 0, 6, 11).spriteBake(0, this.sprite, MutableQuadView.BAKE_NORMALIZED & MutableQuadView.BAKE_LOCK_UV).emit();
-        this.east = meshBuilder.build();
+        Mesh east = meshBuilder.build();
+        Mesh[] arms = {down, up, north, south, west, east};
+        this.meshes = ConnectionMeshes.combine(arms, null, null);
     }
 
     @Override
@@ -126,50 +123,12 @@ public boolean isVanillaAdapter() {
 
     @Override
     public void emitBlockQuads(BlockAndTintGetter blockView, BlockState state, BlockPos pos, Supplier<RandomSource> randomSupplier, RenderContext context) {
-        Walkway walkway = ((Walkway) blockView.getBlockEntity(pos));
-        Consumer<Mesh> meshConsumer = context.meshConsumer();
-
-        if (walkway != null && walkway.getDirection() != null) {
-            int x = 0;
-            int y = 0;
-            switch (walkway.getDirection()) {
-                case DOWN -> x = 180;
-                case NORTH -> x = 270;
-                case SOUTH -> x = 90;
-                case EAST -> {
-                    x = 90;
-                    y = 90;
-                }
-                case WEST -> {
-                    x = 90;
-                    y = 270;
-                }
-            }
-
-            Transform.INSTANCE.setQuaternions(Axis.XP.rotationDegrees(x), Axis.YP.rotationDegrees(y));
-            context.pushTransform(Transform.INSTANCE);
+        ConnectedRenderData data = ConnectionMeshes.getRenderData(blockView, pos);
+        if (data != null && data.facing() != null) {
+            context.pushTransform(Transform.of(data.facing()));
             context.bakedModelConsumer().accept(this.platform);
             context.popTransform();
-            walkway.calculateConnections();
-
-            if (walkway.getConnections()[0]) {
-                meshConsumer.accept(this.down);
-            }
-            if (walkway.getConnections()[1]) {
-                meshConsumer.accept(this.up);
-            }
-            if (walkway.getConnections()[2]) {
-                meshConsumer.accept(this.north);
-            }
-            if (walkway.getConnections()[3]) {
-                meshConsumer.accept(this.south);
-            }
-            if (walkway.getConnections()[4]) {
-                meshConsumer.accept(this.west);
-            }
-            if (walkway.getConnections()[5]) {
-                meshConsumer.accept(this.east);
-            }
+            context.meshConsumer().accept(this.meshes[data.connections()]);
         }
     }
 
@@ -232,27 +191,54 @@ public static void invalidate() {
         instance = null;
     }
 
-    public enum Transform implements RenderContext.QuadTransform {
-        INSTANCE;
+    /**
+     * Rotates the walkway platform to face a direction. There is one immutable instance per facing, so it can be
+     * shared between chunk builder threads.
+     */
+    public static final class Transform implements RenderContext.QuadTransform {
+        private static final Transform[] BY_FACING = Util.make(new Transform[6], transforms -> {
+            for (Direction direction : Constant.Misc.DIRECTIONS) {
+                int x = 0;
+                int y = 0;
+                switch (direction) {
+                    case DOWN -> x = 180;
+                    case NORTH -> x = 270;
+                    case SOUTH -> x = 90;
+                    case EAST -> {
+                        x = 90;
+                        y = 90;
+                    }
+                    case WEST -> {
+                        x = 90;
+                        y = 270;
+                    }
+                }
+                transforms[direction.ordinal()] = new Transform(Axis.XP.rotationDegrees(x), Axis.YP.rotationDegrees(y));
+            }
+        });
 
-        private Quaternionf quaternionX;
-        private Quaternionf quaternionY;
-        private final Vector3f vec = new Vector3f();
+        private final Quaternionf quaternionX;
+        private final Quaternionf quaternionY;
 
-        public void setQuaternions(Quaternionf quaternionX, Quaternionf quaternionY) {
+        private Transform(Quaternionf quaternionX, Quaternionf quaternionY) {
             this.quaternionX = quaternionX;
             this.quaternionY = quaternionY;
         }
 
+        public static Transform of(Direction facing) {
+            return BY_FACING[facing.ordinal()];
+        }
+
         @Override
         public boolean transform(MutableQuadView quad) {
+            Vector3f vec = new Vector3f();
             for (int i = 0; i < 4; i++) {
-                quad.copyPos(i, this.vec);
-                this.vec.set(this.vec.x() - 0.5f, this.vec.y() - 0.5f, this.vec.z() - 0.5f);
-                this.quaternionX.transform(this.vec);
-                this.quaternionY.transform(this.vec);
-                this.vec.set(this.vec.x() + 0.5f, this.vec.y() + 0.5f, this.vec.z() + 0.5f);
-                quad.pos(i, this.vec);
+                quad.copyPos(i, vec);
+                vec.set(vec.x() - 0.5f, vec.y() - 0.5f, vec.z() - 0.5f);
+                this.quaternionX.transform(vec);
+                this.quaternionY.transform(vec);
+                vec.set(vec.x() + 0.5f, vec.y() + 0.5f, vec.z() + 0.5f);
+                quad.pos(i, vec);
             }
             return true;
         }
@@ -23,6 +23,7 @@
 package dev.galacticraft.mod.client.network;
 
 import dev.galacticraft.api.registry.AddonRegistries;
+import dev.galacticraft.api.rocket.LaunchStage;
 import dev.galacticraft.api.rocket.RocketData;
 import dev.galacticraft.mod.Constant;
 import dev.galacticraft.mod.client.gui.screen.ingame.CelestialSelectionScreen;
@@ -35,7 +36,6 @@
 import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.registries.BuiltInRegistries;
-import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
@@ -52,18 +52,31 @@
 public class GCClientPacketReceiver {
     public static void register() {
         ClientPlayNetworking.registerGlobalReceiver(Constant.Packet.BUBBLE_SIZE, (client, handler, buf, responseSender) -> {
-            FriendlyByteBuf buffer = new FriendlyByteBuf(buf.copy());
+            BlockPos pos = buf.readBlockPos();
+            double size = buf.readDouble();
+            double target = buf.readDouble();
+            double rate = buf.readDouble();
             client.execute(() -> {
-                BlockPos pos = buffer.readBlockPos();
                 if (client.level.hasChunk(pos.getX() >> 4, pos.getZ() >> 4)) {
                     BlockEntity entity = client.level.getBlockEntity(pos);
                     if (entity instanceof OxygenBubbleDistributorBlockEntity machine) {
-                        machine.setSize(buffer.readDouble());
+                        machine.setClientSize(size, target, rate);
                     }
                 }
             });
         });
 
+        ClientPlayNetworking.registerGlobalReceiver(Constant.Packet.ROCKET_EXHAUST, (client, handler, buf, responseSender) -> {
+            int entityId = buf.readVarInt();
+            LaunchStage stage = buf.readEnum(LaunchStage.class);
+            long seed = buf.readLong();
+            client.execute(() -> {
+                if (client.level.getEntity(entityId) instanceof RocketEntity rocket) {
+                    rocket.setExhaust(stage, seed);
+                }
+            });
+        });
+
         ClientPlayNetworking.registerGlobalReceiver(Constant.Packet.OPEN_SCREEN, (client, handler, buf, responseSender) -> {
             String screen = buf.readUtf();
             switch (screen) {
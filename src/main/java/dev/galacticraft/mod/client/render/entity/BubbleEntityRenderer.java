@@ -69,7 +69,7 @@ public void render(BubbleEntity entity, float yaw, float tickDelta, PoseStack ma
         if (!machine.bubbleVisible) {
             return;
         }
-        double size = machine.getSize();
+        double size = machine.getSize(tickDelta);
 
         matrices.pushPose();
         matrices.translate(0.5F, 1.0F, 0.5F);
@@ -28,6 +28,10 @@
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import dev.galacticraft.api.universe.celestialbody.CelestialBody;
 import dev.galacticraft.mod.Constant;
+import dev.galacticraft.mod.accessor.ServerLevelAccessor;
+import dev.galacticraft.mod.metrics.LevelMetrics;
+import dev.galacticraft.mod.metrics.Metric;
+import dev.galacticraft.mod.metrics.MetricsExporter;
 import it.unimi.dsi.fastutil.objects.Object2IntArrayMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
@@ -47,7 +51,13 @@
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 /**
@@ -56,6 +66,7 @@
 public class GCCommands {
     private static final Object2IntMap<UUID> GC_HOUSTON_TIMERS = new Object2IntArrayMap<>();
     private static final int GC_HOUSTON_TIMER_LENGTH = 12 * 20; // seconds * tps
+    private static final int PERF_MACHINE_TYPES = 3; // machine types listed per level when no dimension is given
 
     public static void register() {
         CommandRegistrationCallback.EVENT.register((commandDispatcher, registryAccess, environment) -> {
@@ -79,6 +90,16 @@ public static void register() {
                     Commands.literal("opencelestialscreen")
                         .requires(stack -> stack.hasPermission(2))
                         .executes(GCCommands::openCelestialScreen));
+
+            commandDispatcher.register(
+                    Commands.literal(Constant.MOD_ID)
+                        .requires(stack -> stack.hasPermission(2))
+                        .then(Commands.literal("perf")
+                                .executes(GCCommands::showMetrics)
+                                .then(Commands.literal("dump")
+                                        .executes(GCCommands::dumpMetrics))
+                                .then(Commands.argument("dimension", DimensionArgument.dimension())
+                                        .executes(GCCommands::showLevelMetrics))));
         });
     }
 
@@ -87,6 +108,76 @@ private static int openCelestialScreen(CommandContext<CommandSourceStack> contex
         return Command.SINGLE_SUCCESS;
     }
 
+    private static int showMetrics(CommandContext<CommandSourceStack> context) {
+        for (ServerLevel level : context.getSource().getServer().getAllLevels()) {
+            sendMetrics(context.getSource(), level, PERF_MACHINE_TYPES);
+        }
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int showLevelMetrics(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        sendMetrics(context.getSource(), DimensionArgument.getDimension(context, "dimension"), Integer.MAX_VALUE);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int dumpMetrics(CommandContext<CommandSourceStack> context) {
+        try {
+            Path path = MetricsExporter.export(context.getSource().getServer());
+            context.getSource().sendSuccess(() -> Component.translatable("commands.galacticraft.perf.exported", path.toString()), false);
+            return Command.SINGLE_SUCCESS;
+        } catch (IOException e) {
+            Constant.LOGGER.error("Failed to write metrics", e);
+            context.getSource().sendFailure(Component.translatable("commands.galacticraft.perf.export_failed", e.getMessage()).setStyle(Constant.Text.Color.RED_STYLE));
+            return -1;
+        }
+    }
+
+    /**
+     * Lists the subsystems and machine types of a level that were active during the last window, slowest first
+     */
+    private static void sendMetrics(CommandSourceStack source, ServerLevel level, int machineTypes) {
+        LevelMetrics metrics = ((ServerLevelAccessor) level).getMetrics();
+        List<Metric> active = new ArrayList<>();
+        long nanos = 0;
+        for (Metric metric : metrics.getSubsystems()) {
+            if (metric.getLastCount() > 0) {
+                active.add(metric);
+                nanos += metric.getLastNanos();
+            }
+        }
+        active.sort(Comparator.comparingLong(Metric::getLastNanos).reversed());
+        List<Metric> machines = new ArrayList<>();
+        for (Metric metric : metrics.getMachineTicks()) {
+            if (metric.getLastCount() > 0) {
+                machines.add(metric);
+                nanos += metric.getLastNanos();
+            }
+        }
+        machines.sort(Comparator.comparingLong(Metric::getLastNanos).reversed());
+        active.addAll(machines.subList(0, Math.min(machineTypes, machines.size())));
+
+        String total = perTick(nanos / 1_000_000.0);
+        source.sendSuccess(() -> Component.translatable("commands.galacticraft.perf.level", level.dimension().location().toString(), total, LevelMetrics.WINDOW_TICKS), false);
+        if (active.isEmpty()) {
+            source.sendSuccess(() -> Component.translatable("commands.galacticraft.perf.empty"), false);
+            return;
+        }
+        for (Metric metric : active) {
+            String time = perTick(metric.getLastNanos() / 1_000_000.0);
+            String events = perTick(metric.getLastCount());
+            if (metric.getUnit() != null) {
+                String amount = perTick(metric.getLastAmount());
+                source.sendSuccess(() -> Component.translatable("commands.galacticraft.perf.metric.amount", metric.getName(), time, events, amount, metric.getUnit()), false);
+            } else {
+                source.sendSuccess(() -> Component.translatable("commands.galacticraft.perf.metric", metric.getName(), time, events), false);
+            }
+        }
+    }
+
+    private static String perTick(double value) {
+        return String.format(Locale.ROOT, "%.3f", value / LevelMetrics.WINDOW_TICKS);
+    }
+
     private static int teleportToEarth(CommandContext<CommandSourceStack> context) {
         final int[] retval = new int[]{Command.SINGLE_SUCCESS};
         // Clear the expired timers
@@ -34,6 +34,10 @@ public class ConfigImpl implements Config {
     @Expose
     private boolean debugLog = false;
     @Expose
+    private long metricsExportInterval = 0;
+    @Expose
+    private boolean metricsExportPrometheus = false;
+    @Expose
     private long wireMaxTransferPerTick = 128;
     @Expose
     private long heavyWireMaxTransferPerTick = 256;
@@ -93,6 +97,26 @@ public void setDebugLog(boolean flag) {
         this.debugLog = flag;
     }
 
+    @Override
+    public long metricsExportInterval() {
+        return this.metricsExportInterval;
+    }
+
+    @Override
+    public void setMetricsExportInterval(long seconds) {
+        this.metricsExportInterval = seconds;
+    }
+
+    @Override
+    public boolean isMetricsExportPrometheus() {
+        return this.metricsExportPrometheus;
+    }
+
+    @Override
+    public void setMetricsExportPrometheus(boolean flag) {
+        this.metricsExportPrometheus = flag;
+    }
+
     @Override
     public long wireTransferLimit() {
         return wireMaxTransferPerTick;
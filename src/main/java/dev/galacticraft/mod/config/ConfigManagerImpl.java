@@ -114,6 +114,25 @@ public Screen getScreen(Screen parent) {
                 .build()
         );
 
+        dB.add(new LongFieldBuilder(
+                Component.translatable(Constant.Config.RESET),
+                Component.translatable(Constant.Config.METRICS_EXPORT_INTERVAL),
+                this.config.metricsExportInterval())
+                .setSaveConsumer(this.config::setMetricsExportInterval)
+                .setDefaultValue(0)
+                .setMin(0)
+                .build()
+        );
+
+        dB.add(new BooleanToggleBuilder(
+                Component.translatable(Constant.Config.RESET),
+                Component.translatable(Constant.Config.METRICS_EXPORT_PROMETHEUS),
+                this.config.isMetricsExportPrometheus())
+                .setSaveConsumer(this.config::setMetricsExportPrometheus)
+                .setDefaultValue(false)
+                .build()
+        );
+
         SubCategoryBuilder wires = ConfigEntryBuilder.create().startSubCategory(Component.translatable(Constant.Config.WIRES));
 
         wires.add(new LongFieldBuilder(
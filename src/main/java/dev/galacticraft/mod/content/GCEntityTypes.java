@@ -52,7 +52,7 @@ public class GCEntityTypes {
     public static final EntityType<OliGrubEntity> OLI_GRUB = FabricEntityTypeBuilder.create(MobCategory.CREATURE, OliGrubEntity::new).dimensions(EntityDimensions.fixed(1.0F, 1.55F)).build();
     public static final EntityType<GreyEntity> GREY = FabricEntityTypeBuilder.create(MobCategory.CREATURE, GreyEntity::new).dimensions(EntityDimensions.fixed(0.6F, 1.55F)).build();
     public static final EntityType<ArchGreyEntity> ARCH_GREY = FabricEntityTypeBuilder.create(MobCategory.CREATURE, ArchGreyEntity::new).dimensions(EntityDimensions.fixed(0.6F, 1.55F)).build();
-    public static final EntityType<BubbleEntity> BUBBLE = FabricEntityTypeBuilder.create(MobCategory.MISC, BubbleEntity::new).fireImmune().dimensions(EntityDimensions.fixed(0, 0)).disableSaving().disableSummon().build();
+    public static final EntityType<BubbleEntity> BUBBLE = FabricEntityTypeBuilder.create(MobCategory.MISC, BubbleEntity::new).trackRangeChunks(10).trackedUpdateRate(Integer.MAX_VALUE).forceTrackedVelocityUpdates(false).fireImmune().dimensions(EntityDimensions.fixed(0, 0)).disableSaving().disableSummon().build();
     public static final EntityType<RocketEntity> ROCKET = FabricEntityTypeBuilder.create(MobCategory.MISC, RocketEntity::new).trackRangeBlocks(32).trackedUpdateRate(2).forceTrackedVelocityUpdates(false).dimensions(EntityDimensions.fixed(2.3F, 5.25F)).build(); //PLAYER VALUES
     public static final EntityType<LanderEntity> LANDER = FabricEntityTypeBuilder.create(MobCategory.MISC, LanderEntity::new).trackRangeBlocks(32).dimensions(EntityDimensions.fixed(2.5F, 4F)).fireImmune().build();
 
@@ -23,22 +23,28 @@
 package dev.galacticraft.mod.content.block.entity;
 
 import dev.galacticraft.mod.content.block.special.AirlockBlock;
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
-
-import java.util.ArrayList;
-import java.util.HashSet;
+import net.minecraft.world.level.block.state.BlockState;
 
 class AirLockProtocol
 {
-    public boolean isValidFrame(BlockPos pos) {
-        return world.getBlockState(pos).getBlock() instanceof AirlockBlock;
-    }
-
-
-    private ArrayList<BlockPos> adjacentAirLocks;
-    private HashSet<BlockPos> checked;
+    private final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+    /**
+     * Every position read by the last calculation, the result can only change if one of these changes
+     */
+    private final LongOpenHashSet checked = new LongOpenHashSet();
+    /**
+     * The positions in {@link #checked} that held a frame block during the last calculation
+     */
+    private final LongOpenHashSet frame = new LongOpenHashSet();
+    private final LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+    private final IntArrayFIFOQueue depths = new IntArrayFIFOQueue();
     private final Level world;
     private final BlockEntity head;
     private final int maxLoops;
@@ -55,73 +61,84 @@ public boolean isValidFrame(BlockPos pos) {
     public int minZ = 6000000;
     public int maxZ = -6000000;
 
+    public int checkedMinX;
+    public int checkedMaxX;
+    public int checkedMinY;
+    public int checkedMaxY;
+    public int checkedMinZ;
+    public int checkedMaxZ;
+
     public AirLockProtocol(BlockEntity head)
     {
-        this.adjacentAirLocks = new ArrayList<>();
-        this.checked = new HashSet<>();
         this.world = head.getLevel();
         this.head = head;
         this.maxLoops = 26;
     }
 
-    private void loopThrough(BlockPos pos, int loops)
+    public boolean isValidFrame(int x, int y, int z)
     {
-        int xAligned = this.head.getBlockPos().getX();
-        int zAligned = this.head.getBlockPos().getZ();
-        for (int x = -1; x <= 1; x++)
+        long pos = BlockPos.asLong(x, y, z);
+        if (this.checked.add(pos))
         {
-            int xTest = pos.getX() + x;
-            for (int z = -1; z <= 1; z++)
+            this.checkedMinX = Math.min(this.checkedMinX, x);
+            this.checkedMaxX = Math.max(this.checkedMaxX, x);
+            this.checkedMinY = Math.min(this.checkedMinY, y);
+            this.checkedMaxY = Math.max(this.checkedMaxY, y);
+            this.checkedMinZ = Math.min(this.checkedMinZ, z);
+            this.checkedMaxZ = Math.max(this.checkedMaxZ, z);
+            if (this.world.getBlockState(this.mutable.set(x, y, z)).getBlock() instanceof AirlockBlock)
             {
-                int zTest = pos.getZ() + z;
-
-                if ((xTest == xAligned || zTest == zAligned))
-                {
-                    for (int y = -1; y <= 1; y++)
-                    {
-                        if (!(x == 0 && y == 0 && z == 0))
-                        {
-                            final BlockPos testPos = new BlockPos(xTest, pos.getY() + y, zTest);
-                            if (!this.checked.contains(testPos))
-                            {
-                                this.checked.add(testPos);
-                                if (isValidFrame(testPos))
-                                {
-                                    this.adjacentAirLocks.add(testPos);
-                                    if (loops > 1)
-                                    {
-                                        this.loopThrough(testPos, loops - 1);
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
+                this.frame.add(pos);
+                return true;
             }
+            return false;
         }
+        return this.frame.contains(pos);
+    }
+
+    /**
+     * Returns whether a block change at the given position can change the result of the last calculation.
+     * @param pos the changed position
+     * @param state the new block state
+     */
+    public boolean affects(BlockPos pos, BlockState state)
+    {
+        long packed = pos.asLong();
+        return this.checked.contains(packed) && this.frame.contains(packed) != state.getBlock() instanceof AirlockBlock;
     }
 
-    private void loopThroughHorizontal(BlockPos pos, int loops)
+    /**
+     * Walks the frame blocks connected to the head, at most {@link #maxLoops} blocks away.
+     * @param horizontal whether to only walk the head's y-level, otherwise only the head's x and z planes are walked
+     */
+    private void walk(boolean horizontal)
     {
-        int yTest = pos.getY();
-        for (int x = -1; x <= 1; x++)
+        int xAligned = this.head.getBlockPos().getX();
+        int zAligned = this.head.getBlockPos().getZ();
+        this.queue.enqueue(this.head.getBlockPos().asLong());
+        this.depths.enqueue(this.maxLoops);
+        while (!this.queue.isEmpty())
         {
-            int xTest = pos.getX() + x;
-            for (int z = -1; z <= 1; z++)
+            long pos = this.queue.dequeueLong();
+            int loops = this.depths.dequeueInt();
+            int posX = BlockPos.getX(pos);
+            int posY = BlockPos.getY(pos);
+            int posZ = BlockPos.getZ(pos);
+            for (int x = -1; x <= 1; x++)
             {
-                if (!(x == 0 && z == 0))
+                int xTest = posX + x;
+                for (int z = -1; z <= 1; z++)
                 {
-                    final BlockPos testPos = new BlockPos(xTest, yTest, pos.getZ() + z);
-                    if (!this.checked.contains(testPos))
+                    int zTest = posZ + z;
+                    if (!horizontal && xTest != xAligned && zTest != zAligned) continue;
+                    for (int y = horizontal ? 0 : -1; y <= (horizontal ? 0 : 1); y++)
                     {
-                        this.checked.add(testPos);
-                        if (isValidFrame(testPos))
+                        if (x == 0 && y == 0 && z == 0) continue;
+                        int yTest = posY + y;
+                        if (!this.checked.contains(BlockPos.asLong(xTest, yTest, zTest)) && this.isValidFrame(xTest, yTest, zTest) && loops > 1)
                         {
-                            this.adjacentAirLocks.add(testPos);
-                            if (loops > 1)
-                            {
-                                this.loopThroughHorizontal(testPos, loops - 1);
-                            }
+                            this.queue.enqueue(BlockPos.asLong(xTest, yTest, zTest));
+                            this.depths.enqueue(loops - 1);
                         }
                     }
                 }
@@ -136,6 +153,17 @@ public int calculate(boolean horizontal)
             return -1;
         }
 
+        final BlockPos headPos = this.head.getBlockPos();
+        this.checked.clear();
+        this.frame.clear();
+        this.checkedMinX = this.checkedMaxX = headPos.getX();
+        this.checkedMinY = this.checkedMaxY = headPos.getY();
+        this.checkedMinZ = this.checkedMaxZ = headPos.getZ();
+        this.checked.add(headPos.asLong());
+        this.frame.add(headPos.asLong());
+
+        this.walk(horizontal);
+
         this.minX = 6000000;
         this.maxX = -6000000;
         this.minY = 6000000;
@@ -143,52 +171,18 @@ public int calculate(boolean horizontal)
         this.minZ = 6000000;
         this.maxZ = -6000000;
 
-        this.adjacentAirLocks = new ArrayList<BlockPos>();
-        this.checked.clear();
-        final BlockPos headPos = this.head.getBlockPos();
-        this.checked.add(headPos);
-        this.adjacentAirLocks.add(headPos);
-
-        if (horizontal)
-        {
-            this.loopThroughHorizontal(headPos, this.maxLoops);
-        } else
-        {
-            this.loopThrough(headPos, this.maxLoops);
-        }
-
-        for (final BlockPos airLock : this.adjacentAirLocks)
+        LongIterator iterator = this.frame.iterator();
+        while (iterator.hasNext())
         {
-            if (airLock.getX() < this.minX)
-            {
-                this.minX = airLock.getX();
-            }
-
-            if (airLock.getX() > this.maxX)
-            {
-                this.maxX = airLock.getX();
-            }
-
-            if (airLock.getY() < this.minY)
-            {
-                this.minY = airLock.getY();
-            }
-
-            if (airLock.getY() > this.maxY)
-            {
-                this.maxY = airLock.getY();
-            }
-
-            if (airLock.getZ() < this.minZ)
-            {
-                this.minZ = airLock.getZ();
-            }
-
-            if (airLock.getZ() > this.maxZ)
-            {
-                this.maxZ = airLock.getZ();
-            }
+            long airLock = iterator.nextLong();
+            this.minX = Math.min(this.minX, BlockPos.getX(airLock));
+            this.maxX = Math.max(this.maxX, BlockPos.getX(airLock));
+            this.minY = Math.min(this.minY, BlockPos.getY(airLock));
+            this.maxY = Math.max(this.maxY, BlockPos.getY(airLock));
+            this.minZ = Math.min(this.minZ, BlockPos.getZ(airLock));
+            this.maxZ = Math.max(this.maxZ, BlockPos.getZ(airLock));
         }
+        int frameSize = this.frame.size();
 
         final int count = this.maxX - this.minX + this.maxZ - this.minZ + this.maxY - this.minY;
 
@@ -221,7 +215,7 @@ public int calculate(boolean horizontal)
             return -1;
         }
 
-        return this.adjacentAirLocks.size();
+        return frameSize;
     }
 
     private void checkDimensions()
@@ -229,7 +223,7 @@ private void checkDimensions()
         for (int y = this.minY; y <= this.maxY; y++)
         {
 
-            if (isValidFrame(new BlockPos(this.minX, y, this.minZ)))
+            if (isValidFrame(this.minX, y, this.minZ))
             {
                 this.airLocksDimension1Min++;
             }
@@ -237,7 +231,7 @@ private void checkDimensions()
 
         for (int y = this.minY; y <= this.maxY; y++)
         {
-            if (isValidFrame(new BlockPos(this.maxX, y, this.maxZ)))
+            if (isValidFrame(this.maxX, y, this.maxZ))
             {
                 this.airLocksDimension1Max++;
             }
@@ -247,7 +241,7 @@ private void checkDimensions()
         {
             for (int x = this.minX; x <= this.maxX; x++)
             {
-                if (isValidFrame(new BlockPos(x, this.maxY, this.maxZ)))
+                if (isValidFrame(x, this.maxY, this.maxZ))
                 {
                     this.airLocksDimension2Max++;
                 }
@@ -256,7 +250,7 @@ private void checkDimensions()
             for (int x = this.minX; x <= this.maxX; x++)
             {
 
-                if (isValidFrame(new BlockPos(x, this.minY, this.maxZ)))
+                if (isValidFrame(x, this.minY, this.maxZ))
                 {
                     this.airLocksDimension2Min++;
                 }
@@ -266,7 +260,7 @@ private void checkDimensions()
             for (int z = this.minZ; z <= this.maxZ; z++)
             {
 
-                if (isValidFrame(new BlockPos(this.maxX, this.maxY, z)))
+                if (isValidFrame(this.maxX, this.maxY, z))
                 {
                     this.airLocksDimension2Max++;
                 }
@@ -274,7 +268,7 @@ private void checkDimensions()
 
             for (int z = this.minZ; z <= this.maxZ; z++)
             {
-                if (isValidFrame(new BlockPos(this.maxX, this.minY, z)))
+                if (isValidFrame(this.maxX, this.minY, z))
                 {
                     this.airLocksDimension2Min++;
                 }
@@ -288,7 +282,7 @@ private void checkDimensionsHorizontal()
         {
             for (int x = this.minX; x <= this.maxX; x++)
             {
-                if (isValidFrame(new BlockPos(x, this.minY, this.maxZ)))
+                if (isValidFrame(x, this.minY, this.maxZ))
                 {
                     this.airLocksDimension1Max++;
                 }
@@ -296,7 +290,7 @@ private void checkDimensionsHorizontal()
 
             for (int x = this.minX; x <= this.maxX; x++)
             {
-                if (isValidFrame(new BlockPos(x, this.minY, this.minZ)))
+                if (isValidFrame(x, this.minY, this.minZ))
                 {
                     this.airLocksDimension1Min++;
                 }
@@ -307,7 +301,7 @@ private void checkDimensionsHorizontal()
         {
             for (int z = this.minZ; z <= this.maxZ; z++)
             {
-                if (isValidFrame(new BlockPos(this.maxX, this.minY, z)))
+                if (isValidFrame(this.maxX, this.minY, z))
                 {
                     this.airLocksDimension2Max++;
                 }
@@ -315,7 +309,7 @@ private void checkDimensionsHorizontal()
 
             for (int z = this.minZ; z <= this.maxZ; z++)
             {
-                if (isValidFrame(new BlockPos(this.minX, this.minY, z)))
+                if (isValidFrame(this.minX, this.minY, z))
                 {
                     this.airLocksDimension2Min++;
                 }
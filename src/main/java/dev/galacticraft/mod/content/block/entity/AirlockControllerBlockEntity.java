@@ -22,10 +22,16 @@
 
 package dev.galacticraft.mod.content.block.entity;
 
+import dev.galacticraft.mod.accessor.ServerLevelAccessor;
+import dev.galacticraft.mod.api.block.entity.BlockUpdateListener;
 import dev.galacticraft.mod.content.GCBlockEntityTypes;
 import dev.galacticraft.mod.content.GCBlocks;
 import dev.galacticraft.mod.screen.AirlockControllerMenu;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.MenuProvider;
 import net.minecraft.world.entity.player.Inventory;
@@ -36,11 +42,8 @@
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.AABB;
-import net.minecraft.world.phys.Vec3;
 
-import java.util.List;
-
-public class AirlockControllerBlockEntity extends BlockEntity implements MenuProvider {
+public class AirlockControllerBlockEntity extends BlockEntity implements MenuProvider, BlockUpdateListener {
     public boolean redstoneActivation;
     public boolean playerDistanceActivation = true;
     public int playerDistanceSelection;
@@ -58,6 +61,11 @@ public class AirlockControllerBlockEntity extends BlockEntity implements MenuPro
     private AirLockProtocol protocol;
     private AirLockProtocol lastProtocol;
     public int ticks = 0;
+    /**
+     * Whether the frame has to be recalculated, set when a block the last calculation depends on changes
+     */
+    private boolean frameDirty = true;
+    private final LongSet sections = new LongOpenHashSet();
 
     public AirlockControllerBlockEntity(BlockPos blockPos, BlockState blockState) {
         super(GCBlockEntityTypes.AIRLOCK_CONTROLLER, blockPos, blockState);
@@ -70,7 +78,8 @@ public static void tick(Level level, BlockPos blockPos, BlockState blockState, A
 
     public void tick() {
         ticks++;
-        if (!this.getLevel().isClientSide())
+        // the state is only acted upon every 5 ticks, so there is no need to look for players in between
+        if (!this.getLevel().isClientSide() && this.ticks % 5 == 0)
         {
             this.active = false;
 
@@ -99,27 +108,7 @@ public void tick() {
                         break;
                 }
 
-                Vec3 minPos = new Vec3(getBlockPos().getX() + 0.5D - distance, getBlockPos().getY() + 0.5D - distance, getBlockPos().getZ() + 0.5D - distance);
-                Vec3 maxPos = new Vec3(getBlockPos().getX() + 0.5D + distance, getBlockPos().getY() + 0.5D + distance, getBlockPos().getZ() + 0.5D + distance);
-                AABB matchingRegion = new AABB(minPos.x, minPos.y, minPos.z, maxPos.x, maxPos.y, maxPos.z);
-                List<Player> playersWithin = this.getLevel().getEntitiesOfClass(Player.class, matchingRegion);
-
-                if (this.playerNameMatches)
-                {
-                    boolean foundPlayer = false;
-                    for (Player p : playersWithin)
-                    {
-                        if (p.getUUID().equals(this.playerToOpenFor))
-                        {
-                            foundPlayer = true;
-                            break;
-                        }
-                    }
-                    this.active = foundPlayer;
-                } else
-                {
-                    this.active = !playersWithin.isEmpty();
-                }
+                this.active = this.isPlayerWithin(distance);
             }
 
             if (!this.invertSelection)
@@ -132,46 +121,128 @@ public void tick() {
                 this.protocol = this.lastProtocol = new AirLockProtocol(this);
             }
 
-            if (this.ticks % 5 == 0)
+            if (this.horizontalModeEnabled != this.lastHorizontalModeEnabled)
             {
-                if (this.horizontalModeEnabled != this.lastHorizontalModeEnabled)
-                {
-                    this.unsealAirLock();
-                } else if (this.active || this.lastActive)
+                this.unsealAirLock();
+                this.frameDirty = true;
+            } else if (this.active || this.lastActive)
+            {
+                this.lastOtherAirLocks = this.otherAirLocks;
+                if (this.frameDirty)
                 {
-                    this.lastOtherAirLocks = this.otherAirLocks;
                     this.otherAirLocks = this.protocol.calculate(this.horizontalModeEnabled);
+                    this.frameDirty = false;
+                    this.trackFrame();
+                }
 
-                    if (this.active)
+                if (this.active)
+                {
+                    if (this.otherAirLocks != this.lastOtherAirLocks || !this.lastActive)
                     {
-                        if (this.otherAirLocks != this.lastOtherAirLocks || !this.lastActive)
+                        this.unsealAirLock();
+                        if (this.otherAirLocks >= 0)
                         {
-                            this.unsealAirLock();
-                            if (this.otherAirLocks >= 0)
-                            {
-                                this.sealAirLock();
-                            }
+                            this.sealAirLock();
                         }
-                    } else
+                    }
+                } else
+                {
+                    if (this.lastActive)
                     {
-                        if (this.lastActive)
-                        {
-                            this.unsealAirLock();
-                        }
+                        this.unsealAirLock();
                     }
                 }
+            }
+
+            if (this.active != this.lastActive)
+            {
+                BlockState state = this.getLevel().getBlockState(this.getBlockPos());
+                this.getLevel().sendBlockUpdated(this.getBlockPos(), state, state, 3);
+            }
+
+            this.lastActive = this.active;
+            this.lastProtocol = this.protocol;
+            this.lastHorizontalModeEnabled = this.horizontalModeEnabled;
+        }
+    }
+
+    /**
+     * Checks whether a player is within the given distance of this controller,
+     * without querying the entity sections of the level.
+     */
+    private boolean isPlayerWithin(double distance)
+    {
+        double x = this.getBlockPos().getX() + 0.5D;
+        double y = this.getBlockPos().getY() + 0.5D;
+        double z = this.getBlockPos().getZ() + 0.5D;
+        for (Player player : this.getLevel().players())
+        {
+            if (player.isSpectator()) continue;
+            AABB box = player.getBoundingBox();
+            if (box.maxX >= x - distance && box.minX <= x + distance
+                    && box.maxY >= y - distance && box.minY <= y + distance
+                    && box.maxZ >= z - distance && box.minZ <= z + distance)
+            {
+                if (!this.playerNameMatches || player.getGameProfile().getName().equals(this.playerToOpenFor))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 
-                if (this.active != this.lastActive)
+    /**
+     * Registers this controller for block updates in every chunk section the last frame calculation read from.
+     */
+    private void trackFrame()
+    {
+        this.untrackFrame();
+        for (int x = SectionPos.blockToSectionCoord(this.protocol.checkedMinX); x <= SectionPos.blockToSectionCoord(this.protocol.checkedMaxX); x++)
+        {
+            for (int y = SectionPos.blockToSectionCoord(this.protocol.checkedMinY); y <= SectionPos.blockToSectionCoord(this.protocol.checkedMaxY); y++)
+            {
+                for (int z = SectionPos.blockToSectionCoord(this.protocol.checkedMinZ); z <= SectionPos.blockToSectionCoord(this.protocol.checkedMaxZ); z++)
                 {
-                    BlockState state = this.getLevel().getBlockState(this.getBlockPos());
-                    this.getLevel().sendBlockUpdated(this.getBlockPos(), state, state, 3);
+                    long section = SectionPos.asLong(x, y, z);
+                    this.sections.add(section);
+                    ((ServerLevelAccessor) this.getLevel()).addSectionListener(section, this);
                 }
+            }
+        }
+    }
 
-                this.lastActive = this.active;
-                this.lastProtocol = this.protocol;
-                this.lastHorizontalModeEnabled = this.horizontalModeEnabled;
+    private void untrackFrame()
+    {
+        if (!this.sections.isEmpty())
+        {
+            LongIterator iterator = this.sections.iterator();
+            while (iterator.hasNext())
+            {
+                ((ServerLevelAccessor) this.getLevel()).removeSectionListener(iterator.nextLong(), this);
             }
+            this.sections.clear();
+        }
+    }
+
+    @Override
+    public void enqueueUpdate(BlockPos pos, BlockState state)
+    {
+        if (!this.frameDirty && this.protocol != null && this.protocol.affects(pos, state))
+        {
+            this.frameDirty = true;
+        }
+    }
+
+    @Override
+    public void setRemoved()
+    {
+        super.setRemoved();
+        if (this.level != null && !this.level.isClientSide())
+        {
+            this.untrackFrame();
         }
+        this.frameDirty = true;
     }
 
     private void sealAirLock()
@@ -23,18 +23,21 @@
 package dev.galacticraft.mod.content.block.entity;
 
 import dev.galacticraft.mod.Constant;
+import dev.galacticraft.mod.api.block.entity.ConnectedRenderData;
 import dev.galacticraft.mod.api.block.entity.Walkway;
 import dev.galacticraft.mod.content.GCBlockEntityTypes;
+import net.fabricmc.fabric.api.rendering.data.v1.RenderAttachmentBlockEntity;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public class WalkwayBlockEntity extends BlockEntity implements Walkway {
+public class WalkwayBlockEntity extends BlockEntity implements Walkway, RenderAttachmentBlockEntity {
     @Nullable
     private Direction direction;
     private final boolean[] connections = new boolean[6];
@@ -55,6 +58,10 @@ public void load(CompoundTag nbt) {
         super.load(nbt);
         this.readConnectionNbt(nbt);
         this.readWalkwayNbt(nbt);
+        if (this.level != null && this.level.isClientSide()) {
+            // connections are only calculated on the server, so re-mesh once they arrive
+            this.level.sendBlockUpdated(this.worldPosition, this.getBlockState(), this.getBlockState(), Block.UPDATE_IMMEDIATE);
+        }
     }
 
     @Override
@@ -89,6 +96,11 @@ public void setDirection(@NotNull Direction direction) {
         this.direction = direction;
     }
 
+    @Override
+    public @NotNull ConnectedRenderData getRenderAttachmentData() {
+        return new ConnectedRenderData(this.getConnectionMask(), this.direction, null);
+    }
+
     @Override
     public ClientboundBlockEntityDataPacket getUpdatePacket() {
         return ClientboundBlockEntityDataPacket.create(this);
@@ -26,9 +26,12 @@
 import dev.galacticraft.machinelib.api.machine.MachineStatus;
 import dev.galacticraft.machinelib.api.machine.MachineStatuses;
 import dev.galacticraft.mod.Galacticraft;
+import dev.galacticraft.mod.accessor.ServerLevelAccessor;
+import dev.galacticraft.mod.api.block.entity.SkyColumnListener;
 import dev.galacticraft.mod.api.block.entity.SolarPanel;
 import dev.galacticraft.mod.content.GCMachineTypes;
 import dev.galacticraft.mod.machine.GCMachineStatuses;
+import dev.galacticraft.mod.machine.SolarConditions;
 import dev.galacticraft.mod.machine.storage.io.GCSlotGroupTypes;
 import dev.galacticraft.mod.screen.SolarPanelMenu;
 import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
@@ -47,9 +50,11 @@
 /**
  * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
  */
-public class BasicSolarPanelBlockEntity extends MachineBlockEntity implements SolarPanel {
+public class BasicSolarPanelBlockEntity extends MachineBlockEntity implements SolarPanel, SkyColumnListener {
     private final boolean[] blockage = new boolean[9];
     private int blocked = 0;
+    private boolean blockageDirty = true;
+    private boolean listening = false;
     public long currentEnergyGeneration = 0;
 
     public BasicSolarPanelBlockEntity(BlockPos pos, BlockState state) {
@@ -61,12 +66,23 @@ public void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @Not
         profiler.push("charge");
         this.drainPowerToStack(GCSlotGroupTypes.ENERGY_TO_ITEM);
         profiler.pop();
-        this.blocked = 0;
-        for (int x = -1; x < 2; x++) {
-            for (int z = -1; z < 2; z++) {
-                //noinspection AssignmentUsedAsCondition
-                if (this.blockage[(z + 1) * 3 + (x + 1)] = !world.canSeeSky(pos.offset(x, 2, z))) {
-                    this.blocked++;
+        if (!this.listening) {
+            this.listening = true;
+            for (int x = -1; x < 2; x++) {
+                for (int z = -1; z < 2; z++) {
+                    ((ServerLevelAccessor) world).addColumnListener(BlockPos.asLong(pos.getX() + x, 0, pos.getZ() + z), this);
+                }
+            }
+        }
+        if (this.blockageDirty) {
+            this.blockageDirty = false;
+            this.blocked = 0;
+            for (int x = -1; x < 2; x++) {
+                for (int z = -1; z < 2; z++) {
+                    //noinspection AssignmentUsedAsCondition
+                    if (this.blockage[(z + 1) * 3 + (x + 1)] = SkyColumnListener.isSkyBlocked(world, pos.getX() + x, pos.getY() + 2, pos.getZ() + z)) {
+                        this.blocked++;
+                    }
                 }
             }
         }
@@ -82,22 +98,42 @@ public void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @Not
         MachineStatus status = null;
         double multiplier = (9.0 - this.blocked) / 9.0;
         if (this.blocked > 0) status = GCMachineStatuses.PARTIALLY_BLOCKED;
-        if (world.isRaining() || world.isThundering()) {
+        SolarConditions conditions = ((ServerLevelAccessor) world).getSolarConditions();
+        if (conditions.isRaining()) {
             if (status == null) status = GCMachineStatuses.RAIN;
             multiplier *= 0.5;
         }
-        if (!world.isDay()) status = GCMachineStatuses.NIGHT;
-        double time = world.getDayTime() % 24000;
-        if (time > 6000) time = 12000L - time;
+        if (!conditions.isDay()) status = GCMachineStatuses.NIGHT;
         profiler.push("transaction");
         try (Transaction transaction = Transaction.openOuter()) {
-            this.energyStorage().insert((long)(Galacticraft.CONFIG_MANAGER.get().solarPanelEnergyProductionRate() * (time / 6000.0) * multiplier) * 4L, transaction);
+            this.energyStorage().insert((long)(Galacticraft.CONFIG_MANAGER.get().solarPanelEnergyProductionRate() * conditions.getTimeMultiplier() * multiplier) * 4L, transaction);
             transaction.commit();
         }
         profiler.pop();
         return status == null ? GCMachineStatuses.COLLECTING : status;
     }
 
+    @Override
+    public void onSkyColumnChanged(int x, int y, int z) {
+        if (y >= this.worldPosition.getY() + 2) {
+            this.blockageDirty = true;
+        }
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        if (this.listening && this.level instanceof ServerLevel serverLevel) {
+            for (int x = -1; x < 2; x++) {
+                for (int z = -1; z < 2; z++) {
+                    ((ServerLevelAccessor) serverLevel).removeColumnListener(BlockPos.asLong(this.worldPosition.getX() + x, 0, this.worldPosition.getZ() + z), this);
+                }
+            }
+        }
+        this.listening = false;
+        this.blockageDirty = true;
+    }
+
     @Nullable
     @Override
     public AbstractContainerMenu createMenu(int syncId, Inventory inv, Player player) {
@@ -35,6 +35,7 @@
 import dev.galacticraft.mod.machine.storage.io.GCSlotGroupTypes;
 import dev.galacticraft.mod.recipe.FabricationRecipe;
 import dev.galacticraft.mod.recipe.GCRecipes;
+import dev.galacticraft.mod.recipe.RecipeIndex;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.NonNullList;
 import net.minecraft.server.level.ServerLevel;
@@ -57,6 +58,7 @@
  */
 public class CircuitFabricatorBlockEntity extends RecipeMachineBlockEntity<Container, FabricationRecipe> {
     private final Container craftingInv;
+    private final RecipeIndex.Lookup<Container, FabricationRecipe> recipeLookup = new RecipeIndex.Lookup<>(GCRecipes.FABRICATION_INDEX);
 
     public CircuitFabricatorBlockEntity(BlockPos pos, BlockState state) {
         super(GCMachineTypes.CIRCUIT_FABRICATOR, pos, state, GCRecipes.FABRICATION_TYPE);
@@ -125,12 +127,12 @@ protected void extractCraftingMaterials(@NotNull FabricationRecipe recipe) {
 
     @Override
     protected @Nullable FabricationRecipe findValidRecipe(@NotNull Level world) {
-            if (this.itemStorage().getSlot(GCSlotGroupTypes.DIAMOND_INPUT).contains(Items.DIAMOND)
-                    && this.itemStorage().getGroup(GCSlotGroupTypes.SILICON_INPUT).getSlot(0).contains(GCItems.RAW_SILICON)
-                    && this.itemStorage().getGroup(GCSlotGroupTypes.SILICON_INPUT).getSlot(1).contains(GCItems.RAW_SILICON)
-                    && this.itemStorage().getSlot(GCSlotGroupTypes.REDSTONE_INPUT).contains(Items.REDSTONE)) {
-                return super.findValidRecipe(world);
-            }
+        if (this.itemStorage().getSlot(GCSlotGroupTypes.DIAMOND_INPUT).contains(Items.DIAMOND)
+                && this.itemStorage().getGroup(GCSlotGroupTypes.SILICON_INPUT).getSlot(0).contains(GCItems.RAW_SILICON)
+                && this.itemStorage().getGroup(GCSlotGroupTypes.SILICON_INPUT).getSlot(1).contains(GCItems.RAW_SILICON)
+                && this.itemStorage().getSlot(GCSlotGroupTypes.REDSTONE_INPUT).contains(Items.REDSTONE)) {
+            return this.recipeLookup.find(world, this.craftingInv, this.itemStorage().getSlot(GCSlotGroupTypes.GENERIC_INPUT).getModifications());
+        }
 
         return null;
     }
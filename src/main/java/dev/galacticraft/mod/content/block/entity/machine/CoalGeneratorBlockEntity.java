@@ -31,7 +31,9 @@
 import dev.galacticraft.mod.Galacticraft;
 import dev.galacticraft.mod.content.GCMachineTypes;
 import dev.galacticraft.mod.content.block.machine.CoalGeneratorBlock;
+import dev.galacticraft.mod.machine.ActiveStateDebouncer;
 import dev.galacticraft.mod.machine.GCMachineStatuses;
+import dev.galacticraft.mod.machine.MachineHibernation;
 import dev.galacticraft.mod.machine.storage.io.GCSlotGroupTypes;
 import dev.galacticraft.mod.screen.CoalGeneratorMenu;
 import it.unimi.dsi.fastutil.objects.Object2IntArrayMap;
@@ -68,6 +70,8 @@ public class CoalGeneratorBlockEntity extends MachineBlockEntity {
     private long fuelSlotModCount = -1;
     private int fuelTime = 0;
     private double heat = 0.0d;
+    private final MachineHibernation hibernation = new MachineHibernation();
+    private final ActiveStateDebouncer activeState = new ActiveStateDebouncer(CoalGeneratorBlock.ACTIVE);
 
     /*
      * Energy stats:
@@ -81,6 +85,8 @@ public CoalGeneratorBlockEntity(BlockPos pos, BlockState state) {
 
     @Override
     protected void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @NotNull BlockState state, @NotNull ProfilerFiller profiler) {
+        this.activeState.tick(world, pos, state);
+        if (this.hibernation.tick(world, this.getModifications(), this.energyStorage().getAmount())) return;
         super.tickConstant(world, pos, state, profiler);
         if (this.fuelLength == 0) {
             if (this.heat > 0) {
@@ -94,6 +100,17 @@ protected void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @
 
     @Override
     public @NotNull MachineStatus tick(@NotNull ServerLevel world, @NotNull BlockPos pos, @NotNull BlockState state, @NotNull ProfilerFiller profiler) {
+        if (this.hibernation.isSleeping()) return this.getStatus();
+        MachineStatus status = this.generate(world, state, profiler);
+        // stored energy still has to be pushed out, and new demand on the network cannot be observed while asleep.
+        // heat only decays while awake, so it has to be gone too or a refuel would start from stale heat
+        if (status == GCMachineStatuses.NO_FUEL && this.energyStorage().getAmount() == 0 && this.heat <= 0) {
+            this.hibernation.trySleep(this.getModifications(), this.energyStorage().getAmount());
+        }
+        return status;
+    }
+
+    private @NotNull MachineStatus generate(@NotNull ServerLevel world, @NotNull BlockState state, @NotNull ProfilerFiller profiler) {
         profiler.push("transaction");
         try (Transaction transaction = Transaction.openOuter()) {
             this.energyStorage().insert((long) (Galacticraft.CONFIG_MANAGER.get().coalGeneratorEnergyProductionRate() * this.heat), transaction);
@@ -126,11 +143,24 @@ protected void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @
         }
     }
 
+    private long getModifications() {
+        return this.itemStorage().getGroup(GCSlotGroupTypes.COAL).getSlot(0).getModifications()
+                + this.itemStorage().getSlot(GCSlotGroupTypes.ENERGY_TO_ITEM).getModifications();
+    }
+
+    public MachineHibernation getHibernation() {
+        return this.hibernation;
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        this.hibernation.remove();
+    }
+
     @Override
     public void setStatus(@NotNull MachineStatus status) {
-        if (this.getStatus() != status) {
-            this.level.setBlockAndUpdate(this.worldPosition, this.getBlockState().setValue(CoalGeneratorBlock.ACTIVE, status.type().isActive()));
-        }
+        this.activeState.setActive(status.type().isActive());
         super.setStatus(status);
     }
 
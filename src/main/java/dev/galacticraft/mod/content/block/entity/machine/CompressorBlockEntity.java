@@ -32,6 +32,7 @@
 import dev.galacticraft.mod.machine.storage.io.GCSlotGroupTypes;
 import dev.galacticraft.mod.recipe.CompressingRecipe;
 import dev.galacticraft.mod.recipe.GCRecipes;
+import dev.galacticraft.mod.recipe.RecipeIndex;
 import dev.galacticraft.mod.screen.CompressorMenu;
 import net.fabricmc.fabric.api.registry.FuelRegistry;
 import net.minecraft.core.BlockPos;
@@ -48,6 +49,7 @@
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -57,6 +59,7 @@
  */
 public class CompressorBlockEntity extends RecipeMachineBlockEntity<Container, CompressingRecipe> {
     private final Container craftingInv;
+    private final RecipeIndex.Lookup<Container, CompressingRecipe> recipeLookup = new RecipeIndex.Lookup<>(GCRecipes.COMPRESSING_INDEX);
     public int fuelTime;
     public int fuelLength;
     private long fuelSlotModification = -1;
@@ -108,6 +111,16 @@ protected void extractResourcesToWork() {
         }
     }
 
+    @Override
+    protected @Nullable CompressingRecipe findValidRecipe(@NotNull Level world) {
+        SlotGroup<Item, ItemStack, ItemResourceSlot> group = this.itemStorage().getGroup(GCSlotGroupTypes.GENERIC_INPUT);
+        long modifications = 0;
+        for (int i = 0; i < group.size(); i++) {
+            modifications += group.getSlot(i).getModifications();
+        }
+        return this.recipeLookup.find(world, this.craftingInv, modifications);
+    }
+
     @Override
     public @NotNull Container craftingInv() {
         return this.craftingInv;
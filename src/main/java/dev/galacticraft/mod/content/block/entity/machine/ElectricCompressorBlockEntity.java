@@ -34,6 +34,7 @@
 import dev.galacticraft.mod.machine.storage.io.GCSlotGroupTypes;
 import dev.galacticraft.mod.recipe.CompressingRecipe;
 import dev.galacticraft.mod.recipe.GCRecipes;
+import dev.galacticraft.mod.recipe.RecipeIndex;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.NonNullList;
 import net.minecraft.server.level.ServerLevel;
@@ -47,6 +48,7 @@
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -56,6 +58,7 @@
  */
 public class ElectricCompressorBlockEntity extends RecipeMachineBlockEntity<Container, CompressingRecipe> {
     private final Container craftingInv;
+    private final RecipeIndex.Lookup<Container, CompressingRecipe> recipeLookup = new RecipeIndex.Lookup<>(GCRecipes.COMPRESSING_INDEX);
 
     public ElectricCompressorBlockEntity(BlockPos pos, BlockState state) {
         super(GCMachineTypes.ELECTRIC_COMPRESSOR, pos, state, GCRecipes.COMPRESSING_TYPE);
@@ -93,6 +96,16 @@ protected void extractResourcesToWork() {
         this.energyStorage().extract(Galacticraft.CONFIG_MANAGER.get().electricCompressorEnergyConsumptionRate());
     }
 
+    @Override
+    protected @Nullable CompressingRecipe findValidRecipe(@NotNull Level world) {
+        SlotGroup<Item, ItemStack, ItemResourceSlot> group = this.itemStorage().getGroup(GCSlotGroupTypes.GENERIC_INPUT);
+        long modifications = 0;
+        for (int i = 0; i < group.size(); i++) {
+            modifications += group.getSlot(i).getModifications();
+        }
+        return this.recipeLookup.find(world, this.craftingInv, modifications);
+    }
+
     @Override
     public @NotNull Container craftingInv() {
         return this.craftingInv;
@@ -27,6 +27,9 @@
 import dev.galacticraft.machinelib.api.machine.MachineStatus;
 import dev.galacticraft.machinelib.api.machine.MachineStatuses;
 import dev.galacticraft.machinelib.api.storage.slot.FluidResourceSlot;
+import dev.galacticraft.impl.internal.accessor.ChunkOxygenAccessor;
+import dev.galacticraft.impl.internal.accessor.ChunkSectionOxygenAccessor;
+import dev.galacticraft.impl.internal.accessor.InternalLevelOxygenAccessor;
 import dev.galacticraft.mod.Constant;
 import dev.galacticraft.mod.Galacticraft;
 import dev.galacticraft.mod.content.GCEntityTypes;
@@ -37,10 +40,14 @@
 import dev.galacticraft.mod.screen.OxygenBubbleDistributorMenu;
 import dev.galacticraft.mod.util.FluidUtil;
 import io.netty.buffer.Unpooled;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.util.Mth;
@@ -50,6 +57,7 @@
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -61,9 +69,26 @@ public class OxygenBubbleDistributorBlockEntity extends MachineBlockEntity {
     public boolean bubbleVisible = true;
     private double size = 0;
     private byte targetSize = 1;
-    private int players = 0;
     private int bubbleId = -1;
-    private double prevSize;
+    /**
+     * The rate (per tick) and the size the bubble is heading to, as last sent to clients.
+     * Clients interpolate the size from these, so updates are only sent when either changes.
+     */
+    private double sentRate = 0;
+    private double sentTarget = 0;
+    /**
+     * The game time the client last received the size at, or {@link Long#MIN_VALUE} if it arrived before the level was known
+     */
+    private long syncTime = Long.MIN_VALUE;
+    /**
+     * The squared radius of the bubble that is currently applied to the world, or -1 if there is none
+     */
+    private int appliedRadiusSquared = -1;
+    /**
+     * Whether the applied bubble has been added to the world as oxygen sources. Sources are not saved, so a loaded bubble
+     * has to add them again.
+     */
+    private boolean sourcesAdded = false;
 
     public OxygenBubbleDistributorBlockEntity(BlockPos pos, BlockState state) {
         super(GCMachineTypes.OXYGEN_BUBBLE_DISTRIBUTOR, pos, state);
@@ -80,9 +105,29 @@ protected void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @
 
     @Override
     protected @NotNull MachineStatus tick(@NotNull ServerLevel world, @NotNull BlockPos pos, @NotNull BlockState state, @NotNull ProfilerFiller profiler) {
+        double startSize = this.size;
+        MachineStatus status = this.distribute(world, profiler);
+        profiler.push("network");
+        double rate = this.size - startSize;
+        double target = rate > 0 || status == GCMachineStatuses.DISTRIBUTING ? this.targetSize : 0;
+        if (rate == 0) target = this.size;
+        if (Math.abs(rate - this.sentRate) > 1.0E-6 || target != this.sentTarget) {
+            this.sentRate = rate;
+            this.sentTarget = target;
+            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+            buf.writeBlockPos(pos).writeDouble(this.size).writeDouble(target).writeDouble(rate);
+            Packet<ClientGamePacketListener> packet = ServerPlayNetworking.createS2CPacket(Constant.Packet.BUBBLE_SIZE, buf);
+            for (ServerPlayer player : PlayerLookup.tracking(this)) {
+                player.connection.send(packet);
+            }
+        }
+        profiler.pop();
+        return status;
+    }
+
+    private @NotNull MachineStatus distribute(@NotNull ServerLevel world, @NotNull ProfilerFiller profiler) {
         profiler.push("transaction");
         MachineStatus status;
-        distributeOxygenToArea(this.prevSize, false);
         try {
             if (this.energyStorage().canExtract(Galacticraft.CONFIG_MANAGER.get().oxygenCollectorEnergyConsumptionRate())) { //todo: config
                 profiler.push("bubble");
@@ -95,22 +140,11 @@ protected void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @
                     entity.xo = this.getBlockPos().getX();
                     entity.yo = this.getBlockPos().getY();
                     entity.zo = this.getBlockPos().getZ();
+                    // the entity is sent to (and removed from) clients by the entity tracker
                     world.addFreshEntity(entity);
                     this.bubbleId = entity.getId();
-                    for (ServerPlayer player : world.players()) {
-                        player.connection.send(entity.getAddEntityPacket());
-                    }
                 }
                 profiler.pop();
-                if (this.prevSize != this.size || this.players != world.players().size()) {
-                    this.players = world.players().size();
-                    this.prevSize = this.size;
-                    profiler.push("network");
-                    for (ServerPlayer player : world.players()) {
-                        ServerPlayNetworking.send(player, Constant.Packet.BUBBLE_SIZE, new FriendlyByteBuf(new FriendlyByteBuf(Unpooled.buffer()).writeBlockPos(pos).writeDouble(this.size)));
-                    }
-                    profiler.pop();
-                }
                 profiler.push("bubbler_distributor_transfer");
                 long oxygenRequired = ((long) ((4.0 / 3.0) * Math.PI * this.size * this.size * this.size));
                 FluidResourceSlot slot = this.fluidStorage().getSlot(GCSlotGroupTypes.OXYGEN_INPUT);
@@ -121,7 +155,7 @@ protected void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @
                         setSize(this.size + 0.05D);
                     }
                     profiler.pop();
-                    distributeOxygenToArea(this.size, true);
+                    this.updateBubble(world, (int) (this.size * this.size));
                     return GCMachineStatuses.DISTRIBUTING;
                 } else {
                     status = GCMachineStatuses.NOT_ENOUGH_OXYGEN;
@@ -133,6 +167,7 @@ protected void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @
         } finally {
             profiler.pop();
         }
+        this.updateBubble(world, -1);
         profiler.push("size");
         if (this.bubbleId != -1 && this.size <= 0) {
             world.getEntity(bubbleId).remove(Entity.RemovalReason.DISCARDED);
@@ -157,21 +192,85 @@ public int getDistanceFromServer(int par1, int par3, int par5) {
         return d3 * d3 + d4 * d4 + d5 * d5;
     }
 
-    public void distributeOxygenToArea(double size, boolean oxygenated) {
-        int radius = Mth.floor(size) + 4;
-        int bubbleR2 = (int) (size * size);
-        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
-        for (int x = this.getBlockPos().getX() - radius; x <= this.getBlockPos().getX() + radius; x++) {
-            for (int y = this.getBlockPos().getY() - radius; y <= this.getBlockPos().getY() + radius; y++) {
-                for (int z = this.getBlockPos().getZ() - radius; z <= this.getBlockPos().getZ() + radius; z++) {
-                    if (getDistanceFromServer(x, y, z) <= bubbleR2) {
-                        getLevel().setBreathable(pos.set(x, y, z), oxygenated);
+    /**
+     * Applies the oxygen of a bubble with the given squared radius, updating only the shell between the applied and the new bubble.
+     * @param radiusSquared the squared radius of the bubble, or -1 to remove it
+     */
+    private void updateBubble(@NotNull ServerLevel level, int radiusSquared) {
+        if (!this.sourcesAdded) {
+            this.applyShell(level, -1, this.appliedRadiusSquared, true, true);
+            this.sourcesAdded = true;
+        }
+        if (radiusSquared == this.appliedRadiusSquared) return;
+        if (radiusSquared > this.appliedRadiusSquared) {
+            this.applyShell(level, this.appliedRadiusSquared, radiusSquared, true, true);
+        } else {
+            this.applyShell(level, radiusSquared, this.appliedRadiusSquared, false, true);
+        }
+        this.appliedRadiusSquared = radiusSquared;
+    }
+
+    /**
+     * Adds (or removes) an oxygen source at every position whose squared distance from this distributor is in {@code (innerR2, outerR2]}.
+     * Positions are written straight to the chunk sections, one section at a time, and only the shell is visited.
+     * @param load whether chunks that are not loaded should be loaded, otherwise they are skipped
+     */
+    private void applyShell(@NotNull ServerLevel level, int innerR2, int outerR2, boolean add, boolean load) {
+        if (outerR2 < 0 || innerR2 >= outerR2) return;
+        if (((InternalLevelOxygenAccessor) level).getDefaultBreathable()) return;
+        int cx = this.worldPosition.getX();
+        int cy = this.worldPosition.getY();
+        int cz = this.worldPosition.getZ();
+        int radius = Mth.floor(Math.sqrt(outerR2));
+        int minSectionY = Math.max(SectionPos.blockToSectionCoord(cy - radius), level.getMinSection());
+        int maxSectionY = Math.min(SectionPos.blockToSectionCoord(cy + radius), level.getMaxSection() - 1);
+
+        for (int sectionX = SectionPos.blockToSectionCoord(cx - radius); sectionX <= SectionPos.blockToSectionCoord(cx + radius); sectionX++) {
+            for (int sectionZ = SectionPos.blockToSectionCoord(cz - radius); sectionZ <= SectionPos.blockToSectionCoord(cz + radius); sectionZ++) {
+                LevelChunk chunk = load ? level.getChunk(sectionX, sectionZ) : level.getChunkSource().getChunkNow(sectionX, sectionZ);
+                if (chunk == null) continue;
+                int minZ = Math.max(SectionPos.sectionToBlockCoord(sectionZ), cz - radius);
+                int maxZ = Math.min(SectionPos.sectionToBlockCoord(sectionZ, 15), cz + radius);
+                int modified = 0;
+                for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+                    ChunkSectionOxygenAccessor section = (ChunkSectionOxygenAccessor) chunk.getSection(level.getSectionIndexFromSectionY(sectionY));
+                    for (int y = Math.max(SectionPos.sectionToBlockCoord(sectionY), cy - radius); y <= Math.min(SectionPos.sectionToBlockCoord(sectionY, 15), cy + radius); y++) {
+                        for (int x = Math.max(SectionPos.sectionToBlockCoord(sectionX), cx - radius); x <= Math.min(SectionPos.sectionToBlockCoord(sectionX, 15), cx + radius); x++) {
+                            int rowR2 = (x - cx) * (x - cx) + (y - cy) * (y - cy);
+                            if (rowR2 > outerR2) continue;
+                            int outer = Mth.floor(Math.sqrt(outerR2 - rowR2));
+                            // positions with |dz| <= inner are inside the inner bubble
+                            int inner = innerR2 < rowR2 ? -1 : Mth.floor(Math.sqrt(innerR2 - rowR2));
+                            for (int z = Math.max(minZ, cz - outer); z <= Math.min(maxZ, cz + outer); z++) {
+                                if (Math.abs(z - cz) <= inner) {
+                                    z = cz + inner;
+                                    continue;
+                                }
+                                if (add ? section.galacticraft$addSource(x & 15, y & 15, z & 15) : section.galacticraft$removeSource(x & 15, y & 15, z & 15)) {
+                                    modified++;
+                                }
+                            }
+                        }
                     }
                 }
+                if (modified > 0) {
+                    ((ChunkOxygenAccessor) chunk).galacticraft$markOxygenDirty();
+                    ((InternalLevelOxygenAccessor) level).galacticraft$recordOxygenUpdates(modified);
+                }
             }
         }
     }
 
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        if (this.level instanceof ServerLevel serverLevel && this.sourcesAdded) {
+            // don't load chunks while this distributor is being unloaded
+            this.applyShell(serverLevel, -1, this.appliedRadiusSquared, false, false);
+            this.sourcesAdded = false;
+        }
+    }
+
     public byte getTargetSize() {
         return this.targetSize;
     }
@@ -185,6 +284,7 @@ public void saveAdditional(CompoundTag tag) {
         super.saveAdditional(tag);
         tag.putByte(Constant.Nbt.MAX_SIZE, this.targetSize);
         tag.putDouble(Constant.Nbt.SIZE, this.size);
+        tag.putInt(Constant.Nbt.APPLIED_SIZE, this.appliedRadiusSquared);
     }
 
     @Override
@@ -194,16 +294,55 @@ public void load(CompoundTag nbt) {
         if (this.size < 0) this.size = 0;
         this.targetSize = nbt.getByte(Constant.Nbt.MAX_SIZE);
         if (this.targetSize < 1) this.targetSize = 1;
+        this.appliedRadiusSquared = nbt.contains(Constant.Nbt.APPLIED_SIZE) ? nbt.getInt(Constant.Nbt.APPLIED_SIZE) : -1;
+        if (nbt.contains(Constant.Nbt.SIZE_RATE)) {
+            // synced from the server with the chunk
+            this.setClientSize(this.size, nbt.getDouble(Constant.Nbt.SIZE_TARGET), nbt.getDouble(Constant.Nbt.SIZE_RATE));
+        }
+    }
+
+    @Override
+    public CompoundTag getUpdateTag() {
+        CompoundTag tag = super.getUpdateTag();
+        tag.putDouble(Constant.Nbt.SIZE, this.size);
+        tag.putByte(Constant.Nbt.MAX_SIZE, this.targetSize);
+        tag.putDouble(Constant.Nbt.SIZE_TARGET, this.sentTarget);
+        tag.putDouble(Constant.Nbt.SIZE_RATE, this.sentRate);
+        return tag;
     }
 
     public double getSize() {
-        return this.size;
+        return this.getSize(0.0F);
+    }
+
+    /**
+     * Returns the size of the bubble. On the client, the size is interpolated from the last update.
+     * @param tickDelta the progress through the current tick
+     */
+    public double getSize(float tickDelta) {
+        if (this.level == null || !this.level.isClientSide() || this.sentRate == 0) return this.size;
+        if (this.syncTime == Long.MIN_VALUE) this.syncTime = this.level.getGameTime();
+        double size = this.size + this.sentRate * (this.level.getGameTime() - this.syncTime + tickDelta);
+        return this.sentRate > 0 ? Math.min(size, this.sentTarget) : Math.max(size, this.sentTarget);
     }
 
     public void setSize(double size) {
         this.size = size;
     }
 
+    /**
+     * Sets the size of the bubble on the client, along with the rate it changes at
+     * @param size the current size of the bubble
+     * @param target the size the bubble stops changing at
+     * @param rate the change in size per tick
+     */
+    public void setClientSize(double size, double target, double rate) {
+        this.size = size;
+        this.sentTarget = target;
+        this.sentRate = rate;
+        this.syncTime = this.level != null ? this.level.getGameTime() : Long.MIN_VALUE;
+    }
+
     @Nullable
     @Override
     public AbstractContainerMenu createMenu(int syncId, Inventory inv, Player player) {
@@ -23,8 +23,6 @@
 package dev.galacticraft.mod.content.block.entity.machine;
 
 import dev.galacticraft.api.universe.celestialbody.CelestialBody;
-import dev.galacticraft.api.universe.celestialbody.CelestialBodyConfig;
-import dev.galacticraft.api.universe.celestialbody.landable.Landable;
 import dev.galacticraft.machinelib.api.block.entity.MachineBlockEntity;
 import dev.galacticraft.api.gas.Gases;
 import dev.galacticraft.machinelib.api.machine.MachineStatus;
@@ -32,6 +30,8 @@
 import dev.galacticraft.mod.Galacticraft;
 import dev.galacticraft.mod.content.GCMachineTypes;
 import dev.galacticraft.mod.content.block.machine.OxygenCollectorBlock;
+import dev.galacticraft.mod.machine.ActiveStateDebouncer;
+import dev.galacticraft.mod.machine.FoliageCensus;
 import dev.galacticraft.mod.machine.GCMachineStatuses;
 import dev.galacticraft.mod.machine.storage.io.GCSlotGroupTypes;
 import dev.galacticraft.mod.screen.OxygenCollectorMenu;
@@ -44,8 +44,6 @@
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.CropBlock;
-import net.minecraft.world.level.block.LeavesBlock;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -57,7 +55,9 @@ public class OxygenCollectorBlockEntity extends MachineBlockEntity {
     public static final long MAX_OXYGEN = FluidUtil.bucketsToDroplets(50);
 
     public int collectionAmount = 0;
+    private final ActiveStateDebouncer activeState = new ActiveStateDebouncer(OxygenCollectorBlock.ACTIVE);
     private boolean oxygenWorld = false;
+    private @Nullable FoliageCensus foliage = null;
 
     public OxygenCollectorBlockEntity(BlockPos pos, BlockState state) {
         super(GCMachineTypes.OXYGEN_COLLECTOR, pos, state);
@@ -66,32 +66,16 @@ public OxygenCollectorBlockEntity(BlockPos pos, BlockState state) {
     @Override
     public void setLevel(Level world) {
         super.setLevel(world);
-        CelestialBody<CelestialBodyConfig, ? extends Landable<CelestialBodyConfig>> body = CelestialBody.getByDimension(world).orElse(null);
+        CelestialBody<?, ?> body = CelestialBody.getByDimensionOrNull(world);
         this.oxygenWorld = body == null || body.atmosphere().breathable();
     }
 
     private int collectOxygen(@NotNull ServerLevel world, @NotNull BlockPos pos) {
         if (!this.oxygenWorld) {
-            int minX = pos.getX() - 5;
-            int minY = pos.getY() - 5;
-            int minZ = pos.getZ() - 5;
-            int maxX = pos.getX() + 5;
-            int maxY = pos.getY() + 5;
-            int maxZ = pos.getZ() + 5;
-
-            float leafBlocks = 0;
-
-            for (BlockPos pos1 : BlockPos.betweenClosed(minX, minY, minZ, maxX, maxY, maxZ)) {
-                BlockState state = world.getBlockState(pos1);
-                if (state.isAir()) {
-                    continue;
-                }
-                if (state.getBlock() instanceof LeavesBlock && !state.getValue(LeavesBlock.PERSISTENT)) {
-                    leafBlocks++;
-                } else if (state.getBlock() instanceof CropBlock) {
-                    leafBlocks += 0.75F;
-                }
+            if (this.foliage == null) {
+                this.foliage = new FoliageCensus(pos, 5);
             }
+            float leafBlocks = this.foliage.getPlantCount(world);
 
             if (leafBlocks < 2) return 0;
 
@@ -103,6 +87,7 @@ private int collectOxygen(@NotNull ServerLevel world, @NotNull BlockPos pos) {
 
     @Override
     protected void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @NotNull BlockState state, @NotNull ProfilerFiller profiler) {
+        this.activeState.tick(world, pos, state);
         super.tickConstant(world, pos, state, profiler);
         this.chargeFromStack(GCSlotGroupTypes.ENERGY_TO_SELF);
     }
@@ -137,12 +122,19 @@ protected void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @
 
     @Override
     public void setStatus(@NotNull MachineStatus status) {
-        if (this.getStatus() != status) {
-            this.level.setBlockAndUpdate(this.worldPosition, this.getBlockState().setValue(OxygenCollectorBlock.ACTIVE, status.type().isActive()));
-        }
+        this.activeState.setActive(status.type().isActive());
         super.setStatus(status);
     }
 
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        if (this.foliage != null && this.level instanceof ServerLevel serverLevel) {
+            this.foliage.remove(serverLevel);
+        }
+        this.foliage = null;
+    }
+
     @Nullable
     @Override
     public AbstractContainerMenu createMenu(int syncId, Inventory inv, Player player) {
@@ -28,9 +28,9 @@
 import dev.galacticraft.machinelib.api.machine.MachineStatus;
 import dev.galacticraft.machinelib.api.machine.MachineStatuses;
 import dev.galacticraft.machinelib.api.menu.MachineMenu;
-import dev.galacticraft.mod.Constant;
 import dev.galacticraft.mod.Galacticraft;
 import dev.galacticraft.mod.accessor.ServerLevelAccessor;
+import dev.galacticraft.mod.api.block.entity.BlockUpdateListener;
 import dev.galacticraft.mod.content.GCMachineTypes;
 import dev.galacticraft.mod.machine.GCMachineStatuses;
 import dev.galacticraft.mod.machine.storage.io.GCSlotGroupTypes;
@@ -39,39 +39,31 @@
 import net.minecraft.core.Direction;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.util.Tuple;
 import net.minecraft.util.profiling.ProfilerFiller;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.world.phys.shapes.VoxelShape;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Set;
-
 /**
  * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
  */
-public class OxygenSealerBlockEntity extends MachineBlockEntity {
+public class OxygenSealerBlockEntity extends MachineBlockEntity implements BlockUpdateListener {
     public static final long MAX_OXYGEN = FluidUtil.bucketsToDroplets(50);
     public static final int SEAL_CHECK_TIME = 20;
+    public static final int MAX_SEALED_VOLUME = 16384;
 
-    private final Set<BlockPos> breathablePositions = new HashSet<>();
-    private final Set<BlockPos> watching = new HashSet<>();
+    private final SealedArea area;
     private int sealCheckTime;
     private boolean updateQueued = true;
-    private boolean disabled = false;
     private boolean oxygenWorld = false;
 
     public OxygenSealerBlockEntity(BlockPos pos, BlockState state) {
         super(GCMachineTypes.OXYGEN_SEALER, pos, state);
+        this.area = new SealedArea(pos, this);
     }
 
     @Override
@@ -79,7 +71,6 @@ public void setLevel(Level world) {
         super.setLevel(world);
         this.sealCheckTime = SEAL_CHECK_TIME;
         this.oxygenWorld = CelestialBody.getByDimension(world).map(body -> body.atmosphere().breathable()).orElse(true);
-        if (!world.isClientSide) ((ServerLevelAccessor) world).addSealer(this);
     }
 
     @Override
@@ -92,10 +83,6 @@ protected void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @
     @Override
     protected @NotNull MachineStatus tick(@NotNull ServerLevel world, @NotNull BlockPos pos, @NotNull BlockState state, @NotNull ProfilerFiller profiler) {
         assert world != null;
-        if (this.disabled != (this.disabled = false)) {
-            ((ServerLevelAccessor) world).addSealer(this);
-        }
-
         if (this.energyStorage().canExtract(Galacticraft.CONFIG_MANAGER.get().oxygenCompressorEnergyConsumptionRate())) {
             if (!this.fluidStorage().getGroup(GCSlotGroupTypes.OXYGEN_INPUT).isEmpty()) {
                 if (this.sealCheckTime > 0) this.sealCheckTime--;
@@ -104,60 +91,32 @@ protected void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @
                     this.updateQueued = false;
                     this.sealCheckTime = SEAL_CHECK_TIME;
                     BlockPos pos1 = pos.relative(Direction.UP);
-                    if (this.oxygenWorld || (this.breathablePositions.isEmpty() && world.isBreathable(pos1))) {
+                    if (this.oxygenWorld || (this.area.isEmpty() && world.isBreathable(pos1))) {
                         profiler.pop();
                         return GCMachineStatuses.ALREADY_SEALED;
                     }
-                    for (BlockPos pos2 : this.breathablePositions) {
-                        world.setBreathable(pos2, false);
-                    }
-                    this.breathablePositions.clear();
-                    this.watching.clear();
-                    Queue<Tuple<BlockPos, Direction>> queue = new LinkedList<>();
-                    Set<Tuple<BlockPos, Direction>> checked = new HashSet<>();
-                    Set<BlockPos> added = new HashSet<>();
-                    BlockState state1;
-                    Tuple<BlockPos, Direction> pair;
-                    BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
-                    queue.add(new Tuple<>(pos1, Direction.UP));
-                    checked.add(new Tuple<>(pos1, Direction.UP));
-                    while (!queue.isEmpty()) {
-                        pair = queue.poll();
-                        pos1 = pair.getA();
-                        state1 = world.getBlockState(pos1);
-                        if (state1.isAir() || (!Block.isFaceFull(state1.getCollisionShape(world, pos1), pair.getB().getOpposite()))) {
-                            this.breathablePositions.add(pos1);
-                            if (this.breathablePositions.size() > 1000) {
-                                this.breathablePositions.clear();
-                                this.watching.clear();
-                                this.updateQueued = true;
-                                this.sealCheckTime = SEAL_CHECK_TIME * 5;
-                                profiler.pop();
-                                return GCMachineStatuses.AREA_TOO_LARGE;
-                            }
-                            added.add(pos1);
-                            final BlockPos finalPos = pos1;
-                            queue.removeIf(blockPosDirectionPair -> blockPosDirectionPair.getA().equals(finalPos));
-                            for (Direction direction : Constant.Misc.DIRECTIONS) {
-                                final Tuple<BlockPos, Direction> e = new Tuple<>(mutable.set(pos1).move(direction).immutable(), direction);
-                                if (!added.contains(e.getA()) && checked.add(e)) {
-                                    if (!Block.isFaceFull(state1.getCollisionShape(world, pos1), e.getB())) {
-                                        queue.add(e);
-                                    }
-                                }
-                            }
-                        } else {
-                            this.watching.add(pos1);
-                        }
+                    long start = System.nanoTime();
+                    boolean filled = this.area.recheck(world);
+                    this.recordFill(world, start);
+                    if (!filled) {
+                        profiler.pop();
+                        return this.areaTooLarge(world);
                     }
-                    for (BlockPos pos2 : this.breathablePositions) {
-                        world.setBreathable(pos2, true);
+                    profiler.pop();
+                } else if (this.area.hasChanges()) {
+                    profiler.push("repair_seal");
+                    long start = System.nanoTime();
+                    boolean repaired = this.area.repair(world);
+                    this.recordFill(world, start);
+                    if (!repaired) {
+                        profiler.pop();
+                        return this.areaTooLarge(world);
                     }
                     profiler.pop();
                 }
                 profiler.push("extract");
                 this.energyStorage().extract(Galacticraft.CONFIG_MANAGER.get().oxygenCompressorEnergyConsumptionRate());
-                this.fluidStorage().getGroup(GCSlotGroupTypes.OXYGEN_INPUT).extract(Gases.OXYGEN, breathablePositions.size() * 2L);
+                this.fluidStorage().getGroup(GCSlotGroupTypes.OXYGEN_INPUT).extract(Gases.OXYGEN, this.area.size() * 2L);
                 profiler.pop();
                 return GCMachineStatuses.SEALED;
             } else {
@@ -170,28 +129,27 @@ protected void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @
         }
     }
 
+    private void recordFill(@NotNull ServerLevel world, long start) {
+        ((ServerLevelAccessor) world).getMetrics().getSealerFills().record(System.nanoTime() - start, this.area.size());
+    }
+
+    private @NotNull MachineStatus areaTooLarge(@NotNull ServerLevel world) {
+        this.area.clear(world);
+        this.updateQueued = true;
+        this.sealCheckTime = SEAL_CHECK_TIME * 5;
+        return GCMachineStatuses.AREA_TOO_LARGE;
+    }
+
     @Override
     protected void tickDisabled(@NotNull ServerLevel world, @NotNull BlockPos pos, @NotNull BlockState state, @NotNull ProfilerFiller profiler) {
-        this.disabled = true;
-        ((ServerLevelAccessor) world).removeSealer(this);
-        for (BlockPos pos1 : this.breathablePositions) {
-            world.setBreathable(pos1, false);
-        }
-        this.breathablePositions.clear();
-        this.watching.clear();
+        this.area.clear(world);
+        this.updateQueued = true;
     }
 
     @Override
     public void setRemoved() {
         super.setRemoved();
-        if (!this.level.isClientSide) {
-            ((ServerLevelAccessor) this.level).removeSealer(this);
-        }
-        for (BlockPos pos : this.breathablePositions) {
-            this.level.setBreathable(pos, false);
-        }
-        this.breathablePositions.clear();
-        this.watching.clear();
+        this.area.clear(this.level);
     }
 
     @Nullable
@@ -207,9 +165,8 @@ public AbstractContainerMenu createMenu(int syncId, Inventory inv, Player player
         return null;
     }
 
-    public void enqueueUpdate(BlockPos pos, VoxelShape voxelShape2) {
-        if ((this.watching.contains(pos) && !Block.isShapeFullBlock(voxelShape2)) || (this.breathablePositions.contains(pos) && !voxelShape2.isEmpty())) {
-            this.updateQueued = true;
-        }
+    @Override
+    public void enqueueUpdate(BlockPos pos, BlockState state) {
+        this.area.enqueueUpdate(this.level, pos, state);
     }
-}
\ No newline at end of file
+}
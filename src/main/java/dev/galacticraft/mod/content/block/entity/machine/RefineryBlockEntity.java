@@ -32,7 +32,9 @@
 import dev.galacticraft.mod.content.GCFluids;
 import dev.galacticraft.mod.content.GCMachineTypes;
 import dev.galacticraft.mod.content.block.machine.RefineryBlock;
+import dev.galacticraft.mod.machine.ActiveStateDebouncer;
 import dev.galacticraft.mod.machine.GCMachineStatuses;
+import dev.galacticraft.mod.machine.MachineHibernation;
 import dev.galacticraft.mod.machine.storage.io.GCSlotGroupTypes;
 import dev.galacticraft.mod.util.FluidUtil;
 import net.fabricmc.fabric.api.transfer.v1.fluid.FluidConstants;
@@ -57,6 +59,8 @@
 public class RefineryBlockEntity extends MachineBlockEntity { //fixme
     @VisibleForTesting
     public static final long MAX_CAPACITY = FluidUtil.bucketsToDroplets(8);
+    private final MachineHibernation hibernation = new MachineHibernation();
+    private final ActiveStateDebouncer activeState = new ActiveStateDebouncer(RefineryBlock.ACTIVE);
 
     public RefineryBlockEntity(BlockPos pos, BlockState state) {
         super(GCMachineTypes.REFINERY, pos, state);
@@ -64,6 +68,8 @@ public RefineryBlockEntity(BlockPos pos, BlockState state) {
 
     @Override
     protected void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @NotNull BlockState state, @NotNull ProfilerFiller profiler) {
+        this.activeState.tick(world, pos, state);
+        if (this.hibernation.tick(world, this.getModifications(), this.energyStorage().getAmount())) return;
         super.tickConstant(world, pos, state, profiler);
         this.chargeFromStack(GCSlotGroupTypes.ENERGY_TO_SELF);
 
@@ -79,6 +85,16 @@ protected void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @
 
     @Override
     protected @NotNull MachineStatus tick(@NotNull ServerLevel world, @NotNull BlockPos pos, @NotNull BlockState state, @NotNull ProfilerFiller profiler) {
+        if (this.hibernation.isSleeping()) return this.getStatus();
+        MachineStatus status = this.refine(profiler);
+        // fuel still has to be pushed out, and new demand downstream cannot be observed while asleep
+        if (!status.type().isActive() && this.fluidStorage().getSlot(GCSlotGroupTypes.FUEL_OUTPUT).isEmpty()) {
+            this.hibernation.trySleep(this.getModifications(), this.energyStorage().getAmount());
+        }
+        return status;
+    }
+
+    private @NotNull MachineStatus refine(@NotNull ProfilerFiller profiler) {
         FluidResourceSlot oilTank = this.fluidStorage().getSlot(GCSlotGroupTypes.OIL_INPUT);
         if (oilTank.isEmpty()) return GCMachineStatuses.MISSING_OIL;
         FluidResourceSlot fuelTank = this.fluidStorage().getSlot(GCSlotGroupTypes.FUEL_OUTPUT);
@@ -100,11 +116,27 @@ protected void tickConstant(@NotNull ServerLevel world, @NotNull BlockPos pos, @
         }
     }
 
+    private long getModifications() {
+        return this.itemStorage().getSlot(GCSlotGroupTypes.ENERGY_TO_SELF).getModifications()
+                + this.itemStorage().getSlot(GCSlotGroupTypes.OIL_FROM_ITEM).getModifications()
+                + this.itemStorage().getSlot(GCSlotGroupTypes.FUEL_TO_ITEM).getModifications()
+                + this.fluidStorage().getSlot(GCSlotGroupTypes.OIL_INPUT).getModifications()
+                + this.fluidStorage().getSlot(GCSlotGroupTypes.FUEL_OUTPUT).getModifications();
+    }
+
+    public MachineHibernation getHibernation() {
+        return this.hibernation;
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        this.hibernation.remove();
+    }
+
     @Override
     public void setStatus(@NotNull MachineStatus status) {
-        if (this.getStatus() != status) {
-            this.level.setBlockAndUpdate(this.worldPosition, this.getBlockState().setValue(RefineryBlock.ACTIVE, status.type().isActive()));
-        }
+        this.activeState.setActive(status.type().isActive());
         super.setStatus(status);
     }
 
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.content.block.entity.machine;
+
+import com.google.common.annotations.VisibleForTesting;
+import dev.galacticraft.mod.Constant;
+import dev.galacticraft.mod.accessor.ServerLevelAccessor;
+import dev.galacticraft.mod.api.block.entity.BlockUpdateListener;
+import dev.galacticraft.mod.util.SectionBitSet;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.shapes.VoxelShape;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The flood fill of an {@link OxygenSealerBlockEntity}: the blocks it sealed, the blocks that stopped it and the
+ * changes to either since the last check. It is kept apart from the machine so that benchmarks can drive it without one.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+@VisibleForTesting
+final class SealedArea {
+    /**
+     * The block above the sealer, which the fill starts from
+     */
+    private final long origin;
+    /**
+     * Registered for block updates in every section that holds a sealed or watched block
+     */
+    private final @NotNull BlockUpdateListener listener;
+    private SectionBitSet breathablePositions = new SectionBitSet();
+    /**
+     * Blocks that stopped the flood fill
+     */
+    private final LongOpenHashSet watching = new LongOpenHashSet();
+    /**
+     * Sealed or watched blocks that changed since the last check
+     */
+    private final LongOpenHashSet changed = new LongOpenHashSet();
+    /**
+     * Chunk sections that the listener is registered in for block updates
+     */
+    private final LongOpenHashSet sections = new LongOpenHashSet();
+    private final LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+    /**
+     * Blocks sealed by the running fill, which only become breathable once the fill succeeds
+     */
+    private final LongArrayList pendingSeals = new LongArrayList();
+    /**
+     * Blocks watched since the last successful fill, whose sections are not listened to yet
+     */
+    private final LongArrayList pendingWatches = new LongArrayList();
+    private final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+
+    SealedArea(@NotNull BlockPos sealer, @NotNull BlockUpdateListener listener) {
+        this.origin = sealer.above().asLong();
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the number of sealed blocks
+     */
+    int size() {
+        return this.breathablePositions.size();
+    }
+
+    boolean isEmpty() {
+        return this.breathablePositions.isEmpty();
+    }
+
+    /**
+     * Returns whether sealed or watched blocks changed since the last check
+     */
+    boolean hasChanges() {
+        return !this.changed.isEmpty();
+    }
+
+    /**
+     * Floods the whole volume again from the block above the sealer.
+     * The old area stays breathable until the new one is known to be sealed, so only the blocks that were added or
+     * dropped are changed in the world.
+     * @return whether the sealed area is still within {@link OxygenSealerBlockEntity#MAX_SEALED_VOLUME}
+     */
+    boolean recheck(@NotNull ServerLevel world) {
+        SectionBitSet previous = this.breathablePositions;
+        this.breathablePositions = new SectionBitSet();
+        this.untrackSections(world);
+        this.watching.clear();
+        this.changed.clear();
+        this.checkEntrances(world, this.origin);
+        if (!this.fill(world)) {
+            this.breathablePositions = previous;
+            return false;
+        }
+        this.commit(world, previous);
+        previous.forEach(pos -> {
+            if (!this.breathablePositions.contains(pos)) {
+                world.removeBreathableSource(BlockPos.getX(pos), BlockPos.getY(pos), BlockPos.getZ(pos));
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Re-checks the blocks that changed since the last check, instead of flooding the whole volume again.
+     * A changed wall that can now be entered from the sealed area is sealed and the fill continues from it.
+     * A changed sealed block is released if none of its sealed neighbours can reach it anymore. Pockets that it cut off
+     * stay sealed, as they are still enclosed. When nothing is sealed yet, the only watched block is the one above the
+     * sealer, so opening it starts the fill from there.
+     * @return whether the sealed area is still within {@link OxygenSealerBlockEntity#MAX_SEALED_VOLUME}
+     */
+    boolean repair(@NotNull ServerLevel world) {
+        LongIterator iterator = this.changed.iterator();
+        while (iterator.hasNext()) {
+            long pos = iterator.nextLong();
+            if (this.breathablePositions.contains(pos)) {
+                if (this.getEntrances(world, pos) != 0) {
+                    // its faces may have opened up
+                    this.queue.enqueue(pos);
+                } else {
+                    this.breathablePositions.remove(pos);
+                    world.removeBreathableSource(BlockPos.getX(pos), BlockPos.getY(pos), BlockPos.getZ(pos));
+                    this.watch(world, pos);
+                }
+            } else if (this.watching.contains(pos)) {
+                this.checkEntrances(world, pos);
+            }
+        }
+        this.changed.clear();
+        if (!this.fill(world)) return false;
+        this.commit(world, null);
+        return true;
+    }
+
+    /**
+     * Returns the directions (bitmask of {@link Direction#ordinal()}) in which the sealed area can flow into the given block.
+     * The block above the sealer can always be entered from below.
+     */
+    private byte getEntrances(@NotNull ServerLevel world, long pos) {
+        VoxelShape shape = world.getBlockState(this.mutable.set(pos)).getCollisionShape(world, this.mutable);
+        byte entrances = 0;
+        if (pos == this.origin && !Block.isFaceFull(shape, Direction.DOWN)) {
+            entrances |= 1 << Direction.UP.ordinal();
+        }
+        for (Direction direction : Constant.Misc.DIRECTIONS) {
+            if (Block.isFaceFull(shape, direction.getOpposite())) continue;
+            long neighbour = BlockPos.offset(pos, direction.getOpposite());
+            if (!this.breathablePositions.contains(neighbour)) continue;
+            if (!Block.isFaceFull(world.getBlockState(this.mutable.set(neighbour)).getCollisionShape(world, this.mutable), direction)) {
+                entrances |= 1 << direction.ordinal();
+            }
+        }
+        return entrances;
+    }
+
+    /**
+     * Seals the block if the sealed area can flow into it, otherwise watches it for changes.
+     */
+    private void checkEntrances(@NotNull ServerLevel world, long pos) {
+        if (this.getEntrances(world, pos) != 0) {
+            this.seal(world, pos);
+        } else {
+            this.watch(world, pos);
+        }
+    }
+
+    private void seal(@NotNull ServerLevel world, long pos) {
+        this.breathablePositions.add(pos);
+        this.watching.remove(pos);
+        this.pendingSeals.add(pos);
+        this.queue.enqueue(pos);
+    }
+
+    /**
+     * Makes the blocks sealed by the last fill breathable and listens to the sections of the blocks it sealed or watched.
+     * @param previous the area that is still breathable from an earlier fill, whose blocks are not added again
+     */
+    private void commit(@NotNull ServerLevel world, @Nullable SectionBitSet previous) {
+        for (int i = 0; i < this.pendingSeals.size(); i++) {
+            long pos = this.pendingSeals.getLong(i);
+            this.trackSection(world, pos);
+            if (previous == null || !previous.contains(pos)) {
+                world.addBreathableSource(BlockPos.getX(pos), BlockPos.getY(pos), BlockPos.getZ(pos));
+            }
+        }
+        for (int i = 0; i < this.pendingWatches.size(); i++) {
+            this.trackSection(world, this.pendingWatches.getLong(i));
+        }
+        this.pendingSeals.clear();
+        this.pendingWatches.clear();
+    }
+
+    /**
+     * Floods outwards from the queued blocks. Blocks that stop the flood are watched for changes.
+     * Nothing is changed in the world here: the caller commits the result, and an overflowing fill takes back the
+     * blocks it sealed so that only committed blocks are ever released.
+     * @return whether the sealed area is still within {@link OxygenSealerBlockEntity#MAX_SEALED_VOLUME}
+     */
+    private boolean fill(@NotNull ServerLevel world) {
+        while (!this.queue.isEmpty()) {
+            long pos = this.queue.dequeueLong();
+            VoxelShape shape = world.getBlockState(this.mutable.set(pos)).getCollisionShape(world, this.mutable);
+            for (Direction direction : Constant.Misc.DIRECTIONS) {
+                if (Block.isFaceFull(shape, direction)) continue;
+                long adjacent = BlockPos.offset(pos, direction);
+                if (this.breathablePositions.contains(adjacent)) continue;
+                BlockState state = world.getBlockState(this.mutable.set(adjacent));
+                if (state.isAir() || !Block.isFaceFull(state.getCollisionShape(world, this.mutable), direction.getOpposite())) {
+                    if (this.breathablePositions.size() >= OxygenSealerBlockEntity.MAX_SEALED_VOLUME) {
+                        this.queue.clear();
+                        for (int i = 0; i < this.pendingSeals.size(); i++) {
+                            this.breathablePositions.remove(this.pendingSeals.getLong(i));
+                        }
+                        this.pendingSeals.clear();
+                        this.pendingWatches.clear();
+                        return false;
+                    }
+                    this.seal(world, adjacent);
+                } else {
+                    this.watch(world, adjacent);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void watch(@NotNull ServerLevel world, long pos) {
+        if (this.watching.add(pos)) {
+            this.pendingWatches.add(pos);
+        }
+    }
+
+    /**
+     * Registers this sealer for block updates in the chunk section of the given block
+     */
+    private void trackSection(@NotNull ServerLevel world, long pos) {
+        long section = SectionPos.blockToSection(pos);
+        if (this.sections.add(section)) {
+            ((ServerLevelAccessor) world).addSectionListener(section, this.listener);
+        }
+    }
+
+    private void untrackSections(@NotNull Level world) {
+        if (!this.sections.isEmpty()) {
+            LongIterator iterator = this.sections.iterator();
+            while (iterator.hasNext()) {
+                ((ServerLevelAccessor) world).removeSectionListener(iterator.nextLong(), this.listener);
+            }
+            this.sections.clear();
+        }
+    }
+
+    void clear(@NotNull Level world) {
+        this.untrackSections(world);
+        this.breathablePositions.forEach(pos -> world.removeBreathableSource(BlockPos.getX(pos), BlockPos.getY(pos), BlockPos.getZ(pos)));
+        this.breathablePositions.clear();
+        this.watching.clear();
+        this.changed.clear();
+    }
+
+
+    /**
+     * Records a block update in a listened section. The collision shape is only computed for blocks that stopped the flood fill.
+     */
+    void enqueueUpdate(@NotNull Level world, @NotNull BlockPos pos, @NotNull BlockState state) {
+        long packed = pos.asLong();
+        if (this.breathablePositions.contains(packed)
+                || (this.watching.contains(packed) && !Block.isShapeFullBlock(state.getCollisionShape(world, pos)))) {
+            this.changed.add(packed);
+        }
+    }
+}
@@ -24,8 +24,10 @@
 
 import dev.galacticraft.mod.Constant;
 import dev.galacticraft.mod.api.block.entity.Colored;
+import dev.galacticraft.mod.api.block.entity.ConnectedRenderData;
 import dev.galacticraft.mod.api.block.entity.Walkway;
 import dev.galacticraft.mod.api.pipe.Pipe;
+import dev.galacticraft.mod.api.pipe.impl.PipeNetworkManager;
 import dev.galacticraft.mod.content.GCBlockEntityTypes;
 import dev.galacticraft.mod.content.block.special.fluidpipe.PipeBlockEntity;
 import dev.galacticraft.mod.util.FluidUtil;
@@ -33,6 +35,7 @@
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -66,6 +69,14 @@ public Direction getDirection() {
     @Override
     public void setDirection(@NotNull Direction direction) {
         this.direction = direction;
+        if (this.level instanceof ServerLevel serverLevel) {
+            PipeNetworkManager.get(serverLevel).updateConnections(this.worldPosition, this);
+        }
+    }
+
+    @Override
+    public @NotNull ConnectedRenderData getRenderAttachmentData() {
+        return new ConnectedRenderData(this.getConnectionMask(), this.direction, this.getColor());
     }
 
     @Override
@@ -23,15 +23,19 @@
 package dev.galacticraft.mod.content.block.entity.networked;
 
 import dev.galacticraft.mod.Constant;
+import dev.galacticraft.mod.api.block.entity.ConnectedRenderData;
 import dev.galacticraft.mod.api.wire.Wire;
 import dev.galacticraft.mod.api.wire.WireNetwork;
+import dev.galacticraft.mod.api.wire.impl.WireNetworkManager;
 import dev.galacticraft.mod.attribute.energy.WireEnergyStorage;
+import net.fabricmc.fabric.api.rendering.data.v1.RenderAttachmentBlockEntity;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
@@ -42,7 +46,7 @@
 /**
  * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
  */
-public class WireBlockEntity extends BlockEntity implements Wire {
+public class WireBlockEntity extends BlockEntity implements Wire, RenderAttachmentBlockEntity {
     @Nullable
     private WireNetwork network;
     @Nullable
@@ -66,31 +70,13 @@ public static WireBlockEntity createT2(BlockEntityType<? extends WireBlockEntity
     @Override
     public void setNetwork(@Nullable WireNetwork network) {
         this.network = network;
-        for (var insertable : this.getInsertables()) {
-            insertable.setNetwork(network);
-        }
     }
 
     @Override
     public @NotNull WireNetwork getOrCreateNetwork() {
-        if (this.network == null) {
+        if (this.network == null || this.network.markedForRemoval()) {
             if (!this.level.isClientSide()) {
-                for (var direction : Constant.Misc.DIRECTIONS) {
-                    if (this.canConnect(direction)) {
-                        var entity = this.level.getBlockEntity(this.getBlockPos().relative(direction));
-                        if (entity instanceof Wire wire && wire.getNetwork() != null) {
-                            if (wire.canConnect(direction.getOpposite())) {
-                                if (wire.getOrCreateNetwork().isCompatibleWith(this)) {
-                                    wire.getNetwork().addWire(this.getBlockPos(), this);
-                                }
-                            }
-                        }
-                    }
-                }
-                if (this.network == null) {
-                    this.setNetwork(WireNetwork.create((ServerLevel) this.level, this.getMaxTransferRate()));
-                    this.network.addWire(this.getBlockPos(), this);
-                }
+                this.network = WireNetworkManager.get((ServerLevel) this.level).getOrAddWire(this.getBlockPos(), this);
             }
         }
         return this.network;
@@ -99,6 +85,13 @@ public void setNetwork(@Nullable WireNetwork network) {
     @Override
     @Nullable
     public WireNetwork getNetwork() {
+        // networks are replaced when they merge or split, so pick up the current one unless this wire is gone
+        if (this.network != null && this.network.markedForRemoval() && !this.isRemoved() && this.level instanceof ServerLevel serverLevel) {
+            WireNetwork network = WireNetworkManager.get(serverLevel).getNetwork(this.getBlockPos());
+            if (network != null) {
+                this.network = network;
+            }
+        }
         return this.network;
     }
 
@@ -107,7 +100,7 @@ public WireEnergyStorage[] getInsertables() {
         if (this.insertables == null) {
             this.insertables = new WireEnergyStorage[6];
             for (var direction : Constant.Misc.DIRECTIONS) {
-                this.insertables[direction.ordinal()] = new WireEnergyStorage(direction, this.getMaxTransferRate(), this.getBlockPos());
+                this.insertables[direction.ordinal()] = new WireEnergyStorage(direction, this.getMaxTransferRate(), this.getBlockPos(), this);
             }
         }
         return this.insertables;
@@ -118,14 +111,6 @@ public int getMaxTransferRate() {
         return this.maxTransferRate;
     }
 
-    @Override
-    public void setRemoved() {
-        super.setRemoved();
-        if (this.getNetwork() != null) {
-            this.getOrCreateNetwork().removeWire(this, this.getBlockPos());
-        }
-    }
-
     @Override
     public boolean[] getConnections() {
         return this.connections;
@@ -148,6 +133,15 @@ public void saveAdditional(CompoundTag nbt) {
     public void load(CompoundTag nbt) {
         super.load(nbt);
         this.readConnectionNbt(nbt);
+        if (this.level != null && this.level.isClientSide()) {
+            // connections are only calculated on the server, so re-mesh once they arrive
+            this.level.sendBlockUpdated(this.worldPosition, this.getBlockState(), this.getBlockState(), Block.UPDATE_IMMEDIATE);
+        }
+    }
+
+    @Override
+    public @NotNull ConnectedRenderData getRenderAttachmentData() {
+        return new ConnectedRenderData(this.getConnectionMask(), null, null);
     }
 
     @Override
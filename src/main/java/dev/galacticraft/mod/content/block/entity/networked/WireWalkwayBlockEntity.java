@@ -22,11 +22,14 @@
 
 package dev.galacticraft.mod.content.block.entity.networked;
 
+import dev.galacticraft.mod.api.block.entity.ConnectedRenderData;
 import dev.galacticraft.mod.api.block.entity.Walkway;
+import dev.galacticraft.mod.api.wire.impl.WireNetworkManager;
 import dev.galacticraft.mod.content.GCBlockEntityTypes;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -62,11 +65,19 @@ public void setDirection(@NotNull Direction direction) {
         this.direction = direction;
         this.getConnections()[direction.ordinal()] = false;
 
+        if (this.level instanceof ServerLevel serverLevel) {
+            WireNetworkManager.get(serverLevel).updateConnections(this.worldPosition, this);
+        }
         if (this.hasLevel()) {
             this.level.updateNeighborsAt(this.worldPosition, this.getBlockState().getBlock());
         }
     }
 
+    @Override
+    public @NotNull ConnectedRenderData getRenderAttachmentData() {
+        return new ConnectedRenderData(this.getConnectionMask(), this.direction, null);
+    }
+
     @Override
     public boolean canConnect(Direction direction) {
         if (this.direction == null) {
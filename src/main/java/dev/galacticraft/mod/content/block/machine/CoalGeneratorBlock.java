@@ -74,4 +74,12 @@ public void animateTick(BlockState state, Level world, BlockPos pos, RandomSourc
             world.addParticle(ParticleTypes.FLAME, x + xo, y + yo, z + zo, 0.0D, 0.0D, 0.0D);
         }
     }
+
+    @Override
+    public void neighborChanged(BlockState state, Level level, BlockPos pos, Block block, BlockPos fromPos, boolean notify) {
+        super.neighborChanged(state, level, pos, block, fromPos, notify);
+        if (!level.isClientSide() && level.getBlockEntity(pos) instanceof CoalGeneratorBlockEntity machine) {
+            machine.getHibernation().wake();
+        }
+    }
 }
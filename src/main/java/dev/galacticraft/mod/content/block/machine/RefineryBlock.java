@@ -57,4 +57,12 @@ public void animateTick(BlockState state, Level world, BlockPos pos, RandomSourc
             world.addParticle(ParticleTypes.SMOKE, pos.getX() + random.nextDouble(), pos.getY() + 1, pos.getZ() + random.nextDouble(), 0.0D, 0.0D, 0.0D);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public void neighborChanged(BlockState state, Level level, BlockPos pos, Block block, BlockPos fromPos, boolean notify) {
+        super.neighborChanged(state, level, pos, block, fromPos, notify);
+        if (!level.isClientSide() && level.getBlockEntity(pos) instanceof RefineryBlockEntity machine) {
+            machine.getHibernation().wake();
+        }
+    }
+}
@@ -23,15 +23,19 @@
 package dev.galacticraft.mod.content.block.special.fluidpipe;
 
 import dev.galacticraft.mod.Constant;
+import dev.galacticraft.mod.api.block.entity.ConnectedRenderData;
 import dev.galacticraft.mod.api.pipe.Pipe;
 import dev.galacticraft.mod.api.pipe.PipeNetwork;
+import dev.galacticraft.mod.api.pipe.impl.PipeNetworkManager;
 import dev.galacticraft.mod.attribute.fluid.PipeFluidInsertable;
+import net.fabricmc.fabric.api.rendering.data.v1.RenderAttachmentBlockEntity;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.item.DyeColor;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
@@ -41,7 +45,7 @@
 /**
  * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
  */
-public abstract class PipeBlockEntity extends BlockEntity implements Pipe {
+public abstract class PipeBlockEntity extends BlockEntity implements Pipe, RenderAttachmentBlockEntity {
     private @NotNull PipeFluidInsertable @Nullable[] insertables = null;
     private @Nullable PipeNetwork network = null;
     private DyeColor color = DyeColor.WHITE;
@@ -57,31 +61,13 @@ public PipeBlockEntity(BlockEntityType<? extends PipeBlockEntity> type, BlockPos
     @Override
     public void setNetwork(@Nullable PipeNetwork network) {
         this.network = network;
-        for (PipeFluidInsertable insertable : this.getInsertables()) {
-            insertable.setNetwork(network);
-        }
     }
 
     @Override
     public @NotNull PipeNetwork getOrCreateNetwork() {
-        if (this.network == null) {
+        if (this.network == null || this.network.markedForRemoval()) {
             if (!this.level.isClientSide()) {
-                for (Direction direction : Constant.Misc.DIRECTIONS) {
-                    if (this.canConnect(direction)) {
-                        BlockEntity entity = this.level.getBlockEntity(this.worldPosition.relative(direction));
-                        if (entity instanceof Pipe pipe && pipe.getNetwork() != null) {
-                            if (pipe.canConnect(direction.getOpposite())) {
-                                if (pipe.getOrCreateNetwork().isCompatibleWith(this)) {
-                                    pipe.getNetwork().addPipe(this.worldPosition, this);
-                                }
-                            }
-                        }
-                    }
-                }
-                if (this.network == null) {
-                    this.setNetwork(PipeNetwork.create((ServerLevel) this.level, this.getMaxTransferRate()));
-                    this.network.addPipe(this.worldPosition, this);
-                }
+                this.network = PipeNetworkManager.get((ServerLevel) this.level).getOrAddPipe(this.worldPosition, this);
             }
         }
         return this.network;
@@ -89,6 +75,13 @@ public void setNetwork(@Nullable PipeNetwork network) {
 
     @Override
     public @Nullable PipeNetwork getNetwork() {
+        // networks are replaced when they merge or split, so pick up the current one unless this pipe is gone
+        if (this.network != null && this.network.markedForRemoval() && !this.isRemoved() && this.level instanceof ServerLevel serverLevel) {
+            PipeNetwork network = PipeNetworkManager.get(serverLevel).getNetwork(this.worldPosition);
+            if (network != null) {
+                this.network = network;
+            }
+        }
         return this.network;
     }
 
@@ -96,7 +89,7 @@ public void setNetwork(@Nullable PipeNetwork network) {
         if (this.insertables == null) {
             this.insertables = new PipeFluidInsertable[6];
             for (Direction direction : Constant.Misc.DIRECTIONS) {
-                this.insertables[direction.ordinal()] = new PipeFluidInsertable(direction, this.getMaxTransferRate(), this.worldPosition);
+                this.insertables[direction.ordinal()] = new PipeFluidInsertable(direction, this.getMaxTransferRate(), this.worldPosition, this);
             }
         }
         return this.insertables;
@@ -127,6 +120,10 @@ public void load(CompoundTag nbt) {
         super.load(nbt);
         this.readColorNbt(nbt);
         this.readConnectionNbt(nbt);
+        if (this.level != null && this.level.isClientSide()) {
+            // connections are only calculated on the server, so re-mesh once they arrive
+            this.level.sendBlockUpdated(this.worldPosition, this.getBlockState(), this.getBlockState(), Block.UPDATE_IMMEDIATE);
+        }
     }
 
     @Override
@@ -137,11 +134,8 @@ public void saveAdditional(CompoundTag nbt) {
     }
 
     @Override
-    public void setRemoved() {
-        super.setRemoved();
-        if (this.getNetwork() != null) {
-            this.getNetwork().removePipe(this, this.worldPosition);
-        }
+    public @NotNull ConnectedRenderData getRenderAttachmentData() {
+        return new ConnectedRenderData(this.getConnectionMask(), null, this.color);
     }
 
     @Override
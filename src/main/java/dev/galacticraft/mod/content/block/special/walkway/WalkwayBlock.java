@@ -109,6 +109,7 @@ public void setPlacedBy(Level level, BlockPos blockPos, BlockState blockState, @
                 }
                 walkway.getConnections()[direction.ordinal()] = false;
             }
+            ConnectingBlockUtil.updateConnections(level, blockPos);
             level.updateNeighborsAt(blockPos, blockState.getBlock());
         }
     }
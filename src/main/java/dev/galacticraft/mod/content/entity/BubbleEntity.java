@@ -27,7 +27,6 @@
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundAddEntityPacket;
-import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
@@ -115,11 +114,6 @@ public boolean dismountsUnderwater() {
         return true;
     }
 
-    @Override
-    public boolean broadcastToPlayer(ServerPlayer spectator) {
-        return false;
-    }
-
     @Override
     public boolean canChangeDimensions() {
         return false;
@@ -34,6 +34,7 @@
 import dev.galacticraft.api.universe.celestialbody.CelestialBodyType;
 import dev.galacticraft.impl.universe.BuiltinObjects;
 import dev.galacticraft.mod.Constant;
+import dev.galacticraft.mod.accessor.ServerLevelAccessor;
 import dev.galacticraft.mod.content.GCRocketParts;
 import dev.galacticraft.mod.content.GCBlocks;
 import dev.galacticraft.mod.content.block.special.rocketlaunchpad.RocketLaunchPadBlock;
@@ -46,6 +47,7 @@
 import it.unimi.dsi.fastutil.objects.Object2BooleanArrayMap;
 import it.unimi.dsi.fastutil.objects.Object2BooleanMap;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.fabricmc.fabric.api.transfer.v1.fluid.FluidConstants;
 import net.fabricmc.fabric.api.transfer.v1.fluid.FluidVariant;
@@ -73,6 +75,7 @@
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.util.Mth;
+import net.minecraft.util.RandomSource;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.damagesource.DamageSource;
@@ -109,6 +112,7 @@ public class RocketEntity extends Entity implements Rocket {
     public static final EntityDataAccessor<ResourceLocation> ROCKET_BOOSTER = SynchedEntityData.defineId(RocketEntity.class, GCEntityDataSerializers.ROCKET_PART);
     public static final EntityDataAccessor<ResourceLocation> ROCKET_BOTTOM = SynchedEntityData.defineId(RocketEntity.class, GCEntityDataSerializers.ROCKET_PART);
     public static final EntityDataAccessor<ResourceLocation[]> ROCKET_UPGRADES = SynchedEntityData.defineId(RocketEntity.class, GCEntityDataSerializers.ROCKET_UPGRADES);
+    private static final double EXHAUST_PARTICLE_SPEED = 0.12000000596046448D;
     private final boolean debugMode = false && FabricLoader.getInstance().isDevelopmentEnvironment();
 
     private BlockPos linkedPad = BlockPos.ZERO;
@@ -120,6 +124,13 @@ public class RocketEntity extends Entity implements Rocket {
     private double lerpZ;
     private double lerpYRot;
     private double lerpXRot;
+    /**
+     * The seed of the exhaust effect, chosen by the server whenever the launch stage changes.
+     * Clients generate the exhaust particles locally from it, so only one packet is sent per stage change.
+     */
+    private long exhaustSeed;
+    private @Nullable LaunchStage exhaustStage = null;
+    private final RandomSource exhaustRandom = RandomSource.create();
 
     public RocketEntity(EntityType<?> entityType, Level level) {
         super(entityType, level);
@@ -149,10 +160,57 @@ public void setLaunchStage(LaunchStage launchStage) {
         if (oldStage != launchStage) {
             this.entityData.set(STAGE, launchStage);
             setTimeAsState(0);
+            if (this.level() instanceof ServerLevel && (hasExhaust(oldStage) || hasExhaust(launchStage))) {
+                this.exhaustSeed = this.random.nextLong();
+                Packet<ClientGamePacketListener> packet = ServerPlayNetworking.createS2CPacket(Constant.Packet.ROCKET_EXHAUST, this.createExhaustPacket());
+                for (ServerPlayer player : PlayerLookup.tracking(this)) {
+                    player.connection.send(packet);
+                }
+            }
             RocketEvents.STAGE_CHANGED.invoker().onStageChanged(this, oldStage);
         }
     }
 
+    private static boolean hasExhaust(LaunchStage stage) {
+        return stage == LaunchStage.LAUNCHED || stage == LaunchStage.FAILED;
+    }
+
+    private FriendlyByteBuf createExhaustPacket() {
+        FriendlyByteBuf buf = PacketByteBufs.create();
+        buf.writeVarInt(this.getId());
+        buf.writeEnum(this.getLaunchStage());
+        buf.writeLong(this.exhaustSeed);
+        return buf;
+    }
+
+    @Override
+    public void startSeenByPlayer(ServerPlayer player) {
+        super.startSeenByPlayer(player);
+        if (hasExhaust(this.getLaunchStage())) {
+            ServerPlayNetworking.send(player, Constant.Packet.ROCKET_EXHAUST, this.createExhaustPacket());
+        }
+    }
+
+    /**
+     * Starts (or stops) the exhaust effect on the client.
+     * @param stage the launch stage the effect was started for
+     * @param seed the seed that the particles are generated from
+     */
+    public void setExhaust(LaunchStage stage, long seed) {
+        this.exhaustStage = hasExhaust(stage) ? stage : null;
+        this.exhaustRandom.setSeed(seed);
+    }
+
+    private void spawnExhaustParticles() {
+        RandomSource random = this.exhaustRandom;
+        if (this.exhaustStage == LaunchStage.LAUNCHED) {
+            for (int i = 0; i < 4; i++) this.level().addParticle(ParticleTypes.FLAME, this.getX() + (random.nextDouble() - 0.5), this.getY() - 7, this.getZ() + (random.nextDouble() - 0.5), (random.nextDouble() - 0.5) * EXHAUST_PARTICLE_SPEED, -EXHAUST_PARTICLE_SPEED, (random.nextDouble() - 0.5) * EXHAUST_PARTICLE_SPEED);
+            for (int i = 0; i < 4; i++) this.level().addParticle(ParticleTypes.CLOUD, this.getX() + (random.nextDouble() - 0.5), this.getY() - 7, this.getZ() + (random.nextDouble() - 0.5), (random.nextDouble() - 0.5) * EXHAUST_PARTICLE_SPEED, -EXHAUST_PARTICLE_SPEED, (random.nextDouble() - 0.5) * EXHAUST_PARTICLE_SPEED);
+        } else if (this.exhaustStage == LaunchStage.FAILED) {
+            for (int i = 0; i < 4; i++) this.level().addParticle(ParticleTypes.FLAME, this.getX() + (random.nextDouble() - 0.5) * 0.12F, this.getY() + 2, this.getZ() + (random.nextDouble() - 0.5), (random.nextDouble() - 0.5) * EXHAUST_PARTICLE_SPEED, EXHAUST_PARTICLE_SPEED, (random.nextDouble() - 0.5) * EXHAUST_PARTICLE_SPEED);
+        }
+    }
+
     @Override
     public RocketCone<?, ?> getCone() {
         return this.level().registryAccess().registryOrThrow(RocketRegistries.ROCKET_CONE).get(this.cone());
@@ -412,6 +470,16 @@ public void positionRider(Entity passenger, Entity.MoveFunction moveFunction) {
 
     @Override
     public void tick() {
+        if (this.level() instanceof ServerLevelAccessor accessor) {
+            long start = System.nanoTime();
+            this.tickRocket();
+            accessor.getMetrics().getRocketTicks().record(System.nanoTime() - start, 0);
+        } else {
+            this.tickRocket();
+        }
+    }
+
+    private void tickRocket() {
         this.noPhysics = false;
         setTimeAsState(getTimeAsState() + 1);
 
@@ -481,8 +549,6 @@ && level().getBlockState(getLinkedPad().offset(x, 0, z)).getValue(RocketLaunchPa
                         this.getTank().extract(FluidVariant.of(GCFluids.FUEL), FluidConstants.NUGGET, t); //todo find balanced values
                         t.commit();
                     }
-                    for (int i = 0; i < 4; i++) ((ServerLevel) level()).sendParticles(ParticleTypes.FLAME, this.getX() + (level().random.nextDouble() - 0.5), this.getY() - 7, this.getZ() + (level().random.nextDouble() - 0.5), 0, (level().random.nextDouble() - 0.5), -1, level().random.nextDouble() - 0.5, 0.12000000596046448D);
-                    for (int i = 0; i < 4; i++) ((ServerLevel) level()).sendParticles(ParticleTypes.CLOUD, this.getX() + (level().random.nextDouble() - 0.5), this.getY() - 7, this.getZ() + (level().random.nextDouble() - 0.5), 0, (level().random.nextDouble() - 0.5), -1, level().random.nextDouble() - 0.5, 0.12000000596046448D);
 
                     this.setSpeed(Math.min(0.75f, this.getSpeed() + 0.05f));
 
@@ -537,8 +603,6 @@ && level().getBlockState(getLinkedPad().offset(x, 0, z)).getValue(RocketLaunchPa
             if (getLaunchStage() == LaunchStage.FAILED) {
                 setRot((this.getYRot() + level().random.nextFloat() - 0.5F * 8.0F) % 360.0F, (this.getXRot() + level().random.nextFloat() - 0.5F * 8.0F) % 360.0F);
 
-                for (int i = 0; i < 4; i++) ((ServerLevel) level()).sendParticles(ParticleTypes.FLAME, this.getX() + (level().random.nextDouble() - 0.5) * 0.12F, this.getY() + 2, this.getZ() + (level().random.nextDouble() - 0.5), 0, level().random.nextDouble() - 0.5, 1, level().random.nextDouble() - 0.5, 0.12000000596046448D);
-
                 if (this.onGround()) {
                     for (int i = 0; i < 4; i++) level().explode(this, this.position().x + (level().random.nextDouble() - 0.5 * 4), this.position().y + (level().random.nextDouble() * 3), this.position().z + (level().random.nextDouble() - 0.5 * 4), 10.0F, Level.ExplosionInteraction.TNT);
                     this.remove(RemovalReason.KILLED);
@@ -547,6 +611,8 @@ && level().getBlockState(getLinkedPad().offset(x, 0, z)).getValue(RocketLaunchPa
 
             ticksSinceJump++;
 
+        } else {
+            this.spawnExhaustParticles();
         }
     }
 
@@ -27,6 +27,8 @@
 import com.mojang.serialization.DataResult;
 import com.mojang.serialization.DynamicOps;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import dev.galacticraft.api.accessor.SatelliteAccessor;
+import dev.galacticraft.mod.Constant;
 import net.minecraft.core.*;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.CompoundTag;
@@ -34,6 +36,7 @@
 import net.minecraft.nbt.Tag;
 import net.minecraft.resources.RegistryOps;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.WorldGenRegion;
 import net.minecraft.util.random.WeightedRandomList;
@@ -60,6 +63,7 @@
 import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
 import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplateManager;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
@@ -90,25 +94,57 @@ public <T> DataResult<T> encode(StructureTemplate input, DynamicOps<T> ops, T pr
             return DataResult.success(NbtOps.INSTANCE.convertTo(ops, input.save(new CompoundTag())));
         }
     };
+    /**
+     * Satellites reference their template by its content hash (see {@link SatelliteAccessor#addSatelliteTemplate(StructureTemplate)}).
+     * Templates embedded by older versions are still read, and replaced by a reference when the satellites are loaded.
+     */
     public static final Codec<SatelliteChunkGenerator> CODEC = RecordCodecBuilder.create(instance -> instance.group(
             Biome.CODEC.fieldOf("biome").forGetter(SatelliteChunkGenerator::getBiome),
-            STRUCTURE_CODEC.fieldOf("structure").forGetter(SatelliteChunkGenerator::getStructure)
-    ).apply(instance, SatelliteChunkGenerator::new));
+            Codec.STRING.optionalFieldOf("template").forGetter(generator -> Optional.ofNullable(generator.templateHash)),
+            STRUCTURE_CODEC.optionalFieldOf("structure").forGetter(generator -> generator.templateHash == null ? Optional.ofNullable(generator.structure) : Optional.empty())
+    ).apply(instance, (biome, hash, structure) -> new SatelliteChunkGenerator(biome, hash.orElse(null), structure.orElse(null))));
 
     private static final NoiseColumn EMPTY_VIEW = new NoiseColumn(0, new BlockState[0]);
-    private final StructureTemplate structure;
+    private @Nullable String templateHash;
+    /**
+     * The template, once resolved from {@link #templateHash}
+     */
+    private volatile @Nullable StructureTemplate structure;
     private final Holder<Biome> biome;
 
-    public SatelliteChunkGenerator(Holder<Biome> biome, StructureTemplate structure) {
+    public SatelliteChunkGenerator(Holder<Biome> biome, @Nullable String templateHash, @Nullable StructureTemplate structure) {
         super(new FixedBiomeSource(biome));
+        this.templateHash = templateHash;
         this.structure = structure;
         this.biome = biome;
     }
 
-    public StructureTemplate getStructure() {
+    public @Nullable String getTemplateHash() {
+        return this.templateHash;
+    }
+
+    public void setTemplateHash(@NotNull String templateHash) {
+        this.templateHash = templateHash;
+    }
+
+    /**
+     * Returns the template of this satellite, resolving its reference if necessary
+     */
+    public @Nullable StructureTemplate getStructure(MinecraftServer server) {
+        StructureTemplate structure = this.structure;
+        if (structure == null && this.templateHash != null) {
+            this.structure = structure = ((SatelliteAccessor) server).getSatelliteTemplate(this.templateHash);
+        }
         return structure;
     }
 
+    /**
+     * Returns the template embedded by older versions, if it has not been replaced by a reference yet
+     */
+    public @Nullable StructureTemplate getEmbeddedStructure() {
+        return this.templateHash == null ? this.structure : null;
+    }
+
     @Override
     protected Codec<? extends ChunkGenerator> codec() {
         return CODEC;
@@ -134,7 +170,12 @@ public CompletableFuture<ChunkAccess> createBiomes(Executor executor, RandomStat
     @Override
     public void applyBiomeDecoration(WorldGenLevel world, ChunkAccess chunk, StructureManager structureAccessor) {
         if (chunk.getPos().x == 0 && chunk.getPos().z == 0) {
-            this.structure.placeInWorld(world, new BlockPos(0, 60, 0), new BlockPos(0, 60, 0), new StructurePlaceSettings().setIgnoreEntities(true).setKeepLiquids(true).setRandom(world.getRandom()), world.getRandom(), 0);
+            StructureTemplate structure = this.getStructure(world.getLevel().getServer());
+            if (structure == null) {
+                Constant.LOGGER.error("Missing satellite template {}", this.templateHash);
+                return;
+            }
+            structure.placeInWorld(world, new BlockPos(0, 60, 0), new BlockPos(0, 60, 0), new StructurePlaceSettings().setIgnoreEntities(true).setKeepLiquids(true).setRandom(world.getRandom()), world.getRandom(), 0);
         }
     }
 
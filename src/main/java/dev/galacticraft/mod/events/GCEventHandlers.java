@@ -24,8 +24,13 @@
 
 import dev.galacticraft.api.universe.celestialbody.CelestialBody;
 import dev.galacticraft.mod.accessor.CryogenicAccessor;
+import dev.galacticraft.mod.accessor.ServerLevelAccessor;
+import dev.galacticraft.mod.api.pipe.impl.PipeNetworkManager;
+import dev.galacticraft.mod.api.wire.impl.WireNetworkManager;
 import dev.galacticraft.mod.content.block.special.CryogenicChamberBlock;
+import dev.galacticraft.mod.metrics.MetricsExporter;
 import net.fabricmc.fabric.api.entity.event.v1.EntitySleepEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.network.chat.Component;
@@ -45,6 +50,14 @@ public static void init() {
         EntitySleepEvents.ALLOW_SLEEPING.register(GCEventHandlers::sleepInSpace);
         EntitySleepEvents.ALLOW_SLEEP_TIME.register(GCEventHandlers::canCryoSleep);
         EntitySleepEvents.STOP_SLEEPING.register(GCEventHandlers::onWakeFromCryoSleep);
+        ServerTickEvents.END_WORLD_TICK.register(GCEventHandlers::onEndLevelTick);
+        ServerTickEvents.END_SERVER_TICK.register(MetricsExporter::onEndServerTick);
+    }
+
+    public static void onEndLevelTick(ServerLevel level) {
+        WireNetworkManager.get(level).tick();
+        PipeNetworkManager.get(level).tick();
+        ((ServerLevelAccessor) level).getMetrics().tick();
     }
 
     public static InteractionResult allowCryogenicSleep(LivingEntity entity, BlockPos sleepingPos, BlockState state, boolean vanillaResult) {
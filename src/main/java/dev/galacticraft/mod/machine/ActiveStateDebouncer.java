@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.galacticraft.mod.machine;
+
+import dev.galacticraft.mod.accessor.ServerLevelAccessor;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.properties.BooleanProperty;
+
+/**
+ * Keeps the visual activity property of a machine's block state in line with its status, without
+ * flickering along with it. A machine lights up as soon as it becomes active, but only goes dark once
+ * it has been inactive for {@link #DEACTIVATION_DELAY} ticks.
+ * <p>
+ * The new state is only sent to clients, see {@link ServerLevelAccessor#setVisualBlockState(BlockPos, BlockState)}.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+public final class ActiveStateDebouncer {
+    public static final int DEACTIVATION_DELAY = 20;
+
+    private final BooleanProperty property;
+    private boolean active = false;
+    private int inactiveTicks = 0;
+
+    public ActiveStateDebouncer(BooleanProperty property) {
+        this.property = property;
+    }
+
+    /**
+     * Sets whether the machine is currently active. Takes effect on the next {@link #tick(ServerLevel, BlockPos, BlockState)}.
+     */
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    /**
+     * Updates the block state of the machine if needed, called every tick.
+     */
+    public void tick(ServerLevel level, BlockPos pos, BlockState state) {
+        boolean shown = state.getValue(this.property);
+        if (this.active) {
+            this.inactiveTicks = 0;
+            if (!shown) {
+                ((ServerLevelAccessor) level).setVisualBlockState(pos, state.setValue(this.property, true));
+            }
+        } else if (shown && ++this.inactiveTicks >= DEACTIVATION_DELAY) {
+            this.inactiveTicks = 0;
+            ((ServerLevelAccessor) level).setVisualBlockState(pos, state.setValue(this.property, false));
+        }
+    }
+}
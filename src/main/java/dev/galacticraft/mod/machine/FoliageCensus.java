@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.machine;
+
+import dev.galacticraft.mod.accessor.ServerLevelAccessor;
+import dev.galacticraft.mod.api.block.entity.BlockUpdateListener;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.CropBlock;
+import net.minecraft.world.level.block.LeavesBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Counts the plants (non-persistent leaves and crops) in a cube around a block, without reading the whole cube
+ * every tick. The count is seeded by scanning the overlapping chunk sections, skipping sections whose palette
+ * holds no plant states, and is then kept up to date from block updates in those sections.
+ * <p>
+ * Blocks changed without notifying clients (or in chunks that are not block-ticking) do not produce updates,
+ * so the count is re-seeded every {@link #RESEED_INTERVAL} ticks.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+public final class FoliageCensus implements BlockUpdateListener {
+    public static final int RESEED_INTERVAL = 1200;
+    private static final byte LEAVES_WEIGHT = 4;
+    private static final byte CROP_WEIGHT = 3;
+
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxX;
+    private final int maxY;
+    private final int maxZ;
+    /**
+     * Weight (in quarters of a leaf block) of every plant in the cube, by packed position
+     */
+    private final Long2ByteOpenHashMap plants = new Long2ByteOpenHashMap();
+    private final LongArrayList sections = new LongArrayList(8);
+    private int weight = 0;
+    private boolean seeded = false;
+    private long seedTime;
+
+    public FoliageCensus(@NotNull BlockPos center, int radius) {
+        this.minX = center.getX() - radius;
+        this.minY = center.getY() - radius;
+        this.minZ = center.getZ() - radius;
+        this.maxX = center.getX() + radius;
+        this.maxY = center.getY() + radius;
+        this.maxZ = center.getZ() + radius;
+    }
+
+    /**
+     * Returns the number of plants in the cube, where a crop counts as three quarters of a leaf block.
+     */
+    public float getPlantCount(@NotNull ServerLevel level) {
+        if (!this.seeded || level.getGameTime() - this.seedTime >= RESEED_INTERVAL) {
+            this.seed(level);
+        }
+        return this.weight / (float) LEAVES_WEIGHT;
+    }
+
+    private void seed(@NotNull ServerLevel level) {
+        if (!this.seeded) {
+            this.track(level);
+        }
+        this.plants.clear();
+        this.weight = 0;
+        int minSection = Math.max(SectionPos.blockToSectionCoord(this.minY), level.getMinSection());
+        int maxSection = Math.min(SectionPos.blockToSectionCoord(this.maxY), level.getMaxSection() - 1);
+        for (int sx = SectionPos.blockToSectionCoord(this.minX); sx <= SectionPos.blockToSectionCoord(this.maxX); sx++) {
+            for (int sz = SectionPos.blockToSectionCoord(this.minZ); sz <= SectionPos.blockToSectionCoord(this.maxZ); sz++) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(sx, sz);
+                if (chunk == null) continue;
+                for (int sy = minSection; sy <= maxSection; sy++) {
+                    LevelChunkSection section = chunk.getSection(level.getSectionIndexFromSectionY(sy));
+                    if (section.hasOnlyAir() || !section.maybeHas(state -> weightOf(state) > 0)) continue;
+                    this.scan(section, sx, sy, sz);
+                }
+            }
+        }
+        this.seeded = true;
+        this.seedTime = level.getGameTime();
+    }
+
+    private void scan(@NotNull LevelChunkSection section, int sectionX, int sectionY, int sectionZ) {
+        int x0 = Math.max(this.minX, SectionPos.sectionToBlockCoord(sectionX));
+        int y0 = Math.max(this.minY, SectionPos.sectionToBlockCoord(sectionY));
+        int z0 = Math.max(this.minZ, SectionPos.sectionToBlockCoord(sectionZ));
+        int x1 = Math.min(this.maxX, SectionPos.sectionToBlockCoord(sectionX, 15));
+        int y1 = Math.min(this.maxY, SectionPos.sectionToBlockCoord(sectionY, 15));
+        int z1 = Math.min(this.maxZ, SectionPos.sectionToBlockCoord(sectionZ, 15));
+        for (int y = y0; y <= y1; y++) {
+            for (int z = z0; z <= z1; z++) {
+                for (int x = x0; x <= x1; x++) {
+                    byte weight = weightOf(section.getBlockState(x & 15, y & 15, z & 15));
+                    if (weight > 0) {
+                        this.plants.put(BlockPos.asLong(x, y, z), weight);
+                        this.weight += weight;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void enqueueUpdate(BlockPos pos, BlockState state) {
+        if (!this.seeded || pos.getX() < this.minX || pos.getX() > this.maxX || pos.getY() < this.minY || pos.getY() > this.maxY
+                || pos.getZ() < this.minZ || pos.getZ() > this.maxZ) return;
+        byte weight = weightOf(state);
+        byte previous = weight > 0 ? this.plants.put(pos.asLong(), weight) : this.plants.remove(pos.asLong());
+        this.weight += weight - previous;
+    }
+
+    private void track(@NotNull ServerLevel level) {
+        for (int sx = SectionPos.blockToSectionCoord(this.minX); sx <= SectionPos.blockToSectionCoord(this.maxX); sx++) {
+            for (int sy = SectionPos.blockToSectionCoord(this.minY); sy <= SectionPos.blockToSectionCoord(this.maxY); sy++) {
+                for (int sz = SectionPos.blockToSectionCoord(this.minZ); sz <= SectionPos.blockToSectionCoord(this.maxZ); sz++) {
+                    long section = SectionPos.asLong(sx, sy, sz);
+                    this.sections.add(section);
+                    ((ServerLevelAccessor) level).addSectionListener(section, this);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops listening for block updates. The census is seeded again if it is used afterwards.
+     */
+    public void remove(@NotNull ServerLevel level) {
+        for (int i = 0; i < this.sections.size(); i++) {
+            ((ServerLevelAccessor) level).removeSectionListener(this.sections.getLong(i), this);
+        }
+        this.sections.clear();
+        this.plants.clear();
+        this.weight = 0;
+        this.seeded = false;
+    }
+
+    private static byte weightOf(@NotNull BlockState state) {
+        if (state.getBlock() instanceof LeavesBlock) {
+            return state.getValue(LeavesBlock.PERSISTENT) ? 0 : LEAVES_WEIGHT;
+        }
+        return state.getBlock() instanceof CropBlock ? CROP_WEIGHT : 0;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.galacticraft.mod.machine;
+
+import dev.galacticraft.mod.accessor.ServerLevelAccessor;
+import net.minecraft.server.level.ServerLevel;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Lets an idle machine skip its ticks until something it depends on changes.
+ * <p>
+ * A machine reports the combined modification count of its slots and its stored energy at the start of each tick.
+ * If a tick ends with both unchanged and the machine idle, it falls asleep.
+ * It wakes up once either value changes, a neighbouring block changes, or every {@link #HEARTBEAT_INTERVAL} ticks
+ * to catch changes in neighbouring storages it has no way of observing.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+public final class MachineHibernation {
+    public static final int HEARTBEAT_INTERVAL = 20;
+
+    private @Nullable HibernationCounts counts = null;
+    private boolean sleeping = false;
+    private int sleptTicks = 0;
+    private long modifications = -1;
+    private long energy = -1;
+
+    /**
+     * Called at the start of every machine tick.
+     * @param level the level the machine is in
+     * @param modifications the combined modification count of the machine's slots
+     * @param energy the energy stored in the machine
+     * @return whether the machine should skip this tick
+     */
+    public boolean tick(ServerLevel level, long modifications, long energy) {
+        if (this.counts == null) {
+            this.counts = ((ServerLevelAccessor) level).getHibernationCounts();
+            this.counts.awake++;
+        }
+        if (this.sleeping) {
+            if (modifications == this.modifications && energy == this.energy && ++this.sleptTicks < HEARTBEAT_INTERVAL) {
+                return true;
+            }
+            this.wake();
+        }
+        this.modifications = modifications;
+        this.energy = energy;
+        return false;
+    }
+
+    /**
+     * Puts the machine to sleep if neither value changed since the start of the tick.
+     * Should only be called when the machine is idle.
+     * @param modifications the combined modification count of the machine's slots
+     * @param energy the energy stored in the machine
+     */
+    public void trySleep(long modifications, long energy) {
+        if (!this.sleeping && this.counts != null && modifications == this.modifications && energy == this.energy) {
+            this.sleeping = true;
+            this.sleptTicks = 0;
+            this.counts.awake--;
+            this.counts.sleeping++;
+        }
+    }
+
+    public void wake() {
+        if (this.sleeping) {
+            this.sleeping = false;
+            if (this.counts != null) {
+                this.counts.sleeping--;
+                this.counts.awake++;
+            }
+        }
+    }
+
+    public boolean isSleeping() {
+        return this.sleeping;
+    }
+
+    /**
+     * Stops counting the machine, called when it is removed from its level.
+     */
+    public void remove() {
+        if (this.counts != null) {
+            if (this.sleeping) {
+                this.counts.sleeping--;
+            } else {
+                this.counts.awake--;
+            }
+            this.counts = null;
+        }
+        this.sleeping = false;
+    }
+}
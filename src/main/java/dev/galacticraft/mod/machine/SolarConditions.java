@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.machine;
+
+import net.minecraft.server.level.ServerLevel;
+
+/**
+ * The sunlight conditions of a level, shared by all solar panels and computed at most once per tick.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+public final class SolarConditions {
+    private long gameTime = Long.MIN_VALUE;
+    private boolean day;
+    private boolean raining;
+    private double timeMultiplier;
+
+    /**
+     * Recomputes the conditions if the level has ticked since the last call
+     * @return this
+     */
+    public SolarConditions update(ServerLevel level) {
+        if (level.getGameTime() != this.gameTime) {
+            this.gameTime = level.getGameTime();
+            this.day = level.isDay();
+            this.raining = level.isRaining() || level.isThundering();
+            double time = level.getDayTime() % 24000;
+            if (time > 6000) time = 12000L - time;
+            this.timeMultiplier = time / 6000.0;
+        }
+        return this;
+    }
+
+    public boolean isDay() {
+        return this.day;
+    }
+
+    public boolean isRaining() {
+        return this.raining;
+    }
+
+    /**
+     * Returns the position of the sun as a multiplier, peaking at 1 at noon
+     */
+    public double getTimeMultiplier() {
+        return this.timeMultiplier;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.metrics;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Always-on counters and timers for the subsystems of a level, so that operators can see which of them is expensive
+ * without attaching a profiler. Everything is recorded on the server thread.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ * @see dev.galacticraft.mod.accessor.ServerLevelAccessor#getMetrics()
+ */
+public final class LevelMetrics {
+    public static final int WINDOW_TICKS = 100;
+
+    private final Metric wireTransfers = new Metric("wire_transfers", "energy");
+    private final Metric pipeTransfers = new Metric("pipe_transfers", "droplets");
+    private final Metric sealerFills = new Metric("sealer_fills", "blocks");
+    private final Metric oxygenUpdates = new Metric("oxygen_updates", "blocks");
+    private final Metric oxygenPackets = new Metric("oxygen_packets", "bytes");
+    private final Metric rocketTicks = new Metric("rocket_ticks", null);
+    private final List<Metric> subsystems = List.of(this.wireTransfers, this.pipeTransfers, this.sealerFills, this.oxygenUpdates, this.oxygenPackets, this.rocketTicks);
+    private final Reference2ObjectOpenHashMap<BlockEntityType<?>, Metric> machineTicks = new Reference2ObjectOpenHashMap<>();
+    private int ticks = 0;
+
+    /**
+     * Networks distributing their buffered energy at the end of the tick, with the energy delivered
+     */
+    public Metric getWireTransfers() {
+        return this.wireTransfers;
+    }
+
+    /**
+     * Networks distributing their buffered fluid at the end of the tick, with the fluid delivered
+     */
+    public Metric getPipeTransfers() {
+        return this.pipeTransfers;
+    }
+
+    /**
+     * Sealers checking or repairing their sealed area, with the size of the area afterwards
+     */
+    public Metric getSealerFills() {
+        return this.sealerFills;
+    }
+
+    /**
+     * Changes to the breathability of blocks (a single block, or the shell of a bubble), with the number of blocks changed
+     */
+    public Metric getOxygenUpdates() {
+        return this.oxygenUpdates;
+    }
+
+    /**
+     * Oxygen update packets sent to players, with their size
+     */
+    public Metric getOxygenPackets() {
+        return this.oxygenPackets;
+    }
+
+    public Metric getRocketTicks() {
+        return this.rocketTicks;
+    }
+
+    public void recordMachineTick(@NotNull BlockEntityType<?> type, long nanos) {
+        Metric metric = this.machineTicks.get(type);
+        if (metric == null) {
+            ResourceLocation id = BuiltInRegistries.BLOCK_ENTITY_TYPE.getKey(type);
+            metric = new Metric(id == null ? "unknown" : id.toString(), null);
+            this.machineTicks.put(type, metric);
+        }
+        metric.record(nanos, 0);
+    }
+
+    public @NotNull List<Metric> getSubsystems() {
+        return this.subsystems;
+    }
+
+    /**
+     * Returns the ticks of machines, by block entity type
+     */
+    public @NotNull Collection<Metric> getMachineTicks() {
+        return this.machineTicks.values();
+    }
+
+    /**
+     * Called at the end of every level tick, to end the current window every {@link #WINDOW_TICKS} ticks
+     */
+    public void tick() {
+        if (++this.ticks % WINDOW_TICKS == 0) {
+            for (Metric metric : this.subsystems) {
+                metric.roll();
+            }
+            for (Metric metric : this.machineTicks.values()) {
+                metric.roll();
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Counts the events of one subsystem in a level, along with the time they took and the amount they moved.
+ * Events are collected into a window of {@link LevelMetrics#WINDOW_TICKS} ticks. Once the window ends, it is kept as
+ * the most recent window and added to the totals, so the totals do not include the current window.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ * @see LevelMetrics
+ */
+public final class Metric {
+    private final @NotNull String name;
+    /**
+     * What the amount is measured in, or {@code null} if events have no amount
+     */
+    private final @Nullable String unit;
+
+    private long count = 0;
+    private long nanos = 0;
+    private long amount = 0;
+
+    private long windowCount = 0;
+    private long windowNanos = 0;
+    private long windowMaxNanos = 0;
+    private long windowAmount = 0;
+
+    private long lastCount = 0;
+    private long lastNanos = 0;
+    private long lastMaxNanos = 0;
+    private long lastAmount = 0;
+
+    Metric(@NotNull String name, @Nullable String unit) {
+        this.name = name;
+        this.unit = unit;
+    }
+
+    /**
+     * Records a timed event
+     * @param nanos how long the event took
+     * @param amount how much the event moved, or {@code 0}
+     */
+    public void record(long nanos, long amount) {
+        this.windowCount++;
+        this.windowNanos += nanos;
+        this.windowAmount += amount;
+        if (nanos > this.windowMaxNanos) this.windowMaxNanos = nanos;
+    }
+
+    /**
+     * Records an event that is not timed
+     * @param amount how much the event moved, or {@code 0}
+     */
+    public void increment(long amount) {
+        this.windowCount++;
+        this.windowAmount += amount;
+    }
+
+    void roll() {
+        this.count += this.windowCount;
+        this.nanos += this.windowNanos;
+        this.amount += this.windowAmount;
+        this.lastCount = this.windowCount;
+        this.lastNanos = this.windowNanos;
+        this.lastMaxNanos = this.windowMaxNanos;
+        this.lastAmount = this.windowAmount;
+        this.windowCount = 0;
+        this.windowNanos = 0;
+        this.windowMaxNanos = 0;
+        this.windowAmount = 0;
+    }
+
+    public @NotNull String getName() {
+        return this.name;
+    }
+
+    public @Nullable String getUnit() {
+        return this.unit;
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    public long getNanos() {
+        return this.nanos;
+    }
+
+    public long getAmount() {
+        return this.amount;
+    }
+
+    public long getLastCount() {
+        return this.lastCount;
+    }
+
+    public long getLastNanos() {
+        return this.lastNanos;
+    }
+
+    public long getLastMaxNanos() {
+        return this.lastMaxNanos;
+    }
+
+    public long getLastAmount() {
+        return this.lastAmount;
+    }
+}
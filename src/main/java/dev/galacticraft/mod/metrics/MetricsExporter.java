@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.metrics;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import dev.galacticraft.mod.Constant;
+import dev.galacticraft.mod.Galacticraft;
+import dev.galacticraft.mod.accessor.ServerLevelAccessor;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.Util;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+
+/**
+ * Writes the {@link LevelMetrics} of every level to a file in the game directory, either as JSON or in the Prometheus
+ * text format. The file is replaced every {@link dev.galacticraft.mod.api.config.Config#metricsExportInterval()} seconds.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+public final class MetricsExporter {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private MetricsExporter() {}
+
+    public static void onEndServerTick(@NotNull MinecraftServer server) {
+        long interval = Galacticraft.CONFIG_MANAGER.get().metricsExportInterval() * 20;
+        if (interval > 0 && server.getTickCount() % interval == 0) {
+            boolean prometheus = Galacticraft.CONFIG_MANAGER.get().isMetricsExportPrometheus();
+            // the metrics are only read on the server thread
+            String contents = prometheus ? toPrometheus(server) : toJson(server);
+            Path path = getPath(prometheus);
+            Util.ioPool().execute(() -> {
+                try {
+                    write(path, contents);
+                } catch (IOException e) {
+                    Constant.LOGGER.error("Failed to write metrics to {}", path, e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes the metrics right away, in the configured format
+     * @return the file written to
+     */
+    public static @NotNull Path export(@NotNull MinecraftServer server) throws IOException {
+        boolean prometheus = Galacticraft.CONFIG_MANAGER.get().isMetricsExportPrometheus();
+        Path path = getPath(prometheus);
+        write(path, prometheus ? toPrometheus(server) : toJson(server));
+        return path;
+    }
+
+    private static @NotNull Path getPath(boolean prometheus) {
+        return FabricLoader.getInstance().getGameDir().resolve(prometheus ? "galacticraft-metrics.prom" : "galacticraft-metrics.json");
+    }
+
+    /**
+     * Replaces the file in one step, so that scrapers never read a partially written file
+     */
+    private static void write(@NotNull Path path, @NotNull String contents) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.writeString(temporary, contents, StandardCharsets.UTF_8);
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static @NotNull String toJson(@NotNull MinecraftServer server) {
+        JsonObject root = new JsonObject();
+        root.addProperty("tick", server.getTickCount());
+        root.addProperty("window_ticks", LevelMetrics.WINDOW_TICKS);
+        JsonObject levels = new JsonObject();
+        for (ServerLevel level : server.getAllLevels()) {
+            LevelMetrics metrics = ((ServerLevelAccessor) level).getMetrics();
+            JsonObject subsystems = new JsonObject();
+            for (Metric metric : metrics.getSubsystems()) {
+                subsystems.add(metric.getName(), toJson(metric));
+            }
+            JsonObject machines = new JsonObject();
+            for (Metric metric : metrics.getMachineTicks()) {
+                machines.add(metric.getName(), toJson(metric));
+            }
+            JsonObject object = new JsonObject();
+            object.add("subsystems", subsystems);
+            object.add("machine_ticks", machines);
+            levels.add(level.dimension().location().toString(), object);
+        }
+        root.add("levels", levels);
+        return GSON.toJson(root);
+    }
+
+    private static @NotNull JsonObject toJson(@NotNull Metric metric) {
+        JsonObject object = new JsonObject();
+        object.addProperty("count", metric.getCount());
+        object.addProperty("nanos", metric.getNanos());
+        if (metric.getUnit() != null) object.addProperty(metric.getUnit(), metric.getAmount());
+        JsonObject window = new JsonObject();
+        window.addProperty("count", metric.getLastCount());
+        window.addProperty("nanos", metric.getLastNanos());
+        window.addProperty("max_nanos", metric.getLastMaxNanos());
+        if (metric.getUnit() != null) window.addProperty(metric.getUnit(), metric.getLastAmount());
+        object.add("last_window", window);
+        return object;
+    }
+
+    public static @NotNull String toPrometheus(@NotNull MinecraftServer server) {
+        StringBuilder events = new StringBuilder("# HELP galacticraft_events_total Events recorded by each subsystem\n# TYPE galacticraft_events_total counter\n");
+        StringBuilder seconds = new StringBuilder("# HELP galacticraft_seconds_total Time spent by each subsystem\n# TYPE galacticraft_seconds_total counter\n");
+        StringBuilder amounts = new StringBuilder("# HELP galacticraft_amount_total Amount moved by each subsystem, in the given unit\n# TYPE galacticraft_amount_total counter\n");
+        StringBuilder machineTicks = new StringBuilder("# HELP galacticraft_machine_ticks_total Machine ticks by block entity type\n# TYPE galacticraft_machine_ticks_total counter\n");
+        StringBuilder machineSeconds = new StringBuilder("# HELP galacticraft_machine_seconds_total Time spent ticking machines by block entity type\n# TYPE galacticraft_machine_seconds_total counter\n");
+        for (ServerLevel level : server.getAllLevels()) {
+            LevelMetrics metrics = ((ServerLevelAccessor) level).getMetrics();
+            String dimension = level.dimension().location().toString();
+            for (Metric metric : metrics.getSubsystems()) {
+                String labels = "{dimension=\"" + dimension + "\",subsystem=\"" + metric.getName() + "\"}";
+                events.append("galacticraft_events_total").append(labels).append(' ').append(metric.getCount()).append('\n');
+                seconds.append("galacticraft_seconds_total").append(labels).append(' ').append(toSeconds(metric.getNanos())).append('\n');
+                if (metric.getUnit() != null) {
+                    amounts.append("galacticraft_amount_total{dimension=\"").append(dimension).append("\",subsystem=\"").append(metric.getName())
+                            .append("\",unit=\"").append(metric.getUnit()).append("\"} ").append(metric.getAmount()).append('\n');
+                }
+            }
+            for (Metric metric : metrics.getMachineTicks()) {
+                String labels = "{dimension=\"" + dimension + "\",type=\"" + metric.getName() + "\"}";
+                machineTicks.append("galacticraft_machine_ticks_total").append(labels).append(' ').append(metric.getCount()).append('\n');
+                machineSeconds.append("galacticraft_machine_seconds_total").append(labels).append(' ').append(toSeconds(metric.getNanos())).append('\n');
+            }
+        }
+        return events.append(seconds).append(amounts).append(machineTicks).append(machineSeconds).toString();
+    }
+
+    private static String toSeconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1_000_000_000.0);
+    }
+}
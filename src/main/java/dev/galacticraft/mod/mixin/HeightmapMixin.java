@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.mixin;
+
+import dev.galacticraft.mod.accessor.ServerLevelAccessor;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.levelgen.Heightmap;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+@Mixin(Heightmap.class)
+public abstract class HeightmapMixin {
+    @Shadow @Final private ChunkAccess chunk;
+    private @Unique boolean notifyColumns;
+
+    @Inject(method = "<init>", at = @At("RETURN"))
+    private void checkType_gc(ChunkAccess chunk, Heightmap.Types type, CallbackInfo ci) {
+        this.notifyColumns = type == Heightmap.Types.MOTION_BLOCKING;
+    }
+
+    @Inject(method = "update", at = @At("RETURN"))
+    private void notifyColumnListeners_gc(int x, int y, int z, BlockState state, CallbackInfoReturnable<Boolean> cir) {
+        // every change is reported, not only height changes: blocks under a transparent top block affect the sky exposure too
+        if (this.notifyColumns && this.chunk instanceof LevelChunk levelChunk && levelChunk.getLevel() instanceof ServerLevel level) {
+            ((ServerLevelAccessor) level).notifyColumnChanged(this.chunk.getPos().getBlockX(x), y, this.chunk.getPos().getBlockZ(z));
+        }
+    }
+}
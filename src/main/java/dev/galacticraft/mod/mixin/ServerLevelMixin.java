@@ -23,11 +23,20 @@
 package dev.galacticraft.mod.mixin;
 
 import com.google.common.collect.ImmutableList;
+import dev.galacticraft.impl.internal.accessor.InternalLevelOxygenAccessor;
 import dev.galacticraft.mod.accessor.ServerLevelAccessor;
-import dev.galacticraft.mod.content.block.entity.machine.OxygenSealerBlockEntity;
+import dev.galacticraft.mod.api.block.entity.BlockUpdateListener;
+import dev.galacticraft.mod.api.block.entity.SkyColumnListener;
+import dev.galacticraft.mod.machine.HibernationCounts;
+import dev.galacticraft.mod.machine.SolarConditions;
+import dev.galacticraft.mod.metrics.LevelMetrics;
 import dev.galacticraft.mod.world.dimension.GCDimensions;
 import dev.galacticraft.mod.world.gen.spawner.EvolvedPillagerSpawner;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArraySet;
+import it.unimi.dsi.fastutil.objects.ObjectSet;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
@@ -35,6 +44,7 @@
 import net.minecraft.world.RandomSequences;
 import net.minecraft.world.level.CustomSpawner;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.dimension.LevelStem;
 import net.minecraft.world.level.storage.LevelStorageSource;
@@ -45,19 +55,30 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.Executor;
 
 /**
  * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
  */
 @Mixin(ServerLevel.class)
-public abstract class ServerLevelMixin implements ServerLevelAccessor {
+public abstract class ServerLevelMixin implements ServerLevelAccessor, InternalLevelOxygenAccessor {
     @Shadow @Final @Mutable private List<CustomSpawner> customSpawners;
-    private final @Unique Set<OxygenSealerBlockEntity> sealers = new HashSet<>();
+    /**
+     * Block update listeners (such as oxygen sealers) by the chunk sections (packed {@link SectionPos}) they registered for
+     */
+    private final @Unique Long2ObjectOpenHashMap<ObjectSet<BlockUpdateListener>> listenersBySection = new Long2ObjectOpenHashMap<>();
+    /**
+     * Sky column listeners (such as solar panels) by the columns (packed {@link BlockPos} at y 0) they registered for
+     */
+    private final @Unique Long2ObjectOpenHashMap<ObjectSet<SkyColumnListener>> listenersByColumn = new Long2ObjectOpenHashMap<>();
+    private final @Unique SolarConditions solarConditions = new SolarConditions();
+    private final @Unique HibernationCounts hibernationCounts = new HibernationCounts();
+    private final @Unique LevelMetrics metrics = new LevelMetrics();
+    /**
+     * Whether the block currently being set is a visual change only, which listeners do not care about
+     */
+    private @Unique boolean visualUpdate = false;
 
     @Inject(method = "<init>", at = @At("RETURN"))
     private void setSpawnersGC(MinecraftServer server, Executor workerExecutor, LevelStorageSource.LevelStorageAccess session, ServerLevelData properties, ResourceKey<Level> worldKey, LevelStem dimensionOptions, ChunkProgressListener worldGenerationProgressListener, boolean debugWorld, long seed, List spawners, boolean shouldTickTime, @Nullable RandomSequences randomSequences, CallbackInfo ci) {
@@ -68,24 +89,87 @@ private void setSpawnersGC(MinecraftServer server, Executor workerExecutor, Leve
 
     @Inject(method = "sendBlockUpdated", at = @At(value = "INVOKE", target = "Ljava/util/Set;iterator()Ljava/util/Iterator;", remap = false))
     private void updateSealerListeners_gc(BlockPos pos, BlockState oldState, BlockState newState, int flags, CallbackInfo ci) {
-        List<OxygenSealerBlockEntity> queueRemove = new LinkedList<>();
-        for (OxygenSealerBlockEntity sealer : this.sealers) {
-            if (sealer.isRemoved()) {
-                queueRemove.add(sealer);
-                assert false : "this shouldn't happen! Oxygen sealer was removed but nothing called #markRemoved";
-            }
-            sealer.enqueueUpdate(pos, newState.getCollisionShape(((Level)(Object) this), pos));
+        if (this.visualUpdate || this.listenersBySection.isEmpty()) return;
+        ObjectSet<BlockUpdateListener> listeners = this.listenersBySection.get(SectionPos.asLong(pos));
+        if (listeners == null) return;
+        for (BlockUpdateListener listener : listeners) {
+            listener.enqueueUpdate(pos, newState);
         }
-        this.sealers.removeAll(queueRemove);
     }
 
     @Override
-    public void addSealer(OxygenSealerBlockEntity sealer) {
-        this.sealers.add(sealer);
+    public void addSectionListener(long section, BlockUpdateListener listener) {
+        ObjectSet<BlockUpdateListener> listeners = this.listenersBySection.get(section);
+        if (listeners == null) {
+            listeners = new ObjectArraySet<>(1);
+            this.listenersBySection.put(section, listeners);
+        }
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeSectionListener(long section, BlockUpdateListener listener) {
+        ObjectSet<BlockUpdateListener> listeners = this.listenersBySection.get(section);
+        if (listeners != null && listeners.remove(listener) && listeners.isEmpty()) {
+            this.listenersBySection.remove(section);
+        }
+    }
+
+    @Override
+    public void addColumnListener(long column, SkyColumnListener listener) {
+        ObjectSet<SkyColumnListener> listeners = this.listenersByColumn.get(column);
+        if (listeners == null) {
+            listeners = new ObjectArraySet<>(1);
+            this.listenersByColumn.put(column, listeners);
+        }
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeColumnListener(long column, SkyColumnListener listener) {
+        ObjectSet<SkyColumnListener> listeners = this.listenersByColumn.get(column);
+        if (listeners != null && listeners.remove(listener) && listeners.isEmpty()) {
+            this.listenersByColumn.remove(column);
+        }
+    }
+
+    @Override
+    public void notifyColumnChanged(int x, int y, int z) {
+        if (this.listenersByColumn.isEmpty()) return;
+        ObjectSet<SkyColumnListener> listeners = this.listenersByColumn.get(BlockPos.asLong(x, 0, z));
+        if (listeners == null) return;
+        for (SkyColumnListener listener : listeners) {
+            listener.onSkyColumnChanged(x, y, z);
+        }
+    }
+
+    @Override
+    public void setVisualBlockState(BlockPos pos, BlockState state) {
+        this.visualUpdate = true;
+        try {
+            ((ServerLevel) (Object) this).setBlock(pos, state, Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE);
+        } finally {
+            this.visualUpdate = false;
+        }
+    }
+
+    @Override
+    public SolarConditions getSolarConditions() {
+        return this.solarConditions.update((ServerLevel) (Object) this);
+    }
+
+    @Override
+    public HibernationCounts getHibernationCounts() {
+        return this.hibernationCounts;
+    }
+
+    @Override
+    public LevelMetrics getMetrics() {
+        return this.metrics;
     }
 
     @Override
-    public void removeSealer(OxygenSealerBlockEntity sealer) {
-        this.sealers.remove(sealer);
+    public void galacticraft$recordOxygenUpdates(int blocks) {
+        this.metrics.getOxygenUpdates().increment(blocks);
     }
-}
\ No newline at end of file
+}
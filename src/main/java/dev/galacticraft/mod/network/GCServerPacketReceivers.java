@@ -228,7 +228,7 @@ public boolean shouldCloseCurrentScreen() {
                     if (body == null) body = server.registryAccess().registryOrThrow(AddonRegistries.CELESTIAL_BODY).get(id);
                     if (body.type() instanceof Landable landable && (player.getCelestialScreenState().canTravel(server.registryAccess(), fromBody, body) || player.getCelestialScreenState() == RocketData.empty())) {
                         player.setCelestialScreenState(null);
-                        ((CelestialTeleporter)landable.teleporter(body.config()).value()).onEnterAtmosphere(server.getLevel(landable.world(body.config())), player, body, fromBody);
+                        ((CelestialTeleporter)landable.teleporter(body.config()).value()).onEnterAtmosphere(((SatelliteAccessor) server).loadLevel(landable.world(body.config())), player, body, fromBody);
                     } else {
                         player.connection.disconnect(Component.literal("Invalid planet teleport packet received."));
                     }
@@ -26,6 +26,7 @@
 import net.minecraft.core.Registry;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.Container;
 import net.minecraft.world.item.crafting.RecipeType;
 
 /**
@@ -35,6 +36,9 @@ public class GCRecipes {
     public static final RecipeType<FabricationRecipe> FABRICATION_TYPE = new GCRecipeType<>();
     public static final RecipeType<CompressingRecipe> COMPRESSING_TYPE = new GCRecipeType<>();
 
+    public static final RecipeIndex<Container, FabricationRecipe> FABRICATION_INDEX = new RecipeIndex<>(FABRICATION_TYPE);
+    public static final RecipeIndex<Container, CompressingRecipe> COMPRESSING_INDEX = new RecipeIndex<>(COMPRESSING_TYPE);
+
     public static final FabricationRecipe.Serializer FABRICATION_SERIALIZER = FabricationRecipe.Serializer.INSTANCE;
     public static final ShapelessCompressingRecipe.Serializer SHAPELESS_COMPRESSING_SERIALIZER = ShapelessCompressingRecipe.Serializer.INSTANCE;
     public static final ShapedCompressingRecipe.Serializer SHAPED_COMPRESSING_SERIALIZER = ShapedCompressingRecipe.Serializer.INSTANCE;
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.galacticraft.mod.recipe;
+
+import it.unimi.dsi.fastutil.objects.*;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Indexes the recipes of a type by the items their ingredients accept.
+ * A recipe can only match a container if it accepts every item in it, so only the recipes indexed under
+ * the least common item of the container have to be tested.
+ * <p>
+ * The index is rebuilt after every datapack reload, the first time it is queried with the new recipe manager.
+ * It is not built during the reload itself, as ingredients must not be resolved before tags are bound.
+ *
+ * @param <C> the type of container the recipes are tested against
+ * @param <R> the type of recipe
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+public class RecipeIndex<C extends Container, R extends Recipe<C>> {
+    private final RecipeType<R> type;
+    private final Reference2ObjectOpenHashMap<Item, List<R>> byItem = new Reference2ObjectOpenHashMap<>();
+    private final ReferenceOpenHashSet<Item> items = new ReferenceOpenHashSet<>();
+    /**
+     * The recipe manager this index was built from
+     */
+    private @Nullable RecipeManager manager = null;
+    private int generation = 0;
+
+    public RecipeIndex(RecipeType<R> type) {
+        this.type = type;
+    }
+
+    /**
+     * Returns the first recipe matching the given container, in the order of the recipe manager.
+     *
+     * @param level the level the recipe is crafted in
+     * @param container the container to match
+     * @return the first matching recipe, or {@code null} if there is none
+     */
+    public @Nullable R findFirst(@NotNull Level level, @NotNull C container) {
+        this.update(level.getRecipeManager());
+
+        List<R> candidates = null;
+        this.items.clear();
+        for (int i = 0; i < container.getContainerSize(); i++) {
+            ItemStack stack = container.getItem(i);
+            if (stack.isEmpty() || !this.items.add(stack.getItem())) continue;
+            List<R> recipes = this.byItem.get(stack.getItem());
+            if (recipes == null) return null;
+            if (candidates == null || recipes.size() < candidates.size()) {
+                candidates = recipes;
+            }
+        }
+        if (candidates == null) return null;
+
+        for (R recipe : candidates) {
+            if (recipe.matches(container, level)) {
+                return recipe;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a number that changes every time this index is rebuilt.
+     * Cached results of {@link #findFirst(Level, Container)} are invalid once it changes.
+     *
+     * @param level the level the recipe is crafted in
+     * @return the generation of this index
+     */
+    public int getGeneration(@NotNull Level level) {
+        this.update(level.getRecipeManager());
+        return this.generation;
+    }
+
+    private void update(@NotNull RecipeManager manager) {
+        if (this.manager == manager) return;
+        this.manager = manager;
+        this.generation++;
+        this.byItem.clear();
+
+        ReferenceOpenHashSet<Item> accepted = new ReferenceOpenHashSet<>();
+        for (R recipe : manager.getAllRecipesFor(this.type)) {
+            accepted.clear();
+            for (Ingredient ingredient : recipe.getIngredients()) {
+                for (ItemStack stack : ingredient.getItems()) {
+                    accepted.add(stack.getItem());
+                }
+            }
+            for (Item item : accepted) {
+                this.byItem.computeIfAbsent(item, i -> new ObjectArrayList<>(1)).add(recipe);
+            }
+        }
+    }
+
+    /**
+     * Caches the last recipe a machine found, as long as its inputs and the index are unchanged.
+     *
+     * @param <C> the type of container the recipes are tested against
+     * @param <R> the type of recipe
+     */
+    public static class Lookup<C extends Container, R extends Recipe<C>> {
+        private final RecipeIndex<C, R> index;
+        private long modifications = -1;
+        private int generation = -1;
+        private @Nullable R recipe = null;
+
+        public Lookup(RecipeIndex<C, R> index) {
+            this.index = index;
+        }
+
+        /**
+         * Returns the first recipe matching the given container.
+         *
+         * @param level the level the recipe is crafted in
+         * @param container the container to match
+         * @param modifications the combined modification count of the slots backing the container
+         * @return the first matching recipe, or {@code null} if there is none
+         */
+        public @Nullable R find(@NotNull Level level, @NotNull C container, long modifications) {
+            int generation = this.index.getGeneration(level);
+            if (modifications != this.modifications || generation != this.generation) {
+                this.modifications = modifications;
+                this.generation = generation;
+                this.recipe = this.index.findFirst(level, container);
+            }
+            return this.recipe;
+        }
+    }
+}
@@ -23,10 +23,13 @@
 package dev.galacticraft.mod.util;
 
 import dev.galacticraft.mod.api.block.entity.Connected;
+import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Mirror;
 import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
 import net.minecraft.world.level.block.state.properties.BooleanProperty;
@@ -101,6 +104,21 @@ public static VoxelShape getVoxelShape(Connected connected, VoxelShape north, Vo
         return shape;
     }
 
+    /**
+     * Recalculates the connections of a block entity on the server and sends them to tracking clients if they changed.
+     * Connected models only render the synced connections, they never query the world themselves.
+     */
+    public static void updateConnections(Level level, BlockPos pos) {
+        if (level.isClientSide() || !(level.getBlockEntity(pos) instanceof Connected connected)) return;
+        byte previous = connected.getConnectionMask();
+        connected.calculateConnections();
+        if (connected.getConnectionMask() != previous) {
+            BlockState state = level.getBlockState(pos);
+            ((BlockEntity) connected).setChanged();
+            level.sendBlockUpdated(pos, state, state, Block.UPDATE_CLIENTS);
+        }
+    }
+
     public static VoxelShape createWalkwayShape(Direction facing) {
         return switch (facing) {
             case UP -> Shapes.or(
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.LongConsumer;
+
+/**
+ * A set of block positions stored as one 4096-bit bitmap per chunk section.
+ * Positions are passed around packed ({@link BlockPos#asLong()}), so adding, removing and testing positions does not allocate
+ * once the section has been touched.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+public class SectionBitSet {
+    private final @NotNull Long2ObjectOpenHashMap<long[]> sections = new Long2ObjectOpenHashMap<>();
+    private long lastSection = Long.MAX_VALUE;
+    private long @Nullable [] lastBits = null;
+    private int size = 0;
+
+    private static long sectionKey(long pos) {
+        return SectionPos.asLong(SectionPos.blockToSectionCoord(BlockPos.getX(pos)), SectionPos.blockToSectionCoord(BlockPos.getY(pos)), SectionPos.blockToSectionCoord(BlockPos.getZ(pos)));
+    }
+
+    private static int index(long pos) {
+        return (BlockPos.getY(pos) & 15) << 8 | (BlockPos.getZ(pos) & 15) << 4 | (BlockPos.getX(pos) & 15);
+    }
+
+    private long @Nullable [] getBits(long pos, boolean create) {
+        long key = sectionKey(pos);
+        if (key == this.lastSection && this.lastBits != null) return this.lastBits;
+        long[] bits = this.sections.get(key);
+        if (bits == null) {
+            if (!create) return null;
+            bits = new long[64];
+            this.sections.put(key, bits);
+        }
+        this.lastSection = key;
+        this.lastBits = bits;
+        return bits;
+    }
+
+    public boolean contains(long pos) {
+        long[] bits = this.getBits(pos, false);
+        if (bits == null) return false;
+        int index = index(pos);
+        return (bits[index >> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return whether the position was not already in this set
+     */
+    public boolean add(long pos) {
+        long[] bits = this.getBits(pos, true);
+        int index = index(pos);
+        long mask = 1L << index;
+        if ((bits[index >> 6] & mask) != 0) return false;
+        bits[index >> 6] |= mask;
+        this.size++;
+        return true;
+    }
+
+    /**
+     * @return whether the position was in this set
+     */
+    public boolean remove(long pos) {
+        long[] bits = this.getBits(pos, false);
+        if (bits == null) return false;
+        int index = index(pos);
+        long mask = 1L << index;
+        if ((bits[index >> 6] & mask) == 0) return false;
+        bits[index >> 6] &= ~mask;
+        this.size--;
+        return true;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        this.sections.clear();
+        this.lastSection = Long.MAX_VALUE;
+        this.lastBits = null;
+        this.size = 0;
+    }
+
+    /**
+     * Passes every position (packed) in this set to the consumer, section by section.
+     */
+    public void forEach(@NotNull LongConsumer consumer) {
+        for (Long2ObjectMap.Entry<long[]> entry : Long2ObjectMaps.fastIterable(this.sections)) {
+            long section = entry.getLongKey();
+            int originX = SectionPos.sectionToBlockCoord(SectionPos.x(section));
+            int originY = SectionPos.sectionToBlockCoord(SectionPos.y(section));
+            int originZ = SectionPos.sectionToBlockCoord(SectionPos.z(section));
+            long[] bits = entry.getValue();
+            for (int i = 0; i < bits.length; i++) {
+                long word = bits[i];
+                while (word != 0) {
+                    int index = i << 6 | Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    consumer.accept(BlockPos.asLong(originX + (index & 15), originY + (index >> 8), originZ + (index >> 4 & 15)));
+                }
+            }
+        }
+    }
+}
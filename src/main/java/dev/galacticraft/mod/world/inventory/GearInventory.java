@@ -31,11 +31,75 @@
  * Vanilla copy of {@link net.minecraft.world.inventory.PlayerEnderChestContainer} save methods
  */
 public class GearInventory extends SimpleContainer {
+    private static final int ALL_SLOTS = (1 << 12) - 1;
+    /**
+     * Bitmask of the slots that changed since the last call to {@link #clearDirtySlots()}
+     */
+    private int dirtySlots = 0;
+    /**
+     * Whether a slot-specific write is in progress, so that the {@link #setChanged()} it triggers is not treated as an in-place change
+     */
+    private boolean writingSlot = false;
+    private int changeCount = 0;
 
     public GearInventory() {
         super(12);
     }
 
+    @Override
+    public void setItem(int slot, ItemStack stack) {
+        this.dirtySlots |= 1 << slot;
+        this.writingSlot = true;
+        try {
+            super.setItem(slot, stack);
+        } finally {
+            this.writingSlot = false;
+        }
+    }
+
+    @Override
+    public ItemStack removeItem(int slot, int amount) {
+        this.dirtySlots |= 1 << slot;
+        this.writingSlot = true;
+        try {
+            return super.removeItem(slot, amount);
+        } finally {
+            this.writingSlot = false;
+        }
+    }
+
+    @Override
+    public ItemStack removeItemNoUpdate(int slot) {
+        this.dirtySlots |= 1 << slot;
+        return super.removeItemNoUpdate(slot);
+    }
+
+    @Override
+    public void setChanged() {
+        if (!this.writingSlot) {
+            // a stack was modified in place, so we don't know which slot changed
+            this.dirtySlots = ALL_SLOTS;
+        }
+        this.changeCount++;
+        super.setChanged();
+    }
+
+    /**
+     * Returns a counter that is incremented whenever the contents of this inventory change
+     */
+    public int getChangeCount() {
+        return this.changeCount;
+    }
+
+    /**
+     * Returns the slots that changed since the last call, as a bitmask of slot indices, and resets them.
+     */
+    public int clearDirtySlots() {
+        int dirty = this.dirtySlots;
+        this.dirtySlots = 0;
+        return dirty;
+    }
+
     @Override
     public void fromTag(ListTag listTag) {
         for(int i = 0; i < this.getContainerSize(); ++i) {
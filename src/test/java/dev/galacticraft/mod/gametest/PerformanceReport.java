@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.gametest;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import dev.galacticraft.mod.Constant;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Collects the results of the performance game tests and writes them as JSON, so they can be compared across builds.
+ * The file is rewritten after every scenario, as the scenarios finish in separate batches.
+ */
+public final class PerformanceReport {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final File FILE = new File(System.getProperty("galacticraft.perf.output", "PERF-gametest.json"));
+    private static final JsonObject SCENARIOS = new JsonObject();
+    private static final String STARTED = DateTimeFormatter.ISO_INSTANT.format(Instant.now());
+
+    private PerformanceReport() {}
+
+    public static synchronized void record(String scenario, JsonObject result) {
+        SCENARIOS.add(scenario, result);
+        JsonObject report = new JsonObject();
+        report.addProperty("timestamp", STARTED);
+        report.add("scenarios", SCENARIOS);
+        try (Writer writer = new FileWriter(FILE)) {
+            GSON.toJson(report, writer);
+        } catch (IOException e) {
+            Constant.LOGGER.error("Failed to write the performance report to {}", FILE, e);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.gametest.test;
+
+import dev.galacticraft.mod.api.network.impl.GraphNetwork;
+import dev.galacticraft.mod.api.network.impl.GraphNetworkManager;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Graph checks shared by the wire and pipe suites, which run them against their own network manager.
+ * Conductors are laid out along the x axis, one block above the floor of the test structure.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+final class GraphNetworkTests {
+    private GraphNetworkTests() {}
+
+    /**
+     * The conductor type under test
+     *
+     * @param <N> the network type
+     * @param <M> the manager type
+     */
+    interface Fixture<N extends GraphNetwork<N, ?, ?>, M extends GraphNetworkManager<N>> {
+        /**
+         * The conductor name used in failure messages
+         */
+        String name();
+
+        /**
+         * A placeable conductor block
+         */
+        Block block();
+
+        /**
+         * A transfer rate of {@link #block()}, and a different one used for peers
+         */
+        long rate();
+
+        long peerRate();
+
+        M getManager(ServerLevel level);
+
+        M load(ServerLevel level, CompoundTag tag);
+
+        /**
+         * Makes the conductor block entity join its network
+         * @return whether the block entity is a conductor
+         */
+        boolean register(@Nullable BlockEntity blockEntity);
+
+        /**
+         * Registers a conductor with the given rate at a position that has no block
+         */
+        void addStandIn(M manager, BlockPos pos, long maxTransferRate);
+    }
+
+    /**
+     * Breaking the middle of a line splits its network in two
+     */
+    static <N extends GraphNetwork<N, ?, ?>, M extends GraphNetworkManager<N>> void cut(GameTestHelper context, Fixture<N, M> fixture) {
+        BlockPos[] pos = place(context, fixture, 0, 5);
+        M manager = fixture.getManager(context.getLevel());
+        N original = manager.getNetwork(context.absolutePos(pos[0]));
+        if (original == null || original.getConductors().size() != 5) {
+            context.fail(String.format("Expected a %s network with 5 %ss but found %s!", fixture.name(), fixture.name(), original), pos[0]);
+            return;
+        }
+        context.destroyBlock(pos[2]);
+        N left = manager.getNetwork(context.absolutePos(pos[0]));
+        N right = manager.getNetwork(context.absolutePos(pos[4]));
+        if (manager.getNetwork(context.absolutePos(pos[2])) != null) {
+            context.fail(String.format("Expected the destroyed %s to be removed from its network!", fixture.name()), pos[2]);
+        } else if (left == null || left != manager.getNetwork(context.absolutePos(pos[1])) || left.getConductors().size() != 2) {
+            context.fail(String.format("Expected a %s network with 2 %ss but found %s!", fixture.name(), fixture.name(), left), pos[0]);
+        } else if (right == null || right != manager.getNetwork(context.absolutePos(pos[3])) || right.getConductors().size() != 2) {
+            context.fail(String.format("Expected a %s network with 2 %ss but found %s!", fixture.name(), fixture.name(), right), pos[4]);
+        } else if (left == right) {
+            context.fail(String.format("Expected the %s network to be split in two!", fixture.name()), pos[2]);
+        } else if (!original.markedForRemoval()) {
+            context.fail(String.format("Expected the split %s network to be marked for removal!", fixture.name()), pos[2]);
+        } else {
+            context.succeed();
+        }
+    }
+
+    /**
+     * Filling the gap between two lines joins their networks
+     */
+    static <N extends GraphNetwork<N, ?, ?>, M extends GraphNetworkManager<N>> void join(GameTestHelper context, Fixture<N, M> fixture) {
+        BlockPos[] left = place(context, fixture, 0, 2);
+        BlockPos[] right = place(context, fixture, 3, 2);
+        M manager = fixture.getManager(context.getLevel());
+        N leftNetwork = manager.getNetwork(context.absolutePos(left[0]));
+        N rightNetwork = manager.getNetwork(context.absolutePos(right[0]));
+        if (leftNetwork == null || rightNetwork == null || leftNetwork == rightNetwork) {
+            context.fail(String.format("Expected two separate %s networks but found %s and %s!", fixture.name(), leftNetwork, rightNetwork), left[0]);
+            return;
+        }
+        BlockPos bridge = place(context, fixture, 2, 1)[0];
+        N joined = manager.getNetwork(context.absolutePos(bridge));
+        if (joined == null || joined.getConductors().size() != 5) {
+            context.fail(String.format("Expected a %s network with 5 %ss but found %s!", fixture.name(), fixture.name(), joined), bridge);
+        } else if (joined != manager.getNetwork(context.absolutePos(left[0])) || joined != manager.getNetwork(context.absolutePos(right[1]))) {
+            context.fail(String.format("Expected both %s networks to be joined!", fixture.name()), bridge);
+        } else if (!(joined == leftNetwork ? rightNetwork : leftNetwork).markedForRemoval()) {
+            context.fail(String.format("Expected the absorbed %s network to be marked for removal!", fixture.name()), bridge);
+        } else {
+            context.succeed();
+        }
+    }
+
+    /**
+     * Conductors of another rate between two lines keep them apart, and replacing them with the line's rate joins them
+     */
+    static <N extends GraphNetwork<N, ?, ?>, M extends GraphNetworkManager<N>> void mixedTier(GameTestHelper context, Fixture<N, M> fixture) {
+        M manager = fixture.getManager(context.getLevel());
+        BlockPos[] pos = new BlockPos[5];
+        for (int i = 0; i < pos.length; i++) {
+            pos[i] = context.absolutePos(new BlockPos(i, 1, 0));
+            fixture.addStandIn(manager, pos[i], i == 2 ? fixture.peerRate() : fixture.rate());
+        }
+        try {
+            N left = manager.getNetwork(pos[0]);
+            N peer = manager.getNetwork(pos[2]);
+            N right = manager.getNetwork(pos[4]);
+            if (left == null || left != manager.getNetwork(pos[1]) || left.getConductors().size() != 2 || left.getMaxTransferRate() != fixture.rate()) {
+                context.fail(String.format("Expected a %s network with 2 %ss at %s but found %s!", fixture.name(), fixture.name(), fixture.rate(), left), pos[0]);
+            } else if (peer == null || peer == left || peer == right || peer.getConductors().size() != 1 || peer.getMaxTransferRate() != fixture.peerRate()) {
+                context.fail(String.format("Expected a separate %s network with 1 %s at %s but found %s!", fixture.name(), fixture.name(), fixture.peerRate(), peer), pos[2]);
+            } else if (right == null || right == left || right != manager.getNetwork(pos[3]) || right.getConductors().size() != 2) {
+                context.fail(String.format("Expected a separate %s network with 2 %ss but found %s!", fixture.name(), fixture.name(), right), pos[4]);
+            } else if (manager.isConnected(pos[1].asLong(), Direction.EAST) || manager.isConnected(pos[2].asLong(), Direction.EAST)) {
+                context.fail(String.format("Expected %ss of different rates not to be connected!", fixture.name()), pos[2]);
+            } else {
+                fixture.addStandIn(manager, pos[2], fixture.rate());
+                N joined = manager.getNetwork(pos[2]);
+                if (joined == null || joined.getConductors().size() != 5 || joined.getMaxTransferRate() != fixture.rate()) {
+                    context.fail(String.format("Expected a %s network with 5 %ss at %s but found %s!", fixture.name(), fixture.name(), fixture.rate(), joined), pos[2]);
+                } else if (joined != manager.getNetwork(pos[0]) || joined != manager.getNetwork(pos[4])) {
+                    context.fail(String.format("Expected replacing the peer %s to join its neighbours!", fixture.name()), pos[2]);
+                } else if (!peer.markedForRemoval()) {
+                    context.fail(String.format("Expected the replaced peer %s network to be marked for removal!", fixture.name()), pos[2]);
+                } else {
+                    context.succeed();
+                }
+            }
+        } finally {
+            for (BlockPos p : pos) {
+                manager.removeConductor(p);
+            }
+        }
+    }
+
+    /**
+     * A manager rebuilt from its saved data has the same networks
+     */
+    static <N extends GraphNetwork<N, ?, ?>, M extends GraphNetworkManager<N>> void saveLoad(GameTestHelper context, Fixture<N, M> fixture) {
+        BlockPos[] left = place(context, fixture, 0, 2);
+        BlockPos[] right = place(context, fixture, 3, 3);
+        M manager = fixture.getManager(context.getLevel());
+        M loaded = fixture.load(context.getLevel(), manager.save(new CompoundTag()));
+        for (BlockPos pos : new BlockPos[]{left[0], left[1], right[0], right[1], right[2]}) {
+            long packed = context.absolutePos(pos).asLong();
+            N before = manager.getNetwork(packed);
+            N after = loaded.getNetwork(packed);
+            if (before == null || after == null) {
+                context.fail(String.format("Expected the %s to be in a network before and after reloading but found %s and %s!", fixture.name(), before, after), pos);
+                return;
+            } else if (!before.getConductors().equals(after.getConductors()) || before.getMaxTransferRate() != after.getMaxTransferRate()) {
+                context.fail(String.format("Expected %s to be reloaded as %s!", before, after), pos);
+                return;
+            } else if (manager.getConnections(packed) != loaded.getConnections(packed)) {
+                context.fail(String.format("Expected the %s's connections to be reloaded as %s but found %s!", fixture.name(), manager.getConnections(packed), loaded.getConnections(packed)), pos);
+                return;
+            }
+        }
+        if (loaded.getNetwork(context.absolutePos(left[0])) == loaded.getNetwork(context.absolutePos(right[0]))) {
+            context.fail(String.format("Expected separate %s networks to stay separate after reloading!", fixture.name()), left[0]);
+        } else {
+            context.succeed();
+        }
+    }
+
+    /**
+     * Places a run of conductor blocks along the x axis and registers them with the level's networks
+     */
+    private static BlockPos[] place(GameTestHelper context, Fixture<?, ?> fixture, int startX, int length) {
+        BlockPos[] pos = new BlockPos[length];
+        for (int i = 0; i < length; i++) {
+            pos[i] = new BlockPos(startX + i, 1, 0);
+            context.setBlock(pos[i], fixture.block());
+        }
+        for (BlockPos p : pos) {
+            if (!fixture.register(context.getBlockEntity(p))) {
+                context.fail(String.format("Expected a %s!", fixture.name()), p);
+            }
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.gametest.test;
+
+import dev.galacticraft.api.gas.Gases;
+import dev.galacticraft.mod.content.GCBlocks;
+import dev.galacticraft.mod.content.block.entity.machine.OxygenSealerBlockEntity;
+import dev.galacticraft.mod.machine.storage.io.GCSlotGroupTypes;
+import dev.galacticraft.mod.world.dimension.GCDimensions;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestAssertException;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Oxygen sealer tests. They are built on the moon, as sealers do nothing in breathable dimensions.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+public class OxygenSealerTestSuite implements GalacticraftGameTest {
+    private static final BlockPos ORIGIN = new BlockPos(2048, 160, 0);
+
+    /**
+     * A stone room with a block right above the sealer, so that the first check seals nothing.
+     * Removing that block has to seal the room without waiting for another full check.
+     */
+    @GameTest(template = EMPTY_STRUCTURE, batch = "oxygen_sealer", timeoutTicks = 100)
+    public void blockAboveRemovedTest(GameTestHelper context) {
+        ServerLevel moon = this.getMoon(context);
+        BlockPos sealerPos = ORIGIN.offset(2, 0, 2);
+        BlockPos above = sealerPos.above();
+        BlockPos inside = ORIGIN.offset(1, 3, 1);
+        this.buildRoom(context, moon, ORIGIN);
+        moon.setBlock(above, Blocks.STONE.defaultBlockState(), Block.UPDATE_ALL);
+
+        this.runAt(context, 30, () -> {
+            if (moon.isBreathable(inside)) {
+                throw new GameTestAssertException("Expected the room to stay unsealed while the sealer is covered!");
+            }
+            moon.setBlock(above, Blocks.AIR.defaultBlockState(), Block.UPDATE_ALL);
+        });
+        this.runAt(context, 60, () -> {
+            boolean sealed = moon.isBreathable(inside);
+            this.clearRoom(moon, ORIGIN);
+            if (sealed) {
+                context.succeed();
+            } else {
+                context.fail("Expected the room to be sealed after the block above the sealer was removed!");
+            }
+        });
+    }
+
+    /**
+     * A sealed room that loses a wall. The fill that follows runs into the open and has to give up without leaving
+     * any oxygen behind, inside or outside the room.
+     */
+    @GameTest(template = EMPTY_STRUCTURE, batch = "oxygen_sealer", timeoutTicks = 100)
+    public void breachedRoomTest(GameTestHelper context) {
+        ServerLevel moon = this.getMoon(context);
+        BlockPos origin = ORIGIN.offset(16, 0, 0);
+        BlockPos inside = origin.offset(1, 3, 1);
+        BlockPos wall = origin.offset(4, 2, 2);
+        BlockPos outside = wall.east();
+        this.buildRoom(context, moon, origin);
+
+        this.runAt(context, 30, () -> {
+            if (!moon.isBreathable(inside)) {
+                throw new GameTestAssertException("Expected the room to be sealed before it was breached!");
+            }
+            moon.setBlock(wall, Blocks.AIR.defaultBlockState(), Block.UPDATE_ALL);
+        });
+        this.runAt(context, 60, () -> {
+            boolean sealedInside = moon.isBreathable(inside);
+            boolean sealedOutside = moon.isBreathable(outside);
+            this.clearRoom(moon, origin);
+            if (sealedInside) {
+                context.fail("Expected the breached room to be released!");
+            } else if (sealedOutside) {
+                context.fail("Expected the fill through the breach to leave no oxygen outside the room!");
+            } else {
+                context.succeed();
+            }
+        });
+    }
+
+    private ServerLevel getMoon(GameTestHelper context) {
+        ServerLevel moon = context.getLevel().getServer().getLevel(GCDimensions.MOON);
+        if (moon == null) throw new GameTestAssertException("Expected the moon to be loaded!");
+        return moon;
+    }
+
+    /**
+     * Builds a hollow 5x5x5 stone room with a sealer in the middle of its floor, and keeps the sealer powered and
+     * supplied with oxygen for the next 60 ticks.
+     */
+    private OxygenSealerBlockEntity buildRoom(GameTestHelper context, ServerLevel moon, BlockPos origin) {
+        moon.setChunkForced(SectionPos.blockToSectionCoord(origin.getX()), SectionPos.blockToSectionCoord(origin.getZ()), true);
+        BlockState stone = Blocks.STONE.defaultBlockState();
+        for (BlockPos pos : BlockPos.betweenClosed(origin, origin.offset(4, 4, 4))) {
+            int x = pos.getX() - origin.getX(), y = pos.getY() - origin.getY(), z = pos.getZ() - origin.getZ();
+            if (x == 0 || x == 4 || y == 0 || y == 4 || z == 0 || z == 4) {
+                moon.setBlock(pos, stone, Block.UPDATE_ALL);
+            }
+        }
+        BlockPos sealerPos = origin.offset(2, 0, 2);
+        moon.setBlock(sealerPos, GCBlocks.OXYGEN_SEALER.defaultBlockState(), Block.UPDATE_ALL);
+        if (!(moon.getBlockEntity(sealerPos) instanceof OxygenSealerBlockEntity sealer)) {
+            throw new GameTestAssertException("Expected an oxygen sealer at " + sealerPos + "!");
+        }
+
+        for (int tick = 1; tick < 60; tick++) {
+            this.runAt(context, tick, () -> {
+                sealer.energyStorage().setEnergy(sealer.energyStorage().getCapacity());
+                sealer.fluidStorage().getGroup(GCSlotGroupTypes.OXYGEN_INPUT).insert(Gases.OXYGEN, OxygenSealerBlockEntity.MAX_OXYGEN);
+            });
+        }
+        return sealer;
+    }
+
+    private void clearRoom(ServerLevel moon, BlockPos origin) {
+        for (BlockPos pos : BlockPos.betweenClosed(origin, origin.offset(4, 4, 4))) {
+            moon.setBlock(pos, Blocks.AIR.defaultBlockState(), Block.UPDATE_CLIENTS);
+        }
+        moon.setChunkForced(SectionPos.blockToSectionCoord(origin.getX()), SectionPos.blockToSectionCoord(origin.getZ()), false);
+    }
+}
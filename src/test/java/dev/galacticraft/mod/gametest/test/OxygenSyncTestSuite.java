@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.gametest.test;
+
+import dev.galacticraft.impl.internal.accessor.ChunkOxygenAccessor;
+import dev.galacticraft.impl.internal.accessor.ChunkOxygenSyncer;
+import dev.galacticraft.impl.internal.accessor.ChunkSectionOxygenAccessor;
+import io.netty.buffer.Unpooled;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Round-trip tests for the oxygen chunk sync packets.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+public class OxygenSyncTestSuite implements GalacticraftGameTest {
+    @GameTest(template = EMPTY_STRUCTURE)
+    public void sectionDeltaRoundTripTest(GameTestHelper context) {
+        var server = this.createSection(context);
+        var client = this.createSection(context);
+
+        // a few positions: sent as a list of changes
+        server.galacticraft$setInverted(0, 0, 0, true);
+        server.galacticraft$setInverted(15, 15, 15, true);
+        server.galacticraft$setInverted(3, 7, 9, true);
+        String error = this.syncDelta(server, client);
+        if (error != null) {
+            context.fail("Sparse delta: " + error);
+            return;
+        }
+
+        // many positions in a few words: sent as the changed words
+        for (int x = 0; x < 16; x++) {
+            for (int y = 0; y < 8; y++) {
+                server.galacticraft$setInverted(x, y, 4, true);
+            }
+        }
+        error = this.syncDelta(server, client);
+        if (error != null) {
+            context.fail("Word delta: " + error);
+            return;
+        }
+
+        // every position: sent in full
+        this.fill(server, (x, y, z) -> true);
+        error = this.syncDelta(server, client);
+        if (error != null) {
+            context.fail("Full delta: " + error);
+            return;
+        }
+
+        this.fill(server, (x, y, z) -> ((x + y + z) & 1) == 0);
+        error = this.syncDelta(server, client);
+        if (error != null) {
+            context.fail("Checkerboard delta: " + error);
+            return;
+        }
+
+        this.fill(server, (x, y, z) -> false);
+        error = this.syncDelta(server, client);
+        if (error != null) {
+            context.fail("Cleared delta: " + error);
+            return;
+        }
+        if (client.galacticraft$inversionBits() != null) {
+            context.fail("Expected a cleared section to drop its bits!");
+            return;
+        }
+        context.succeed();
+    }
+
+    @GameTest(template = EMPTY_STRUCTURE)
+    public void sectionFullRoundTripTest(GameTestHelper context) {
+        var server = this.createSection(context);
+        server.galacticraft$setInverted(1, 2, 3, true);
+        server.galacticraft$setInverted(4, 5, 6, true);
+        String error = this.syncFull(server, this.createSection(context));
+        if (error != null) {
+            context.fail("Sparse section: " + error);
+            return;
+        }
+
+        this.fill(server, (x, y, z) -> (x & 1) == 0);
+        error = this.syncFull(server, this.createSection(context));
+        if (error != null) {
+            context.fail("Dense section: " + error);
+            return;
+        }
+
+        this.fill(server, (x, y, z) -> false);
+        error = this.syncFull(server, this.createSection(context));
+        if (error != null) {
+            context.fail("Empty section: " + error);
+            return;
+        }
+        context.succeed();
+    }
+
+    @GameTest(template = EMPTY_STRUCTURE)
+    public void chunkDeltaRoundTripTest(GameTestHelper context) {
+        LevelChunk chunk = context.getLevel().getChunkAt(context.absolutePos(BlockPos.ZERO));
+        var syncer = (ChunkOxygenSyncer) chunk;
+        var accessor = (ChunkOxygenAccessor) chunk;
+        syncer.galacticraft$syncOxygenPacketsToClient(); // discard anything pending
+
+        // adjacent dirty sections, with every third section left untouched
+        int sections = chunk.getSectionsCount();
+        for (int i = 0; i < sections; i++) {
+            if (i % 3 != 2) {
+                accessor.galacticraft$setInverted(i & 15, this.sectionY(chunk, i) + (i & 15), 15 - (i & 15), true);
+            }
+        }
+        FriendlyByteBuf buf = syncer.galacticraft$syncOxygenPacketsToClient();
+        if (buf == null) {
+            context.fail("Expected an oxygen update for the modified chunk!");
+            return;
+        }
+
+        // revert the sections without marking the chunk dirty, then apply the update again
+        for (int i = 0; i < sections; i++) {
+            if (i % 3 != 2) {
+                ((ChunkSectionOxygenAccessor) chunk.getSection(i)).galacticraft$setInverted(i & 15, i & 15, 15 - (i & 15), false);
+            }
+        }
+        syncer.galacticraft$readOxygenUpdate(buf);
+
+        String error = null;
+        if (buf.isReadable()) {
+            error = String.format("Expected the update to be fully read but %s bytes remain!", buf.readableBytes());
+        }
+        for (int i = 0; i < sections && error == null; i++) {
+            boolean inverted = accessor.galacticraft$isInverted(i & 15, this.sectionY(chunk, i) + (i & 15), 15 - (i & 15));
+            if (inverted != (i % 3 != 2)) {
+                error = String.format("Expected section %s to be %s but it was not!", i, i % 3 != 2 ? "inverted" : "untouched");
+            }
+        }
+
+        for (int i = 0; i < sections; i++) {
+            accessor.galacticraft$setInverted(i & 15, this.sectionY(chunk, i) + (i & 15), 15 - (i & 15), false);
+        }
+        syncer.galacticraft$syncOxygenPacketsToClient();
+
+        if (error != null) {
+            context.fail(error);
+        } else {
+            context.succeed();
+        }
+    }
+
+    private ChunkSectionOxygenAccessor createSection(GameTestHelper context) {
+        return (ChunkSectionOxygenAccessor) new LevelChunkSection(context.getLevel().registryAccess().registryOrThrow(Registries.BIOME));
+    }
+
+    private int sectionY(LevelChunk chunk, int index) {
+        return SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(index));
+    }
+
+    private void fill(ChunkSectionOxygenAccessor section, PositionPredicate predicate) {
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    section.galacticraft$setInverted(x, y, z, predicate.test(x, y, z));
+                }
+            }
+        }
+    }
+
+    private @Nullable String syncDelta(ChunkSectionOxygenAccessor server, ChunkSectionOxygenAccessor client) {
+        if (!server.galacticraft$isOxygenDirty()) return "Expected the modified section to be dirty!";
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        server.galacticraft$writeOxygenDelta(buf);
+        if (server.galacticraft$isOxygenDirty()) return "Expected the section to be clean after writing a delta!";
+        client.galacticraft$readOxygenDelta(buf);
+        if (buf.isReadable()) return String.format("Expected the delta to be fully read but %s bytes remain!", buf.readableBytes());
+        return this.compare(server, client);
+    }
+
+    private @Nullable String syncFull(ChunkSectionOxygenAccessor server, ChunkSectionOxygenAccessor client) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        server.galacticraft$writeOxygenPacket(buf);
+        client.galacticraft$readOxygenPacket(buf);
+        if (buf.isReadable()) return String.format("Expected the packet to be fully read but %s bytes remain!", buf.readableBytes());
+        return this.compare(server, client);
+    }
+
+    private @Nullable String compare(ChunkSectionOxygenAccessor expected, ChunkSectionOxygenAccessor actual) {
+        if (expected.galacticraft$modifiedBlocks() != actual.galacticraft$modifiedBlocks()) {
+            return String.format("Expected %s modified blocks but found %s!", expected.galacticraft$modifiedBlocks(), actual.galacticraft$modifiedBlocks());
+        }
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    if (expected.galacticraft$isInverted(x, y, z) != actual.galacticraft$isInverted(x, y, z)) {
+                        return String.format("Mismatch at %s, %s, %s!", x, y, z);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface PositionPredicate {
+        boolean test(int x, int y, int z);
+    }
+}
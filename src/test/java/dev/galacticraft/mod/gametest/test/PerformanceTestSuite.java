@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2019-2023 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.mod.gametest.test;
+
+import com.google.gson.JsonObject;
+import dev.galacticraft.api.gas.Gases;
+import dev.galacticraft.machinelib.api.block.entity.MachineBlockEntity;
+import dev.galacticraft.mod.api.block.MultiBlockBase;
+import dev.galacticraft.mod.content.GCBlocks;
+import dev.galacticraft.mod.content.block.entity.machine.OxygenCollectorBlockEntity;
+import dev.galacticraft.mod.content.block.entity.machine.OxygenSealerBlockEntity;
+import dev.galacticraft.mod.gametest.PerformanceReport;
+import dev.galacticraft.mod.machine.storage.io.GCSlotGroupTypes;
+import dev.galacticraft.mod.world.dimension.GCDimensions;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestAssertException;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.profiling.ProfileResults;
+import net.minecraft.util.profiling.ResultField;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Tick time budgets for large synthetic bases.
+ * Every scenario runs in its own batch and is built on the moon, where sealers and collectors have work to do.
+ * After {@link #WARMUP_TICKS} ticks the server's tick times are sampled for {@link #SAMPLE_TICKS} ticks, while the
+ * server profiler records where the time went.
+ * <p>
+ * Budgets are in milliseconds and can be set per scenario with {@code -Dgalacticraft.perf.<scenario>.mean} and
+ * {@code -Dgalacticraft.perf.<scenario>.p99}, or for every scenario with {@code -Dgalacticraft.perf.mean} and
+ * {@code -Dgalacticraft.perf.p99}. The results are written by {@link PerformanceReport}.
+ *
+ * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
+ */
+public class PerformanceTestSuite implements GalacticraftGameTest {
+    private static final int WARMUP_TICKS = 100;
+    private static final int SAMPLE_TICKS = 200;
+    private static final int TIMEOUT_TICKS = WARMUP_TICKS + SAMPLE_TICKS + 100;
+    private static final int BUILD_Y = 160;
+    private static final double DEFAULT_MEAN_BUDGET = 25.0;
+    private static final double DEFAULT_P99_BUDGET = 50.0;
+
+    @GameTest(template = EMPTY_STRUCTURE, batch = "performance_wire_grid", timeoutTicks = TIMEOUT_TICKS)
+    public void wireGridTest(GameTestHelper context) {
+        Scenario scenario = Scenario.create("wire_grid", this.getMoon(context), new BlockPos(0, BUILD_Y, 0), 100, 1, 100);
+        BlockState wire = GCBlocks.ALUMINUM_WIRE.defaultBlockState();
+        for (int x = 0; x < 100; x++) {
+            for (int z = 0; z < 100; z++) {
+                scenario.place(x, 0, z, wire);
+            }
+        }
+        this.measure(context, scenario, tick -> {});
+    }
+
+    /**
+     * 25 by 20 basic solar panels, each row wired together and the rows joined along one edge
+     */
+    @GameTest(template = EMPTY_STRUCTURE, batch = "performance_solar_farm", timeoutTicks = TIMEOUT_TICKS)
+    public void solarFarmTest(GameTestHelper context) {
+        Scenario scenario = Scenario.create("solar_farm", this.getMoon(context), new BlockPos(512, BUILD_Y, 0), 76, 4, 59);
+        BlockState wire = GCBlocks.ALUMINUM_WIRE.defaultBlockState();
+        BlockState panel = GCBlocks.BASIC_SOLAR_PANEL.defaultBlockState();
+        for (int z = 0; z < 59; z++) {
+            scenario.place(0, 0, z, wire);
+        }
+        for (int j = 0; j < 20; j++) {
+            for (int x = 1; x < 76; x++) {
+                scenario.place(x, 0, 1 + j * 3, wire);
+            }
+            for (int i = 0; i < 25; i++) {
+                BlockPos pos = scenario.place(1 + i * 3, 1, 1 + j * 3, panel);
+                ((MultiBlockBase) GCBlocks.BASIC_SOLAR_PANEL).onMultiBlockPlaced(scenario.level(), pos, panel);
+            }
+        }
+        this.measure(context, scenario, tick -> {});
+    }
+
+    /**
+     * 20 by 10 stone rooms with a sealer in each floor. Every tick a block inside one of the rooms is placed or removed,
+     * so the sealers keep repairing their areas.
+     */
+    @GameTest(template = EMPTY_STRUCTURE, batch = "performance_sealers", timeoutTicks = TIMEOUT_TICKS)
+    public void sealersTest(GameTestHelper context) {
+        Scenario scenario = Scenario.create("sealers", this.getMoon(context), new BlockPos(1024, BUILD_Y, 0), 100, 5, 50);
+        BlockState stone = Blocks.STONE.defaultBlockState();
+        List<OxygenSealerBlockEntity> sealers = new ArrayList<>(200);
+        for (int i = 0; i < 20; i++) {
+            for (int j = 0; j < 10; j++) {
+                for (int x = 0; x < 5; x++) {
+                    for (int y = 0; y < 5; y++) {
+                        for (int z = 0; z < 5; z++) {
+                            if (x == 0 || x == 4 || y == 0 || y == 4 || z == 0 || z == 4) {
+                                scenario.place(i * 5 + x, y, j * 5 + z, stone);
+                            }
+                        }
+                    }
+                }
+                sealers.add(scenario.placeMachine(i * 5 + 2, 0, j * 5 + 2, GCBlocks.OXYGEN_SEALER, OxygenSealerBlockEntity.class));
+            }
+        }
+        sealers.forEach(this::supply);
+
+        this.measure(context, scenario, tick -> {
+            sealers.forEach(this::supply);
+            int room = tick % sealers.size();
+            int x = (room / 10) * 5 + 1;
+            int z = (room % 10) * 5 + 1;
+            scenario.place(x, 1, z, scenario.getBlockState(x, 1, z).isAir() ? stone : Blocks.AIR.defaultBlockState());
+        });
+    }
+
+    /**
+     * A sealed glass greenhouse of wheat with 8 by 8 collectors
+     */
+    @GameTest(template = EMPTY_STRUCTURE, batch = "performance_greenhouse", timeoutTicks = TIMEOUT_TICKS)
+    public void greenhouseTest(GameTestHelper context) {
+        Scenario scenario = Scenario.create("greenhouse", this.getMoon(context), new BlockPos(1536, BUILD_Y, 0), 26, 5, 26);
+        BlockState glass = Blocks.GLASS.defaultBlockState();
+        for (int x = 0; x < 26; x++) {
+            for (int y = 0; y < 5; y++) {
+                for (int z = 0; z < 26; z++) {
+                    if (x == 0 || x == 25 || z == 0 || z == 25 || y == 4) {
+                        scenario.place(x, y, z, glass);
+                    } else if (y == 0) {
+                        boolean underCollector = x % 3 == 2 && z % 3 == 2;
+                        scenario.place(x, y, z, underCollector ? Blocks.STONE.defaultBlockState() : Blocks.FARMLAND.defaultBlockState());
+                    }
+                }
+            }
+        }
+
+        List<OxygenCollectorBlockEntity> collectors = new ArrayList<>(64);
+        for (int x = 1; x < 25; x++) {
+            for (int z = 1; z < 25; z++) {
+                if (x % 3 == 2 && z % 3 == 2) {
+                    collectors.add(scenario.placeMachine(x, 1, z, GCBlocks.OXYGEN_COLLECTOR, OxygenCollectorBlockEntity.class));
+                } else if (x != 1 || z != 1) {
+                    scenario.place(x, 1, z, Blocks.WHEAT.defaultBlockState());
+                }
+            }
+        }
+        OxygenSealerBlockEntity sealer = scenario.placeMachine(1, 0, 1, GCBlocks.OXYGEN_SEALER, OxygenSealerBlockEntity.class);
+        this.supply(sealer);
+        collectors.forEach(this::power);
+
+        this.measure(context, scenario, tick -> {
+            this.supply(sealer);
+            for (OxygenCollectorBlockEntity collector : collectors) {
+                this.power(collector);
+                collector.fluidStorage().getGroup(GCSlotGroupTypes.OXYGEN_OUTPUT).extract(Gases.OXYGEN, OxygenCollectorBlockEntity.MAX_OXYGEN);
+            }
+        });
+    }
+
+    /**
+     * Runs the scenario for the warmup and sample ticks, then removes it and checks the samples against its budgets
+     * @param perTick run at the start of every tick with the number of ticks since the scenario was built
+     */
+    private void measure(GameTestHelper context, Scenario scenario, IntConsumer perTick) {
+        MinecraftServer server = context.getLevel().getServer();
+        long[] samples = new long[SAMPLE_TICKS];
+        // a profile started with /debug is left alone
+        boolean profile = !server.isTimeProfilerRunning();
+        for (int tick = 1; tick <= WARMUP_TICKS + SAMPLE_TICKS + 1; tick++) {
+            int current = tick;
+            this.runAt(context, tick, () -> {
+                if (current == WARMUP_TICKS + 1 && profile) server.startTimeProfiler(); // takes effect next tick
+                // the previous tick is always complete
+                if (current > WARMUP_TICKS + 1) samples[current - WARMUP_TICKS - 2] = server.tickTimes[(server.getTickCount() - 1) % server.tickTimes.length];
+                perTick.accept(current);
+            });
+        }
+
+        this.runAt(context, WARMUP_TICKS + SAMPLE_TICKS + 2, () -> {
+            ProfileResults results = profile ? server.stopTimeProfiler() : null;
+            scenario.remove();
+
+            long[] sorted = samples.clone();
+            Arrays.sort(sorted);
+            double mean = Arrays.stream(samples).average().orElse(0) / 1_000_000.0;
+            double p99 = sorted[(int) Math.ceil(sorted.length * 0.99) - 1] / 1_000_000.0;
+            double meanBudget = budget(scenario.name(), "mean", DEFAULT_MEAN_BUDGET);
+            double p99Budget = budget(scenario.name(), "p99", DEFAULT_P99_BUDGET);
+            boolean passed = mean <= meanBudget && p99 <= p99Budget;
+
+            JsonObject result = new JsonObject();
+            result.addProperty("ticks", samples.length);
+            result.addProperty("mean_ms", mean);
+            result.addProperty("p99_ms", p99);
+            result.addProperty("max_ms", sorted[sorted.length - 1] / 1_000_000.0);
+            result.addProperty("mean_budget_ms", meanBudget);
+            result.addProperty("p99_budget_ms", p99Budget);
+            result.addProperty("passed", passed);
+            if (results != null) result.add("levels", this.levelShares(results));
+            PerformanceReport.record(scenario.name(), result);
+
+            if (!passed) {
+                context.fail(String.format("Scenario %s took %.2fms per tick on average and %.2fms at p99, but the budget is %.2fms and %.2fms!", scenario.name(), mean, p99, meanBudget, p99Budget));
+            } else {
+                context.succeed();
+            }
+        });
+    }
+
+    /**
+     * Returns the share of the server tick spent in each level, in percent
+     */
+    private JsonObject levelShares(ProfileResults results) {
+        String path = "root" + ProfileResults.PATH_SEPARATOR + "levels";
+        JsonObject levels = new JsonObject();
+        for (ResultField field : results.getTimes(path)) {
+            if (!field.name.equals(path)) levels.addProperty(field.name, field.globalPercentage);
+        }
+        return levels;
+    }
+
+    private static double budget(String scenario, String metric, double fallback) {
+        String value = System.getProperty("galacticraft.perf." + scenario + "." + metric, System.getProperty("galacticraft.perf." + metric));
+        return value == null ? fallback : Double.parseDouble(value);
+    }
+
+    private ServerLevel getMoon(GameTestHelper context) {
+        ServerLevel level = context.getLevel().getServer().getLevel(GCDimensions.MOON);
+        if (level == null) throw new GameTestAssertException("Expected the moon to be loaded!");
+        return level;
+    }
+
+    private void power(MachineBlockEntity machine) {
+        machine.energyStorage().setEnergy(machine.energyStorage().getCapacity());
+    }
+
+    private void supply(OxygenSealerBlockEntity sealer) {
+        this.power(sealer);
+        sealer.fluidStorage().getGroup(GCSlotGroupTypes.OXYGEN_INPUT).insert(Gases.OXYGEN, OxygenSealerBlockEntity.MAX_OXYGEN);
+    }
+
+    /**
+     * A region built for a single scenario. Its chunks are force loaded so that it keeps ticking without players.
+     */
+    private record Scenario(String name, ServerLevel level, BoundingBox area) {
+        static Scenario create(String name, ServerLevel level, BlockPos origin, int width, int height, int depth) {
+            Scenario scenario = new Scenario(name, level, BoundingBox.fromCorners(origin, origin.offset(width - 1, height - 1, depth - 1)));
+            scenario.setChunksForced(true);
+            return scenario;
+        }
+
+        BlockPos place(int x, int y, int z, BlockState state) {
+            BlockPos pos = this.pos(x, y, z);
+            this.level.setBlock(pos, state, Block.UPDATE_ALL);
+            return pos;
+        }
+
+        <T extends MachineBlockEntity> T placeMachine(int x, int y, int z, Block block, Class<T> type) {
+            BlockPos pos = this.place(x, y, z, block.defaultBlockState());
+            T machine = type.cast(this.level.getBlockEntity(pos));
+            if (machine == null) throw new GameTestAssertException(String.format("Expected a %s at %s!", type.getSimpleName(), pos));
+            return machine;
+        }
+
+        BlockState getBlockState(int x, int y, int z) {
+            return this.level.getBlockState(this.pos(x, y, z));
+        }
+
+        void remove() {
+            BlockState air = Blocks.AIR.defaultBlockState();
+            for (BlockPos pos : BlockPos.betweenClosed(this.area.minX(), this.area.minY(), this.area.minZ(), this.area.maxX(), this.area.maxY(), this.area.maxZ())) {
+                this.level.setBlock(pos, air, Block.UPDATE_CLIENTS);
+            }
+            this.setChunksForced(false);
+        }
+
+        private BlockPos pos(int x, int y, int z) {
+            return new BlockPos(this.area.minX() + x, this.area.minY() + y, this.area.minZ() + z);
+        }
+
+        private void setChunksForced(boolean forced) {
+            for (int x = SectionPos.blockToSectionCoord(this.area.minX()); x <= SectionPos.blockToSectionCoord(this.area.maxX()); x++) {
+                for (int z = SectionPos.blockToSectionCoord(this.area.minZ()); z <= SectionPos.blockToSectionCoord(this.area.maxZ()); z++) {
+                    this.level.setChunkForced(x, z, forced);
+                }
+            }
+        }
+    }
+}
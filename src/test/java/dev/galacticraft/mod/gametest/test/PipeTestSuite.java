@@ -23,15 +23,72 @@
 package dev.galacticraft.mod.gametest.test;
 
 import dev.galacticraft.mod.api.pipe.Pipe;
+import dev.galacticraft.mod.api.pipe.PipeNetwork;
+import dev.galacticraft.mod.api.pipe.impl.PipeNetworkImpl;
+import dev.galacticraft.mod.api.pipe.impl.PipeNetworkManager;
 import dev.galacticraft.mod.content.GCBlocks;
+import net.fabricmc.fabric.api.transfer.v1.fluid.FluidConstants;
 import net.minecraft.core.BlockPos;
 import net.minecraft.gametest.framework.GameTest;
 import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.DyeColor;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
  */
 public class PipeTestSuite implements GalacticraftGameTest {
+    private static final GraphNetworkTests.Fixture<PipeNetworkImpl, PipeNetworkManager> PIPES = new GraphNetworkTests.Fixture<>() {
+        @Override
+        public String name() {
+            return "pipe";
+        }
+
+        @Override
+        public Block block() {
+            return GCBlocks.GLASS_FLUID_PIPE;
+        }
+
+        @Override
+        public long rate() {
+            return FluidConstants.BUCKET / 50;
+        }
+
+        @Override
+        public long peerRate() {
+            return FluidConstants.BUCKET;
+        }
+
+        @Override
+        public PipeNetworkManager getManager(ServerLevel level) {
+            return PipeNetworkManager.get(level);
+        }
+
+        @Override
+        public PipeNetworkManager load(ServerLevel level, CompoundTag tag) {
+            return PipeNetworkManager.load(level, tag);
+        }
+
+        @Override
+        public boolean register(@Nullable BlockEntity blockEntity) {
+            if (blockEntity instanceof Pipe pipe) {
+                pipe.getOrCreateNetwork();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void addStandIn(PipeNetworkManager manager, BlockPos pos, long maxTransferRate) {
+            new StandInPipe(manager, pos, maxTransferRate).getOrCreateNetwork();
+        }
+    };
+
     @GameTest(template = EMPTY_STRUCTURE)
     public void pipeConnectionTest(GameTestHelper context) {
         final var pos0 = new BlockPos(0, 0, 0);
@@ -84,4 +141,77 @@ public void pipeConnectionTest(GameTestHelper context) {
             }
         }
     }
+
+    @GameTest(template = EMPTY_STRUCTURE)
+    public void pipeCutTest(GameTestHelper context) {
+        GraphNetworkTests.cut(context, PIPES);
+    }
+
+    @GameTest(template = EMPTY_STRUCTURE)
+    public void pipeJoinTest(GameTestHelper context) {
+        GraphNetworkTests.join(context, PIPES);
+    }
+
+    @GameTest(template = EMPTY_STRUCTURE)
+    public void pipeMixedTierTest(GameTestHelper context) {
+        GraphNetworkTests.mixedTier(context, PIPES);
+    }
+
+    @GameTest(template = EMPTY_STRUCTURE)
+    public void pipeSaveLoadTest(GameTestHelper context) {
+        GraphNetworkTests.saveLoad(context, PIPES);
+    }
+
+    /**
+     * A pipe without a block, registered with the manager directly
+     */
+    private static final class StandInPipe implements Pipe {
+        private final boolean[] connections = new boolean[6];
+        private final PipeNetworkManager manager;
+        private final BlockPos pos;
+        private final long maxTransferRate;
+
+        private StandInPipe(PipeNetworkManager manager, BlockPos pos, long maxTransferRate) {
+            this.manager = manager;
+            this.pos = pos;
+            this.maxTransferRate = maxTransferRate;
+        }
+
+        @Override
+        public void setNetwork(@Nullable PipeNetwork network) {
+        }
+
+        @Override
+        public @NotNull PipeNetwork getOrCreateNetwork() {
+            return this.manager.getOrAddPipe(this.pos, this);
+        }
+
+        @Override
+        public @Nullable PipeNetwork getNetwork() {
+            return this.manager.getNetwork(this.pos);
+        }
+
+        @Override
+        public long getMaxTransferRate() {
+            return this.maxTransferRate;
+        }
+
+        @Override
+        public boolean[] getConnections() {
+            return this.connections;
+        }
+
+        @Override
+        public void calculateConnections() {
+        }
+
+        @Override
+        public DyeColor getColor() {
+            return DyeColor.WHITE;
+        }
+
+        @Override
+        public void setColor(DyeColor color) {
+        }
+    }
 }
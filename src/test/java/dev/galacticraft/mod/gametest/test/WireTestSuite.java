@@ -23,15 +23,72 @@
 package dev.galacticraft.mod.gametest.test;
 
 import dev.galacticraft.mod.api.wire.Wire;
+import dev.galacticraft.mod.api.wire.WireNetwork;
+import dev.galacticraft.mod.api.wire.impl.WireNetworkImpl;
+import dev.galacticraft.mod.api.wire.impl.WireNetworkManager;
 import dev.galacticraft.mod.content.GCBlocks;
 import net.minecraft.core.BlockPos;
 import net.minecraft.gametest.framework.GameTest;
 import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * @author <a href="https://github.com/TeamGalacticraft">TeamGalacticraft</a>
  */
 public class WireTestSuite implements GalacticraftGameTest {
+    private static final GraphNetworkTests.Fixture<WireNetworkImpl, WireNetworkManager> WIRES = new GraphNetworkTests.Fixture<>() {
+        @Override
+        public String name() {
+            return "wire";
+        }
+
+        @Override
+        public Block block() {
+            return GCBlocks.ALUMINUM_WIRE;
+        }
+
+        @Override
+        public long rate() {
+            return 240;
+        }
+
+        @Override
+        public long peerRate() {
+            return 480;
+        }
+
+        @Override
+        public WireNetworkManager getManager(ServerLevel level) {
+            return WireNetworkManager.get(level);
+        }
+
+        @Override
+        public WireNetworkManager load(ServerLevel level, CompoundTag tag) {
+            return WireNetworkManager.load(level, tag);
+        }
+
+        @Override
+        public boolean register(@Nullable BlockEntity blockEntity) {
+            if (blockEntity instanceof Wire wire) {
+                wire.getOrCreateNetwork();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void addStandIn(WireNetworkManager manager, BlockPos pos, long maxTransferRate) {
+            new StandInWire(manager, pos, (int) maxTransferRate).getOrCreateNetwork();
+        }
+    };
+
     @GameTest(template = EMPTY_STRUCTURE)
     public void wireConnectionTest(GameTestHelper context) {
         final var pos0 = new BlockPos(0, 0, 0);
@@ -84,4 +141,114 @@ public void wireConnectionTest(GameTestHelper context) {
             }
         }
     }
+
+    @GameTest(template = EMPTY_STRUCTURE)
+    public void wireCutTest(GameTestHelper context) {
+        GraphNetworkTests.cut(context, WIRES);
+    }
+
+    @GameTest(template = EMPTY_STRUCTURE)
+    public void wireJoinTest(GameTestHelper context) {
+        GraphNetworkTests.join(context, WIRES);
+    }
+
+    @GameTest(template = EMPTY_STRUCTURE)
+    public void wireMixedTierTest(GameTestHelper context) {
+        GraphNetworkTests.mixedTier(context, WIRES);
+    }
+
+    @GameTest(template = EMPTY_STRUCTURE)
+    public void wireSaveLoadTest(GameTestHelper context) {
+        GraphNetworkTests.saveLoad(context, WIRES);
+    }
+
+    @GameTest(template = EMPTY_STRUCTURE)
+    public void wireRemovedNetworkBufferTest(GameTestHelper context) {
+        WireNetworkManager manager = WIRES.getManager(context.getLevel());
+        BlockPos[] pos = new BlockPos[3];
+        for (int i = 0; i < pos.length; i++) {
+            pos[i] = context.absolutePos(new BlockPos(i, 1, 0));
+            WIRES.addStandIn(manager, pos[i], i == 0 ? WIRES.rate() : WIRES.peerRate());
+        }
+        try {
+            CompoundTag tag = manager.save(new CompoundTag());
+            CompoundTag removed = findNetwork(tag, pos[0]);
+            if (removed == null) {
+                context.fail("Expected the wire to be saved!", pos[0]);
+                return;
+            }
+            removed.putLong("buffered", 100);
+            WireNetworkManager loaded = WireNetworkManager.load(context.getLevel(), tag);
+            loaded.removeConductor(pos[0]);
+
+            CompoundTag saved = loaded.save(new CompoundTag());
+            CompoundTag peer = findNetwork(saved, pos[1]);
+            if (findNetwork(saved, pos[0]) != null) {
+                context.fail("Expected the removed wire network to be gone!", pos[0]);
+            } else if (peer == null || peer.getLong("buffered") != 100) {
+                context.fail(String.format("Expected the peer wire network to take over 100 buffered energy but found %s!", peer), pos[1]);
+            } else {
+                context.succeed();
+            }
+        } finally {
+            for (BlockPos p : pos) {
+                manager.removeConductor(p);
+            }
+        }
+    }
+
+    private static @Nullable CompoundTag findNetwork(CompoundTag tag, BlockPos pos) {
+        ListTag networks = tag.getList("networks", Tag.TAG_COMPOUND);
+        for (int i = 0; i < networks.size(); i++) {
+            CompoundTag network = networks.getCompound(i);
+            for (long wire : network.getLongArray("wires")) {
+                if (wire == pos.asLong()) return network;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A wire without a block, registered with the manager directly
+     */
+    private static final class StandInWire implements Wire {
+        private final boolean[] connections = new boolean[6];
+        private final WireNetworkManager manager;
+        private final BlockPos pos;
+        private final int maxTransferRate;
+
+        private StandInWire(WireNetworkManager manager, BlockPos pos, int maxTransferRate) {
+            this.manager = manager;
+            this.pos = pos;
+            this.maxTransferRate = maxTransferRate;
+        }
+
+        @Override
+        public void setNetwork(@Nullable WireNetwork network) {
+        }
+
+        @Override
+        public @NotNull WireNetwork getOrCreateNetwork() {
+            return this.manager.getOrAddWire(this.pos, this);
+        }
+
+        @Override
+        public @Nullable WireNetwork getNetwork() {
+            return this.manager.getNetwork(this.pos);
+        }
+
+        @Override
+        public int getMaxTransferRate() {
+            return this.maxTransferRate;
+        }
+
+        @Override
+        public boolean[] getConnections() {
+            return this.connections;
+        }
+
+        @Override
+        public void calculateConnections() {
+        }
+    }
 }